@@ -1,6 +1,6 @@
 package com.example.csms;
 
-import com.example.csms.util.DatabaseConnection;
+import com.example.csms.util.DatabasePool;
 import com.example.csms.view.LoginDialog;
 import com.example.csms.view.MainAppFrame;
 
@@ -44,10 +44,10 @@ public class MainApplication {
             System.exit(0);
         }
 
-        // Hook pour fermer la connexion BDD à la fin
+        // Hook pour fermer le pool de connexions BDD à la fin
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            System.out.println("Arrêt de l'application, fermeture de la connexion BDD...");
-            DatabaseConnection.closeConnection();
+            System.out.println("Arrêt de l'application, fermeture du pool de connexions BDD...");
+            DatabasePool.close();
         }));
     }
 }
\ No newline at end of file
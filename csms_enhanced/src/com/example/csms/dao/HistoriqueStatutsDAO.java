@@ -0,0 +1,25 @@
+package com.example.csms.dao;
+
+import com.example.csms.model.CumulStatuts;
+import com.example.csms.model.Statut;
+import com.example.csms.model.TransitionStatut;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+// Historique des statuts et cumuls horaires (tables décrites dans le README)
+public interface HistoriqueStatutsDAO {
+    // Ajoute les transitions (dans l'ordre donné) en une transaction : lignes d'historique, temps passé dans le
+    // statut précédent ventilé par heure dans les cumuls, et statut en cours de chaque station
+    void enregistrerTransitions(List<TransitionStatut> transitions);
+
+    // Point horaire : reporte dans les cumuls le temps des statuts en cours jusqu'à heure (début d'heure).
+    // Sans effet si ce point a déjà été fait (par ce poste ou un autre).
+    void fermerHeures(Timestamp heure);
+
+    // Cumuls par heure (ou par jour) sur [debut, fin), pour une station ou tout le parc (stationId == null)
+    List<CumulStatuts> trouverCumuls(Long stationId, Timestamp debut, Timestamp fin, boolean parJour);
+
+    // Temps des statuts en cours (pas encore reportés dans les cumuls) entre debut et maintenant
+    Map<Statut, Long> trouverDureesEnCours(Long stationId, Timestamp debut, Timestamp maintenant);
+}
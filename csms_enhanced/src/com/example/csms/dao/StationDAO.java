@@ -1,8 +1,14 @@
 package com.example.csms.dao;
 
+import com.example.csms.model.ChangementsStations;
+import com.example.csms.model.Statut;
 import com.example.csms.model.Station;
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface StationDAO {
     Station ajouterStation(Station station); // Retourne la station avec ID
@@ -11,4 +17,35 @@ public interface StationDAO {
     Optional<Station> trouverStationParId(long id);
     List<Station> trouverToutesLesStations();
     List<Station> rechercherStations(String critere); // Nouvelle méthode
+    // Stations dont l'ID est dans la liste (ordre non garanti ; les IDs inexistants sont ignorés)
+    List<Station> trouverStationsParIds(List<Long> ids);
+    // Parcourt toutes les stations en flux (sans les garder en mémoire), ex. construction de l'index de recherche
+    void parcourirStations(Consumer<Station> traitement);
+
+    // Pagination par clé (keyset) : stations triées par (nom, id).
+    // critere et statut sont optionnels (null = pas de filtre).
+    // apres = dernière station de la page précédente (null pour la première page).
+    List<Station> trouverPageStations(String critere, Statut statut, Station apres, int taille);
+    long compterStations(String critere, Statut statut);
+    // Station (id et nom seulement) à la position donnée (0 = première), pour reprendre la pagination
+    // au milieu de la liste sans parcourir toutes les pages précédentes
+    Optional<Station> trouverCleALaPosition(String critere, Statut statut, long position);
+
+    // Nombre de stations par statut (une seule requête GROUP BY)
+    Map<Statut, Long> compterStationsParStatut();
+
+    // Opérations groupées, en une seule transaction (tout ou rien en cas d'erreur SQL).
+    // Retournent l'ancien statut de chaque station effectivement traitée ; les IDs absents du résultat n'existaient pas.
+    Map<Long, Statut> supprimerStations(Collection<Long> ids);
+    Map<Long, Statut> modifierStatutStations(Collection<Long> ids, Statut nouveauStatut);
+
+    // Import : insertion groupée en une transaction (requêtes INSERT multi-lignes grâce à rewriteBatchedStatements),
+    // les IDs générés sont affectés aux stations. Si cleReprise != null, le point de reprise (enregistrements du
+    // fichier déjà traités) est écrit dans la même transaction : un import interrompu reprend sans doublon.
+    void ajouterStations(List<Station> stations, String cleReprise, long enregistrementsTraites);
+    long trouverRepriseImport(String cleReprise); // 0 si ce fichier n'a jamais été importé
+
+    // Flux de changements : stations dont derniere_mise_a_jour >= depuis, et IDs supprimés depuis
+    // (table stations_supprimees alimentée par trigger, voir README). depuis == null : marque courante seulement.
+    ChangementsStations trouverChangementsDepuis(Timestamp depuis);
 }
\ No newline at end of file
@@ -0,0 +1,356 @@
+package com.example.csms.dao.impl;
+
+import com.example.csms.dao.HistoriqueStatutsDAO;
+import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.CumulStatuts;
+import com.example.csms.model.Statut;
+import com.example.csms.model.TransitionStatut;
+import com.example.csms.util.DatabasePool;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public class HistoriqueStatutsDAOImpl implements HistoriqueStatutsDAO {
+
+    private static final int TAILLE_LOT_IN = 1000;
+    // Au-delà, les heures manquées (application arrêtée longtemps) ne sont pas reconstituées une par une
+    private static final int MAX_HEURES_RATTRAPAGE = 24 * 7;
+
+    private static final String SQL_CUMUL_STATION = "INSERT INTO statuts_par_heure (station_id, heure, statut, duree_ms) "
+            + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE duree_ms = duree_ms + VALUES(duree_ms)";
+    private static final String SQL_CUMUL_PARC = "INSERT INTO statuts_par_heure_global (heure, statut, duree_ms) "
+            + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE duree_ms = duree_ms + VALUES(duree_ms)";
+
+    private final DataSource dataSource;
+
+    public HistoriqueStatutsDAOImpl() {
+        this(DatabasePool.getDataSource());
+    }
+
+    // Constructeur pour injection (tests)
+    public HistoriqueStatutsDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void enregistrerTransitions(List<TransitionStatut> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Statut en cours des stations concernées, verrouillé jusqu'à la fin (cohérence avec fermerHeures)
+                Map<Long, StatutEnCours> enCours = lireStatutsEnCours(conn, transitions);
+                Map<Long, StatutEnCours> initiaux = new HashMap<>(enCours);
+
+                // Temps passé dans le statut précédent, ventilé par heure : (station, heure, statut) -> ms
+                Map<CleCumul, Long> cumuls = new LinkedHashMap<>();
+                for (TransitionStatut t : transitions) {
+                    long instant = t.getInstant().getTime();
+                    StatutEnCours precedent = enCours.get(t.getStationId());
+                    if (precedent != null && instant > precedent.depuis) {
+                        ventiler(t.getStationId(), precedent.statut, precedent.depuis, instant, cumuls);
+                    }
+                    // Instant antérieur au statut en cours (horloges de postes différents) : pas de durée négative
+                    long depuis = precedent != null ? Math.max(instant, precedent.depuis) : instant;
+                    enCours.put(t.getStationId(),
+                            t.getNouveauStatut() != null ? new StatutEnCours(t.getNouveauStatut(), depuis) : null);
+                }
+
+                try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO historique_statuts "
+                        + "(station_id, ancien_statut, nouveau_statut, change_le) VALUES (?, ?, ?, ?)")) {
+                    for (TransitionStatut t : transitions) {
+                        pstmt.setLong(1, t.getStationId());
+                        pstmt.setString(2, t.getAncienStatut() != null ? t.getAncienStatut().dbValue() : null);
+                        pstmt.setString(3, t.getNouveauStatut() != null ? t.getNouveauStatut().dbValue() : null);
+                        pstmt.setTimestamp(4, t.getInstant());
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+                ecrireCumuls(conn, cumuls);
+                ecrireStatutsEnCours(conn, initiaux, enCours);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de l'enregistrement de l'historique des statuts: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void fermerHeures(Timestamp heure) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // La ligne unique du point horaire sert de verrou entre postes
+                Timestamp derniere = null;
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "SELECT derniere_heure FROM historique_point_horaire WHERE id = 1 FOR UPDATE");
+                     ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        derniere = rs.getTimestamp(1);
+                    }
+                }
+                if (derniere == null) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO historique_point_horaire (id, derniere_heure) VALUES (1, ?)")) {
+                        pstmt.setTimestamp(1, heure);
+                        pstmt.executeUpdate();
+                    }
+                    derniere = heure;
+                }
+                if (derniere.before(heure)) {
+                    long debut = Math.max(derniere.getTime(), heure.getTime() - MAX_HEURES_RATTRAPAGE * CumulStatuts.MS_PAR_HEURE);
+                    for (long h = debut; h < heure.getTime(); h += CumulStatuts.MS_PAR_HEURE) {
+                        fermerHeure(conn, new Timestamp(h), new Timestamp(Math.min(h + CumulStatuts.MS_PAR_HEURE, heure.getTime())));
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "UPDATE statuts_courants SET depuis = ? WHERE depuis < ?")) {
+                        pstmt.setTimestamp(1, heure);
+                        pstmt.setTimestamp(2, heure);
+                        pstmt.executeUpdate();
+                    }
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "UPDATE historique_point_horaire SET derniere_heure = ? WHERE id = 1")) {
+                        pstmt.setTimestamp(1, heure);
+                        pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors du point horaire de l'historique des statuts: " + e.getMessage(), e);
+        }
+    }
+
+    // Ajoute aux cumuls de l'heure [debut, fin) le temps des statuts en cours depuis avant fin (requêtes ensemblistes)
+    private void fermerHeure(Connection conn, Timestamp debut, Timestamp fin) throws SQLException {
+        String duree = "TIMESTAMPDIFF(MICROSECOND, GREATEST(depuis, ?), ?) DIV 1000";
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO statuts_par_heure (station_id, heure, statut, duree_ms) "
+                + "SELECT station_id, ?, statut, " + duree + " FROM statuts_courants WHERE depuis < ? "
+                + "ON DUPLICATE KEY UPDATE duree_ms = duree_ms + VALUES(duree_ms)")) {
+            pstmt.setTimestamp(1, debut);
+            pstmt.setTimestamp(2, debut);
+            pstmt.setTimestamp(3, fin);
+            pstmt.setTimestamp(4, fin);
+            pstmt.executeUpdate();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO statuts_par_heure_global (heure, statut, duree_ms) "
+                + "SELECT ?, statut, SUM(" + duree + ") FROM statuts_courants WHERE depuis < ? GROUP BY statut "
+                + "ON DUPLICATE KEY UPDATE duree_ms = duree_ms + VALUES(duree_ms)")) {
+            pstmt.setTimestamp(1, debut);
+            pstmt.setTimestamp(2, debut);
+            pstmt.setTimestamp(3, fin);
+            pstmt.setTimestamp(4, fin);
+            pstmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public List<CumulStatuts> trouverCumuls(Long stationId, Timestamp debut, Timestamp fin, boolean parJour) {
+        // Le parc entier est lu dans la table agrégée (quelques lignes par heure), jamais station par station
+        String periode = parJour ? "TIMESTAMP(DATE(heure))" : "heure";
+        String sql = "SELECT " + periode + " AS periode, statut, SUM(duree_ms) AS duree FROM "
+                + (stationId == null ? "statuts_par_heure_global" : "statuts_par_heure")
+                + " WHERE heure >= ? AND heure < ?" + (stationId == null ? "" : " AND station_id = ?")
+                + " GROUP BY periode, statut ORDER BY periode";
+        Map<Timestamp, CumulStatuts> cumuls = new LinkedHashMap<>();
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, new Timestamp(CumulStatuts.debutHeure(debut.getTime())));
+            pstmt.setTimestamp(2, fin);
+            if (stationId != null) {
+                pstmt.setLong(3, stationId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp periodeDebut = rs.getTimestamp("periode");
+                    cumuls.computeIfAbsent(periodeDebut, CumulStatuts::new)
+                            .ajouter(Statut.fromString(rs.getString("statut")), rs.getLong("duree"));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de la lecture des cumuls de statuts: " + e.getMessage(), e);
+        }
+        return new ArrayList<>(cumuls.values());
+    }
+
+    @Override
+    public Map<Statut, Long> trouverDureesEnCours(Long stationId, Timestamp debut, Timestamp maintenant) {
+        String sql = "SELECT statut, SUM(TIMESTAMPDIFF(MICROSECOND, GREATEST(depuis, ?), ?) DIV 1000) AS duree "
+                + "FROM statuts_courants WHERE depuis < ?" + (stationId == null ? "" : " AND station_id = ?")
+                + " GROUP BY statut";
+        Map<Statut, Long> durees = new EnumMap<>(Statut.class);
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setTimestamp(1, debut);
+            pstmt.setTimestamp(2, maintenant);
+            pstmt.setTimestamp(3, maintenant);
+            if (stationId != null) {
+                pstmt.setLong(4, stationId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    durees.merge(Statut.fromString(rs.getString("statut")), Math.max(0, rs.getLong("duree")), Long::sum);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de la lecture des statuts en cours: " + e.getMessage(), e);
+        }
+        return durees;
+    }
+
+    private Map<Long, StatutEnCours> lireStatutsEnCours(Connection conn, List<TransitionStatut> transitions) throws SQLException {
+        LinkedHashSet<Long> distincts = new LinkedHashSet<>();
+        for (TransitionStatut t : transitions) {
+            distincts.add(t.getStationId());
+        }
+        List<Long> ids = new ArrayList<>(distincts);
+        Map<Long, StatutEnCours> enCours = new HashMap<>();
+        for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT_IN) {
+            List<Long> lot = ids.subList(debut, Math.min(debut + TAILLE_LOT_IN, ids.size()));
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT station_id, statut, depuis FROM statuts_courants "
+                    + "WHERE station_id IN (" + String.join(", ", Collections.nCopies(lot.size(), "?")) + ") FOR UPDATE")) {
+                for (int i = 0; i < lot.size(); i++) {
+                    pstmt.setLong(i + 1, lot.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        enCours.put(rs.getLong("station_id"), new StatutEnCours(
+                                Statut.fromString(rs.getString("statut")), rs.getTimestamp("depuis").getTime()));
+                    }
+                }
+            }
+        }
+        return enCours;
+    }
+
+    // Découpe [debut, fin) aux limites d'heure
+    private static void ventiler(long stationId, Statut statut, long debut, long fin, Map<CleCumul, Long> cumuls) {
+        long heure = CumulStatuts.debutHeure(debut);
+        while (heure < fin) {
+            long heureSuivante = heure + CumulStatuts.MS_PAR_HEURE;
+            long duree = Math.min(fin, heureSuivante) - Math.max(debut, heure);
+            cumuls.merge(new CleCumul(stationId, heure, statut), duree, Long::sum);
+            heure = heureSuivante;
+        }
+    }
+
+    private void ecrireCumuls(Connection conn, Map<CleCumul, Long> cumuls) throws SQLException {
+        Map<CleCumul, Long> parc = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_CUMUL_STATION)) {
+            for (Map.Entry<CleCumul, Long> cumul : cumuls.entrySet()) {
+                CleCumul cle = cumul.getKey();
+                pstmt.setLong(1, cle.stationId);
+                pstmt.setTimestamp(2, new Timestamp(cle.heure));
+                pstmt.setString(3, cle.statut.dbValue());
+                pstmt.setLong(4, cumul.getValue());
+                pstmt.addBatch();
+                parc.merge(new CleCumul(0, cle.heure, cle.statut), cumul.getValue(), Long::sum);
+            }
+            pstmt.executeBatch();
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(SQL_CUMUL_PARC)) {
+            for (Map.Entry<CleCumul, Long> cumul : parc.entrySet()) {
+                pstmt.setTimestamp(1, new Timestamp(cumul.getKey().heure));
+                pstmt.setString(2, cumul.getKey().statut.dbValue());
+                pstmt.setLong(3, cumul.getValue());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    // Seules les stations dont le statut en cours a changé sont réécrites
+    private void ecrireStatutsEnCours(Connection conn, Map<Long, StatutEnCours> initiaux,
+                                      Map<Long, StatutEnCours> enCours) throws SQLException {
+        try (PreparedStatement upsert = conn.prepareStatement("INSERT INTO statuts_courants (station_id, statut, depuis) "
+                + "VALUES (?, ?, ?) ON DUPLICATE KEY UPDATE statut = VALUES(statut), depuis = VALUES(depuis)");
+             PreparedStatement delete = conn.prepareStatement("DELETE FROM statuts_courants WHERE station_id = ?")) {
+            for (Map.Entry<Long, StatutEnCours> e : enCours.entrySet()) {
+                if (Objects.equals(initiaux.get(e.getKey()), e.getValue())) {
+                    continue;
+                }
+                if (e.getValue() == null) {
+                    delete.setLong(1, e.getKey());
+                    delete.addBatch();
+                } else {
+                    upsert.setLong(1, e.getKey());
+                    upsert.setString(2, e.getValue().statut.dbValue());
+                    upsert.setTimestamp(3, new Timestamp(e.getValue().depuis));
+                    upsert.addBatch();
+                }
+            }
+            upsert.executeBatch();
+            delete.executeBatch();
+        }
+    }
+
+    private static class StatutEnCours {
+        final Statut statut;
+        final long depuis;
+
+        StatutEnCours(Statut statut, long depuis) {
+            this.statut = statut;
+            this.depuis = depuis;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StatutEnCours && ((StatutEnCours) o).statut == statut && ((StatutEnCours) o).depuis == depuis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(statut, depuis);
+        }
+    }
+
+    private static class CleCumul {
+        final long stationId;
+        final long heure;
+        final Statut statut;
+
+        CleCumul(long stationId, long heure, Statut statut) {
+            this.stationId = stationId;
+            this.heure = heure;
+            this.statut = statut;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CleCumul)) {
+                return false;
+            }
+            CleCumul autre = (CleCumul) o;
+            return stationId == autre.stationId && heure == autre.heure && statut == autre.statut;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(stationId, heure, statut);
+        }
+    }
+}
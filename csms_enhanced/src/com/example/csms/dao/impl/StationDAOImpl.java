@@ -2,21 +2,47 @@ package com.example.csms.dao.impl;
 
 import com.example.csms.dao.StationDAO;
 import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.ChangementsStations;
 import com.example.csms.model.Statut;
 import com.example.csms.model.Station;
-import com.example.csms.util.DatabaseConnection;
+import com.example.csms.util.DatabaseConfig;
+import com.example.csms.util.DatabasePool;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class StationDAOImpl implements StationDAO {
 
+    // Nombre maximal d'IDs par clause IN pour les opérations groupées
+    private static final int TAILLE_LOT_IN = 1000;
+    // Au-delà, le flux de changements est tronqué et l'appelant doit tout recharger
+    private static final int MAX_CHANGEMENTS = 5000;
+
+    private final DataSource dataSource;
+
+    public StationDAOImpl() {
+        this(DatabasePool.getDataSource());
+    }
+
+    // Constructeur pour injection (tests)
+    public StationDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
     @Override
     public Station ajouterStation(Station station) {
         String sql = "INSERT INTO stations (nom, localisation, statut) VALUES (?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
             pstmt.setString(1, station.getNom());
@@ -44,7 +70,7 @@ public class StationDAOImpl implements StationDAO {
     @Override
     public boolean modifierStation(Station station) {
         String sql = "UPDATE stations SET nom = ?, localisation = ?, statut = ? WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, station.getNom());
@@ -62,7 +88,7 @@ public class StationDAOImpl implements StationDAO {
     @Override
     public boolean supprimerStation(long id) {
         String sql = "DELETE FROM stations WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setLong(1, id);
@@ -76,7 +102,7 @@ public class StationDAOImpl implements StationDAO {
     @Override
     public Optional<Station> trouverStationParId(long id) {
         String sql = "SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setLong(1, id);
@@ -95,9 +121,10 @@ public class StationDAOImpl implements StationDAO {
     public List<Station> trouverToutesLesStations() {
         List<Station> stations = new ArrayList<>();
         String sql = "SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations ORDER BY nom";
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        // PreparedStatement même sans paramètre : la requête est préparée une fois par connexion puis réutilisée
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
 
             while (rs.next()) {
                 stations.add(mapRowToStation(rs));
@@ -108,19 +135,61 @@ public class StationDAOImpl implements StationDAO {
         return stations;
     }
 
+    @Override
+    public List<Station> trouverStationsParIds(List<Long> ids) {
+        List<Station> stations = new ArrayList<>();
+        try (Connection conn = dataSource.getConnection()) {
+            for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT_IN) {
+                List<Long> lot = ids.subList(debut, Math.min(debut + TAILLE_LOT_IN, ids.size()));
+                String sql = "SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(lot.size(), "?")) + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < lot.size(); i++) {
+                        pstmt.setLong(i + 1, lot.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            stations.add(mapRowToStation(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de la récupération de stations par ID: " + e.getMessage(), e);
+        }
+        return stations;
+    }
+
+    @Override
+    public void parcourirStations(Consumer<Station> traitement) {
+        String sql = "SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            // Integer.MIN_VALUE : le pilote MySQL lit les lignes au fil de l'eau au lieu de charger tout le résultat
+            pstmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    traitement.accept(mapRowToStation(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors du parcours des stations: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public List<Station> rechercherStations(String critere) {
         List<Station> stations = new ArrayList<>();
-        // Recherche simple dans nom ou localisation (insensible à la casse)
+        // Recherche dans nom ou localisation (insensible à la casse), même filtre que la pagination
+        List<Object> params = new ArrayList<>();
         String sql = "SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations " +
-                "WHERE LOWER(nom) LIKE LOWER(?) OR LOWER(localisation) LIKE LOWER(?) ORDER BY nom";
-        String recherchePattern = "%" + critere + "%"; // Ajoute les wildcards SQL
+                "WHERE " + construireFiltre(critere, null, params) + " ORDER BY nom";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, recherchePattern);
-            pstmt.setString(2, recherchePattern);
+            lierParametres(pstmt, params);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -133,6 +202,311 @@ public class StationDAOImpl implements StationDAO {
         return stations;
     }
 
+    @Override
+    public List<Station> trouverPageStations(String critere, Statut statut, Station apres, int taille) {
+        List<Station> stations = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations");
+        String where = construireFiltre(critere, statut, params);
+        if (apres != null) {
+            // Forme développée de (nom, id) > (?, ?) : parcours de plage sur l'index (nom, id), sans OFFSET
+            where = (where.isEmpty() ? "" : where + " AND ") + "(nom > ? OR (nom = ? AND id > ?))";
+            params.add(apres.getNom());
+            params.add(apres.getNom());
+            params.add(apres.getId());
+        }
+        if (!where.isEmpty()) {
+            sql.append(" WHERE ").append(where);
+        }
+        sql.append(" ORDER BY nom, id LIMIT ?");
+        params.add(taille);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
+
+            lierParametres(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    stations.add(mapRowToStation(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de la récupération d'une page de stations: " + e.getMessage(), e);
+        }
+        return stations;
+    }
+
+    @Override
+    public long compterStations(String critere, Statut statut) {
+        List<Object> params = new ArrayList<>();
+        String where = construireFiltre(critere, statut, params);
+        String sql = "SELECT COUNT(*) FROM stations" + (where.isEmpty() ? "" : " WHERE " + where);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            lierParametres(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors du comptage des stations: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Station> trouverCleALaPosition(String critere, Statut statut, long position) {
+        List<Object> params = new ArrayList<>();
+        String where = construireFiltre(critere, statut, params);
+        // Seules les colonnes de l'index (nom, id) sont lues : l'OFFSET ne parcourt que l'index
+        String sql = "SELECT id, nom FROM stations" + (where.isEmpty() ? "" : " WHERE " + where)
+                + " ORDER BY nom, id LIMIT 1 OFFSET ?";
+        params.add(position);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            lierParametres(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    Station cle = new Station();
+                    cle.setId(rs.getLong("id"));
+                    cle.setNom(rs.getString("nom"));
+                    return Optional.of(cle);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors du positionnement dans la liste des stations: " + e.getMessage(), e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<Statut, Long> compterStationsParStatut() {
+        Map<Statut, Long> compteurs = new EnumMap<>(Statut.class);
+        String sql = "SELECT statut, COUNT(*) AS nombre FROM stations GROUP BY statut";
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                // merge : un statut inconnu en base est compté comme HORS_SERVICE (voir Statut.fromString)
+                compteurs.merge(Statut.fromString(rs.getString("statut")), rs.getLong("nombre"), Long::sum);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors du comptage des stations par statut: " + e.getMessage(), e);
+        }
+        return compteurs;
+    }
+
+    @Override
+    public Map<Long, Statut> supprimerStations(Collection<Long> ids) {
+        return executerParLots(ids, "DELETE FROM stations WHERE id IN ", null, "la suppression groupée de stations");
+    }
+
+    @Override
+    public Map<Long, Statut> modifierStatutStations(Collection<Long> ids, Statut nouveauStatut) {
+        return executerParLots(ids, "UPDATE stations SET statut = ? WHERE id IN ", nouveauStatut.dbValue(),
+                "la modification groupée du statut");
+    }
+
+    @Override
+    public void ajouterStations(List<Station> stations, String cleReprise, long enregistrementsTraites) {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!stations.isEmpty()) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(
+                            "INSERT INTO stations (nom, localisation, statut) VALUES (?, ?, ?)",
+                            Statement.RETURN_GENERATED_KEYS)) {
+                        for (Station station : stations) {
+                            pstmt.setString(1, station.getNom());
+                            pstmt.setString(2, station.getLocalisation());
+                            pstmt.setString(3, station.getStatut().dbValue());
+                            pstmt.addBatch();
+                        }
+                        pstmt.executeBatch();
+                        int i = 0;
+                        try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                            while (generatedKeys.next() && i < stations.size()) {
+                                stations.get(i++).setId(generatedKeys.getLong(1));
+                            }
+                        }
+                        if (i != stations.size()) {
+                            throw new SQLException("IDs générés incomplets (" + i + " sur " + stations.size() + ")");
+                        }
+                    }
+                }
+                if (cleReprise != null) {
+                    try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO imports_stations (cle, enregistrements_traites) "
+                            + "VALUES (?, ?) ON DUPLICATE KEY UPDATE enregistrements_traites = VALUES(enregistrements_traites)")) {
+                        pstmt.setString(1, cleReprise);
+                        pstmt.setLong(2, enregistrementsTraites);
+                        pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de l'import groupé de stations: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long trouverRepriseImport(String cleReprise) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(
+                     "SELECT enregistrements_traites FROM imports_stations WHERE cle = ?")) {
+            pstmt.setString(1, cleReprise);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de la lecture du point de reprise d'import: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ChangementsStations trouverChangementsDepuis(Timestamp depuis) {
+        List<Station> modifiees = new ArrayList<>();
+        List<Long> supprimees = new ArrayList<>();
+        boolean tropNombreux = false;
+        try (Connection conn = dataSource.getConnection()) {
+            // La marque est prise sur l'horloge du serveur, avant les lectures
+            Timestamp marque;
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT NOW(3)");
+                 ResultSet rs = pstmt.executeQuery()) {
+                rs.next();
+                marque = rs.getTimestamp(1);
+            }
+            if (depuis == null) {
+                return new ChangementsStations(modifiees, supprimees, marque, false);
+            }
+
+            String sql = "SELECT id, nom, localisation, statut, derniere_mise_a_jour FROM stations "
+                    + "WHERE derniere_mise_a_jour >= ? ORDER BY derniere_mise_a_jour, id LIMIT ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setTimestamp(1, depuis);
+                pstmt.setInt(2, MAX_CHANGEMENTS + 1);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        modifiees.add(mapRowToStation(rs));
+                    }
+                }
+            }
+            if (modifiees.size() > MAX_CHANGEMENTS) {
+                modifiees.remove(modifiees.size() - 1);
+                tropNombreux = true;
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "SELECT id FROM stations_supprimees WHERE supprime_le >= ? ORDER BY supprime_le LIMIT ?")) {
+                pstmt.setTimestamp(1, depuis);
+                pstmt.setInt(2, MAX_CHANGEMENTS + 1);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        supprimees.add(rs.getLong("id"));
+                    }
+                }
+            }
+            if (supprimees.size() > MAX_CHANGEMENTS) {
+                supprimees.remove(supprimees.size() - 1);
+                tropNombreux = true;
+            }
+            return new ChangementsStations(modifiees, supprimees, marque, tropNombreux);
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de la lecture des changements de stations: " + e.getMessage(), e);
+        }
+    }
+
+    // Applique une requête "... WHERE id IN (...)" par lots de TAILLE_LOT_IN IDs, dans une seule transaction.
+    // Chaque lot verrouille d'abord ses lignes (SELECT ... FOR UPDATE) pour connaître les IDs existants et leur
+    // ancien statut, puis exécute la requête : deux allers-retours par lot au lieu d'un par station.
+    private Map<Long, Statut> executerParLots(Collection<Long> ids, String sqlSansListe, String premierParametre,
+                                              String operation) {
+        Map<Long, Statut> traitees = new LinkedHashMap<>();
+        List<Long> listeIds = new ArrayList<>(new LinkedHashSet<>(ids)); // sans doublons
+        if (listeIds.isEmpty()) {
+            return traitees;
+        }
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (int debut = 0; debut < listeIds.size(); debut += TAILLE_LOT_IN) {
+                    List<Long> lot = listeIds.subList(debut, Math.min(debut + TAILLE_LOT_IN, listeIds.size()));
+                    String liste = "(" + String.join(", ", Collections.nCopies(lot.size(), "?")) + ")";
+
+                    try (PreparedStatement select = conn.prepareStatement(
+                            "SELECT id, statut FROM stations WHERE id IN " + liste + " FOR UPDATE")) {
+                        for (int i = 0; i < lot.size(); i++) {
+                            select.setLong(i + 1, lot.get(i));
+                        }
+                        try (ResultSet rs = select.executeQuery()) {
+                            while (rs.next()) {
+                                traitees.put(rs.getLong("id"), Statut.fromString(rs.getString("statut")));
+                            }
+                        }
+                    }
+
+                    try (PreparedStatement pstmt = conn.prepareStatement(sqlSansListe + liste)) {
+                        int index = 1;
+                        if (premierParametre != null) {
+                            pstmt.setString(index++, premierParametre);
+                        }
+                        for (Long id : lot) {
+                            pstmt.setLong(index++, id);
+                        }
+                        pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Erreur SQL lors de " + operation + ": " + e.getMessage(), e);
+        }
+        return traitees;
+    }
+
+    // Construit la clause WHERE (sans le mot-clé) pour les filtres optionnels et ajoute les paramètres
+    private String construireFiltre(String critere, Statut statut, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (critere != null && !critere.trim().isEmpty()) {
+            String texte = critere.trim();
+            if (DatabaseConfig.RECHERCHE_FULLTEXT && texte.length() >= DatabaseConfig.NGRAM_TOKEN_SIZE) {
+                // Présélection par l'index FULLTEXT ngram (voir README) : la phrase "texte" ne retient que les
+                // lignes contenant ses n-grammes consécutifs, au lieu de lire toute la table pour le LIKE '%...%'
+                conditions.add("MATCH(nom, localisation) AGAINST (? IN BOOLEAN MODE)");
+                params.add("\"" + texte.replace("\"", " ") + "\"");
+            }
+            // Le LIKE reste la condition exacte (sous-chaîne) ; % et _ saisis par l'utilisateur sont littéraux
+            String recherchePattern = "%" + texte.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+            conditions.add("(LOWER(nom) LIKE LOWER(?) OR LOWER(localisation) LIKE LOWER(?))");
+            params.add(recherchePattern);
+            params.add(recherchePattern);
+        }
+        if (statut != null) {
+            conditions.add("statut = ?");
+            params.add(statut.dbValue());
+        }
+        return String.join(" AND ", conditions);
+    }
+
+    private void lierParametres(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
     // Helper method pour mapper un ResultSet à un objet Station
     private Station mapRowToStation(ResultSet rs) throws SQLException {
         return new Station(
@@ -3,8 +3,9 @@ package com.example.csms.dao.impl;
 import com.example.csms.dao.UserDAO;
 import com.example.csms.exception.DataAccessException;
 import com.example.csms.model.User;
-import com.example.csms.util.DatabaseConnection;
+import com.example.csms.util.DatabasePool;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -13,10 +14,21 @@ import java.util.Optional;
 
 public class UserDAOImpl implements UserDAO {
 
+    private final DataSource dataSource;
+
+    public UserDAOImpl() {
+        this(DatabasePool.getDataSource());
+    }
+
+    // Constructeur pour injection (tests)
+    public UserDAOImpl(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
     @Override
     public Optional<User> findByUsername(String username) {
         String sql = "SELECT id, username, password FROM users WHERE username = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        try (Connection conn = dataSource.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, username);
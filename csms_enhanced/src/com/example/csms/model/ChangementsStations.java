@@ -0,0 +1,35 @@
+package com.example.csms.model;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Changements relevés dans la table stations depuis une marque temporelle (voir StationDAO.trouverChangementsDepuis)
+public class ChangementsStations {
+    private final List<Station> stationsModifiees; // Ajoutées ou modifiées
+    private final List<Long> idsSupprimes;
+    private final Timestamp marque; // Heure du serveur BDD au moment de la lecture
+    private final boolean tropNombreux; // Liste tronquée : un rechargement complet est nécessaire
+
+    public ChangementsStations(List<Station> stationsModifiees, List<Long> idsSupprimes, Timestamp marque,
+                               boolean tropNombreux) {
+        this.stationsModifiees = stationsModifiees;
+        this.idsSupprimes = idsSupprimes;
+        this.marque = marque;
+        this.tropNombreux = tropNombreux;
+    }
+
+    public List<Station> getStationsModifiees() { return stationsModifiees; }
+    public List<Long> getIdsSupprimes() { return idsSupprimes; }
+    public Timestamp getMarque() { return marque; }
+    public boolean isTropNombreux() { return tropNombreux; }
+
+    public boolean estVide() {
+        return stationsModifiees.isEmpty() && idsSupprimes.isEmpty() && !tropNombreux;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Changements [modifiées=%d, supprimées=%d, marque=%s%s]",
+                stationsModifiees.size(), idsSupprimes.size(), marque, tropNombreux ? ", tronqué" : "");
+    }
+}
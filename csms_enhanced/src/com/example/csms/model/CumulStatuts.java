@@ -0,0 +1,52 @@
+package com.example.csms.model;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Temps passé dans chaque statut sur une période (une heure, un jour ou toute une plage),
+// pour une station ou pour tout le parc (voir HistoriqueStatutsDAO)
+public class CumulStatuts {
+    public static final long MS_PAR_HEURE = 3_600_000L;
+
+    private final Timestamp debut; // Début de la période
+    private final Map<Statut, Long> dureesMs = new EnumMap<>(Statut.class);
+
+    public CumulStatuts(Timestamp debut) {
+        this.debut = debut;
+    }
+
+    public Timestamp getDebut() { return debut; }
+
+    public void ajouter(Statut statut, long dureeMs) {
+        dureesMs.merge(statut, dureeMs, Long::sum);
+    }
+
+    public long getDureeMs(Statut statut) {
+        return dureesMs.getOrDefault(statut, 0L);
+    }
+
+    public long getTotalMs() {
+        return dureesMs.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    // Part du temps passé dans ce statut (0 à 100), ex. DISPONIBLE pour la disponibilité, EN_CHARGE pour l'utilisation
+    public double getPourcentage(Statut statut) {
+        long total = getTotalMs();
+        return total == 0 ? 0 : 100.0 * getDureeMs(statut) / total;
+    }
+
+    // Début de l'heure (locale) contenant cet instant : borne des cumuls horaires
+    public static long debutHeure(long instantMs) {
+        return Instant.ofEpochMilli(instantMs).atZone(ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.HOURS).toInstant().toEpochMilli();
+    }
+
+    @Override
+    public String toString() {
+        return "Cumul [debut=" + debut + ", durees=" + dureesMs + "]";
+    }
+}
@@ -33,6 +33,15 @@ public enum Statut {
                 .orElse(HORS_SERVICE); // Valeur par défaut si non trouvé
     }
 
+    // Version stricte de fromString pour les données externes (ingestion, import) : null si la valeur est inconnue
+    public static Statut depuisTexte(String text) {
+        if (text == null) return null;
+        return Arrays.stream(Statut.values())
+                .filter(s -> s.name().equalsIgnoreCase(text) || s.getDescription().equalsIgnoreCase(text))
+                .findFirst()
+                .orElse(null);
+    }
+
     // Retourne toutes les descriptions pour JComboBox
     public static List<String> getAllDescriptions() {
         return Arrays.stream(Statut.values())
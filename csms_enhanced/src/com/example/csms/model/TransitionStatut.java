@@ -0,0 +1,28 @@
+package com.example.csms.model;
+
+import java.sql.Timestamp;
+
+// Changement de statut d'une station, tel qu'enregistré dans l'historique (table historique_statuts)
+public class TransitionStatut {
+    private final long stationId;
+    private final Statut ancienStatut; // null : création de la station (ou statut précédent inconnu)
+    private final Statut nouveauStatut; // null : suppression de la station
+    private final Timestamp instant;
+
+    public TransitionStatut(long stationId, Statut ancienStatut, Statut nouveauStatut, Timestamp instant) {
+        this.stationId = stationId;
+        this.ancienStatut = ancienStatut;
+        this.nouveauStatut = nouveauStatut;
+        this.instant = instant;
+    }
+
+    public long getStationId() { return stationId; }
+    public Statut getAncienStatut() { return ancienStatut; }
+    public Statut getNouveauStatut() { return nouveauStatut; }
+    public Timestamp getInstant() { return instant; }
+
+    @Override
+    public String toString() {
+        return "Transition [station=" + stationId + ", " + ancienStatut + " -> " + nouveauStatut + ", " + instant + "]";
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.csms.service;
+
+import com.example.csms.model.Statut;
+import com.example.csms.model.Station;
+import com.example.csms.util.DatabaseConfig;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Version asynchrone de StationService : chaque appel s'exécute sur un pool de threads dédié
+// et retourne un CompletableFuture, pour ne jamais bloquer l'EDT Swing pendant un aller-retour BDD.
+// Le pool a autant de threads que le pool de connexions : inutile d'en lancer davantage en parallèle.
+// Annuler un futur (cancel) retire la tâche de la file si elle n'a pas encore démarré.
+// Les résultats sont livrés sur un thread du pool : c'est à l'appelant de revenir sur l'EDT.
+public class AsyncStationService implements AutoCloseable {
+
+    private final StationService stationService;
+    private final ExecutorService executor;
+
+    public AsyncStationService(StationService stationService) {
+        this(stationService, DatabaseConfig.POOL_MAX_SIZE);
+    }
+
+    public AsyncStationService(StationService stationService, int nombreThreads) {
+        this.stationService = stationService;
+        AtomicInteger compteur = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread t = new Thread(r, "csms-bdd-" + compteur.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = new ThreadPoolExecutor(nombreThreads, nombreThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+
+    public StationService getStationService() {
+        return stationService;
+    }
+
+    public CompletableFuture<Station> ajouterStation(Station station) {
+        return executer(() -> stationService.ajouterStation(station));
+    }
+
+    public CompletableFuture<Boolean> modifierStation(Station station) {
+        return executer(() -> stationService.modifierStation(station));
+    }
+
+    public CompletableFuture<Boolean> updateStationStatus(long stationId, Statut nouveauStatut) {
+        return executer(() -> stationService.updateStationStatus(stationId, nouveauStatut));
+    }
+
+    public CompletableFuture<Boolean> supprimerStation(long id) {
+        return executer(() -> stationService.supprimerStation(id));
+    }
+
+    public CompletableFuture<Map<Long, Boolean>> supprimerStations(Collection<Long> ids) {
+        return executer(() -> stationService.supprimerStations(ids));
+    }
+
+    public CompletableFuture<Map<Long, Boolean>> changerStatutStations(Collection<Long> ids, Statut nouveauStatut) {
+        return executer(() -> stationService.changerStatutStations(ids, nouveauStatut));
+    }
+
+    public CompletableFuture<Optional<Station>> trouverStationParId(long id) {
+        return executer(() -> stationService.trouverStationParId(id));
+    }
+
+    public CompletableFuture<List<Station>> trouverPageStations(String critere, Statut statut, Station apres, int taille) {
+        return executer(() -> stationService.trouverPageStations(critere, statut, apres, taille));
+    }
+
+    public CompletableFuture<List<Station>> trouverPageALaPosition(String critere, Statut statut, long position, int taille) {
+        return executer(() -> stationService.trouverPageALaPosition(critere, statut, position, taille));
+    }
+
+    public CompletableFuture<Long> compterStations(String critere, Statut statut) {
+        return executer(() -> stationService.compterStations(critere, statut));
+    }
+
+    public CompletableFuture<Map<String, Long>> getStationStatistics() {
+        return executer(stationService::getStationStatistics);
+    }
+
+    public CompletableFuture<Map<String, Long>> rafraichirStatistiques() {
+        return executer(stationService::rafraichirStatistiques);
+    }
+
+    // Exécute un traitement BDD quelconque sur le pool (ex. export utilisant StationService directement)
+    public <T> CompletableFuture<T> executer(Callable<T> tache) {
+        CompletableFuture<T> resultat = new CompletableFuture<>();
+        Future<?> execution = executor.submit(() -> {
+            if (resultat.isDone()) {
+                return; // Annulé avant de démarrer
+            }
+            try {
+                resultat.complete(tache.call());
+            } catch (Throwable t) {
+                resultat.completeExceptionally(t);
+            }
+        });
+        resultat.whenComplete((r, e) -> {
+            if (resultat.isCancelled()) {
+                execution.cancel(false);
+            }
+        });
+        return resultat;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.csms.service;
+
+import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.Statut;
+import com.example.csms.model.Station;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.Paragraph;
+import com.itextpdf.text.Phrase;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+// Export des stations (PDF ou CSV) avec les filtres de la vue, lues en base par tranches de TAILLE_TRANCHE
+// (pagination par clé) et écrites au fur et à mesure : la mémoire utilisée ne dépend pas du nombre de stations.
+// En PDF, le tableau est déclaré incomplet (LargeElement) et ses lignes sont envoyées au document à chaque
+// tranche. Conçu pour tourner hors EDT ; Suivi reçoit la progression et peut demander l'annulation.
+public class ExportStations {
+
+    public enum Format { PDF, CSV }
+
+    public static final int TAILLE_TRANCHE = 1000;
+    private static final char SEPARATEUR_CSV = ';'; // Séparateur attendu par Excel en français
+
+    // Appelé depuis le thread d'export
+    public interface Suivi {
+        void progression(long exportees, long total);
+        boolean estAnnule();
+    }
+
+    private final StationService stationService;
+
+    public ExportStations(StationService stationService) {
+        this.stationService = stationService;
+    }
+
+    // Retourne le nombre de stations exportées. En cas d'annulation (CancellationException) ou d'erreur,
+    // le fichier partiel est supprimé.
+    public long exporter(File fichier, Format format, String critere, Statut statut, String sousTitre, Suivi suivi)
+            throws IOException, DocumentException, DataAccessException {
+        long total = stationService.compterStations(critere, statut);
+        boolean termine = false;
+        try (OutputStream sortie = new BufferedOutputStream(new FileOutputStream(fichier))) {
+            long exportees = format == Format.PDF
+                    ? exporterPdf(sortie, critere, statut, sousTitre, total, suivi)
+                    : exporterCsv(sortie, critere, statut, total, suivi);
+            termine = true;
+            return exportees;
+        } finally {
+            if (!termine && !fichier.delete()) {
+                System.err.println("Impossible de supprimer l'export partiel: " + fichier.getAbsolutePath());
+            }
+        }
+    }
+
+    private long exporterPdf(OutputStream sortie, String critere, Statut statut, String sousTitre, long total,
+                             Suivi suivi) throws DocumentException, DataAccessException {
+        Document document = new Document(PageSize.A4, 50, 50, 50, 50);
+        PdfWriter.getInstance(document, sortie).setCloseStream(false); // Le flux est fermé par exporter()
+        document.open();
+
+        // Titre du document
+        Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18, BaseColor.BLACK);
+        Paragraph title = new Paragraph("Export des Stations de Charge", titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingAfter(20);
+        document.add(title);
+
+        // Informations sur l'export
+        Font infoFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
+        Paragraph info = new Paragraph("Généré le: " + new java.util.Date() + " | " + sousTitre, infoFont);
+        info.setAlignment(Element.ALIGN_CENTER);
+        info.setSpacingAfter(15);
+        document.add(info);
+
+        // Statistiques
+        Map<String, Long> stats = stationService.getStationStatistics();
+        Font statsFont = FontFactory.getFont(FontFactory.HELVETICA, 11, BaseColor.DARK_GRAY);
+        Paragraph statsP = new Paragraph(
+                "Statistiques: Total: " + stats.getOrDefault("TOTAL", 0L) +
+                        " | Disponibles: " + stats.getOrDefault(Statut.DISPONIBLE.name(), 0L) +
+                        " | En Charge: " + stats.getOrDefault(Statut.EN_CHARGE.name(), 0L) +
+                        " | Hors Service: " + stats.getOrDefault(Statut.HORS_SERVICE.name(), 0L),
+                statsFont);
+        statsP.setAlignment(Element.ALIGN_CENTER);
+        statsP.setSpacingAfter(20);
+        document.add(statsP);
+
+        // Tableau des données, envoyé au document par morceaux
+        PdfPTable table = new PdfPTable(5);
+        table.setWidthPercentage(100);
+        table.setWidths(new float[] { 1f, 3f, 3f, 2f, 2.5f }); // Largeurs relatives
+        table.setComplete(false);
+        table.setHeaderRows(1); // En-têtes répétés sur chaque page
+
+        Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10, BaseColor.WHITE);
+        for (String header : new String[] { "ID", "Nom", "Localisation", "Statut", "Dernière MàJ" }) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+            cell.setBackgroundColor(BaseColor.DARK_GRAY);
+            cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+            cell.setPadding(8);
+            table.addCell(cell);
+        }
+
+        Font dataFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
+        Map<Statut, BaseColor> couleurs = new EnumMap<>(Statut.class);
+        couleurs.put(Statut.DISPONIBLE, new BaseColor(200, 255, 200));
+        couleurs.put(Statut.EN_CHARGE, new BaseColor(255, 230, 180));
+        couleurs.put(Statut.HORS_SERVICE, new BaseColor(255, 200, 200));
+
+        long exportees = 0;
+        Station apres = null;
+        List<Station> tranche;
+        do {
+            verifierAnnulation(suivi);
+            tranche = stationService.trouverPageStations(critere, statut, apres, TAILLE_TRANCHE);
+            for (Station station : tranche) {
+                PdfPCell idCell = new PdfPCell(new Phrase(String.valueOf(station.getId()), dataFont));
+                idCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+                table.addCell(preparer(idCell));
+                table.addCell(preparer(new PdfPCell(new Phrase(texte(station.getNom()), dataFont))));
+                table.addCell(preparer(new PdfPCell(new Phrase(texte(station.getLocalisation()), dataFont))));
+                PdfPCell statutCell = new PdfPCell(new Phrase(
+                        station.getStatut() != null ? station.getStatut().getDescription() : "N/D", dataFont));
+                if (station.getStatut() != null) {
+                    statutCell.setBackgroundColor(couleurs.get(station.getStatut()));
+                }
+                table.addCell(preparer(statutCell));
+                table.addCell(preparer(new PdfPCell(new Phrase(texte(station.getDerniereMiseAJour()), dataFont))));
+            }
+            document.add(table); // Écrit les lignes complètes et les retire du tableau
+            exportees += tranche.size();
+            suivi.progression(exportees, total);
+            if (!tranche.isEmpty()) {
+                apres = tranche.get(tranche.size() - 1);
+            }
+        } while (tranche.size() == TAILLE_TRANCHE);
+        table.setComplete(true);
+        document.add(table);
+
+        // Pied de page
+        Paragraph footer = new Paragraph("\nNombre de stations affichées: " + exportees, infoFont);
+        footer.setAlignment(Element.ALIGN_RIGHT);
+        footer.setSpacingBefore(15);
+        document.add(footer);
+
+        document.close();
+        return exportees;
+    }
+
+    private long exporterCsv(OutputStream sortie, String critere, Statut statut, long total, Suivi suivi)
+            throws IOException, DataAccessException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+        writer.write('\uFEFF'); // BOM : Excel reconnaît alors l'UTF-8 (accents)
+        ecrireLigneCsv(writer, "ID", "Nom", "Localisation", "Statut", "Dernière MàJ");
+
+        long exportees = 0;
+        Station apres = null;
+        List<Station> tranche;
+        do {
+            verifierAnnulation(suivi);
+            tranche = stationService.trouverPageStations(critere, statut, apres, TAILLE_TRANCHE);
+            for (Station station : tranche) {
+                ecrireLigneCsv(writer, String.valueOf(station.getId()), texte(station.getNom()),
+                        texte(station.getLocalisation()),
+                        station.getStatut() != null ? station.getStatut().getDescription() : "N/D",
+                        texte(station.getDerniereMiseAJour()));
+            }
+            exportees += tranche.size();
+            suivi.progression(exportees, total);
+            if (!tranche.isEmpty()) {
+                apres = tranche.get(tranche.size() - 1);
+            }
+        } while (tranche.size() == TAILLE_TRANCHE);
+        writer.flush();
+        return exportees;
+    }
+
+    private static void ecrireLigneCsv(Writer writer, String... valeurs) throws IOException {
+        for (int i = 0; i < valeurs.length; i++) {
+            if (i > 0) {
+                writer.write(SEPARATEUR_CSV);
+            }
+            String valeur = valeurs[i];
+            if (valeur.indexOf(SEPARATEUR_CSV) >= 0 || valeur.indexOf('"') >= 0
+                    || valeur.indexOf('\n') >= 0 || valeur.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(valeur.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(valeur);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static PdfPCell preparer(PdfPCell cell) {
+        cell.setPadding(5);
+        return cell;
+    }
+
+    private static String texte(Object valeur) {
+        return valeur != null ? valeur.toString() : "";
+    }
+
+    private static void verifierAnnulation(Suivi suivi) {
+        if (suivi.estAnnule()) {
+            throw new CancellationException("Export annulé par l'utilisateur.");
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.csms.service;
+
+import com.example.csms.dao.HistoriqueStatutsDAO;
+import com.example.csms.dao.impl.HistoriqueStatutsDAOImpl;
+import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.CumulStatuts;
+import com.example.csms.model.Statut;
+import com.example.csms.model.TransitionStatut;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Historique des statuts : les transitions signalées par StationService sont mises en file puis écrites par lots
+// (une transaction par lot de TAILLE_LOT) sur un thread dédié, sans ralentir l'opération qui les a produites.
+// Les cumuls horaires par station et pour le parc sont tenus à jour à chaque lot ; un point horaire y reporte
+// aussi le temps des statuts en cours (station restée plusieurs heures dans le même statut).
+// Les lectures (tableau de bord) ne portent que sur les cumuls, jamais sur l'historique brut.
+public class HistoriqueStatuts implements AutoCloseable {
+
+    public static final long INTERVALLE_ECRITURE_MS = 1000;
+    private static final int TAILLE_LOT = 2000;
+    // Au-delà, les nouvelles transitions sont abandonnées (base indisponible trop longtemps)
+    private static final int MAX_EN_ATTENTE = 500_000;
+
+    private final HistoriqueStatutsDAO historiqueDAO;
+    private final ConcurrentLinkedQueue<TransitionStatut> enAttente = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger nombreEnAttente = new AtomicInteger();
+    private final LongAdder transitionsAbandonnees = new LongAdder();
+    private final ScheduledExecutorService ecrivain;
+    // Accédés seulement par le thread d'écriture (ou par close, après son arrêt)
+    private List<TransitionStatut> lotEnEchec; // Réessayé en premier pour garder l'ordre des transitions
+    private long derniereHeureFermee;
+
+    public HistoriqueStatuts() {
+        this(new HistoriqueStatutsDAOImpl());
+    }
+
+    public HistoriqueStatuts(HistoriqueStatutsDAO historiqueDAO) {
+        this.historiqueDAO = historiqueDAO;
+        this.ecrivain = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "csms-historique-statuts");
+            t.setDaemon(true);
+            return t;
+        });
+        ecrivain.scheduleWithFixedDelay(this::ecrireEnAttente, INTERVALLE_ECRITURE_MS, INTERVALLE_ECRITURE_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Appelé par StationService après chaque changement de statut validé (thread-safe, non bloquant)
+    public void enregistrer(long stationId, Statut ancienStatut, Statut nouveauStatut) {
+        if (ancienStatut == nouveauStatut) {
+            return;
+        }
+        if (nombreEnAttente.incrementAndGet() > MAX_EN_ATTENTE) {
+            nombreEnAttente.decrementAndGet();
+            transitionsAbandonnees.increment();
+            return;
+        }
+        enAttente.add(new TransitionStatut(stationId, ancienStatut, nouveauStatut, new Timestamp(System.currentTimeMillis())));
+    }
+
+    public int getNombreEnAttente() {
+        return nombreEnAttente.get();
+    }
+
+    public long getTransitionsAbandonnees() {
+        return transitionsAbandonnees.sum();
+    }
+
+    private void ecrireEnAttente() {
+        try {
+            while (lotEnEchec != null || !enAttente.isEmpty()) {
+                List<TransitionStatut> lot = lotEnEchec;
+                if (lot == null) {
+                    lot = new ArrayList<>(TAILLE_LOT);
+                    for (TransitionStatut t; lot.size() < TAILLE_LOT && (t = enAttente.poll()) != null; ) {
+                        lot.add(t);
+                    }
+                }
+                lotEnEchec = lot;
+                historiqueDAO.enregistrerTransitions(lot);
+                lotEnEchec = null;
+                nombreEnAttente.addAndGet(-lot.size()); // Décompté seulement une fois écrit
+            }
+            long heure = CumulStatuts.debutHeure(System.currentTimeMillis());
+            if (heure > derniereHeureFermee) {
+                historiqueDAO.fermerHeures(new Timestamp(heure));
+                derniereHeureFermee = heure;
+            }
+        } catch (RuntimeException e) {
+            // Le lot en échec (transaction annulée) et le reste de la file sont réessayés au prochain passage
+            System.err.println("Historique des statuts: écriture impossible, nouvel essai dans "
+                    + INTERVALLE_ECRITURE_MS + " ms: " + e.getMessage());
+        }
+    }
+
+    // Temps passé dans chaque statut depuis debut (début d'heure) jusqu'à maintenant, pour une station ou tout le
+    // parc (stationId == null) : cumuls horaires, plus le temps des statuts en cours pas encore reportés
+    public CumulStatuts cumulDepuis(Long stationId, Timestamp debut) throws DataAccessException {
+        Timestamp maintenant = new Timestamp(System.currentTimeMillis());
+        CumulStatuts total = new CumulStatuts(debut);
+        for (CumulStatuts cumul : historiqueDAO.trouverCumuls(stationId, debut, maintenant, true)) {
+            for (Statut s : Statut.values()) {
+                total.ajouter(s, cumul.getDureeMs(s));
+            }
+        }
+        for (Map.Entry<Statut, Long> enCours : historiqueDAO.trouverDureesEnCours(stationId, debut, maintenant).entrySet()) {
+            total.ajouter(enCours.getKey(), enCours.getValue());
+        }
+        return total;
+    }
+
+    // Série par heure ou par jour sur [debut, fin) ; l'heure en cours n'y figure complètement qu'après le point horaire
+    public List<CumulStatuts> serie(Long stationId, Timestamp debut, Timestamp fin, boolean parJour) throws DataAccessException {
+        return historiqueDAO.trouverCumuls(stationId, debut, fin, parJour);
+    }
+
+    // Écrit ce qui reste en file avant de s'arrêter
+    @Override
+    public void close() {
+        ecrivain.shutdown();
+        try {
+            ecrivain.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ecrireEnAttente();
+    }
+}
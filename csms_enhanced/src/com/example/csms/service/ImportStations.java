@@ -0,0 +1,391 @@
+package com.example.csms.service;
+
+import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.Statut;
+import com.example.csms.model.Station;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Import en masse de stations depuis un fichier CSV : UTF-8 (BOM accepté), séparateur ';' ou ',' détecté sur
+// l'en-tête, qui doit contenir une colonne Nom ; Localisation (ou Lieu) et Statut sont facultatives, les autres
+// colonnes sont ignorées (un export CSV peut donc être réimporté).
+// Le fichier est lu en flux par lots de TAILLE_LOT enregistrements. Chaque lot est validé sur un pool de threads
+// pendant la lecture des suivants, puis inséré dans l'ordre du fichier, une transaction par lot (INSERT
+// multi-lignes). Le point de reprise est écrit en base dans la même transaction : un import interrompu
+// (annulation, panne) peut reprendre après le dernier lot inséré, sans doublon.
+// Conçu pour tourner hors EDT ; Suivi reçoit la progression et peut demander l'annulation.
+public class ImportStations {
+
+    public static final int TAILLE_LOT = 1000;
+    public static final int LONGUEUR_MAX = 255; // Taille des colonnes nom et localisation
+    private static final int MAX_ERREURS_DETAILLEES = 100;
+
+    // Appelé depuis le thread d'import
+    public interface Suivi {
+        void progression(long traites, long total);
+        boolean estAnnule();
+    }
+
+    private final StationService stationService;
+    private final int nombreValidateurs;
+
+    public ImportStations(StationService stationService) {
+        this(stationService, Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    public ImportStations(StationService stationService, int nombreValidateurs) {
+        this.stationService = stationService;
+        this.nombreValidateurs = nombreValidateurs;
+    }
+
+    // Lecture préalable du fichier (octets bruts, sans analyse CSV) : empreinte du contenu, qui sert de clé au point
+    // de reprise, nombre approximatif d'enregistrements (lignes) et point de reprise éventuel
+    public Analyse analyser(File fichier) throws IOException, DataAccessException {
+        MessageDigest empreinte;
+        try {
+            empreinte = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // Toujours disponible
+        }
+        long lignes = 0;
+        byte dernier = '\n';
+        byte[] tampon = new byte[64 * 1024];
+        try (InputStream entree = new FileInputStream(fichier)) {
+            for (int n; (n = entree.read(tampon)) > 0; ) {
+                empreinte.update(tampon, 0, n);
+                for (int i = 0; i < n; i++) {
+                    if (tampon[i] == '\n') {
+                        lignes++;
+                    }
+                }
+                dernier = tampon[n - 1];
+            }
+        }
+        if (dernier != '\n') {
+            lignes++; // Dernière ligne sans saut de ligne
+        }
+        String cle = "csv:" + HexFormat.of().formatHex(empreinte.digest());
+        return new Analyse(fichier, cle, Math.max(0, lignes - 1), stationService.trouverRepriseImport(cle));
+    }
+
+    // Importe le fichier analysé, depuis le début ou (reprendre) après les enregistrements déjà traités.
+    // En cas d'annulation (CancellationException) ou d'erreur, les lots déjà insérés restent, avec leur point de reprise.
+    public Resultat importer(Analyse analyse, boolean reprendre, Suivi suivi) throws IOException, DataAccessException {
+        long dejaTraites = reprendre ? analyse.getDejaTraites() : 0;
+        Resultat resultat = new Resultat(dejaTraites);
+        AtomicInteger compteur = new AtomicInteger();
+        ExecutorService validateurs = Executors.newFixedThreadPool(nombreValidateurs, r -> {
+            Thread t = new Thread(r, "csms-import-validation-" + compteur.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        // Lots en cours de validation, dans l'ordre du fichier ; borné pour que la mémoire ne dépende pas de sa taille
+        ArrayDeque<Future<LotValide>> enCours = new ArrayDeque<>();
+        try (LecteurCsv lecteur = new LecteurCsv(Files.newBufferedReader(analyse.getFichier().toPath(), StandardCharsets.UTF_8))) {
+            Colonnes colonnes = Colonnes.depuisEntete(lecteur.lireEnregistrement());
+            long numero = 0; // Enregistrements de données lus (lignes vides comprises), base du point de reprise
+            while (numero < dejaTraites && lecteur.lireEnregistrement() != null) {
+                numero++;
+            }
+            suivi.progression(numero, analyse.getEnregistrementsEstimes());
+
+            while (true) {
+                verifierAnnulation(suivi);
+                List<Enregistrement> lot = new ArrayList<>(TAILLE_LOT);
+                for (List<String> champs; lot.size() < TAILLE_LOT && (champs = lecteur.lireEnregistrement()) != null; ) {
+                    lot.add(new Enregistrement(lecteur.getLigneDebut(), champs));
+                }
+                if (lot.isEmpty()) {
+                    break;
+                }
+                numero += lot.size();
+                long fin = numero;
+                enCours.add(validateurs.submit(() -> valider(lot, colonnes, fin)));
+                if (enCours.size() >= 2 * nombreValidateurs) {
+                    inserer(attendre(enCours.poll()), analyse, resultat, suivi);
+                }
+            }
+            while (!enCours.isEmpty()) {
+                verifierAnnulation(suivi);
+                inserer(attendre(enCours.poll()), analyse, resultat, suivi);
+            }
+        } finally {
+            validateurs.shutdownNow();
+        }
+        return resultat;
+    }
+
+    private void inserer(LotValide lot, Analyse analyse, Resultat resultat, Suivi suivi) throws DataAccessException {
+        stationService.ajouterStations(lot.stations, analyse.getCle(), lot.fin);
+        resultat.importees += lot.stations.size();
+        resultat.rejetees += lot.erreurs.size();
+        for (String erreur : lot.erreurs) {
+            if (resultat.erreurs.size() < MAX_ERREURS_DETAILLEES) {
+                resultat.erreurs.add(erreur);
+            }
+        }
+        suivi.progression(lot.fin, Math.max(lot.fin, analyse.getEnregistrementsEstimes()));
+    }
+
+    // Exécuté sur un thread de validation
+    private static LotValide valider(List<Enregistrement> lot, Colonnes colonnes, long fin) {
+        LotValide valide = new LotValide(fin);
+        for (Enregistrement enregistrement : lot) {
+            if (enregistrement.estVide()) {
+                continue;
+            }
+            String nom = enregistrement.champ(colonnes.nom);
+            String localisation = enregistrement.champ(colonnes.localisation);
+            String texteStatut = enregistrement.champ(colonnes.statut);
+            Statut statut = texteStatut.isEmpty() ? Statut.DISPONIBLE : Statut.depuisTexte(texteStatut);
+            String erreur = null;
+            if (nom.isEmpty()) {
+                erreur = "nom vide";
+            } else if (nom.length() > LONGUEUR_MAX) {
+                erreur = "nom trop long (" + nom.length() + " caractères, " + LONGUEUR_MAX + " au maximum)";
+            } else if (localisation.length() > LONGUEUR_MAX) {
+                erreur = "localisation trop longue (" + localisation.length() + " caractères, " + LONGUEUR_MAX + " au maximum)";
+            } else if (statut == null) {
+                erreur = "statut inconnu \"" + texteStatut + "\"";
+            }
+            if (erreur != null) {
+                valide.erreurs.add("Ligne " + enregistrement.ligne + " : " + erreur);
+            } else {
+                valide.stations.add(new Station(nom, localisation, statut));
+            }
+        }
+        return valide;
+    }
+
+    private static LotValide attendre(Future<LotValide> lot) {
+        try {
+            return lot.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Import interrompu.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void verifierAnnulation(Suivi suivi) {
+        if (suivi.estAnnule()) {
+            throw new CancellationException("Import annulé par l'utilisateur.");
+        }
+    }
+
+    // Fichier prêt à importer (voir analyser)
+    public static class Analyse {
+        private final File fichier;
+        private final String cle;
+        private final long enregistrementsEstimes;
+        private final long dejaTraites;
+
+        private Analyse(File fichier, String cle, long enregistrementsEstimes, long dejaTraites) {
+            this.fichier = fichier;
+            this.cle = cle;
+            this.enregistrementsEstimes = enregistrementsEstimes;
+            this.dejaTraites = dejaTraites;
+        }
+
+        public File getFichier() { return fichier; }
+        public String getCle() { return cle; }
+        public long getEnregistrementsEstimes() { return enregistrementsEstimes; }
+        // Enregistrements traités par un import précédent de ce même contenu (0 si jamais importé)
+        public long getDejaTraites() { return dejaTraites; }
+    }
+
+    public static class Resultat {
+        private final long ignorees; // Déjà traitées par un import précédent (reprise)
+        private long importees;
+        private long rejetees;
+        private final List<String> erreurs = new ArrayList<>(); // Les MAX_ERREURS_DETAILLEES premières
+
+        private Resultat(long ignorees) {
+            this.ignorees = ignorees;
+        }
+
+        public long getIgnorees() { return ignorees; }
+        public long getImportees() { return importees; }
+        public long getRejetees() { return rejetees; }
+        public List<String> getErreurs() { return Collections.unmodifiableList(erreurs); }
+
+        @Override
+        public String toString() {
+            return importees + " station(s) importée(s), " + rejetees + " ligne(s) rejetée(s)"
+                    + (ignorees > 0 ? ", reprise après " + ignorees + " enregistrement(s) déjà traité(s)" : "");
+        }
+    }
+
+    private static class LotValide {
+        final long fin; // Point de reprise une fois ce lot inséré
+        final List<Station> stations = new ArrayList<>();
+        final List<String> erreurs = new ArrayList<>();
+
+        LotValide(long fin) {
+            this.fin = fin;
+        }
+    }
+
+    private static class Enregistrement {
+        final long ligne; // Ligne du fichier où commence l'enregistrement, pour les messages d'erreur
+        final List<String> champs;
+
+        Enregistrement(long ligne, List<String> champs) {
+            this.ligne = ligne;
+            this.champs = champs;
+        }
+
+        String champ(int index) {
+            return index >= 0 && index < champs.size() ? champs.get(index).trim() : "";
+        }
+
+        boolean estVide() {
+            for (String champ : champs) {
+                if (!champ.isBlank()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    // Position des colonnes utiles, d'après l'en-tête (casse et accents ignorés)
+    private static class Colonnes {
+        int nom = -1;
+        int localisation = -1;
+        int statut = -1;
+
+        static Colonnes depuisEntete(List<String> entete) throws IOException {
+            if (entete == null) {
+                throw new IOException("Le fichier est vide.");
+            }
+            Colonnes colonnes = new Colonnes();
+            for (int i = 0; i < entete.size(); i++) {
+                switch (IndexRechercheStations.normaliser(entete.get(i).trim())) {
+                    case "nom" -> colonnes.nom = i;
+                    case "localisation", "lieu" -> colonnes.localisation = i;
+                    case "statut" -> colonnes.statut = i;
+                    default -> { } // Colonne ignorée (ID, Dernière MàJ d'un export...)
+                }
+            }
+            if (colonnes.nom < 0) {
+                throw new IOException("En-tête invalide : colonne \"Nom\" introuvable (colonnes attendues : Nom;Localisation;Statut).");
+            }
+            return colonnes;
+        }
+    }
+
+    // Lecteur CSV en flux (RFC 4180 : champs entre guillemets pouvant contenir séparateur, "" et sauts de ligne)
+    private static class LecteurCsv implements Closeable {
+        private final BufferedReader reader;
+        private final char separateur;
+        private long ligne = 1;
+        private long ligneDebut;
+        private int enAvance = -2; // Caractère lu en trop, -2 si aucun
+
+        LecteurCsv(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            reader.mark(1);
+            if (reader.read() != '\uFEFF') {
+                reader.reset(); // Pas de BOM
+            }
+            // Séparateur : le plus fréquent des deux sur la ligne d'en-tête
+            reader.mark(64 * 1024);
+            String entete = reader.readLine();
+            reader.reset();
+            long pointsVirgules = entete == null ? 0 : entete.chars().filter(c -> c == ';').count();
+            long virgules = entete == null ? 0 : entete.chars().filter(c -> c == ',').count();
+            this.separateur = virgules > pointsVirgules ? ',' : ';';
+        }
+
+        long getLigneDebut() {
+            return ligneDebut;
+        }
+
+        // Champs de l'enregistrement suivant, ou null en fin de fichier
+        List<String> lireEnregistrement() throws IOException {
+            int c = lire();
+            if (c == -1) {
+                return null;
+            }
+            ligneDebut = ligne;
+            List<String> champs = new ArrayList<>();
+            StringBuilder champ = new StringBuilder();
+            boolean entreGuillemets = false;
+            while (true) {
+                if (entreGuillemets) {
+                    if (c == -1) {
+                        throw new IOException("Guillemet non fermé dans l'enregistrement commençant ligne " + ligneDebut + ".");
+                    }
+                    if (c == '"') {
+                        int d = lire();
+                        if (d != '"') {
+                            entreGuillemets = false;
+                            c = d;
+                            continue; // d est lu hors guillemets
+                        }
+                    } else if (c == '\n') {
+                        ligne++;
+                    }
+                    champ.append((char) c);
+                } else if (c == '"' && champ.length() == 0) {
+                    entreGuillemets = true;
+                } else if (c == separateur) {
+                    champs.add(champ.toString());
+                    champ.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        int d = lire();
+                        if (d != '\n') {
+                            enAvance = d;
+                        }
+                    }
+                    ligne++;
+                    champs.add(champ.toString());
+                    return champs;
+                } else {
+                    champ.append((char) c);
+                }
+                c = lire();
+            }
+        }
+
+        private int lire() throws IOException {
+            if (enAvance != -2) {
+                int c = enAvance;
+                enAvance = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.example.csms.service;
+
+import com.example.csms.model.Statut;
+import com.example.csms.model.Station;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// Index de recherche en mémoire sur nom et localisation de toutes les stations.
+// Les textes sont normalisés (minuscules, sans accents) et découpés en trigrammes : une recherche intersecte
+// les listes des trigrammes de la requête puis vérifie la sous-chaîne sur ces seuls candidats.
+// Chaque station reçoit un ordinal interne ; une station renommée en reçoit un nouveau et l'ancien devient
+// "mort" (ignoré à la vérification) jusqu'au compactage. Accès concurrents protégés par un verrou lecture/écriture.
+public class IndexRechercheStations {
+
+    private static final int N = 3; // Taille des n-grammes
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{M}+");
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    // Données par ordinal ; noms[o] == null pour un ordinal mort
+    private long[] ids = new long[1024];
+    private String[] noms = new String[1024];
+    private String[] localisations = new String[1024];
+    private Statut[] statuts = new Statut[1024];
+    private int nombreOrdinaux;
+    private int nombreMorts;
+
+    private final Map<Long, Integer> ordinalParId = new HashMap<>();
+    // Trigramme (3 caractères codés dans un long) -> ordinaux croissants
+    private final Map<Long, ListeOrdinaux> listes = new HashMap<>();
+
+    // Pendant la construction initiale : stations supprimées ou modifiées qu'il ne faut pas écraser
+    private Set<Long> dejaTraitees = new HashSet<>();
+
+    // Incrémentée à chaque modification (pour invalider les résultats mis en cache par l'appelant)
+    private long version;
+
+    public static String normaliser(String texte) {
+        if (texte == null) {
+            return "";
+        }
+        if (texte.chars().allMatch(c -> c < 0x80)) {
+            return texte.toLowerCase(Locale.ROOT); // Cas courant : rien à décomposer
+        }
+        String decompose = Normalizer.normalize(texte, Normalizer.Form.NFD);
+        return DIACRITIQUES.matcher(decompose).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Utilisé par la construction initiale : ignore une station déjà modifiée ou supprimée depuis son début
+    public void ajouterSiAbsente(Station station) {
+        verrou.writeLock().lock();
+        try {
+            if (dejaTraitees != null && dejaTraitees.contains(station.getId())) {
+                return;
+            }
+            if (!ordinalParId.containsKey(station.getId())) {
+                ajouterOrdinal(station);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void terminerConstruction() {
+        verrou.writeLock().lock();
+        try {
+            dejaTraitees = null;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    // Ajout ou modification (la station fournie fait foi)
+    public void mettreAJour(Station station) {
+        verrou.writeLock().lock();
+        try {
+            marquerTraitee(station.getId());
+            Integer ordinal = ordinalParId.get(station.getId());
+            if (ordinal != null) {
+                if (noms[ordinal].equals(normaliser(station.getNom()))
+                        && localisations[ordinal].equals(normaliser(station.getLocalisation()))) {
+                    statuts[ordinal] = station.getStatut();
+                    version++;
+                    return;
+                }
+                retirerOrdinal(ordinal);
+            }
+            ajouterOrdinal(station);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void changerStatut(long id, Statut statut) {
+        verrou.writeLock().lock();
+        try {
+            Integer ordinal = ordinalParId.get(id);
+            if (ordinal != null) {
+                statuts[ordinal] = statut;
+                version++;
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void retirer(long id) {
+        verrou.writeLock().lock();
+        try {
+            marquerTraitee(id);
+            Integer ordinal = ordinalParId.get(id);
+            if (ordinal != null) {
+                retirerOrdinal(ordinal);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public long getVersion() {
+        verrou.readLock().lock();
+        try {
+            return version;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    public int getNombreStations() {
+        verrou.readLock().lock();
+        try {
+            return ordinalParId.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // Stations dont le nom ou la localisation contient critere (sans tenir compte de la casse ni des accents),
+    // éventuellement limitées à un statut, triées par nom normalisé puis id
+    public Resultat rechercher(String critere, Statut statut) {
+        String recherche = normaliser(critere);
+        verrou.readLock().lock();
+        try {
+            int[] candidats = candidats(recherche);
+            int nombre = 0;
+            for (int ordinal : candidats) {
+                if (noms[ordinal] != null && (statut == null || statuts[ordinal] == statut)
+                        && (noms[ordinal].contains(recherche) || localisations[ordinal].contains(recherche))) {
+                    candidats[nombre++] = ordinal; // Compactage sur place
+                }
+            }
+            Integer[] trouves = new Integer[nombre];
+            for (int i = 0; i < nombre; i++) {
+                trouves[i] = candidats[i];
+            }
+            Arrays.sort(trouves, (a, b) -> {
+                int comparaison = noms[a].compareTo(noms[b]);
+                return comparaison != 0 ? comparaison : Long.compare(ids[a], ids[b]);
+            });
+            long[] idsTrouves = new long[nombre];
+            String[] nomsTrouves = new String[nombre];
+            for (int i = 0; i < nombre; i++) {
+                idsTrouves[i] = ids[trouves[i]];
+                nomsTrouves[i] = noms[trouves[i]];
+            }
+            return new Resultat(idsTrouves, nomsTrouves, version);
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // Ordinaux pouvant correspondre : intersection des listes de trigrammes, ou tous si la requête est trop courte
+    private int[] candidats(String recherche) {
+        if (recherche.length() < N) {
+            int[] tous = new int[nombreOrdinaux];
+            for (int i = 0; i < nombreOrdinaux; i++) {
+                tous[i] = i;
+            }
+            return tous;
+        }
+        long[] trigrammesRecherche = new long[recherche.length() - N + 1];
+        trigrammes(recherche, trigrammesRecherche, 0);
+        List<ListeOrdinaux> aIntersecter = new ArrayList<>();
+        for (long trigramme : trigrammesRecherche) {
+            ListeOrdinaux liste = listes.get(trigramme);
+            if (liste == null) {
+                return new int[0];
+            }
+            aIntersecter.add(liste);
+        }
+        aIntersecter.sort((a, b) -> Integer.compare(a.taille, b.taille)); // La plus courte d'abord
+        int[] resultat = Arrays.copyOf(aIntersecter.get(0).valeurs, aIntersecter.get(0).taille);
+        int taille = resultat.length;
+        for (int l = 1; l < aIntersecter.size() && taille > 0; l++) {
+            ListeOrdinaux liste = aIntersecter.get(l);
+            int i = 0, j = 0, k = 0;
+            while (i < taille && j < liste.taille) {
+                if (resultat[i] < liste.valeurs[j]) {
+                    i++;
+                } else if (resultat[i] > liste.valeurs[j]) {
+                    j++;
+                } else {
+                    resultat[k++] = resultat[i];
+                    i++;
+                    j++;
+                }
+            }
+            taille = k;
+        }
+        return Arrays.copyOf(resultat, taille);
+    }
+
+    private void ajouterOrdinal(Station station) {
+        if (nombreOrdinaux == ids.length) {
+            int capacite = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacite);
+            noms = Arrays.copyOf(noms, capacite);
+            localisations = Arrays.copyOf(localisations, capacite);
+            statuts = Arrays.copyOf(statuts, capacite);
+        }
+        int ordinal = nombreOrdinaux++;
+        ids[ordinal] = station.getId();
+        noms[ordinal] = normaliser(station.getNom());
+        localisations[ordinal] = normaliser(station.getLocalisation());
+        statuts[ordinal] = station.getStatut();
+        ordinalParId.put(station.getId(), ordinal);
+
+        String nom = noms[ordinal], localisation = localisations[ordinal];
+        long[] trigrammesStation = new long[Math.max(0, nom.length() - N + 1) + Math.max(0, localisation.length() - N + 1)];
+        int nombre = trigrammes(nom, trigrammesStation, 0);
+        nombre = trigrammes(localisation, trigrammesStation, nombre);
+        Arrays.sort(trigrammesStation, 0, nombre);
+        for (int i = 0; i < nombre; i++) {
+            if (i == 0 || trigrammesStation[i] != trigrammesStation[i - 1]) { // Une seule entrée par trigramme
+                listes.computeIfAbsent(trigrammesStation[i], t -> new ListeOrdinaux()).ajouter(ordinal);
+            }
+        }
+        version++;
+    }
+
+    private void retirerOrdinal(int ordinal) {
+        ordinalParId.remove(ids[ordinal]);
+        noms[ordinal] = null;
+        localisations[ordinal] = null;
+        statuts[ordinal] = null;
+        nombreMorts++;
+        version++;
+        if (nombreMorts > 10_000 && nombreMorts > nombreOrdinaux / 2) {
+            compacter();
+        }
+    }
+
+    // Renumérote les ordinaux vivants et reconstruit les listes (appelé sous verrou d'écriture)
+    private void compacter() {
+        long[] anciensIds = ids;
+        String[] anciensNoms = noms;
+        String[] anciennesLocalisations = localisations;
+        Statut[] anciensStatuts = statuts;
+        int anciensOrdinaux = nombreOrdinaux;
+
+        ids = new long[Math.max(1024, ordinalParId.size() * 2)];
+        noms = new String[ids.length];
+        localisations = new String[ids.length];
+        statuts = new Statut[ids.length];
+        nombreOrdinaux = 0;
+        nombreMorts = 0;
+        ordinalParId.clear();
+        listes.clear();
+        for (int o = 0; o < anciensOrdinaux; o++) {
+            if (anciensNoms[o] != null) {
+                // Les textes sont déjà normalisés : normaliser() les laisse inchangés
+                ajouterOrdinal(new Station(anciensIds[o], anciensNoms[o], anciennesLocalisations[o], anciensStatuts[o], null));
+            }
+        }
+    }
+
+    private void marquerTraitee(long id) {
+        if (dejaTraitees != null) {
+            dejaTraitees.add(id);
+        }
+    }
+
+    // Écrit les trigrammes de texte dans destination à partir de debut ; retourne la nouvelle fin
+    private static int trigrammes(String texte, long[] destination, int debut) {
+        int fin = debut;
+        for (int i = 0; i + N <= texte.length(); i++) {
+            // Décalages de 21 bits : Long.hashCode (xor des deux moitiés) ne confond pas deux trigrammes ASCII
+            destination[fin++] = ((long) texte.charAt(i) << 42) | ((long) texte.charAt(i + 1) << 21) | texte.charAt(i + 2);
+        }
+        return fin;
+    }
+
+    // Liste d'ordinaux croissants (les ordinaux sont attribués dans l'ordre, un ajout reste donc trié)
+    private static class ListeOrdinaux {
+        int[] valeurs = new int[4];
+        int taille;
+
+        void ajouter(int ordinal) {
+            if (taille == valeurs.length) {
+                valeurs = Arrays.copyOf(valeurs, taille * 2);
+            }
+            valeurs[taille++] = ordinal;
+        }
+    }
+
+    // Résultat d'une recherche : ids triés par nom normalisé puis id, et version de l'index utilisée
+    public static class Resultat {
+        private final long[] ids;
+        private final String[] noms; // Normalisés, même ordre que ids
+        private final long version;
+
+        Resultat(long[] ids, String[] noms, long version) {
+            this.ids = ids;
+            this.noms = noms;
+            this.version = version;
+        }
+
+        public int taille() { return ids.length; }
+        public long getVersion() { return version; }
+
+        public List<Long> ids(int debut, int fin) {
+            List<Long> tranche = new ArrayList<>();
+            for (int i = Math.max(0, debut); i < Math.min(fin, ids.length); i++) {
+                tranche.add(ids[i]);
+            }
+            return tranche;
+        }
+
+        // Position de la première station strictement après (nom, id) dans l'ordre du résultat
+        public int positionApres(String nom, long id) {
+            String nomNormalise = normaliser(nom);
+            int bas = 0, haut = ids.length;
+            while (bas < haut) {
+                int milieu = (bas + haut) >>> 1;
+                int comparaison = noms[milieu].compareTo(nomNormalise);
+                if (comparaison < 0 || (comparaison == 0 && ids[milieu] <= id)) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu;
+                }
+            }
+            return bas;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.csms.service;
+
+import com.example.csms.model.Statut;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Ingestion des changements de statut envoyés par les bornes (socket locale ou fichier), une ligne par
+// événement : "id;STATUT" (nom de l'enum ou description, ex. "42;EN_CHARGE" ou "42;En charge").
+// Les événements d'une même station sont fusionnés pendant FENETRE_MS (seul le dernier statut compte), puis
+// appliqués par StationService.changerStatutStations : un UPDATE de la seule colonne statut par lot d'IDs
+// et par statut, dans une transaction qui verrouille les lignes (pas de lecture puis réécriture de la station).
+// Les compteurs de statistiques et l'index de recherche suivent donc ces changements.
+public class IngestionStatuts implements AutoCloseable {
+
+    public static final long FENETRE_MS = 500;
+
+    private final StationService stationService;
+
+    // Dernier statut reçu par station, pas encore appliqué
+    private final ConcurrentHashMap<Long, Statut> enAttente = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService planificateur;
+    private final Set<ServerSocket> serveurs = ConcurrentHashMap.newKeySet();
+    private final Set<Socket> connexions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger compteurThreads = new AtomicInteger();
+    private volatile boolean ferme = false;
+
+    // Métriques
+    private final LongAdder evenementsRecus = new LongAdder();
+    private final LongAdder evenementsFusionnes = new LongAdder(); // Remplacés par un plus récent avant application
+    private final LongAdder evenementsRejetes = new LongAdder(); // Lignes illisibles
+    private final LongAdder stationsMisesAJour = new LongAdder();
+    private final LongAdder stationsInconnues = new LongAdder();
+    private final LongAdder echecsApplication = new LongAdder();
+    private volatile long derniereDureeApplicationMs;
+    private volatile long dernierInstantMesure = System.nanoTime();
+    private volatile long derniersRecus;
+    private volatile double debitParSeconde;
+
+    public IngestionStatuts(StationService stationService) {
+        this.stationService = stationService;
+        this.planificateur = Executors.newSingleThreadScheduledExecutor(r -> nouveauThread(r, "csms-ingestion-application"));
+        planificateur.scheduleWithFixedDelay(this::appliquerEnAttente, FENETRE_MS, FENETRE_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Événement unitaire (thread-safe). Retourne false si la ligne est illisible.
+    public boolean soumettre(String ligne) {
+        int separateur = ligne.indexOf(';');
+        if (separateur <= 0) {
+            evenementsRejetes.increment();
+            return false;
+        }
+        try {
+            long id = Long.parseLong(ligne.substring(0, separateur).trim());
+            Statut statut = Statut.depuisTexte(ligne.substring(separateur + 1).trim());
+            if (id <= 0 || statut == null) {
+                evenementsRejetes.increment();
+                return false;
+            }
+            soumettre(id, statut);
+            return true;
+        } catch (NumberFormatException e) {
+            evenementsRejetes.increment();
+            return false;
+        }
+    }
+
+    public void soumettre(long id, Statut statut) {
+        evenementsRecus.increment();
+        if (enAttente.put(id, statut) != null) {
+            evenementsFusionnes.increment();
+        }
+    }
+
+    // Lit un flux ligne par ligne jusqu'à sa fin (fichier de rejeu, connexion socket...)
+    public long lireFlux(Reader source) throws IOException {
+        long lignes = 0;
+        try (BufferedReader reader = new BufferedReader(source)) {
+            String ligne;
+            while (!ferme && (ligne = reader.readLine()) != null) {
+                if (!ligne.isBlank()) {
+                    soumettre(ligne);
+                    lignes++;
+                }
+            }
+        }
+        return lignes;
+    }
+
+    public long lireFichier(Path fichier) throws IOException {
+        return lireFlux(Files.newBufferedReader(fichier, StandardCharsets.UTF_8));
+    }
+
+    // Rejoue un fichier sur un thread dédié (les erreurs de lecture sont journalisées)
+    public void lireFichierEnArrierePlan(Path fichier) {
+        nouveauThread(() -> {
+            try {
+                long lignes = lireFichier(fichier);
+                System.out.println("Ingestion: " + lignes + " ligne(s) lue(s) depuis " + fichier);
+            } catch (IOException e) {
+                System.err.println("Ingestion: lecture de " + fichier + " impossible: " + e.getMessage());
+            }
+        }, "csms-ingestion-fichier").start();
+    }
+
+    // Écoute les bornes (ou leur passerelle) sur le port donné, en local uniquement ; un thread par connexion
+    public void ecouter(int port) throws IOException {
+        ServerSocket serveur = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        serveurs.add(serveur);
+        nouveauThread(() -> {
+            while (!ferme) {
+                try {
+                    Socket connexion = serveur.accept();
+                    connexions.add(connexion);
+                    nouveauThread(() -> lireConnexion(connexion), "csms-ingestion-connexion").start();
+                } catch (IOException e) {
+                    if (!ferme) {
+                        System.err.println("Ingestion: erreur d'acceptation sur le port " + port + ": " + e.getMessage());
+                    }
+                    return;
+                }
+            }
+        }, "csms-ingestion-ecoute-" + port).start();
+    }
+
+    private void lireConnexion(Socket connexion) {
+        try (InputStream entree = connexion.getInputStream()) {
+            lireFlux(new InputStreamReader(entree, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            if (!ferme) {
+                System.err.println("Ingestion: connexion interrompue (" + connexion.getRemoteSocketAddress() + "): " + e.getMessage());
+            }
+        } finally {
+            connexions.remove(connexion);
+        }
+    }
+
+    // Applique les statuts en attente, groupés par statut (appelé toutes les FENETRE_MS, et à la fermeture)
+    private void appliquerEnAttente() {
+        mesurerDebit();
+        if (enAttente.isEmpty()) {
+            return;
+        }
+        long debut = System.nanoTime();
+        Map<Statut, List<Long>> parStatut = new EnumMap<>(Statut.class);
+        for (Long id : enAttente.keySet()) {
+            Statut statut = enAttente.remove(id);
+            if (statut != null) {
+                parStatut.computeIfAbsent(statut, s -> new ArrayList<>()).add(id);
+            }
+        }
+        for (Map.Entry<Statut, List<Long>> groupe : parStatut.entrySet()) {
+            try {
+                Map<Long, Boolean> resultat = stationService.changerStatutStations(groupe.getValue(), groupe.getKey());
+                for (Boolean trouvee : resultat.values()) {
+                    (trouvee ? stationsMisesAJour : stationsInconnues).increment();
+                }
+            } catch (RuntimeException e) {
+                // Remis en attente pour la fenêtre suivante, sauf si un statut plus récent est arrivé entre-temps
+                echecsApplication.increment();
+                groupe.getValue().forEach(id -> enAttente.putIfAbsent(id, groupe.getKey()));
+                System.err.println("Ingestion: échec de l'application de " + groupe.getValue().size()
+                        + " statut(s) " + groupe.getKey() + ": " + e.getMessage());
+            }
+        }
+        derniereDureeApplicationMs = (System.nanoTime() - debut) / 1_000_000;
+    }
+
+    private void mesurerDebit() {
+        long maintenant = System.nanoTime();
+        long recus = evenementsRecus.sum();
+        double secondes = (maintenant - dernierInstantMesure) / 1e9;
+        if (secondes > 0) {
+            debitParSeconde = (recus - derniersRecus) / secondes;
+        }
+        dernierInstantMesure = maintenant;
+        derniersRecus = recus;
+    }
+
+    public Metriques getMetriques() {
+        return new Metriques(evenementsRecus.sum(), evenementsFusionnes.sum(), evenementsRejetes.sum(),
+                stationsMisesAJour.sum(), stationsInconnues.sum(), echecsApplication.sum(), enAttente.size(),
+                debitParSeconde, derniereDureeApplicationMs);
+    }
+
+    private Thread nouveauThread(Runnable r, String nom) {
+        Thread t = new Thread(r, nom + "-" + compteurThreads.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    }
+
+    // Arrête l'écoute et applique ce qui reste en attente
+    @Override
+    public void close() {
+        ferme = true;
+        for (ServerSocket serveur : serveurs) {
+            try {
+                serveur.close();
+            } catch (IOException e) {
+                System.err.println("Ingestion: fermeture du port impossible: " + e.getMessage());
+            }
+        }
+        for (Socket connexion : connexions) {
+            try {
+                connexion.close();
+            } catch (IOException e) {
+                System.err.println("Ingestion: fermeture de connexion impossible: " + e.getMessage());
+            }
+        }
+        planificateur.shutdown();
+        try {
+            planificateur.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appliquerEnAttente();
+    }
+
+    // Instantané des métriques d'ingestion
+    public static class Metriques {
+        private final long evenementsRecus;
+        private final long evenementsFusionnes;
+        private final long evenementsRejetes;
+        private final long stationsMisesAJour;
+        private final long stationsInconnues;
+        private final long echecsApplication;
+        private final int enAttente;
+        private final double debitParSeconde;
+        private final long derniereDureeApplicationMs;
+
+        public Metriques(long evenementsRecus, long evenementsFusionnes, long evenementsRejetes, long stationsMisesAJour,
+                         long stationsInconnues, long echecsApplication, int enAttente, double debitParSeconde,
+                         long derniereDureeApplicationMs) {
+            this.evenementsRecus = evenementsRecus;
+            this.evenementsFusionnes = evenementsFusionnes;
+            this.evenementsRejetes = evenementsRejetes;
+            this.stationsMisesAJour = stationsMisesAJour;
+            this.stationsInconnues = stationsInconnues;
+            this.echecsApplication = echecsApplication;
+            this.enAttente = enAttente;
+            this.debitParSeconde = debitParSeconde;
+            this.derniereDureeApplicationMs = derniereDureeApplicationMs;
+        }
+
+        public long getEvenementsRecus() { return evenementsRecus; }
+        public long getEvenementsFusionnes() { return evenementsFusionnes; }
+        public long getEvenementsRejetes() { return evenementsRejetes; }
+        public long getStationsMisesAJour() { return stationsMisesAJour; }
+        public long getStationsInconnues() { return stationsInconnues; }
+        public long getEchecsApplication() { return echecsApplication; }
+        public int getEnAttente() { return enAttente; }
+        public double getDebitParSeconde() { return debitParSeconde; }
+        public long getDerniereDureeApplicationMs() { return derniereDureeApplicationMs; }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f évt/s, %d en attente, %d reçus (%d fusionnés, %d rejetés), %d appliqués, dernier lot %d ms",
+                    debitParSeconde, enAttente, evenementsRecus, evenementsFusionnes, evenementsRejetes,
+                    stationsMisesAJour, derniereDureeApplicationMs);
+        }
+    }
+}
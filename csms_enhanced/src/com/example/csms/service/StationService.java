@@ -3,20 +3,43 @@ package com.example.csms.service;
 import com.example.csms.dao.StationDAO;
 import com.example.csms.dao.impl.StationDAOImpl;
 import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.ChangementsStations;
 import com.example.csms.model.Statut;
 import com.example.csms.model.Station;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class StationService {
 
     private final StationDAO stationDAO;
 
+    // Compteurs par statut maintenus en mémoire : chargés une fois depuis la base (GROUP BY),
+    // puis ajustés par les opérations CRUD de ce service. null tant qu'ils n'ont pas été chargés.
+    // Les modifications faites par d'autres postes ne sont vues qu'après rafraichirStatistiques().
+    private volatile Map<Statut, AtomicLong> compteursParStatut;
+
+    // Index de recherche en mémoire (voir IndexRechercheStations) : null tant qu'il n'est pas construit,
+    // la recherche passe alors par la base (FULLTEXT). Tenu à jour par le CRUD de ce service et par
+    // indexerChangements() pour les modifications des autres postes.
+    private volatile IndexRechercheStations indexRecherche;
+    private volatile IndexRechercheStations indexEnConstruction;
+    // Dernier résultat de recherche, réutilisé par les pages successives tant que l'index n'a pas changé
+    private volatile RechercheEnCache derniereRecherche;
+
+    // Historique des statuts (voir HistoriqueStatuts) : chaque changement de statut fait par ce service y est
+    // signalé ; null si l'historique n'est pas activé
+    private volatile HistoriqueStatuts historiqueStatuts;
+
     public StationService() {
         this.stationDAO = new StationDAOImpl();
     }
@@ -25,19 +48,39 @@ public class StationService {
         this.stationDAO = stationDAO;
     }
 
+    public void setHistoriqueStatuts(HistoriqueStatuts historiqueStatuts) {
+        this.historiqueStatuts = historiqueStatuts;
+    }
+
     // ... (méthodes ajouterStation, modifierStation, supprimerStation, trouverStationParId inchangées) ...
     public Station ajouterStation(Station station) throws DataAccessException {
         if (station == null || station.getNom() == null || station.getNom().trim().isEmpty()) {
             throw new IllegalArgumentException("Le nom de la station ne peut pas être vide.");
         }
-        return stationDAO.ajouterStation(station);
+        Station ajoutee = stationDAO.ajouterStation(station);
+        ajusterCompteur(ajoutee.getStatut(), 1);
+        historiser(ajoutee.getId(), null, ajoutee.getStatut());
+        indexer(index -> index.mettreAJour(ajoutee));
+        return ajoutee;
     }
 
     public boolean modifierStation(Station station) throws DataAccessException {
         if (station == null || station.getId() <= 0 || station.getNom() == null || station.getNom().trim().isEmpty()) {
             throw new IllegalArgumentException("Données de station invalides pour la modification.");
         }
-        return stationDAO.modifierStation(station);
+        // Ancien statut nécessaire seulement si les compteurs sont déjà chargés ou l'historique activé
+        Statut ancienStatut = compteursParStatut != null || historiqueStatuts != null
+                ? stationDAO.trouverStationParId(station.getId()).map(Station::getStatut).orElse(null)
+                : null;
+        boolean modifiee = stationDAO.modifierStation(station);
+        if (modifiee && ancienStatut != null) {
+            changerCompteur(ancienStatut, station.getStatut());
+            historiser(station.getId(), ancienStatut, station.getStatut());
+        }
+        if (modifiee) {
+            indexer(index -> index.mettreAJour(station));
+        }
+        return modifiee;
     }
 
     /**
@@ -56,18 +99,17 @@ public class StationService {
             throw new IllegalArgumentException("Le nouveau statut ne peut pas être null.");
         }
 
-        // 1. Récupérer la station existante pour avoir toutes ses infos
-        Optional<Station> stationOpt = trouverStationParId(stationId);
-        if (!stationOpt.isPresent()) {
+        // Seule la colonne statut est écrite, sur la ligne verrouillée (SELECT ... FOR UPDATE puis UPDATE dans la
+        // même transaction) : pas de relecture de la station complète ni d'écrasement d'une modification concurrente
+        Map<Long, Statut> modifiee = stationDAO.modifierStatutStations(Collections.singletonList(stationId), nouveauStatut);
+        Statut ancienStatut = modifiee.get(stationId);
+        if (ancienStatut == null) {
             throw new DataAccessException("Station avec ID " + stationId + " non trouvée pour la mise à jour du statut.");
         }
-
-        // 2. Mettre à jour uniquement le statut
-        Station stationExistante = stationOpt.get();
-        stationExistante.setStatut(nouveauStatut);
-
-        // 3. Appeler la méthode de modification générale du DAO
-        return stationDAO.modifierStation(stationExistante);
+        changerCompteur(ancienStatut, nouveauStatut);
+        historiser(stationId, ancienStatut, nouveauStatut);
+        indexer(index -> index.changerStatut(stationId, nouveauStatut));
+        return true;
     }
 
 
@@ -75,7 +117,71 @@ public class StationService {
         if (id <= 0) {
             throw new IllegalArgumentException("ID de station invalide pour la suppression.");
         }
-        return stationDAO.supprimerStation(id);
+        Statut ancienStatut = compteursParStatut != null || historiqueStatuts != null
+                ? stationDAO.trouverStationParId(id).map(Station::getStatut).orElse(null)
+                : null;
+        boolean supprimee = stationDAO.supprimerStation(id);
+        if (supprimee) {
+            ajusterCompteur(ancienStatut, -1);
+            if (ancienStatut != null) {
+                historiser(id, ancienStatut, null);
+            }
+            indexer(index -> index.retirer(id));
+        }
+        return supprimee;
+    }
+
+    // Suppression groupée en une transaction. Résultat par ID (dans l'ordre donné) :
+    // true si la station a été supprimée, false si elle n'existait pas (ou plus).
+    public Map<Long, Boolean> supprimerStations(Collection<Long> ids) throws DataAccessException {
+        verifierIds(ids);
+        Map<Long, Statut> supprimees = stationDAO.supprimerStations(ids);
+        supprimees.values().forEach(ancienStatut -> ajusterCompteur(ancienStatut, -1));
+        supprimees.forEach((id, ancienStatut) -> historiser(id, ancienStatut, null));
+        indexer(index -> supprimees.keySet().forEach(index::retirer));
+        return resultatParId(ids, supprimees);
+    }
+
+    // Changement de statut groupé en une transaction, même convention de résultat que supprimerStations
+    public Map<Long, Boolean> changerStatutStations(Collection<Long> ids, Statut nouveauStatut) throws DataAccessException {
+        verifierIds(ids);
+        if (nouveauStatut == null) {
+            throw new IllegalArgumentException("Le nouveau statut ne peut pas être null.");
+        }
+        Map<Long, Statut> modifiees = stationDAO.modifierStatutStations(ids, nouveauStatut);
+        modifiees.values().forEach(ancienStatut -> changerCompteur(ancienStatut, nouveauStatut));
+        modifiees.forEach((id, ancienStatut) -> historiser(id, ancienStatut, nouveauStatut));
+        indexer(index -> modifiees.keySet().forEach(id -> index.changerStatut(id, nouveauStatut)));
+        return resultatParId(ids, modifiees);
+    }
+
+    // Import (voir ImportStations) : un lot de stations déjà validées inséré en une transaction avec son point
+    // de reprise, puis reporté dans les compteurs, l'index de recherche et l'historique
+    public void ajouterStations(List<Station> stations, String cleReprise, long enregistrementsTraites) throws DataAccessException {
+        stationDAO.ajouterStations(stations, cleReprise, enregistrementsTraites);
+        for (Station station : stations) {
+            ajusterCompteur(station.getStatut(), 1);
+            historiser(station.getId(), null, station.getStatut());
+        }
+        indexer(index -> stations.forEach(index::mettreAJour));
+    }
+
+    public long trouverRepriseImport(String cleReprise) throws DataAccessException {
+        return stationDAO.trouverRepriseImport(cleReprise);
+    }
+
+    private static void verifierIds(Collection<Long> ids) {
+        if (ids == null || ids.stream().anyMatch(id -> id == null || id <= 0)) {
+            throw new IllegalArgumentException("Liste d'IDs de stations invalide.");
+        }
+    }
+
+    private static Map<Long, Boolean> resultatParId(Collection<Long> ids, Map<Long, Statut> traitees) {
+        Map<Long, Boolean> resultat = new LinkedHashMap<>();
+        for (Long id : ids) {
+            resultat.put(id, traitees.containsKey(id));
+        }
+        return resultat;
     }
 
     public Optional<Station> trouverStationParId(long id) throws DataAccessException {
@@ -106,22 +212,203 @@ public class StationService {
         }
     }
 
+    // Pagination par clé pour la table virtuelle (voir StationTableModel).
+    // Contrairement à trouverToutesLesStations, les erreurs BDD sont propagées à l'appelant.
+    // Avec un critère et l'index construit, les IDs viennent de l'index et seule la page est lue en base.
+    public List<Station> trouverPageStations(String critere, Statut statut, Station apres, int taille) throws DataAccessException {
+        if (taille <= 0) {
+            throw new IllegalArgumentException("La taille de page doit être positive.");
+        }
+        IndexRechercheStations.Resultat resultat = rechercheIndexee(normaliserCritere(critere), statut);
+        if (resultat != null) {
+            int debut = apres == null ? 0 : resultat.positionApres(apres.getNom(), apres.getId());
+            return trouverStationsDansLOrdre(resultat.ids(debut, debut + taille));
+        }
+        return stationDAO.trouverPageStations(normaliserCritere(critere), statut, apres, taille);
+    }
+
+    public long compterStations(String critere, Statut statut) throws DataAccessException {
+        IndexRechercheStations.Resultat resultat = rechercheIndexee(normaliserCritere(critere), statut);
+        if (resultat != null) {
+            return resultat.taille();
+        }
+        return stationDAO.compterStations(normaliserCritere(critere), statut);
+    }
+
+    public Optional<Station> trouverCleALaPosition(String critere, Statut statut, long position) throws DataAccessException {
+        if (position < 0) {
+            return Optional.empty();
+        }
+        return stationDAO.trouverCleALaPosition(normaliserCritere(critere), statut, position);
+    }
+
+    // Page commençant à une position quelconque (0 = début) : retrouve d'abord la clé de la ligne précédente
+    public List<Station> trouverPageALaPosition(String critere, Statut statut, long position, int taille) throws DataAccessException {
+        IndexRechercheStations.Resultat resultat = rechercheIndexee(normaliserCritere(critere), statut);
+        if (resultat != null) {
+            int debut = (int) Math.min(Math.max(position, 0), resultat.taille());
+            return trouverStationsDansLOrdre(resultat.ids(debut, debut + taille));
+        }
+        if (position <= 0) {
+            return trouverPageStations(critere, statut, null, taille);
+        }
+        Optional<Station> apres = trouverCleALaPosition(critere, statut, position - 1);
+        if (!apres.isPresent()) {
+            return Collections.emptyList();
+        }
+        return trouverPageStations(critere, statut, apres.get(), taille);
+    }
+
+    private static String normaliserCritere(String critere) {
+        return (critere == null || critere.trim().isEmpty()) ? null : critere.trim();
+    }
+
+    // Construit (ou reconstruit) l'index de recherche en lisant toutes les stations en flux.
+    // Les opérations CRUD faites pendant la construction sont appliquées à l'index en cours et priment
+    // sur les lignes lues. Long sur un gros parc : à appeler hors EDT. Retourne le nombre de stations indexées.
+    public int construireIndexRecherche() throws DataAccessException {
+        IndexRechercheStations index = new IndexRechercheStations();
+        indexEnConstruction = index;
+        try {
+            stationDAO.parcourirStations(index::ajouterSiAbsente);
+            index.terminerConstruction();
+            indexRecherche = index;
+        } finally {
+            indexEnConstruction = null;
+        }
+        derniereRecherche = null;
+        return index.getNombreStations();
+    }
+
+    public boolean isIndexRecherchePret() {
+        return indexRecherche != null;
+    }
+
+    // Reporte dans l'index les changements faits par d'autres postes (flux de SuiviChangementsStations).
+    // Retourne false si le flux est tronqué : l'index n'est plus fiable et doit être reconstruit.
+    public boolean indexerChangements(ChangementsStations changements) {
+        if (changements.isTropNombreux()) {
+            return indexRecherche == null;
+        }
+        indexer(index -> {
+            changements.getStationsModifiees().forEach(index::mettreAJour);
+            changements.getIdsSupprimes().forEach(index::retirer);
+        });
+        return true;
+    }
+
+    private void indexer(Consumer<IndexRechercheStations> modification) {
+        IndexRechercheStations index = indexRecherche;
+        if (index != null) {
+            modification.accept(index);
+        }
+        IndexRechercheStations enConstruction = indexEnConstruction;
+        if (enConstruction != null) {
+            modification.accept(enConstruction);
+        }
+    }
+
+    // Résultat de l'index pour ce critère (mis en cache par version de l'index), ou null s'il faut passer par la base
+    private IndexRechercheStations.Resultat rechercheIndexee(String critere, Statut statut) {
+        IndexRechercheStations index = indexRecherche;
+        if (index == null || critere == null) {
+            return null;
+        }
+        RechercheEnCache cache = derniereRecherche;
+        if (cache != null && cache.index == index && cache.critere.equals(critere) && cache.statut == statut
+                && cache.resultat.getVersion() == index.getVersion()) {
+            return cache.resultat;
+        }
+        IndexRechercheStations.Resultat resultat = index.rechercher(critere, statut);
+        derniereRecherche = new RechercheEnCache(index, critere, statut, resultat);
+        return resultat;
+    }
+
+    // Lit les stations d'une tranche d'IDs et les remet dans l'ordre de l'index (les IDs disparus entre-temps sont omis)
+    private List<Station> trouverStationsDansLOrdre(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Station> parId = new HashMap<>();
+        for (Station station : stationDAO.trouverStationsParIds(ids)) {
+            parId.put(station.getId(), station);
+        }
+        List<Station> stations = new ArrayList<>();
+        for (Long id : ids) {
+            Station station = parId.get(id);
+            if (station != null) {
+                stations.add(station);
+            }
+        }
+        return stations;
+    }
+
+    private static class RechercheEnCache {
+        final IndexRechercheStations index;
+        final String critere;
+        final Statut statut;
+        final IndexRechercheStations.Resultat resultat;
+
+        RechercheEnCache(IndexRechercheStations index, String critere, Statut statut, IndexRechercheStations.Resultat resultat) {
+            this.index = index;
+            this.critere = critere;
+            this.statut = statut;
+            this.resultat = resultat;
+        }
+    }
+
+    // Statistiques par statut + "TOTAL", calculées depuis les compteurs en mémoire (chargés au premier appel)
     public Map<String, Long> getStationStatistics() throws DataAccessException {
-        List<Station> stations = trouverToutesLesStations();
+        Map<Statut, AtomicLong> compteurs = compteursParStatut;
+        if (compteurs == null) {
+            compteurs = rechargerCompteurs();
+        }
         Map<String, Long> stats = new HashMap<>();
+        long total = 0;
+        for (Statut s : Statut.values()) {
+            long nombre = compteurs.get(s).get();
+            stats.put(s.name(), nombre);
+            total += nombre;
+        }
+        stats.put("TOTAL", total);
+        return stats;
+    }
+
+    // Recharge les compteurs depuis la base (ex. bouton "Rafraîchir") pour voir les modifications des autres postes
+    public Map<String, Long> rafraichirStatistiques() throws DataAccessException {
+        rechargerCompteurs();
+        return getStationStatistics();
+    }
 
+    private Map<Statut, AtomicLong> rechargerCompteurs() {
+        Map<Statut, Long> parStatut = stationDAO.compterStationsParStatut();
+        Map<Statut, AtomicLong> compteurs = new EnumMap<>(Statut.class);
         for (Statut s : Statut.values()) {
-            stats.put(s.name(), 0L);
+            compteurs.put(s, new AtomicLong(parStatut.getOrDefault(s, 0L)));
         }
+        compteursParStatut = compteurs;
+        return compteurs;
+    }
 
-        Map<Statut, Long> countsByStatus = stations.stream()
-                .filter(s -> s.getStatut() != null)
-                .collect(Collectors.groupingBy(Station::getStatut, Collectors.counting()));
+    private void ajusterCompteur(Statut statut, long delta) {
+        Map<Statut, AtomicLong> compteurs = compteursParStatut;
+        if (compteurs != null && statut != null) {
+            compteurs.get(statut).addAndGet(delta);
+        }
+    }
 
-        stats.putAll(countsByStatus.entrySet().stream()
-                .collect(Collectors.toMap(e -> e.getKey().name(), Map.Entry::getValue)));
+    // ancienStatut null : création ; nouveauStatut null : suppression
+    private void historiser(long id, Statut ancienStatut, Statut nouveauStatut) {
+        HistoriqueStatuts historique = historiqueStatuts;
+        if (historique != null) {
+            historique.enregistrer(id, ancienStatut, nouveauStatut);
+        }
+    }
 
-        stats.put("TOTAL", (long) stations.size());
-        return stats;
+    private void changerCompteur(Statut ancienStatut, Statut nouveauStatut) {
+        if (ancienStatut != nouveauStatut) {
+            ajusterCompteur(ancienStatut, -1);
+            ajusterCompteur(nouveauStatut, 1);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.example.csms.service;
+
+import com.example.csms.dao.StationDAO;
+import com.example.csms.dao.impl.StationDAOImpl;
+import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.ChangementsStations;
+import com.example.csms.model.Station;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Suit les changements de la table stations pour le rafraîchissement incrémental :
+// chaque appel ne relit que les lignes modifiées/supprimées depuis la lecture précédente (marque).
+// Les lectures se recouvrent de MARGE_MS pour ne pas manquer une transaction validée en retard ;
+// les changements déjà transmis pendant ce recouvrement sont filtrés ici.
+public class SuiviChangementsStations {
+
+    private static final long MARGE_MS = 5000;
+
+    private final StationDAO stationDAO;
+
+    private Timestamp marque; // null tant que le suivi n'a pas démarré
+    private final Map<Long, Timestamp> modificationsTransmises = new HashMap<>(); // id -> derniere_mise_a_jour
+    private final Map<Long, Timestamp> suppressionsTransmises = new HashMap<>(); // id -> marque de la 1re lecture
+
+    public SuiviChangementsStations() {
+        this.stationDAO = new StationDAOImpl();
+    }
+
+    public SuiviChangementsStations(StationDAO stationDAO) {
+        this.stationDAO = stationDAO;
+    }
+
+    // (Re)démarre le suivi à l'instant présent, typiquement juste avant un rechargement complet
+    public synchronized void demarrer() throws DataAccessException {
+        marque = stationDAO.trouverChangementsDepuis(null).getMarque();
+        modificationsTransmises.clear();
+        suppressionsTransmises.clear();
+    }
+
+    // Changements pas encore transmis depuis l'appel précédent (démarre le suivi au premier appel)
+    public synchronized ChangementsStations lireNouveauxChangements() throws DataAccessException {
+        if (marque == null) {
+            demarrer();
+            return new ChangementsStations(new ArrayList<>(), new ArrayList<>(), marque, false);
+        }
+        Timestamp depuis = new Timestamp(marque.getTime() - MARGE_MS);
+        ChangementsStations lus = stationDAO.trouverChangementsDepuis(depuis);
+
+        List<Station> modifiees = new ArrayList<>();
+        for (Station station : lus.getStationsModifiees()) {
+            Timestamp dejaTransmise = modificationsTransmises.put(station.getId(), station.getDerniereMiseAJour());
+            if (dejaTransmise == null || !dejaTransmise.equals(station.getDerniereMiseAJour())) {
+                modifiees.add(station);
+            }
+        }
+        List<Long> supprimees = new ArrayList<>();
+        for (Long id : lus.getIdsSupprimes()) {
+            if (suppressionsTransmises.putIfAbsent(id, lus.getMarque()) == null) {
+                supprimees.add(id);
+            }
+        }
+
+        // Oubli de ce qui ne peut plus revenir dans la fenêtre de recouvrement
+        marque = lus.getMarque();
+        Timestamp limite = new Timestamp(marque.getTime() - 2 * MARGE_MS);
+        modificationsTransmises.values().removeIf(t -> t == null || t.before(limite));
+        suppressionsTransmises.values().removeIf(t -> t.before(limite));
+
+        return new ChangementsStations(modifiees, supprimees, marque, lus.isTropNombreux());
+    }
+}
@@ -6,5 +6,19 @@ public class DatabaseConfig {
     public static final String DB_URL = "jdbc:mysql://localhost:3306/csms_db_enhanced"; // Nom de la nouvelle BDD
     public static final String DB_USER = "root";
     public static final String DB_PASSWORD = ""; // Mot de passe XAMPP par défaut (vide)
-    public static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
-}
\ No newline at end of file
+
+    // Pool de connexions (voir DatabasePool)
+    public static final int POOL_MAX_SIZE = 10; // Connexions ouvertes au maximum (en cours d'utilisation + inactives, gardées pour les emprunts suivants)
+    public static final int POOL_BORROW_TIMEOUT_MS = 10000; // Attente max. d'une connexion libre avant erreur
+
+    // Cache des requêtes préparées côté serveur, par connexion
+    public static final int PREP_STMT_CACHE_SIZE = 250;
+    public static final int PREP_STMT_CACHE_SQL_LIMIT = 2048;
+
+    // Recherche : présélection par l'index FULLTEXT ngram (voir README), à désactiver si l'index n'existe pas
+    public static final boolean RECHERCHE_FULLTEXT = true;
+    public static final int NGRAM_TOKEN_SIZE = 2; // Doit correspondre à la variable serveur ngram_token_size
+
+    // Historique des statuts et cumuls horaires (tables décrites dans le README), à désactiver si elles n'existent pas
+    public static final boolean HISTORIQUE_STATUTS = true;
+}
@@ -0,0 +1,245 @@
+package com.example.csms.util;
+
+import com.example.csms.exception.DataAccessException;
+import com.mysql.cj.jdbc.MysqlDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+// Pool de connexions partagé par tous les DAO (remplace l'ancienne connexion statique unique).
+// Fermer une connexion obtenue du pool la lui rend sans la fermer réellement : les DAO gardent leurs
+// try-with-resources, et chaque appel ne paie plus la poignée de main TCP + authentification.
+// N'utilise que l'API JDBC standard et les réglages de MysqlDataSource : fonctionne avec le connecteur publié.
+public class DatabasePool {
+
+    private static PooledDataSource dataSource = null;
+
+    private DatabasePool() {
+    }
+
+    public static synchronized DataSource getDataSource() {
+        if (dataSource == null) {
+            try {
+                MysqlDataSource ds = new MysqlDataSource();
+                ds.setURL(DatabaseConfig.DB_URL);
+                ds.setUser(DatabaseConfig.DB_USER);
+                ds.setPassword(DatabaseConfig.DB_PASSWORD);
+
+                // Requêtes préparées côté serveur, mises en cache et réutilisées d'un emprunt à l'autre
+                ds.setUseServerPrepStmts(true);
+                ds.setCachePrepStmts(true);
+                ds.setPrepStmtCacheSize(DatabaseConfig.PREP_STMT_CACHE_SIZE);
+                ds.setPrepStmtCacheSqlLimit(DatabaseConfig.PREP_STMT_CACHE_SQL_LIMIT);
+                // Les lots d'INSERT (import, historique) partent en requêtes multi-lignes au lieu d'un aller-retour par ligne
+                ds.setRewriteBatchedStatements(true);
+                // Évite un aller-retour serveur pour lire l'auto-commit ou le niveau d'isolation
+                ds.setUseLocalSessionState(true);
+
+                dataSource = new PooledDataSource(ds, DatabaseConfig.POOL_MAX_SIZE, DatabaseConfig.POOL_BORROW_TIMEOUT_MS);
+            } catch (SQLException e) {
+                throw new DataAccessException("Erreur: configuration du pool de connexions invalide: " + e.getMessage(), e);
+            }
+        }
+        return dataSource;
+    }
+
+    public static synchronized void close() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+        }
+    }
+
+    // Connexion physique inactive, avec l'instant où elle a été rendue au pool
+    private record IdleConnection(Connection connection, long returnedAt) {
+    }
+
+    private static class PooledDataSource implements DataSource {
+
+        // Une connexion restée inactive plus longtemps est vérifiée avant d'être prêtée (wait_timeout du serveur)
+        private static final long VALIDATE_AFTER_IDLE_MS = 30000;
+        private static final int VALIDATION_TIMEOUT_S = 2;
+
+        private final MysqlDataSource physicalDataSource;
+        private final Semaphore permits;
+        private final long borrowTimeoutMs;
+        private final Deque<IdleConnection> idle = new ArrayDeque<>();
+        private boolean closed = false;
+
+        PooledDataSource(MysqlDataSource physicalDataSource, int maxSize, long borrowTimeoutMs) {
+            this.physicalDataSource = physicalDataSource;
+            this.permits = new Semaphore(maxSize, true);
+            this.borrowTimeoutMs = borrowTimeoutMs;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                if (!permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new SQLException("Aucune connexion libre dans le pool après " + borrowTimeoutMs + " ms");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Attente d'une connexion du pool interrompue", e);
+            }
+            try {
+                return wrap(takeIdleOrOpen());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private Connection takeIdleOrOpen() throws SQLException {
+            while (true) {
+                IdleConnection candidate;
+                synchronized (this) {
+                    if (closed) {
+                        throw new SQLException("Le pool de connexions est fermé");
+                    }
+                    candidate = idle.pollFirst();
+                }
+                if (candidate == null) {
+                    return physicalDataSource.getConnection();
+                }
+                if (System.currentTimeMillis() - candidate.returnedAt() < VALIDATE_AFTER_IDLE_MS
+                        || candidate.connection().isValid(VALIDATION_TIMEOUT_S)) {
+                    return candidate.connection();
+                }
+                closeQuietly(candidate.connection());
+            }
+        }
+
+        // Rend la connexion physique au pool, ou la ferme si elle est inutilisable ou si le pool est fermé
+        private void giveBack(Connection physical) {
+            try {
+                boolean reusable = !physical.isClosed();
+                if (reusable && !physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                synchronized (this) {
+                    if (reusable && !closed) {
+                        idle.addFirst(new IdleConnection(physical, System.currentTimeMillis()));
+                        return;
+                    }
+                }
+                closeQuietly(physical);
+            } catch (SQLException e) {
+                closeQuietly(physical);
+            } finally {
+                permits.release();
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                for (IdleConnection c : idle) {
+                    closeQuietly(c.connection());
+                }
+                idle.clear();
+            }
+        }
+
+        // Connexion logique : close() rend la connexion physique au pool, les autres appels lui sont délégués
+        private Connection wrap(Connection physical) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+                    new InvocationHandler() {
+                        private boolean returned = false;
+
+                        @Override
+                        public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                            switch (method.getName()) {
+                                case "close":
+                                    if (!returned) {
+                                        returned = true;
+                                        giveBack(physical);
+                                    }
+                                    return null;
+                                case "isClosed":
+                                    return returned || physical.isClosed();
+                                case "equals":
+                                    return proxy == args[0];
+                                case "hashCode":
+                                    return System.identityHashCode(proxy);
+                                case "toString":
+                                    return "DatabasePool connection -> " + physical;
+                                default:
+                                    if (returned) {
+                                        throw new SQLException("Connexion déjà rendue au pool");
+                                    }
+                                    try {
+                                        return method.invoke(physical, args);
+                                    } catch (InvocationTargetException e) {
+                                        throw e.getCause();
+                                    }
+                            }
+                        }
+                    });
+        }
+
+        private static void closeQuietly(Connection c) {
+            try {
+                c.close();
+            } catch (SQLException ignored) {
+                // Connexion déjà perdue : rien à faire
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Le pool n'utilise que les identifiants de DatabaseConfig");
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return physicalDataSource.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            physicalDataSource.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            physicalDataSource.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return physicalDataSource.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            throw new SQLException("Pas un wrapper de " + iface.getName());
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) {
+            return iface.isInstance(this);
+        }
+    }
+}
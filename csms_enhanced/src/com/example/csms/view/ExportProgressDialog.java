@@ -0,0 +1,88 @@
+package com.example.csms.view;
+
+import com.example.csms.service.ExportStations;
+import com.example.csms.service.ImportStations;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fenêtre non modale de suivi d'un export ou d'un import : barre de progression et bouton Annuler.
+// Sert de Suivi à ExportStations et ImportStations (appelé depuis leur thread) ; l'affichage est mis à jour sur l'EDT.
+public class ExportProgressDialog extends JDialog implements ExportStations.Suivi, ImportStations.Suivi {
+
+    private final JProgressBar progressBar = new JProgressBar();
+    private final JLabel messageLabel = new JLabel(" ");
+    private final JButton cancelButton = new JButton("Annuler");
+    private final AtomicBoolean annule = new AtomicBoolean(false);
+    private final AtomicLong derniereProgression = new AtomicLong(-1); // Évite d'empiler les mises à jour sur l'EDT
+    private final String unite;
+
+    public ExportProgressDialog(Frame parent, String nomFichier) {
+        this(parent, "Export en cours", "Export vers " + nomFichier, "station(s) exportée(s)");
+    }
+
+    // unite : libellé affiché après "n / total", ex. "ligne(s) traitée(s)"
+    public ExportProgressDialog(Frame parent, String titre, String description, String unite) {
+        super(parent, titre, false);
+        this.unite = unite;
+        setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+        setLayout(new BorderLayout(10, 10));
+
+        JPanel centerPanel = new JPanel(new BorderLayout(5, 5));
+        centerPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 5, 15));
+        centerPanel.add(new JLabel(description), BorderLayout.NORTH);
+        progressBar.setIndeterminate(true);
+        progressBar.setStringPainted(true);
+        centerPanel.add(progressBar, BorderLayout.CENTER);
+        centerPanel.add(messageLabel, BorderLayout.SOUTH);
+        add(centerPanel, BorderLayout.CENTER);
+
+        cancelButton.addActionListener(e -> annuler());
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.add(cancelButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                annuler();
+            }
+        });
+
+        setSize(400, 160);
+        setLocationRelativeTo(parent);
+    }
+
+    private void annuler() {
+        annule.set(true);
+        cancelButton.setEnabled(false);
+        messageLabel.setText("Annulation...");
+    }
+
+    @Override
+    public boolean estAnnule() {
+        return annule.get();
+    }
+
+    @Override
+    public void progression(long exportees, long total) {
+        if (derniereProgression.getAndSet(exportees) != -1) {
+            return; // Une mise à jour est déjà en attente sur l'EDT, elle lira la valeur la plus récente
+        }
+        SwingUtilities.invokeLater(() -> {
+            long valeur = derniereProgression.getAndSet(-1);
+            if (annule.get()) {
+                return;
+            }
+            if (total > 0) {
+                progressBar.setIndeterminate(false);
+                progressBar.setValue((int) Math.min(100, valeur * 100 / total));
+            }
+            messageLabel.setText(valeur + " / " + total + " " + unite);
+        });
+    }
+}
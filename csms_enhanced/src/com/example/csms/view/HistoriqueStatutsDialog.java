@@ -0,0 +1,145 @@
+package com.example.csms.view;
+
+import com.example.csms.exception.DataAccessException;
+import com.example.csms.model.CumulStatuts;
+import com.example.csms.model.Statut;
+import com.example.csms.service.AsyncStationService;
+import com.example.csms.service.HistoriqueStatuts;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+// Tableau de bord de disponibilité / utilisation : part du temps passé dans chaque statut sur une période,
+// pour tout le parc ou une station, avec le détail par heure ou par jour. Lit uniquement les cumuls horaires.
+public class HistoriqueStatutsDialog extends JDialog {
+
+    private static final String[] PERIODES = {"24 dernières heures", "7 derniers jours", "30 derniers jours"};
+    private static final int[] HEURES_PAR_PERIODE = {24, 24 * 7, 24 * 30};
+
+    private final AsyncStationService asyncStationService;
+    private final HistoriqueStatuts historiqueStatuts;
+
+    private final JComboBox<String> periodeComboBox = new JComboBox<>(PERIODES);
+    private final JTextField stationIdField = new JTextField(8);
+    private final JButton afficherButton = new JButton("Afficher");
+    private final JLabel resumeLabel = new JLabel(" ");
+    private final DefaultTableModel detailModel;
+
+    public HistoriqueStatutsDialog(Frame parent, AsyncStationService asyncStationService, HistoriqueStatuts historiqueStatuts) {
+        super(parent, "Historique des statuts", false);
+        this.asyncStationService = asyncStationService;
+        this.historiqueStatuts = historiqueStatuts;
+        setLayout(new BorderLayout(10, 10));
+
+        JPanel criteresPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        criteresPanel.add(new JLabel("Période:"));
+        criteresPanel.add(periodeComboBox);
+        criteresPanel.add(new JLabel("ID station (vide = tout le parc):"));
+        criteresPanel.add(stationIdField);
+        criteresPanel.add(afficherButton);
+        afficherButton.addActionListener(e -> charger());
+        stationIdField.addActionListener(e -> charger());
+
+        String[] colonnes = new String[Statut.values().length + 1];
+        colonnes[0] = "Période";
+        for (Statut s : Statut.values()) {
+            colonnes[s.ordinal() + 1] = s.getDescription() + " (%)";
+        }
+        detailModel = new DefaultTableModel(colonnes, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+
+        JPanel haut = new JPanel(new BorderLayout());
+        haut.add(criteresPanel, BorderLayout.NORTH);
+        resumeLabel.setBorder(BorderFactory.createEmptyBorder(0, 10, 0, 10));
+        haut.add(resumeLabel, BorderLayout.SOUTH);
+        add(haut, BorderLayout.NORTH);
+        add(new JScrollPane(new JTable(detailModel)), BorderLayout.CENTER);
+
+        JButton closeButton = new JButton("Fermer");
+        closeButton.addActionListener(e -> dispose());
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(closeButton);
+        add(buttonPanel, BorderLayout.SOUTH);
+
+        setSize(700, 500);
+        setLocationRelativeTo(parent);
+        charger();
+    }
+
+    private void charger() {
+        Long stationId = null;
+        String saisie = stationIdField.getText().trim();
+        if (!saisie.isEmpty()) {
+            try {
+                stationId = Long.parseLong(saisie);
+            } catch (NumberFormatException e) {
+                JOptionPane.showMessageDialog(this, "ID de station invalide.", "Erreur", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+        }
+        int choix = periodeComboBox.getSelectedIndex();
+        boolean parJour = choix > 0;
+        long heureCourante = CumulStatuts.debutHeure(System.currentTimeMillis());
+        Timestamp debut = new Timestamp(heureCourante - (HEURES_PAR_PERIODE[choix] - 1) * CumulStatuts.MS_PAR_HEURE);
+        Timestamp fin = new Timestamp(heureCourante + CumulStatuts.MS_PAR_HEURE);
+        Long idFinal = stationId;
+
+        afficherButton.setEnabled(false);
+        resumeLabel.setText("Chargement...");
+        asyncStationService.executer(() -> new Resultat(historiqueStatuts.cumulDepuis(idFinal, debut),
+                historiqueStatuts.serie(idFinal, debut, fin, parJour))).whenCompleteAsync((resultat, e) -> {
+            afficherButton.setEnabled(true);
+            if (e != null) {
+                Throwable cause = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+                resumeLabel.setText("Erreur: " + cause.getMessage());
+                if (!(cause instanceof DataAccessException)) {
+                    cause.printStackTrace();
+                }
+                return;
+            }
+            afficher(resultat, parJour);
+        }, SwingUtilities::invokeLater);
+    }
+
+    private void afficher(Resultat resultat, boolean parJour) {
+        StringBuilder resume = new StringBuilder("<html><b>Sur la période :</b> ");
+        if (resultat.total.getTotalMs() == 0) {
+            resume.append("aucune donnée.");
+        } else {
+            for (Statut s : Statut.values()) {
+                resume.append(String.format("%s %.1f %%&nbsp;&nbsp; ", s.getDescription(), resultat.total.getPourcentage(s)));
+            }
+        }
+        resumeLabel.setText(resume.append("</html>").toString());
+
+        SimpleDateFormat format = new SimpleDateFormat(parJour ? "dd/MM/yyyy" : "dd/MM HH:00");
+        detailModel.setRowCount(0);
+        for (CumulStatuts cumul : resultat.serie) {
+            Object[] ligne = new Object[Statut.values().length + 1];
+            ligne[0] = format.format(cumul.getDebut());
+            for (Statut s : Statut.values()) {
+                ligne[s.ordinal() + 1] = String.format("%.1f", cumul.getPourcentage(s));
+            }
+            detailModel.addRow(ligne);
+        }
+    }
+
+    private static class Resultat {
+        final CumulStatuts total;
+        final List<CumulStatuts> serie;
+
+        Resultat(CumulStatuts total, List<CumulStatuts> serie) {
+            this.total = total;
+            this.serie = serie;
+        }
+    }
+}
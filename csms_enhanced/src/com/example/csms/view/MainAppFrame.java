@@ -3,17 +3,21 @@ package com.example.csms.view;
 import com.example.csms.exception.DataAccessException;
 import com.example.csms.model.Statut;
 import com.example.csms.model.Station;
+import com.example.csms.model.ChangementsStations;
+import com.example.csms.service.AsyncStationService;
+import com.example.csms.service.ExportStations;
+import com.example.csms.service.HistoriqueStatuts;
+import com.example.csms.service.ImportStations;
+import com.example.csms.service.IngestionStatuts;
 import com.example.csms.service.StationService;
-
-// PDF imports (you'll need to add iText library to classpath)
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.*;
+import com.example.csms.service.SuiviChangementsStations;
+import com.example.csms.util.DatabaseConfig;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.TableColumn;
-import javax.swing.table.TableModel;
-import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.Rectangle;
 import java.awt.datatransfer.StringSelection;
@@ -23,32 +27,57 @@ import java.awt.event.MouseEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Vector;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.prefs.Preferences;
-import java.util.stream.Collectors;
 
 public class MainAppFrame extends JFrame {
 
     private final StationService stationService;
+    // Tout accès BDD passe par ce service asynchrone ; les résultats reviennent sur l'EDT via EDT
+    private final AsyncStationService asyncStationService;
+    private static final Executor EDT = SwingUtilities::invokeLater;
+    private CompletableFuture<Map<String, Long>> statistiquesEnCours;
+
+    // Rafraîchissement automatique incrémental (seuls les changements depuis la dernière lecture sont relus)
+    private static final int INTERVALLE_RAFRAICHISSEMENT_MS = 5000;
+    private final SuiviChangementsStations suiviChangements = new SuiviChangementsStations();
+    private Timer rafraichissementTimer;
+    private boolean rafraichissementEnCours = false;
+    // Recherche au fil de la frappe : appliquée après une courte pause plutôt qu'à chaque touche
+    private static final int DELAI_RECHERCHE_MS = 300;
+    private Timer rechercheDiffereeTimer;
+    private boolean constructionIndexEnCours = false;
+    // Après un flux de changements tronqué, l'index n'est pas reconstruit plus souvent que cela
+    private static final long INTERVALLE_MIN_RECONSTRUCTION_INDEX_MS = 60_000;
+    private long derniereConstructionIndex = 0;
+
+    // Ingestion des statuts envoyés par les bornes, activée au lancement par
+    // -Dcsms.ingestion.port=<port local> et/ou -Dcsms.ingestion.fichier=<fichier à rejouer>
+    private IngestionStatuts ingestionStatuts;
+    private JLabel ingestionLabel;
+    // Historique des statuts (tables décrites dans le README), activé par DatabaseConfig.HISTORIQUE_STATUTS
+    private HistoriqueStatuts historiqueStatuts;
     private final boolean isAuthenticated; // Mode utilisateur: true = admin, false = visiteur
 
     private JTable stationTable;
-    private DefaultTableModel tableModel;
+    private StationTableModel tableModel;
     private JTextField searchField;
     private JButton searchButton;
     private JButton refreshButton;
+    private JCheckBox autoRefreshCheckBox;
     private JButton viewDetailsButton;
     private JButton addButton;
     private JButton editButton;
     private JButton deleteButton;
-    private TableRowSorter<DefaultTableModel> sorter;
 
     private JComboBox<String> statusFilterComboBox;
     private JLabel statusBar;
@@ -56,8 +85,6 @@ public class MainAppFrame extends JFrame {
     private JMenuItem changeStatusMenuItem;
     private JMenuItem copyInfoMenuItem;
 
-    private List<Station> allLoadedStations = new ArrayList<>();
-
     private JLabel totalStationsLabel;
     private JLabel availableStationsLabel;
     private JLabel chargingStationsLabel;
@@ -73,6 +100,11 @@ public class MainAppFrame extends JFrame {
 
     public MainAppFrame(boolean isAuthenticated) {
         this.stationService = new StationService();
+        this.asyncStationService = new AsyncStationService(stationService);
+        if (DatabaseConfig.HISTORIQUE_STATUTS) {
+            this.historiqueStatuts = new HistoriqueStatuts();
+            stationService.setHistoriqueStatuts(historiqueStatuts);
+        }
         this.isAuthenticated = isAuthenticated;
 
         String modeText = isAuthenticated ? "Mode Administrateur" : "Mode visiteur";
@@ -83,50 +115,51 @@ public class MainAppFrame extends JFrame {
         JMenuBar menuBar = new JMenuBar();
         JMenu fileMenu = new JMenu("Fichier");
         JMenuItem exportPdfItem = new JMenuItem("Exporter Vue Actuelle (PDF)...");
-        exportPdfItem.addActionListener(e -> exportTableToPdf());
+        exportPdfItem.addActionListener(e -> exporterVueActuelle(ExportStations.Format.PDF));
+        JMenuItem exportCsvItem = new JMenuItem("Exporter Vue Actuelle (CSV)...");
+        exportCsvItem.addActionListener(e -> exporterVueActuelle(ExportStations.Format.CSV));
         JMenuItem exitItem = new JMenuItem("Quitter");
         exitItem.addActionListener(e -> closeApplication());
+        if (isAuthenticated) {
+            JMenuItem importCsvItem = new JMenuItem("Importer des Stations (CSV)...");
+            importCsvItem.addActionListener(e -> importerStations());
+            fileMenu.add(importCsvItem);
+            fileMenu.addSeparator();
+        }
         fileMenu.add(exportPdfItem);
+        fileMenu.add(exportCsvItem);
         fileMenu.addSeparator();
         fileMenu.add(exitItem);
 
+        JMenu statsMenu = new JMenu("Statistiques");
+        JMenuItem historiqueItem = new JMenuItem("Historique des statuts...");
+        historiqueItem.addActionListener(e ->
+                new HistoriqueStatutsDialog(this, asyncStationService, historiqueStatuts).setVisible(true));
+        historiqueItem.setEnabled(historiqueStatuts != null);
+        statsMenu.add(historiqueItem);
+
         JMenu helpMenu = new JMenu("Aide");
         JMenuItem aboutItem = new JMenuItem("À Propos...");
         aboutItem.addActionListener(e -> showAboutDialog());
         helpMenu.add(aboutItem);
 
         menuBar.add(fileMenu);
+        menuBar.add(statsMenu);
         menuBar.add(helpMenu);
         setJMenuBar(menuBar);
 
         // --- Table Model et JTable ---
-        tableModel = new DefaultTableModel(new Object[] { "ID", "Nom", "Localisation", "Statut", "Dernière MàJ" }, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-
-            @Override
-            public Class<?> getColumnClass(int columnIndex) {
-                if (columnIndex == 4)
-                    return java.sql.Timestamp.class;
-                if (columnIndex == 3)
-                    return String.class;
-                return super.getColumnClass(columnIndex);
-            }
-        };
+        // Modèle paginé : les lignes sont chargées à la demande pendant le défilement.
+        // Pas de RowSorter (il lirait toutes les lignes) : l'ordre est celui de la base (nom, id).
+        tableModel = new StationTableModel(asyncStationService);
         stationTable = new JTable(tableModel);
         stationTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
-        stationTable.setAutoCreateRowSorter(true);
         stationTable.setFillsViewportHeight(true);
         stationTable.setRowHeight(25);
 
         TableColumn statusColumn = stationTable.getColumnModel().getColumn(3);
         statusColumn.setCellRenderer(new StatusCellRenderer());
 
-        sorter = new TableRowSorter<>(tableModel);
-        stationTable.setRowSorter(sorter);
-
         JScrollPane scrollPane = new JScrollPane(stationTable);
 
         // --- Menu Contextuel (seulement pour utilisateurs authentifiés) ---
@@ -184,6 +217,10 @@ public class MainAppFrame extends JFrame {
         refreshButton.setToolTipText("Recharger les données depuis la base");
         viewDetailsButton = new JButton("ℹ️ Voir Détails");
         viewDetailsButton.setToolTipText("Afficher les détails de la station sélectionnée (une seule)");
+        autoRefreshCheckBox = new JCheckBox("Auto", true);
+        autoRefreshCheckBox.setToolTipText("Appliquer automatiquement les changements faits par les autres postes (toutes les "
+                + INTERVALLE_RAFRAICHISSEMENT_MS / 1000 + " s)");
+        actionButtonPanel.add(autoRefreshCheckBox);
         actionButtonPanel.add(refreshButton);
         actionButtonPanel.add(viewDetailsButton);
 
@@ -207,6 +244,10 @@ public class MainAppFrame extends JFrame {
 
         JPanel northPanel = new JPanel(new BorderLayout());
         northPanel.add(controlPanel, BorderLayout.NORTH);
+        ingestionLabel = new JLabel();
+        ingestionLabel.setVisible(false);
+        statsPanel.add(Box.createHorizontalStrut(15));
+        statsPanel.add(ingestionLabel);
         northPanel.add(statsPanel, BorderLayout.SOUTH);
 
         // --- Panneau de Boutons CRUD (seulement pour utilisateurs authentifiés) ---
@@ -258,6 +299,16 @@ public class MainAppFrame extends JFrame {
         viewDetailsButton.addActionListener(e -> ouvrirDialogueDetailsSelectionUnique());
         searchButton.addActionListener(e -> appliquerFiltres());
         searchField.addActionListener(e -> appliquerFiltres());
+        rechercheDiffereeTimer = new Timer(DELAI_RECHERCHE_MS, e -> appliquerFiltres());
+        rechercheDiffereeTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) { rechercheDiffereeTimer.restart(); }
+            @Override
+            public void removeUpdate(DocumentEvent e) { rechercheDiffereeTimer.restart(); }
+            @Override
+            public void changedUpdate(DocumentEvent e) { }
+        });
         clearSearchButton.addActionListener(e -> {
             searchField.setText("");
             statusFilterComboBox.setSelectedIndex(0);
@@ -283,6 +334,14 @@ public class MainAppFrame extends JFrame {
 
         loadPreferences();
         chargerDonneesEtFiltrer();
+        construireIndexRecherche();
+        demarrerIngestion();
+
+        rafraichissementTimer = new Timer(INTERVALLE_RAFRAICHISSEMENT_MS, e -> {
+            afficherMetriquesIngestion();
+            rafraichirIncrementalement();
+        });
+        rafraichissementTimer.start();
     }
 
     // Création du menu contextuel (seulement pour utilisateurs authentifiés)
@@ -299,79 +358,197 @@ public class MainAppFrame extends JFrame {
 
     private void updatePopupMenuState() {
         int selectedRowCount = stationTable.getSelectedRowCount();
-        changeStatusMenuItem.setEnabled(selectedRowCount == 1);
+        changeStatusMenuItem.setEnabled(selectedRowCount >= 1);
         copyInfoMenuItem.setEnabled(selectedRowCount == 1);
     }
 
     private void chargerDonneesEtFiltrer() {
+        chargerDonneesEtFiltrer("", true);
+    }
+
+    // prefixe : message affiché devant le nombre de stations une fois le chargement terminé.
+    // resynchroniserStatistiques : relire les compteurs en base (sinon ceux tenus à jour en mémoire suffisent)
+    private void chargerDonneesEtFiltrer(String prefixe, boolean resynchroniserStatistiques) {
         statusBar.setText("Chargement des données depuis la base...");
-        SwingUtilities.invokeLater(() -> {
-            try {
-                allLoadedStations = stationService.trouverToutesLesStations();
-                appliquerFiltresLocaux();
-                mettreAJourStatistiques();
-                statusBar.setText(tableModel.getRowCount() + " station(s) affichée(s). Total global: "
-                        + allLoadedStations.size() + ".");
-            } catch (DataAccessException e) {
-                handleDataAccessException("chargement des données", e);
-                allLoadedStations.clear();
-                tableModel.setRowCount(0);
-                mettreAJourStatistiquesErreur();
-            } catch (Exception e) {
-                handleUnexpectedError("chargement des données", e);
-                allLoadedStations.clear();
-                tableModel.setRowCount(0);
-                mettreAJourStatistiquesErreur();
-            }
+        // Les changements antérieurs à ce rechargement n'auront pas à être relus
+        asyncStationService.executer(() -> {
+            suiviChangements.demarrer();
+            return null;
         });
+        appliquerFiltresLocaux().whenCompleteAsync((total, e) -> {
+            if (e != null) {
+                gererErreurAsync("chargement des données", e);
+                return;
+            }
+            statusBar.setText(prefixe + total + " station(s) affichée(s).");
+        }, EDT);
+        mettreAJourStatistiques(resynchroniserStatistiques);
     }
 
     private void appliquerFiltres() {
-        appliquerFiltresLocaux();
-        statusBar.setText(tableModel.getRowCount() + " station(s) affichée(s) sur " + allLoadedStations.size()
-                + " (Filtres appliqués).");
+        rechercheDiffereeTimer.stop();
+        statusBar.setText("Application des filtres...");
+        appliquerFiltresLocaux().whenCompleteAsync((total, e) -> {
+            if (e != null) {
+                gererErreurAsync("application des filtres", e);
+                return;
+            }
+            statusBar.setText(total + " station(s) affichée(s) (Filtres appliqués).");
+        }, EDT);
     }
 
-    private void appliquerFiltresLocaux() {
-        String texteFiltre = searchField.getText().trim().toLowerCase();
-        String statutFiltreDesc = (String) statusFilterComboBox.getSelectedItem();
-        Statut statutFiltre = !"Tous".equals(statutFiltreDesc) ? Statut.fromString(statutFiltreDesc) : null;
-
-        List<Station> stationsFiltrees = allLoadedStations.stream()
-                .filter(station -> {
-                    boolean matchTexte = texteFiltre.isEmpty() ||
-                            (station.getNom() != null && station.getNom().toLowerCase().contains(texteFiltre)) ||
-                            (station.getLocalisation() != null
-                                    && station.getLocalisation().toLowerCase().contains(texteFiltre));
-                    boolean matchStatut = statutFiltre == null
-                            || (station.getStatut() != null && station.getStatut() == statutFiltre);
-                    return matchTexte && matchStatut;
+    // Appelé par le Timer (EDT) : lit les changements récents en arrière-plan et les fusionne dans la table.
+    // Les erreurs sont seulement journalisées, la prochaine exécution réessaiera.
+    private void rafraichirIncrementalement() {
+        if (!autoRefreshCheckBox.isSelected() || rafraichissementEnCours) {
+            return;
+        }
+        rafraichissementEnCours = true;
+        asyncStationService.executer(() -> {
+                    ChangementsStations changements = suiviChangements.lireNouveauxChangements();
+                    if (!stationService.indexerChangements(changements)) {
+                        SwingUtilities.invokeLater(this::construireIndexRecherche);
+                    }
+                    return changements;
                 })
-                .collect(Collectors.toList());
+                .thenComposeAsync(changements -> {
+                    if (changements.estVide()) {
+                        return CompletableFuture.completedFuture(changements);
+                    }
+                    mettreAJourStatistiques(true);
+                    if (tableModel.appliquerChangements(changements)) {
+                        return CompletableFuture.completedFuture(changements);
+                    }
+                    return tableModel.actualiser().thenApply(total -> changements);
+                }, EDT)
+                .whenCompleteAsync((changements, e) -> {
+                    rafraichissementEnCours = false;
+                    if (e != null) {
+                        if (!(deballer(e) instanceof CancellationException)) {
+                            System.err.println("Rafraîchissement automatique impossible: " + deballer(e).getMessage());
+                        }
+                        return;
+                    }
+                    if (!changements.estVide()) {
+                        updateStatusBar(decrireChangements(changements) + " " + tableModel.getRowCount()
+                                + " station(s) affichée(s).", 3000);
+                    }
+                }, EDT);
+    }
 
-        tableModel.setRowCount(0);
-        for (Station station : stationsFiltrees) {
-            Vector<Object> row = new Vector<>();
-            row.add(station.getId());
-            row.add(station.getNom());
-            row.add(station.getLocalisation());
-            row.add(station.getStatut() != null ? station.getStatut().getDescription() : "N/D");
-            row.add(station.getDerniereMiseAJour());
-            tableModel.addRow(row);
+    // Construit l'index de recherche en arrière-plan ; en attendant, la recherche passe par la base
+    private void construireIndexRecherche() {
+        if (constructionIndexEnCours
+                || System.currentTimeMillis() - derniereConstructionIndex < INTERVALLE_MIN_RECONSTRUCTION_INDEX_MS) {
+            return;
         }
+        constructionIndexEnCours = true;
+        asyncStationService.executer(stationService::construireIndexRecherche).whenCompleteAsync((nombre, e) -> {
+            constructionIndexEnCours = false;
+            derniereConstructionIndex = System.currentTimeMillis();
+            if (e != null) {
+                System.err.println("Construction de l'index de recherche impossible: " + deballer(e).getMessage());
+                return;
+            }
+            updateStatusBar("Index de recherche prêt (" + nombre + " station(s)).", 3000);
+        }, EDT);
+    }
+
+    private void demarrerIngestion() {
+        String port = System.getProperty("csms.ingestion.port");
+        String fichier = System.getProperty("csms.ingestion.fichier");
+        if (port == null && fichier == null) {
+            return;
+        }
+        ingestionStatuts = new IngestionStatuts(stationService);
+        try {
+            if (port != null) {
+                ingestionStatuts.ecouter(Integer.parseInt(port.trim()));
+            }
+            if (fichier != null) {
+                ingestionStatuts.lireFichierEnArrierePlan(Paths.get(fichier));
+            }
+            ingestionLabel.setText("Ingestion: démarrage...");
+            ingestionLabel.setVisible(true);
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Ingestion des statuts impossible à démarrer: " + e.getMessage());
+            ingestionStatuts.close();
+            ingestionStatuts = null;
+        }
+    }
+
+    private void afficherMetriquesIngestion() {
+        if (ingestionStatuts == null) {
+            return;
+        }
+        IngestionStatuts.Metriques metriques = ingestionStatuts.getMetriques();
+        ingestionLabel.setText(String.format("Ingestion: %.0f évt/s, %d en attente", metriques.getDebitParSeconde(),
+                metriques.getEnAttente()));
+        ingestionLabel.setToolTipText(metriques.toString());
+    }
+
+    private void arreterIngestion() {
+        if (ingestionStatuts != null) {
+            ingestionStatuts.close();
+            ingestionStatuts = null;
+        }
+    }
+
+    // Après arreterIngestion : les derniers statuts appliqués sont encore écrits dans l'historique
+    private void arreterHistorique() {
+        if (historiqueStatuts != null) {
+            stationService.setHistoriqueStatuts(null);
+            historiqueStatuts.close();
+            historiqueStatuts = null;
+        }
+    }
+
+    private static String decrireChangements(ChangementsStations changements) {
+        if (changements.isTropNombreux()) {
+            return "Nombreux changements reçus, table actualisée.";
+        }
+        return "Changements reçus : " + changements.getStationsModifiees().size() + " modification(s), "
+                + changements.getIdsSupprimes().size() + " suppression(s).";
+    }
+
+    // Les filtres sont appliqués par la base : seul le nombre de lignes est rechargé ici,
+    // les pages sont ensuite lues à la demande par StationTableModel.
+    // Un rechargement plus récent annule celui-ci (le futur se termine alors par une CancellationException).
+    private CompletableFuture<Long> appliquerFiltresLocaux() {
+        stationTable.clearSelection();
+        return tableModel.recharger(getCritereFiltre(), getStatutFiltre());
+    }
+
+    private String getCritereFiltre() {
+        String texteFiltre = searchField.getText().trim();
+        return texteFiltre.isEmpty() ? null : texteFiltre;
+    }
+
+    private Statut getStatutFiltre() {
+        String statutFiltreDesc = (String) statusFilterComboBox.getSelectedItem();
+        return !"Tous".equals(statutFiltreDesc) ? Statut.fromString(statutFiltreDesc) : null;
+    }
+
+    // Station de la ligne sélectionnée (sélection unique), ou null si sa page est encore en cours de chargement
+    private Station getStationSelectionnee() {
+        int selectedRowView = stationTable.getSelectedRow();
+        int selectedRowModel = stationTable.convertRowIndexToModel(selectedRowView);
+        Station station = tableModel.getStationAt(selectedRowModel);
+        if (station == null) {
+            statusBar.setText("Ligne en cours de chargement, veuillez réessayer.");
+        }
+        return station;
     }
 
     // Méthodes CRUD (seulement disponibles pour utilisateurs authentifiés)
     private void ouvrirDialogueStation(Station stationAModifier) {
         if (!isAuthenticated)
             return;
-        StationDialog dialog = new StationDialog(this, stationService, stationAModifier);
+        StationDialog dialog = new StationDialog(this, asyncStationService, stationAModifier);
         dialog.setVisible(true);
         if (dialog.isSucces()) {
             String action = (stationAModifier == null) ? "ajoutée" : "modifiée";
-            chargerDonneesEtFiltrer();
-            statusBar.setText(
-                    "Station " + action + " avec succès. " + tableModel.getRowCount() + " station(s) affichée(s).");
+            chargerDonneesEtFiltrer("Station " + action + " avec succès. ", false);
         }
     }
 
@@ -383,22 +560,22 @@ public class MainAppFrame extends JFrame {
                     "Sélection Invalide", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        int selectedRowView = stationTable.getSelectedRow();
-        int selectedRowModel = stationTable.convertRowIndexToModel(selectedRowView);
-        long idStation = (long) tableModel.getValueAt(selectedRowModel, 0);
+        Station selection = getStationSelectionnee();
+        if (selection == null)
+            return;
+        long idStation = selection.getId();
 
         statusBar.setText("Chargement des données pour modification ID " + idStation + "...");
-        try {
-            Optional<Station> stationOpt = stationService.trouverStationParId(idStation);
-            if (stationOpt.isPresent()) {
+        asyncStationService.trouverStationParId(idStation).whenCompleteAsync((stationOpt, e) -> {
+            if (e != null) {
+                gererErreurAsync("récupération pour modification", e);
+            } else if (stationOpt.isPresent()) {
                 statusBar.setText("Prêt.");
                 ouvrirDialogueStation(stationOpt.get());
             } else {
                 handleStationNotFoundError();
             }
-        } catch (DataAccessException e) {
-            handleDataAccessException("récupération pour modification", e);
-        }
+        }, EDT);
     }
 
     private void ouvrirDialogueDetailsSelectionUnique() {
@@ -407,23 +584,23 @@ public class MainAppFrame extends JFrame {
                     "Sélection Invalide", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        int selectedRowView = stationTable.getSelectedRow();
-        int selectedRowModel = stationTable.convertRowIndexToModel(selectedRowView);
-        long idStation = (long) tableModel.getValueAt(selectedRowModel, 0);
+        Station selection = getStationSelectionnee();
+        if (selection == null)
+            return;
+        long idStation = selection.getId();
 
         statusBar.setText("Chargement des détails pour ID " + idStation + "...");
-        try {
-            Optional<Station> stationOpt = stationService.trouverStationParId(idStation);
-            if (stationOpt.isPresent()) {
+        asyncStationService.trouverStationParId(idStation).whenCompleteAsync((stationOpt, e) -> {
+            if (e != null) {
+                gererErreurAsync("consultation des détails", e);
+            } else if (stationOpt.isPresent()) {
                 statusBar.setText("Prêt.");
                 StationDetailsDialog detailsDialog = new StationDetailsDialog(this, stationOpt.get());
                 detailsDialog.setVisible(true);
             } else {
                 handleStationNotFoundError();
             }
-        } catch (DataAccessException e) {
-            handleDataAccessException("consultation des détails", e);
-        }
+        }, EDT);
     }
 
     private void supprimerStationsSelectionnees() {
@@ -440,20 +617,36 @@ public class MainAppFrame extends JFrame {
                 .map(stationTable::convertRowIndexToModel)
                 .toArray();
 
+        List<Station> stationsASupprimer = new ArrayList<>();
+        for (int row : selectedRowsModel) {
+            Station station = tableModel.getStationAt(row);
+            if (station == null) {
+                JOptionPane.showMessageDialog(this,
+                        "Certaines lignes sélectionnées sont encore en cours de chargement.\nVeuillez réessayer.",
+                        "Chargement en cours", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            stationsASupprimer.add(station);
+        }
+
         StringBuilder confirmationMessage = new StringBuilder("Êtes-vous sûr de vouloir supprimer ");
         List<Long> idsToDelete = new ArrayList<>();
-        if (selectedRowsModel.length == 1) {
-            long id = (long) tableModel.getValueAt(selectedRowsModel[0], 0);
-            String nom = (String) tableModel.getValueAt(selectedRowsModel[0], 1);
-            confirmationMessage.append("la station '").append(nom).append("' (ID: ").append(id).append(")?");
-            idsToDelete.add(id);
+        if (stationsASupprimer.size() == 1) {
+            Station station = stationsASupprimer.get(0);
+            confirmationMessage.append("la station '").append(station.getNom()).append("' (ID: ")
+                    .append(station.getId()).append(")?");
+            idsToDelete.add(station.getId());
         } else {
-            confirmationMessage.append("les ").append(selectedRowsModel.length)
+            confirmationMessage.append("les ").append(stationsASupprimer.size())
                     .append(" stations sélectionnées ?\nIDs: ");
-            for (int i = 0; i < selectedRowsModel.length; i++) {
-                long id = (long) tableModel.getValueAt(selectedRowsModel[i], 0);
+            for (int i = 0; i < stationsASupprimer.size(); i++) {
+                long id = stationsASupprimer.get(i).getId();
                 idsToDelete.add(id);
-                confirmationMessage.append(id).append(i < selectedRowsModel.length - 1 ? ", " : "");
+                if (i < 20) { // Liste tronquée pour les grosses sélections
+                    confirmationMessage.append(id).append(i < stationsASupprimer.size() - 1 ? ", " : "");
+                } else if (i == 20) {
+                    confirmationMessage.append("...");
+                }
             }
         }
 
@@ -463,50 +656,53 @@ public class MainAppFrame extends JFrame {
 
         if (confirmation == JOptionPane.YES_OPTION) {
             statusBar.setText("Suppression de " + idsToDelete.size() + " station(s)...");
-            int successCount = 0;
-            int failCount = 0;
-            List<String> errors = new ArrayList<>();
+            deleteButton.setEnabled(false);
 
-            for (long id : idsToDelete) {
-                try {
-                    boolean deleted = stationService.supprimerStation(id);
+            // Une seule transaction pour toute la sélection ; résultat par ID
+            asyncStationService.supprimerStations(idsToDelete).whenCompleteAsync((resultats, e) -> {
+                deleteButton.setEnabled(true);
+                if (e != null) {
+                    gererErreurAsync("suppression (aucune station supprimée)", e);
+                    return;
+                }
+                List<Long> supprimees = new ArrayList<>();
+                List<String> errors = new ArrayList<>();
+                resultats.forEach((id, deleted) -> {
                     if (deleted) {
-                        successCount++;
+                        supprimees.add(id);
                     } else {
-                        failCount++;
                         errors.add("Échec suppression ID " + id + " (non trouvée?)");
                     }
-                } catch (DataAccessException e) {
-                    failCount++;
-                    errors.add("Erreur BDD suppression ID " + id + ": " + e.getMessage());
-                    e.printStackTrace();
-                } catch (Exception e) {
-                    failCount++;
-                    errors.add("Erreur inattendue suppression ID " + id + ": " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
+                });
+                int successCount = supprimees.size();
+                int failCount = errors.size();
 
-            StringBuilder resultMessage = new StringBuilder();
-            if (successCount > 0) {
-                resultMessage.append(successCount).append(" station(s) supprimée(s) avec succès.\n");
-            }
-            if (failCount > 0) {
-                resultMessage.append(failCount).append(" suppression(s) échouée(s).\n");
-                if (!errors.isEmpty()) {
+                // La table est corrigée sur place ; rechargement complet seulement si des lignes ont quitté le cache
+                boolean modeleCorrige = tableModel.retirerStations(supprimees);
+
+                StringBuilder resultMessage = new StringBuilder();
+                if (successCount > 0) {
+                    resultMessage.append(successCount).append(" station(s) supprimée(s) avec succès.\n");
+                }
+                if (failCount > 0) {
+                    resultMessage.append(failCount).append(" suppression(s) échouée(s).\n");
                     resultMessage.append("Détails erreurs:\n");
-                    errors.forEach(err -> resultMessage.append("- ").append(err).append("\n"));
+                    ajouterErreurs(resultMessage, errors);
+                    JOptionPane.showMessageDialog(this, resultMessage.toString(), "Résultat Suppression",
+                            JOptionPane.WARNING_MESSAGE);
+                } else {
+                    JOptionPane.showMessageDialog(this, resultMessage.toString(), "Succès Suppression",
+                            JOptionPane.INFORMATION_MESSAGE);
                 }
-                JOptionPane.showMessageDialog(this, resultMessage.toString(), "Résultat Suppression",
-                        JOptionPane.WARNING_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this, resultMessage.toString(), "Succès Suppression",
-                        JOptionPane.INFORMATION_MESSAGE);
-            }
 
-            chargerDonneesEtFiltrer();
-            statusBar.setText(successCount + "/" + idsToDelete.size() + " station(s) supprimée(s). "
-                    + tableModel.getRowCount() + " affichée(s).");
+                String message = successCount + "/" + idsToDelete.size() + " station(s) supprimée(s). ";
+                if (modeleCorrige) {
+                    mettreAJourStatistiques(false);
+                    statusBar.setText(message + tableModel.getRowCount() + " station(s) affichée(s).");
+                } else {
+                    chargerDonneesEtFiltrer(message, false);
+                }
+            }, EDT);
         } else {
             statusBar.setText("Suppression annulée.");
         }
@@ -515,45 +711,74 @@ public class MainAppFrame extends JFrame {
     private void changerStatutRapideSelection() {
         if (!isAuthenticated)
             return;
-        if (stationTable.getSelectedRowCount() != 1)
+        int[] selectedRowsView = stationTable.getSelectedRows();
+        if (selectedRowsView.length == 0)
             return;
 
-        int selectedRowView = stationTable.getSelectedRow();
-        int selectedRowModel = stationTable.convertRowIndexToModel(selectedRowView);
-        long idStation = (long) tableModel.getValueAt(selectedRowModel, 0);
-        String nomStation = (String) tableModel.getValueAt(selectedRowModel, 1);
-        Statut statutActuel = Statut.fromString((String) tableModel.getValueAt(selectedRowModel, 3));
+        List<Station> stations = new ArrayList<>();
+        for (int rowView : selectedRowsView) {
+            Station station = tableModel.getStationAt(stationTable.convertRowIndexToModel(rowView));
+            if (station == null) {
+                statusBar.setText("Ligne en cours de chargement, veuillez réessayer.");
+                return;
+            }
+            stations.add(station);
+        }
+
+        // Statut proposé par défaut : celui de la sélection s'il est commun
+        Statut statutActuel = stations.get(0).getStatut();
+        for (Station station : stations) {
+            if (station.getStatut() != statutActuel) {
+                statutActuel = null;
+                break;
+            }
+        }
+        String cible = stations.size() == 1
+                ? "'" + stations.get(0).getNom() + "' (ID: " + stations.get(0).getId() + ")"
+                : stations.size() + " stations sélectionnées";
 
         Object[] options = Statut.values();
-        Object initialSelection = statutActuel;
+        Object initialSelection = statutActuel != null ? statutActuel : Statut.values()[0];
 
         Object selection = JOptionPane.showInputDialog(this,
-                "Choisir le nouveau statut pour '" + nomStation + "' (ID: " + idStation + ") :",
+                "Choisir le nouveau statut pour " + cible + " :",
                 "Changement Rapide de Statut", JOptionPane.QUESTION_MESSAGE, null, options, initialSelection);
 
         if (selection instanceof Statut) {
             Statut nouveauStatut = (Statut) selection;
-            if (nouveauStatut != statutActuel) {
-                statusBar.setText("Mise à jour statut ID " + idStation + "...");
-                try {
-                    boolean updated = stationService.updateStationStatus(idStation, nouveauStatut);
-                    if (updated) {
-                        tableModel.setValueAt(nouveauStatut.getDescription(), selectedRowModel, 3);
-                        allLoadedStations.stream().filter(s -> s.getId() == idStation).findFirst()
-                                .ifPresent(s -> s.setStatut(nouveauStatut));
-                        mettreAJourStatistiques();
-                        statusBar.setText("Statut ID " + idStation + " mis à jour. " + tableModel.getRowCount()
-                                + " station(s) affichée(s).");
-                        ((DefaultTableModel) stationTable.getModel()).fireTableRowsUpdated(selectedRowModel,
-                                selectedRowModel);
-                    } else {
-                        handleOperationFailure("mise à jour du statut");
-                    }
-                } catch (DataAccessException e) {
-                    handleDataAccessException("mise à jour du statut", e);
-                } catch (Exception e) {
-                    handleUnexpectedError("mise à jour du statut", e);
+            List<Long> ids = new ArrayList<>();
+            for (Station station : stations) {
+                if (station.getStatut() != nouveauStatut) {
+                    ids.add(station.getId());
                 }
+            }
+            if (!ids.isEmpty()) {
+                statusBar.setText("Mise à jour du statut de " + ids.size() + " station(s)...");
+                asyncStationService.changerStatutStations(ids, nouveauStatut).whenCompleteAsync((resultats, e) -> {
+                    if (e != null) {
+                        gererErreurAsync("mise à jour du statut", e);
+                        return;
+                    }
+                    List<Long> modifiees = new ArrayList<>();
+                    List<String> errors = new ArrayList<>();
+                    resultats.forEach((id, updated) -> {
+                        if (updated) {
+                            modifiees.add(id);
+                        } else {
+                            errors.add("Échec mise à jour ID " + id + " (non trouvée?)");
+                        }
+                    });
+                    tableModel.mettreAJourStatut(modifiees, nouveauStatut);
+                    mettreAJourStatistiques(false);
+                    if (!errors.isEmpty()) {
+                        StringBuilder message = new StringBuilder(errors.size() + " mise(s) à jour échouée(s).\n");
+                        ajouterErreurs(message, errors);
+                        JOptionPane.showMessageDialog(this, message.toString(), "Résultat Mise à Jour",
+                                JOptionPane.WARNING_MESSAGE);
+                    }
+                    statusBar.setText("Statut mis à jour pour " + modifiees.size() + "/" + ids.size() + " station(s). "
+                            + tableModel.getRowCount() + " station(s) affichée(s).");
+                }, EDT);
             } else {
                 statusBar.setText("Statut inchangé.");
             }
@@ -562,16 +787,25 @@ public class MainAppFrame extends JFrame {
         }
     }
 
+    // Ajoute au message les erreurs détaillées, limitées pour que la boîte de dialogue reste lisible
+    private static void ajouterErreurs(StringBuilder message, List<String> errors) {
+        int maxAffichees = 20;
+        errors.stream().limit(maxAffichees).forEach(err -> message.append("- ").append(err).append("\n"));
+        if (errors.size() > maxAffichees) {
+            message.append("... et ").append(errors.size() - maxAffichees).append(" autre(s).\n");
+        }
+    }
+
     private void copierInfosSelection() {
         if (stationTable.getSelectedRowCount() != 1)
             return;
 
-        int selectedRowView = stationTable.getSelectedRow();
-        int selectedRowModel = stationTable.convertRowIndexToModel(selectedRowView);
-        long id = (long) tableModel.getValueAt(selectedRowModel, 0);
-        String nom = (String) tableModel.getValueAt(selectedRowModel, 1);
-        Object locObj = tableModel.getValueAt(selectedRowModel, 2);
-        String localisation = (locObj != null) ? locObj.toString() : "-";
+        Station station = getStationSelectionnee();
+        if (station == null)
+            return;
+        long id = station.getId();
+        String nom = station.getNom();
+        String localisation = (station.getLocalisation() != null) ? station.getLocalisation() : "-";
 
         String textToCopy = String.format("ID: %d\nNom: %s\nLocalisation: %s", id, nom, localisation);
 
@@ -582,18 +816,32 @@ public class MainAppFrame extends JFrame {
         updateStatusBar("Infos ID " + id + " copiées.", 2500);
     }
 
-    private void mettreAJourStatistiques() {
-        try {
-            Map<String, Long> stats = stationService.getStationStatistics();
+    // Les compteurs sont tenus à jour en mémoire par StationService ; resynchroniser relance le GROUP BY en base
+    private void mettreAJourStatistiques(boolean resynchroniser) {
+        // Seul le dernier calcul demandé met à jour les libellés
+        if (statistiquesEnCours != null) {
+            statistiquesEnCours.cancel(false);
+        }
+        CompletableFuture<Map<String, Long>> calcul = resynchroniser
+                ? asyncStationService.rafraichirStatistiques()
+                : asyncStationService.getStationStatistics();
+        statistiquesEnCours = calcul;
+        calcul.whenCompleteAsync((stats, e) -> {
+            if (calcul != statistiquesEnCours) {
+                return;
+            }
+            if (e != null) {
+                Throwable cause = deballer(e);
+                System.err.println("Erreur lors de la récupération des statistiques: " + cause.getMessage());
+                mettreAJourStatistiquesErreur();
+                cause.printStackTrace();
+                return;
+            }
             totalStationsLabel.setText("Total: " + stats.getOrDefault("TOTAL", 0L));
             availableStationsLabel.setText("Disponibles: " + stats.getOrDefault(Statut.DISPONIBLE.name(), 0L));
             chargingStationsLabel.setText("En Charge: " + stats.getOrDefault(Statut.EN_CHARGE.name(), 0L));
             outOfServiceStationsLabel.setText("Hors Service: " + stats.getOrDefault(Statut.HORS_SERVICE.name(), 0L));
-        } catch (DataAccessException e) {
-            System.err.println("Erreur lors de la récupération des statistiques: " + e.getMessage());
-            mettreAJourStatistiquesErreur();
-            e.printStackTrace();
-        }
+        }, EDT);
     }
 
     private void mettreAJourStatistiquesErreur() {
@@ -623,18 +871,20 @@ public class MainAppFrame extends JFrame {
     }
 
     // --- Export PDF ---
-    private void exportTableToPdf() {
+    // Export PDF ou CSV de la vue actuelle (filtres affichés), en arrière-plan avec progression et annulation
+    private void exporterVueActuelle(ExportStations.Format format) {
+        String extension = format == ExportStations.Format.PDF ? ".pdf" : ".csv";
         JFileChooser fileChooser = new JFileChooser();
-        fileChooser.setDialogTitle("Exporter la vue actuelle en PDF");
-        fileChooser.setSelectedFile(new File("export_stations_" + System.currentTimeMillis() + ".pdf"));
+        fileChooser.setDialogTitle("Exporter la vue actuelle en " + format);
+        fileChooser.setSelectedFile(new File("export_stations_" + System.currentTimeMillis() + extension));
 
         int userSelection = fileChooser.showSaveDialog(this);
 
         if (userSelection == JFileChooser.APPROVE_OPTION) {
             File fileToSave = fileChooser.getSelectedFile();
 
-            if (!fileToSave.getName().toLowerCase().endsWith(".pdf")) {
-                fileToSave = new File(fileToSave.getParentFile(), fileToSave.getName() + ".pdf");
+            if (!fileToSave.getName().toLowerCase().endsWith(extension)) {
+                fileToSave = new File(fileToSave.getParentFile(), fileToSave.getName() + extension);
             }
 
             if (fileToSave.exists()) {
@@ -642,129 +892,152 @@ public class MainAppFrame extends JFrame {
                         "Le fichier '" + fileToSave.getName() + "' existe déjà.\nVoulez-vous le remplacer?",
                         "Confirmer l'écrasement", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
                 if (response != JOptionPane.YES_OPTION) {
-                    statusBar.setText("Export PDF annulé.");
+                    statusBar.setText("Export " + format + " annulé.");
                     return;
                 }
             }
 
             final File finalFileToSave = fileToSave;
 
-            statusBar.setText("Exportation en PDF vers " + finalFileToSave.getName() + "...");
-
-            SwingUtilities.invokeLater(() -> {
-                try {
-                    Document document = new Document(PageSize.A4, 50, 50, 50, 50);
-                    PdfWriter.getInstance(document, new FileOutputStream(finalFileToSave));
-                    document.open();
-
-                    // Titre du document
-                    com.itextpdf.text.Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 18,
-                            BaseColor.BLACK);
-                    Paragraph title = new Paragraph("Export des Stations de Charge", titleFont);
-                    title.setAlignment(Element.ALIGN_CENTER);
-                    title.setSpacingAfter(20);
-                    document.add(title);
-
-                    // Informations sur l'export
-                    com.itextpdf.text.Font infoFont = FontFactory.getFont(FontFactory.HELVETICA, 10, BaseColor.GRAY);
-                    String modeText = isAuthenticated ? "Mode Administrateur" : "Mode visiteur";
-                    Paragraph info = new Paragraph("Généré le: " + new java.util.Date() + " | " + modeText, infoFont);
-                    info.setAlignment(Element.ALIGN_CENTER);
-                    info.setSpacingAfter(15);
-                    document.add(info);
-
-                    // Statistiques
-                    Map<String, Long> stats = stationService.getStationStatistics();
-                    com.itextpdf.text.Font statsFont = FontFactory.getFont(FontFactory.HELVETICA, 11,
-                            BaseColor.DARK_GRAY);
-                    Paragraph statsP = new Paragraph(
-                            "Statistiques: Total: " + stats.getOrDefault("TOTAL", 0L) +
-                                    " | Disponibles: " + stats.getOrDefault(Statut.DISPONIBLE.name(), 0L) +
-                                    " | En Charge: " + stats.getOrDefault(Statut.EN_CHARGE.name(), 0L) +
-                                    " | Hors Service: " + stats.getOrDefault(Statut.HORS_SERVICE.name(), 0L),
-                            statsFont);
-                    statsP.setAlignment(Element.ALIGN_CENTER);
-                    statsP.setSpacingAfter(20);
-                    document.add(statsP);
-
-                    // Tableau des données
-                    PdfPTable table = new PdfPTable(5); // 5 colonnes
-                    table.setWidthPercentage(100);
-                    table.setWidths(new float[] { 1f, 3f, 3f, 2f, 2.5f }); // Largeurs relatives
-
-                    // En-têtes
-                    com.itextpdf.text.Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 10,
-                            BaseColor.WHITE);
-                    String[] headers = { "ID", "Nom", "Localisation", "Statut", "Dernière MàJ" };
-                    for (String header : headers) {
-                        PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
-                        cell.setBackgroundColor(BaseColor.DARK_GRAY);
-                        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                        cell.setPadding(8);
-                        table.addCell(cell);
-                    }
-
-                    // Données
-                    com.itextpdf.text.Font dataFont = FontFactory.getFont(FontFactory.HELVETICA, 9, BaseColor.BLACK);
-                    int rowCount = stationTable.getRowCount();
-                    for (int i = 0; i < rowCount; i++) {
-                        for (int j = 0; j < 5; j++) {
-                            Object value = stationTable.getValueAt(i, j);
-                            String cellText = (value != null) ? value.toString() : "";
-
-                            PdfPCell cell = new PdfPCell(new Phrase(cellText, dataFont));
-                            cell.setPadding(5);
-
-                            // Coloration selon le statut (colonne 3)
-                            if (j == 3 && value != null) {
-                                String statusText = value.toString();
-                                if ("Disponible".equals(statusText)) {
-                                    cell.setBackgroundColor(new BaseColor(200, 255, 200));
-                                } else if ("En charge".equals(statusText)) {
-                                    cell.setBackgroundColor(new BaseColor(255, 230, 180));
-                                } else if ("Hors service".equals(statusText)) {
-                                    cell.setBackgroundColor(new BaseColor(255, 200, 200));
-                                }
-                            }
-
-                            if (j == 0) { // ID centré
-                                cell.setHorizontalAlignment(Element.ALIGN_CENTER);
-                            }
-
-                            table.addCell(cell);
-                        }
+            statusBar.setText("Exportation en " + format + " vers " + finalFileToSave.getName() + "...");
+
+            // Export hors EDT : les données sont relues en base par tranches avec les filtres affichés
+            final String critere = getCritereFiltre();
+            final Statut statut = getStatutFiltre();
+            final String modeText = isAuthenticated ? "Mode Administrateur" : "Mode visiteur";
+            ExportProgressDialog progressDialog = new ExportProgressDialog(this, finalFileToSave.getName());
+            progressDialog.setVisible(true);
+            asyncStationService.executer(() -> new ExportStations(stationService)
+                    .exporter(finalFileToSave, format, critere, statut, modeText, progressDialog)
+            ).whenCompleteAsync((rowCount, e) -> {
+                progressDialog.dispose();
+                if (e != null) {
+                    Throwable ex = deballer(e);
+                    if (ex instanceof CancellationException) {
+                        statusBar.setText("Export " + format + " annulé par l'utilisateur.");
+                        return;
                     }
-
-                    document.add(table);
-
-                    // Pied de page
-                    Paragraph footer = new Paragraph("\nNombre de stations affichées: " + rowCount, infoFont);
-                    footer.setAlignment(Element.ALIGN_RIGHT);
-                    footer.setSpacingBefore(15);
-                    document.add(footer);
-
-                    document.close();
-
                     JOptionPane.showMessageDialog(this,
-                            "Données exportées avec succès vers :\n" + finalFileToSave.getAbsolutePath(),
-                            "Export PDF Réussi", JOptionPane.INFORMATION_MESSAGE);
-                    statusBar.setText("Export PDF terminé. " + tableModel.getRowCount() + " station(s) affichée(s).");
-
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(this,
-                            "Erreur lors de l'exportation en PDF:\n" + ex.getMessage() +
-                                    "\nVérifiez que la bibliothèque iText est dans le classpath.",
+                            "Erreur lors de l'exportation en " + format + ":\n" + ex.getMessage() +
+                                    (format == ExportStations.Format.PDF
+                                            ? "\nVérifiez que la bibliothèque iText est dans le classpath." : ""),
                             "Erreur d'Exportation", JOptionPane.ERROR_MESSAGE);
-                    statusBar.setText("Erreur lors de l'export PDF.");
+                    statusBar.setText("Erreur lors de l'export " + format + ".");
                     ex.printStackTrace();
+                    return;
                 }
-            });
+                JOptionPane.showMessageDialog(this,
+                        "Données exportées avec succès vers :\n" + finalFileToSave.getAbsolutePath(),
+                        "Export " + format + " Réussi", JOptionPane.INFORMATION_MESSAGE);
+                statusBar.setText("Export " + format + " terminé. " + rowCount + " station(s) exportée(s).");
+            }, EDT);
         } else {
-            statusBar.setText("Export PDF annulé par l'utilisateur.");
+            statusBar.setText("Export " + format + " annulé par l'utilisateur.");
+        }
+    }
+
+    // Import CSV en deux temps, hors EDT : analyse du fichier (point de reprise éventuel), puis import avec progression
+    private void importerStations() {
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Importer des stations (CSV : Nom;Localisation;Statut)");
+        fileChooser.setFileFilter(new FileNameExtensionFilter("Fichiers CSV", "csv"));
+        if (fileChooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            statusBar.setText("Import annulé par l'utilisateur.");
+            return;
         }
+        File fichier = fileChooser.getSelectedFile();
+        ImportStations importStations = new ImportStations(stationService);
+        statusBar.setText("Analyse de " + fichier.getName() + "...");
+        asyncStationService.executer(() -> importStations.analyser(fichier)).whenCompleteAsync((analyse, e) -> {
+            if (e != null) {
+                afficherErreurImport(deballer(e), false);
+                return;
+            }
+            boolean reprendre = false;
+            if (analyse.getDejaTraites() > 0) {
+                Object[] options = {"Reprendre", "Tout réimporter", "Annuler"};
+                int choix = JOptionPane.showOptionDialog(this,
+                        "Ce fichier a déjà été importé jusqu'à l'enregistrement " + analyse.getDejaTraites()
+                                + " (sur environ " + analyse.getEnregistrementsEstimes() + ").\n"
+                                + "Reprendre après cet enregistrement, ou tout réimporter (les stations déjà importées seront dupliquées) ?",
+                        "Import déjà effectué", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
+                        null, options, options[0]);
+                if (choix != 0 && choix != 1) {
+                    statusBar.setText("Import annulé par l'utilisateur.");
+                    return;
+                }
+                reprendre = choix == 0;
+            }
+            lancerImport(importStations, analyse, reprendre);
+        }, EDT);
+    }
+
+    private void lancerImport(ImportStations importStations, ImportStations.Analyse analyse, boolean reprendre) {
+        String nomFichier = analyse.getFichier().getName();
+        statusBar.setText("Import de " + nomFichier + "...");
+        ExportProgressDialog progressDialog = new ExportProgressDialog(this, "Import en cours",
+                "Import depuis " + nomFichier, "ligne(s) traitée(s)");
+        progressDialog.setVisible(true);
+        asyncStationService.executer(() -> importStations.importer(analyse, reprendre, progressDialog))
+                .whenCompleteAsync((resultat, e) -> {
+                    progressDialog.dispose();
+                    // Une partie a pu être importée même en cas d'annulation ou d'erreur
+                    chargerDonneesEtFiltrer("Import terminé. ", false);
+                    if (e != null) {
+                        Throwable ex = deballer(e);
+                        if (ex instanceof CancellationException) {
+                            statusBar.setText("Import interrompu : il pourra reprendre là où il s'est arrêté.");
+                            return;
+                        }
+                        afficherErreurImport(ex, true);
+                        return;
+                    }
+                    StringBuilder message = new StringBuilder(resultat.toString()).append('.');
+                    if (!resultat.getErreurs().isEmpty()) {
+                        message.append("\n\nLignes rejetées");
+                        if (resultat.getRejetees() > resultat.getErreurs().size()) {
+                            message.append(" (").append(resultat.getErreurs().size()).append(" premières)");
+                        }
+                        message.append(" :");
+                        for (String erreur : resultat.getErreurs()) {
+                            message.append('\n').append(erreur);
+                        }
+                    }
+                    JTextArea texte = new JTextArea(message.toString(), 12, 60);
+                    texte.setEditable(false);
+                    JOptionPane.showMessageDialog(this, new JScrollPane(texte), "Import Terminé",
+                            resultat.getRejetees() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+                }, EDT);
+    }
+
+    private void afficherErreurImport(Throwable ex, boolean importCommence) {
+        JOptionPane.showMessageDialog(this, "Erreur lors de l'import:\n" + ex.getMessage()
+                        + (importCommence ? "\nLes lots déjà importés sont conservés ; l'import pourra reprendre." : ""),
+                "Erreur d'Import", JOptionPane.ERROR_MESSAGE);
+        statusBar.setText("Erreur lors de l'import.");
+        ex.printStackTrace();
     }
 
     // --- Méthodes utilitaires ---
+    // Erreur d'une opération asynchrone (déjà sur l'EDT) ; les chargements remplacés par un plus récent sont ignorés
+    private void gererErreurAsync(String operation, Throwable e) {
+        Throwable cause = deballer(e);
+        if (cause instanceof CancellationException) {
+            return;
+        }
+        if (cause instanceof DataAccessException) {
+            handleDataAccessException(operation, (DataAccessException) cause);
+        } else if (cause instanceof Exception) {
+            handleUnexpectedError(operation, (Exception) cause);
+        } else {
+            handleUnexpectedError(operation, new RuntimeException(cause));
+        }
+    }
+
+    private static Throwable deballer(Throwable e) {
+        return (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+    }
+
     private void handleDataAccessException(String operation, DataAccessException e) {
         JOptionPane.showMessageDialog(this, "Erreur Base de Données lors de: " + operation + "\n" + e.getMessage(),
                 "Erreur BDD", JOptionPane.ERROR_MESSAGE);
@@ -834,6 +1107,11 @@ public class MainAppFrame extends JFrame {
 
     private void closeApplication() {
         savePreferences();
+        rafraichissementTimer.stop();
+        rechercheDiffereeTimer.stop();
+        arreterIngestion();
+        asyncStationService.close();
+        arreterHistorique();
         System.exit(0);
     }
 
@@ -852,6 +1130,11 @@ public class MainAppFrame extends JFrame {
             savePreferences();
 
             // Fermer la fenêtre actuelle et relancer en mode authentifié
+            rafraichissementTimer.stop();
+            rechercheDiffereeTimer.stop();
+            arreterIngestion();
+            asyncStationService.close();
+            arreterHistorique();
             dispose();
 
             SwingUtilities.invokeLater(() -> {
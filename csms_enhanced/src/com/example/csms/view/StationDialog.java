@@ -3,15 +3,17 @@ package com.example.csms.view;
 import com.example.csms.exception.DataAccessException;
 import com.example.csms.model.Statut;
 import com.example.csms.model.Station;
-import com.example.csms.service.StationService;
+import com.example.csms.service.AsyncStationService;
 
 import javax.swing.*;
 import java.awt.*;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class StationDialog extends JDialog {
 
-    private final StationService stationService;
+    private final AsyncStationService stationService;
     private final Station stationCourante; // null si ajout, existante si modification
     private boolean succes = false; // Indique si l'opération a réussi
 
@@ -21,7 +23,7 @@ public class StationDialog extends JDialog {
     private JButton saveButton;
     private JButton cancelButton;
 
-    public StationDialog(Frame parent, StationService service, Station station) {
+    public StationDialog(Frame parent, AsyncStationService service, Station station) {
         super(parent, (station == null ? "Ajouter" : "Modifier") + " une Station", true); // Titre dynamique
         this.stationService = service;
         this.stationCourante = station;
@@ -95,28 +97,38 @@ public class StationDialog extends JDialog {
             return;
         }
 
-        try {
-            if (stationCourante == null) { // Mode Ajout
-                Station nouvelleStation = new Station(nom, localisation, statut);
-                stationService.ajouterStation(nouvelleStation);
-                JOptionPane.showMessageDialog(this, "Station ajoutée avec succès !", "Succès", JOptionPane.INFORMATION_MESSAGE);
-            } else { // Mode Modification
-                stationCourante.setNom(nom);
-                stationCourante.setLocalisation(localisation);
-                stationCourante.setStatut(statut);
-                stationService.modifierStation(stationCourante);
-                JOptionPane.showMessageDialog(this, "Station modifiée avec succès !", "Succès", JOptionPane.INFORMATION_MESSAGE);
+        // Enregistrement hors EDT ; le dialogue reste modal et ses boutons sont désactivés en attendant
+        CompletableFuture<?> enregistrement;
+        if (stationCourante == null) { // Mode Ajout
+            Station nouvelleStation = new Station(nom, localisation, statut);
+            enregistrement = stationService.ajouterStation(nouvelleStation);
+        } else { // Mode Modification
+            stationCourante.setNom(nom);
+            stationCourante.setLocalisation(localisation);
+            stationCourante.setStatut(statut);
+            enregistrement = stationService.modifierStation(stationCourante);
+        }
+        saveButton.setEnabled(false);
+        cancelButton.setEnabled(false);
+
+        enregistrement.whenComplete((r, e) -> SwingUtilities.invokeLater(() -> {
+            saveButton.setEnabled(true);
+            cancelButton.setEnabled(true);
+            if (e == null) {
+                String action = stationCourante == null ? "ajoutée" : "modifiée";
+                JOptionPane.showMessageDialog(this, "Station " + action + " avec succès !", "Succès", JOptionPane.INFORMATION_MESSAGE);
+                succes = true; // Indique que l'opération a réussi
+                dispose(); // Ferme le dialogue
+                return;
+            }
+            Throwable ex = (e instanceof CompletionException && e.getCause() != null) ? e.getCause() : e;
+            if (ex instanceof IllegalArgumentException || ex instanceof DataAccessException) {
+                JOptionPane.showMessageDialog(this, "Erreur lors de l'enregistrement:\n" + ex.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Erreur inattendue:\n" + ex.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
             }
-            succes = true; // Indique que l'opération a réussi
-            dispose(); // Ferme le dialogue
-
-        } catch (IllegalArgumentException | DataAccessException ex) {
-            JOptionPane.showMessageDialog(this, "Erreur lors de l'enregistrement:\n" + ex.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
-            ex.printStackTrace();
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this, "Erreur inattendue:\n" + ex.getMessage(), "Erreur", JOptionPane.ERROR_MESSAGE);
             ex.printStackTrace();
-        }
+        }));
     }
 
     // Permet à la fenêtre appelante de savoir si l'opération a réussi
@@ -0,0 +1,410 @@
+package com.example.csms.view;
+
+import com.example.csms.model.ChangementsStations;
+import com.example.csms.model.Statut;
+import com.example.csms.model.Station;
+import com.example.csms.service.AsyncStationService;
+import com.example.csms.service.IndexRechercheStations;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Modèle de table "virtuel" : seul le nombre de lignes est connu à l'avance,
+// les stations sont chargées page par page (pagination par clé nom/id) quand la JTable les affiche.
+// Les pages sont gardées dans un cache LRU borné, la mémoire ne dépend donc pas de la taille du parc.
+// Toutes les requêtes passent par AsyncStationService : une page absente s'affiche "Chargement..."
+// puis est rafraîchie sur l'EDT à l'arrivée des données. Toutes les méthodes s'appellent depuis l'EDT.
+public class StationTableModel extends AbstractTableModel {
+
+    public static final int TAILLE_PAGE = 200;
+    public static final int MAX_PAGES_EN_CACHE = 50; // 10 000 stations au plus en mémoire
+    private static final int PAGES_ACTUALISEES = 3; // Pages relues par actualiser() (zone visible)
+
+    private static final String[] COLONNES = { "ID", "Nom", "Localisation", "Statut", "Dernière MàJ" };
+    private static final Executor EDT = SwingUtilities::invokeLater;
+
+    private final AsyncStationService asyncStationService;
+
+    // Filtres courants (null = pas de filtre)
+    private String critere;
+    private Statut statut;
+    private int rowCount;
+
+    // Incrémentée à chaque rechargement : les réponses d'une génération précédente sont ignorées
+    private long generation;
+    private CompletableFuture<Long> comptageEnCours;
+    private final Map<Integer, CompletableFuture<List<Station>>> pagesEnCours = new HashMap<>();
+
+    // Cache LRU des pages chargées (ordre d'accès)
+    private final Map<Integer, List<Station>> pages = new LinkedHashMap<Integer, List<Station>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Station>> eldest) {
+            return size() > MAX_PAGES_EN_CACHE;
+        }
+    };
+
+    // Dernière station de chaque page déjà vue : point de départ de la page suivante.
+    // On ne garde que id + nom, ce qui reste petit même pour un très grand parc.
+    private final Map<Integer, Station> clesFinDePage = new HashMap<>();
+
+    public StationTableModel(AsyncStationService asyncStationService) {
+        this.asyncStationService = asyncStationService;
+    }
+
+    // Applique de nouveaux filtres : annule les chargements en cours, vide les caches et recompte les lignes.
+    // Le futur retourné se termine (sur l'EDT) avec le nouveau nombre de lignes, ou par une
+    // CancellationException si un rechargement plus récent l'a remplacé entre-temps.
+    public CompletableFuture<Long> recharger(String critere, Statut statut) {
+        vider();
+        this.critere = critere;
+        this.statut = statut;
+        long gen = generation;
+        comptageEnCours = asyncStationService.compterStations(critere, statut);
+        return comptageEnCours.thenApplyAsync(total -> {
+            if (gen != generation) {
+                throw new CancellationException("Rechargement remplacé par un plus récent");
+            }
+            rowCount = (int) Math.min(total, Integer.MAX_VALUE);
+            fireTableDataChanged();
+            return total;
+        }, EDT);
+    }
+
+    public void vider() {
+        generation++;
+        if (comptageEnCours != null) {
+            comptageEnCours.cancel(false);
+            comptageEnCours = null;
+        }
+        pagesEnCours.values().forEach(f -> f.cancel(false));
+        pagesEnCours.clear();
+        pages.clear();
+        clesFinDePage.clear();
+        rowCount = 0;
+        fireTableDataChanged();
+    }
+
+    // Station affichée à cette ligne, ou null si sa page n'est pas encore chargée (le chargement est alors lancé)
+    public Station getStationAt(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount) {
+            return null;
+        }
+        int numeroPage = rowIndex / TAILLE_PAGE;
+        List<Station> page = pages.get(numeroPage);
+        if (page == null) {
+            demanderPage(numeroPage);
+            return null;
+        }
+        int indexDansPage = rowIndex % TAILLE_PAGE;
+        return indexDansPage < page.size() ? page.get(indexDansPage) : null;
+    }
+
+    // Met à jour le statut de stations déjà chargées sans recharger leurs pages
+    public void mettreAJourStatut(Collection<Long> idsStations, Statut nouveauStatut) {
+        Set<Long> ids = new HashSet<>(idsStations);
+        int premiereLigne = Integer.MAX_VALUE;
+        int derniereLigne = -1;
+        for (Map.Entry<Integer, List<Station>> entree : pages.entrySet()) {
+            List<Station> page = entree.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (ids.contains(page.get(i).getId())) {
+                    page.get(i).setStatut(nouveauStatut);
+                    int ligne = entree.getKey() * TAILLE_PAGE + i;
+                    premiereLigne = Math.min(premiereLigne, ligne);
+                    derniereLigne = Math.max(derniereLigne, ligne);
+                }
+            }
+        }
+        if (derniereLigne >= 0) {
+            fireTableRowsUpdated(premiereLigne, derniereLigne);
+        }
+    }
+
+    // Retire des stations supprimées sans recharger depuis la base.
+    // Les lignes déjà chargées sont décalées puis regroupées en pages ; seules les pages entièrement
+    // reconstituées sont gardées, les autres seront relues à la demande.
+    // Retourne false (sans rien modifier) si une des stations n'est plus en cache : il faut alors recharger.
+    public boolean retirerStations(Collection<Long> idsStations) {
+        Set<Long> ids = new HashSet<>(idsStations);
+        List<Integer> lignes = new ArrayList<>();
+        for (Map.Entry<Integer, List<Station>> entree : pages.entrySet()) {
+            List<Station> page = entree.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (ids.contains(page.get(i).getId())) {
+                    lignes.add(entree.getKey() * TAILLE_PAGE + i);
+                }
+            }
+        }
+        if (lignes.size() != ids.size()) {
+            return false;
+        }
+        int[] retirees = lignes.stream().mapToInt(Integer::intValue).sorted().toArray();
+        if (retirees.length == 0) {
+            return true;
+        }
+
+        // Nouvel indice de chaque station chargée = ancien indice - nombre de lignes retirées avant elle
+        Map<Integer, Station> connues = new HashMap<>();
+        for (Map.Entry<Integer, List<Station>> entree : pages.entrySet()) {
+            List<Station> page = entree.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                int ligne = entree.getKey() * TAILLE_PAGE + i;
+                int position = Arrays.binarySearch(retirees, ligne);
+                if (position < 0) {
+                    connues.put(ligne - (-position - 1), page.get(i));
+                }
+            }
+        }
+
+        // Les réponses en cours portent sur l'ancienne numérotation : on les ignore
+        generation++;
+        pagesEnCours.values().forEach(f -> f.cancel(false));
+        pagesEnCours.clear();
+        pages.clear();
+        clesFinDePage.clear();
+        rowCount -= retirees.length;
+
+        int nombrePages = (rowCount + TAILLE_PAGE - 1) / TAILLE_PAGE;
+        for (int numeroPage = 0; numeroPage < nombrePages; numeroPage++) {
+            int debut = numeroPage * TAILLE_PAGE;
+            int fin = Math.min(debut + TAILLE_PAGE, rowCount);
+            List<Station> page = new ArrayList<>(fin - debut);
+            for (int ligne = debut; ligne < fin && connues.containsKey(ligne); ligne++) {
+                page.add(connues.get(ligne));
+            }
+            if (page.size() == fin - debut) {
+                pages.put(numeroPage, page);
+            }
+            Station derniere = connues.get(fin - 1);
+            if (derniere != null) {
+                clesFinDePage.put(numeroPage, cleDe(derniere));
+            }
+        }
+        fireTableDataChanged();
+        return true;
+    }
+
+    // Fusionne un flux de changements dans les pages en cache. Seules les modifications de lignes déjà chargées
+    // qui ne changent ni leur position (nom) ni leur appartenance au filtre sont appliquées sur place.
+    // Retourne false si les positions ont pu changer (ajout, suppression, renommage...) : il faut alors actualiser().
+    public boolean appliquerChangements(ChangementsStations changements) {
+        if (changements.isTropNombreux() || !changements.getIdsSupprimes().isEmpty()) {
+            return false; // Une suppression décale les lignes, même hors du cache
+        }
+        Map<Long, Integer> lignesParId = new HashMap<>();
+        for (Map.Entry<Integer, List<Station>> entree : pages.entrySet()) {
+            List<Station> page = entree.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                lignesParId.put(page.get(i).getId(), entree.getKey() * TAILLE_PAGE + i);
+            }
+        }
+        boolean surPlace = true;
+        int premiereLigne = Integer.MAX_VALUE;
+        int derniereLigne = -1;
+        for (Station nouvelle : changements.getStationsModifiees()) {
+            Integer ligne = lignesParId.get(nouvelle.getId());
+            if (ligne == null) {
+                surPlace = false; // Nouvelle station, ou station hors cache : position inconnue
+                continue;
+            }
+            List<Station> page = pages.get(ligne / TAILLE_PAGE);
+            Station ancienne = page.get(ligne % TAILLE_PAGE);
+            if (!Objects.equals(ancienne.getNom(), nouvelle.getNom()) || !correspondAuFiltre(nouvelle)) {
+                surPlace = false;
+                continue;
+            }
+            page.set(ligne % TAILLE_PAGE, nouvelle);
+            premiereLigne = Math.min(premiereLigne, ligne);
+            derniereLigne = Math.max(derniereLigne, ligne);
+        }
+        if (derniereLigne >= 0) {
+            fireTableRowsUpdated(premiereLigne, derniereLigne);
+        }
+        return surPlace;
+    }
+
+    // Rechargement "doux" : recompte et relit en arrière-plan les pages affichées en dernier,
+    // puis les remplace d'un coup (pas de "Chargement...", la sélection est conservée par indice).
+    public CompletableFuture<Long> actualiser() {
+        List<Integer> pagesRecentes = new ArrayList<>(pages.keySet()); // Ordre d'accès : les plus récentes à la fin
+        pagesRecentes = pagesRecentes.subList(Math.max(0, pagesRecentes.size() - PAGES_ACTUALISEES), pagesRecentes.size());
+
+        long gen = generation;
+        CompletableFuture<Long> comptage = asyncStationService.compterStations(critere, statut);
+        Map<Integer, CompletableFuture<List<Station>>> relectures = new HashMap<>();
+        for (Integer numeroPage : pagesRecentes) {
+            relectures.put(numeroPage, asyncStationService.trouverPageALaPosition(critere, statut,
+                    (long) numeroPage * TAILLE_PAGE, TAILLE_PAGE));
+        }
+        List<CompletableFuture<?>> toutes = new ArrayList<>(relectures.values());
+        toutes.add(comptage);
+        return CompletableFuture.allOf(toutes.toArray(new CompletableFuture<?>[0])).thenApplyAsync(v -> {
+            if (gen != generation) {
+                throw new CancellationException("Actualisation remplacée par un rechargement");
+            }
+            generation++;
+            pagesEnCours.values().forEach(f -> f.cancel(false));
+            pagesEnCours.clear();
+            pages.clear();
+            clesFinDePage.clear();
+
+            int ancienRowCount = rowCount;
+            long total = comptage.join();
+            rowCount = (int) Math.min(total, Integer.MAX_VALUE);
+            relectures.forEach((numeroPage, relecture) -> {
+                List<Station> page = relecture.join();
+                pages.put(numeroPage, page);
+                if (!page.isEmpty()) {
+                    clesFinDePage.put(numeroPage, cleDe(page.get(page.size() - 1)));
+                }
+            });
+
+            if (rowCount > ancienRowCount) {
+                fireTableRowsInserted(ancienRowCount, rowCount - 1);
+            } else if (rowCount < ancienRowCount) {
+                fireTableRowsDeleted(rowCount, ancienRowCount - 1);
+            }
+            if (Math.min(rowCount, ancienRowCount) > 0) {
+                fireTableRowsUpdated(0, Math.min(rowCount, ancienRowCount) - 1);
+            }
+            return total;
+        }, EDT);
+    }
+
+    // Même règle que le filtre SQL (voir StationDAOImpl.construireFiltre), à la casse près
+    private boolean correspondAuFiltre(Station station) {
+        if (statut != null && station.getStatut() != statut) {
+            return false;
+        }
+        if (critere == null) {
+            return true;
+        }
+        // Même règle que l'index de recherche : sans tenir compte de la casse ni des accents
+        String recherche = IndexRechercheStations.normaliser(critere);
+        return IndexRechercheStations.normaliser(station.getNom()).contains(recherche)
+                || IndexRechercheStations.normaliser(station.getLocalisation()).contains(recherche);
+    }
+
+    private static Station cleDe(Station station) {
+        Station cle = new Station();
+        cle.setId(station.getId());
+        cle.setNom(station.getNom());
+        return cle;
+    }
+
+    private void demanderPage(int numeroPage) {
+        if (pagesEnCours.containsKey(numeroPage)) {
+            return;
+        }
+        // Défilement rapide : les pages demandées loin de la zone visible ne servent plus, on les abandonne
+        pagesEnCours.entrySet().removeIf(entree -> {
+            if (Math.abs(entree.getKey() - numeroPage) > 2) {
+                entree.getValue().cancel(false);
+                return true;
+            }
+            return false;
+        });
+
+        Station apres = numeroPage > 0 ? clesFinDePage.get(numeroPage - 1) : null;
+        CompletableFuture<List<Station>> chargement;
+        if (numeroPage == 0 || apres != null) {
+            chargement = asyncStationService.trouverPageStations(critere, statut, apres, TAILLE_PAGE);
+        } else {
+            // Saut direct (ex. barre de défilement tirée vers le bas) : la clé de départ est retrouvée en base
+            chargement = asyncStationService.trouverPageALaPosition(critere, statut, (long) numeroPage * TAILLE_PAGE,
+                    TAILLE_PAGE);
+        }
+        pagesEnCours.put(numeroPage, chargement);
+
+        long gen = generation;
+        chargement.whenCompleteAsync((page, e) -> {
+            if (gen != generation || pagesEnCours.get(numeroPage) != chargement) {
+                return; // Réponse périmée (filtres changés ou page abandonnée)
+            }
+            pagesEnCours.remove(numeroPage);
+            if (e != null) {
+                // On mémorise une page vide pour ne pas relancer la requête à chaque repaint ; "Rafraîchir" réessaie
+                System.err.println("Erreur lors du chargement de la page " + numeroPage + ": " + e.getMessage());
+                page = Collections.emptyList();
+            }
+            pages.put(numeroPage, page);
+            if (!page.isEmpty()) {
+                clesFinDePage.put(numeroPage, cleDe(page.get(page.size() - 1)));
+            }
+            int premiereLigne = numeroPage * TAILLE_PAGE;
+            int derniereLigne = Math.min(premiereLigne + TAILLE_PAGE, rowCount) - 1;
+            if (premiereLigne <= derniereLigne) {
+                fireTableRowsUpdated(premiereLigne, derniereLigne);
+            }
+        }, EDT);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLONNES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLONNES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        switch (columnIndex) {
+            case 0:
+                return Long.class;
+            case 4:
+                return Timestamp.class;
+            default:
+                return String.class;
+        }
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Station station = getStationAt(rowIndex);
+        if (station == null) {
+            return columnIndex == 1 ? "Chargement..." : null;
+        }
+        switch (columnIndex) {
+            case 0:
+                return station.getId();
+            case 1:
+                return station.getNom();
+            case 2:
+                return station.getLocalisation();
+            case 3:
+                return station.getStatut() != null ? station.getStatut().getDescription() : "N/D";
+            case 4:
+                return station.getDerniereMiseAJour();
+            default:
+                return null;
+        }
+    }
+}
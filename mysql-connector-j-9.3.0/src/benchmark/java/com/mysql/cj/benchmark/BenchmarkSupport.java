@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import com.mysql.cj.CharsetSettings;
+import com.mysql.cj.Session;
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.NativeCapabilities;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeServerSession;
+
+/**
+ * Fixtures shared by the benchmarks. They stand in for the objects normally set up while connecting to a server, so that hot paths can be measured without
+ * any I/O.
+ */
+final class BenchmarkSupport {
+
+    static final String SERVER_VERSION = "8.4.0";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Creates a property set initialized with the given connection properties on top of the defaults.
+     *
+     * @param keyValuePairs
+     *            property names and values, alternately
+     * @return {@link PropertySet}
+     */
+    static PropertySet newPropertySet(String... keyValuePairs) {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.characterEncoding.getKeyName(), "UTF-8");
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            props.setProperty(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+        DefaultPropertySet pset = new DefaultPropertySet();
+        pset.initializeProperties(props);
+        return pset;
+    }
+
+    /**
+     * Creates a server session as it would look like after connecting to a {@value #SERVER_VERSION} server with utf8mb4 as the connection character set.
+     *
+     * @param pset
+     *            {@link PropertySet}
+     * @return {@link NativeServerSession}
+     */
+    static NativeServerSession newServerSession(PropertySet pset) {
+        NativeServerSession serverSession = new NativeServerSession(pset);
+        serverSession.setCapabilities(new NativeCapabilities(recordedHandshake()));
+
+        Map<String, String> serverVariables = new HashMap<>();
+        serverVariables.put("sql_mode",
+                "ONLY_FULL_GROUP_BY,STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION");
+        serverVariables.put("character_set_client", "utf8mb4");
+        serverVariables.put("character_set_connection", "utf8mb4");
+        serverVariables.put("character_set_results", "utf8mb4");
+        serverVariables.put("max_allowed_packet", "67108864");
+        serverSession.setServerVariables(serverVariables);
+
+        serverSession.setCharsetSettings(stub(CharsetSettings.class, (name, args) -> {
+            switch (name) {
+                case "getRequiresEscapingEncoder":
+                    return false;
+                case "isMultibyteCharset":
+                    // only the connection encoding set up in newPropertySet() is ever asked for
+                    return "UTF-8".equalsIgnoreCase((String) args[0]);
+                case "getMetadataEncoding":
+                case "getErrorMessageEncoding":
+                case "getPasswordCharacterEncoding":
+                    return "UTF-8";
+                default:
+                    return UNSUPPORTED;
+            }
+        }));
+        return serverSession;
+    }
+
+    /**
+     * Creates a session exposing only what's needed by code that inspects the session settings, such as query parsing or parameter binding.
+     *
+     * @param pset
+     *            {@link PropertySet}
+     * @param serverSession
+     *            {@link ServerSession}
+     * @return {@link Session}
+     */
+    static Session newSession(PropertySet pset, ServerSession serverSession) {
+        return stub(Session.class, (name, args) -> {
+            switch (name) {
+                case "getPropertySet":
+                    return pset;
+                case "getServerSession":
+                    return serverSession;
+                case "getExceptionInterceptor":
+                    return null;
+                default:
+                    return UNSUPPORTED;
+            }
+        });
+    }
+
+    /**
+     * Builds a protocol 10 initial handshake packet, as sent by a {@value #SERVER_VERSION} server.
+     *
+     * @return handshake packet payload
+     */
+    static NativePacketPayload recordedHandshake() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(10);
+        byte[] version = SERVER_VERSION.getBytes(StandardCharsets.US_ASCII);
+        out.write(version, 0, version.length);
+        out.write(0);
+        writeInt(out, 42, 4); // connection id
+        byte[] seed = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+        out.write(seed, 0, 8);
+        out.write(0);
+        int flags = NativeServerSession.CLIENT_LONG_PASSWORD | NativeServerSession.CLIENT_FOUND_ROWS | NativeServerSession.CLIENT_LONG_FLAG
+                | NativeServerSession.CLIENT_CONNECT_WITH_DB | NativeServerSession.CLIENT_PROTOCOL_41 | NativeServerSession.CLIENT_TRANSACTIONS
+                | NativeServerSession.CLIENT_SECURE_CONNECTION | NativeServerSession.CLIENT_MULTI_STATEMENTS | NativeServerSession.CLIENT_MULTI_RESULTS
+                | NativeServerSession.CLIENT_PS_MULTI_RESULTS | NativeServerSession.CLIENT_PLUGIN_AUTH | NativeServerSession.CLIENT_DEPRECATE_EOF;
+        writeInt(out, flags & 0xffff, 2);
+        out.write(255); // utf8mb4_0900_ai_ci
+        writeInt(out, NativeServerSession.SERVER_STATUS_AUTOCOMMIT, 2);
+        writeInt(out, flags >>> 16, 2);
+        out.write(seed.length + 1);
+        out.write(new byte[10], 0, 10);
+        out.write(seed, 8, seed.length - 8);
+        out.write(0);
+        byte[] plugin = "mysql_native_password".getBytes(StandardCharsets.US_ASCII);
+        out.write(plugin, 0, plugin.length);
+        out.write(0);
+        return new NativePacketPayload(out.toByteArray());
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value, int length) {
+        for (int i = 0; i < length; i++) {
+            out.write(value >>> 8 * i & 0xff);
+        }
+    }
+
+    private static final Object UNSUPPORTED = new Object();
+
+    @FunctionalInterface
+    private interface StubAnswer {
+
+        Object answer(String methodName, Object[] args);
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> iface, StubAnswer answer) {
+        return (T) Proxy.newProxyInstance(BenchmarkSupport.class.getClassLoader(), new Class<?>[] { iface }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return iface.getSimpleName() + " stub";
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    Object res = answer.answer(method.getName(), args);
+                    if (res == UNSUPPORTED) {
+                        throw new UnsupportedOperationException(iface.getSimpleName() + "." + method.getName());
+                    }
+                    return res;
+            }
+        });
+    }
+
+}
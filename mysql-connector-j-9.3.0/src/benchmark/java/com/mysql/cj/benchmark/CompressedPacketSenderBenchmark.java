@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.protocol.a.CompressedPacketSender;
+
+/**
+ * Compressed protocol packet sending, for payloads below and above the compression threshold and with text-like and random (incompressible) content.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompressedPacketSenderBenchmark {
+
+    @Param({ "32", "1024", "65536", "1048576" })
+    public int payloadSize;
+
+    @Param({ "text", "random" })
+    public String content;
+
+    private CompressedPacketSender sender;
+    private CountingOutputStream sink;
+    private byte[] packet;
+
+    @Setup
+    public void setup() {
+        this.sink = new CountingOutputStream();
+        this.sender = new CompressedPacketSender(new BufferedOutputStream(this.sink, 16384));
+
+        this.packet = new byte[this.payloadSize];
+        if ("random".equals(this.content)) {
+            new Random(42).nextBytes(this.packet);
+        } else {
+            byte[] row = "INSERT INTO station_status VALUES (1234, 'DISPONIBLE', '2025-03-14 15:09:26'),".getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < this.packet.length; i++) {
+                this.packet[i] = row[i % row.length];
+            }
+        }
+    }
+
+    @Benchmark
+    public long send() throws IOException {
+        this.sender.send(this.packet, this.packet.length, (byte) 0);
+        return this.sink.count;
+    }
+
+    /**
+     * Discards everything written, keeping the byte count only.
+     */
+    static class CountingOutputStream extends OutputStream {
+
+        long count;
+
+        @Override
+        public void write(int b) {
+            this.count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            this.count += len;
+        }
+
+    }
+
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.protocol.CompressionCodec;
+import com.mysql.cj.protocol.a.CompressedInputStream;
+import com.mysql.cj.protocol.a.CompressedPacketSender;
+import com.mysql.cj.protocol.a.CompressionStatistics;
+import com.mysql.cj.protocol.a.NativeConstants;
+import com.mysql.cj.protocol.a.NativeUtils;
+import com.mysql.cj.protocol.compression.ZlibCompressionCodec;
+import com.mysql.cj.protocol.compression.ZstdCompressionCodec;
+
+/**
+ * Compressed protocol throughput of each compression codec and level, over the packets of a result set.
+ * <p>
+ * The packets are read from the file named in the system property {@value #CAPTURE_PROPERTY}, if set, which must hold a sequence of uncompressed classic
+ * protocol packets as received from the server (3-byte length, sequence id, payload), e.g., the server side of a recorded session stripped of its TCP
+ * framing. Otherwise a text protocol result set with typical column values is generated. The time per operation is the CPU time spent compressing or
+ * decompressing the whole capture in a single thread; the "uncompressedBytes" and "compressedBytes" secondary results give the throughput and, between them,
+ * the compression ratio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompressionCodecBenchmark {
+
+    static final String CAPTURE_PROPERTY = "com.mysql.cj.benchmark.compression.capture";
+
+    @Param({ "zlib:1", "zlib:6", "zstd:1", "zstd:3", "zstd:9", "zstd:19" })
+    public String codecLevel;
+
+    private byte[][] packets;
+    private CompressedPacketSender sender;
+    private ByteArrayOutputStream sink;
+    private byte[] compressed;
+    private CompressionCodec.Decompressor decompressor;
+    private byte[] readBuffer = new byte[65536];
+
+    /**
+     * Byte counts reported as secondary results, normalized by time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Counters {
+
+        public long uncompressedBytes;
+        public long compressedBytes;
+
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        String capture = System.getProperty(CAPTURE_PROPERTY);
+        this.packets = capture == null ? generateResultSet(20000) : readPackets(Files.readAllBytes(Paths.get(capture)));
+
+        int separator = this.codecLevel.indexOf(':');
+        String algorithm = this.codecLevel.substring(0, separator);
+        int level = Integer.parseInt(this.codecLevel.substring(separator + 1));
+        CompressionCodec codec = ZstdCompressionCodec.ALGORITHM_NAME.equals(algorithm) ? new ZstdCompressionCodec() : new ZlibCompressionCodec();
+
+        this.sink = new ByteArrayOutputStream(1 << 20);
+        this.sender = new CompressedPacketSender(new BufferedOutputStream(this.sink, 16384), codec.createCompressor(level));
+        sendAll();
+        this.compressed = this.sink.toByteArray();
+        this.decompressor = codec.createDecompressor();
+    }
+
+    @Benchmark
+    public int compress(Counters counters) throws IOException {
+        this.sink.reset();
+        counters.uncompressedBytes += sendAll();
+        counters.compressedBytes += this.sink.size();
+        return this.sink.size();
+    }
+
+    @Benchmark
+    public long decompress(Counters counters) throws IOException {
+        InputStream in = new CompressedInputStream(new ByteArrayInputStream(this.compressed), this.decompressor, new CompressionStatistics(),
+                new DefaultPropertySet().getBooleanProperty(PropertyKey.traceProtocol), null);
+        long total = 0;
+        int n;
+        while ((n = in.read(this.readBuffer, 0, this.readBuffer.length)) > 0) {
+            total += n;
+        }
+        counters.uncompressedBytes += total;
+        counters.compressedBytes += this.compressed.length;
+        return total;
+    }
+
+    private long sendAll() throws IOException {
+        long total = 0;
+        for (byte[] packet : this.packets) {
+            this.sender.send(packet, packet.length, (byte) 1);
+            total += packet.length + NativeConstants.HEADER_LENGTH;
+        }
+        return total;
+    }
+
+    /**
+     * Splits a capture into packet payloads.
+     *
+     * @param capture
+     *            uncompressed packets
+     * @return the packet payloads
+     */
+    private static byte[][] readPackets(byte[] capture) {
+        List<byte[]> list = new ArrayList<>();
+        int pos = 0;
+        while (pos + NativeConstants.HEADER_LENGTH <= capture.length) {
+            int len = NativeUtils.decodeMysqlThreeByteInteger(capture, pos);
+            pos += NativeConstants.HEADER_LENGTH;
+            len = Math.min(len, capture.length - pos);
+            byte[] payload = new byte[len];
+            System.arraycopy(capture, pos, payload, 0, len);
+            list.add(payload);
+            pos += len;
+        }
+        return list.toArray(new byte[0][]);
+    }
+
+    /**
+     * Generates the rows of a text protocol result set, grouped in chunks of about 16 KB since the server compresses its network buffer rather than each row
+     * packet.
+     *
+     * @param rows
+     *            number of rows
+     * @return the packet payloads
+     */
+    private static byte[][] generateResultSet(int rows) {
+        String[] statuses = { "AVAILABLE", "CHARGING", "OUT_OF_SERVICE", "RESERVED" };
+        String[] cities = { "Lyon", "Paris", "Marseille", "Toulouse", "Nantes", "Bordeaux", "Lille", "Strasbourg" };
+        Random random = new Random(42);
+        List<byte[]> list = new ArrayList<>();
+        ByteArrayOutputStream packet = new ByteArrayOutputStream();
+        for (int i = 0; i < rows; i++) {
+            ByteArrayOutputStream row = new ByteArrayOutputStream();
+            writeLenenc(row, Integer.toString(100000 + i));
+            writeLenenc(row, String.format("%08x-%04x-4%03x-%04x-%012x", random.nextInt(), random.nextInt(0x10000), random.nextInt(0x1000),
+                    0x8000 | random.nextInt(0x4000), random.nextLong() & 0xFFFFFFFFFFFFL));
+            writeLenenc(row, "Station " + cities[random.nextInt(cities.length)] + " " + random.nextInt(500));
+            writeLenenc(row, statuses[random.nextInt(statuses.length)]);
+            writeLenenc(row, String.format("2025-%02d-%02d %02d:%02d:%02d", 1 + random.nextInt(12), 1 + random.nextInt(28), random.nextInt(24),
+                    random.nextInt(60), random.nextInt(60)));
+            writeLenenc(row, String.format("%d.%02d", random.nextInt(350), random.nextInt(100)));
+            if (packet.size() + row.size() > 16384) {
+                list.add(packet.toByteArray());
+                packet.reset();
+            }
+            byte[] rowBytes = row.toByteArray();
+            packet.write(rowBytes, 0, rowBytes.length);
+        }
+        list.add(packet.toByteArray());
+        return list.toArray(new byte[0][]);
+    }
+
+    private static void writeLenenc(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.write(bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+}
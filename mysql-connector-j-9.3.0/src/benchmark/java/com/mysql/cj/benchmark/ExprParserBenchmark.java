@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.x.protobuf.MysqlxCrud.Order;
+import com.mysql.cj.x.protobuf.MysqlxCrud.Projection;
+import com.mysql.cj.x.protobuf.MysqlxExpr.Expr;
+import com.mysql.cj.xdevapi.ExprParser;
+
+/**
+ * X DevAPI expression parsing, as done for every find/modify/remove criteria, projection and sort specification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ExprParserBenchmark {
+
+    @Benchmark
+    public Expr documentCriteria() {
+        return new ExprParser("$.status == :status AND $.power_kw >= 22 AND $.address.city IN ('Paris', 'Lyon') AND $.name LIKE :name").parse();
+    }
+
+    @Benchmark
+    public Expr tableCriteria() {
+        return new ExprParser("status = 'DISPONIBLE' and (power_kw between 7 and 50 or fast_charge is true) and updated_at > now() - interval 1 day", false)
+                .parse();
+    }
+
+    @Benchmark
+    public List<Projection> documentProjection() {
+        return new ExprParser("$.name as name, $.address.city as city, $.status as status, cast($.power_kw as decimal(6, 2)) as power")
+                .parseDocumentProjection();
+    }
+
+    @Benchmark
+    public List<Order> orderSpec() {
+        return new ExprParser("$.address.city asc, $.name desc, $._id").parseOrderSpec();
+    }
+
+}
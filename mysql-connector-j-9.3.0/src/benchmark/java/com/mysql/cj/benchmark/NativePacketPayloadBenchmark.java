@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+
+/**
+ * Primitive reads and writes on {@link NativePacketPayload}, as used for every packet exchanged with the server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NativePacketPayloadBenchmark {
+
+    private static final byte[] SHORT_STRING = "Borne 12 - Parking Central".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LONG_STRING = new byte[300];
+
+    private NativePacketPayload writePacket;
+    private NativePacketPayload readPacket;
+
+    @Setup
+    public void setup() {
+        this.writePacket = new NativePacketPayload(1024);
+
+        // a column-definition-like packet
+        NativePacketPayload p = new NativePacketPayload(1024);
+        p.setPosition(0);
+        p.writeBytes(StringSelfDataType.STRING_LENENC, "def".getBytes(StandardCharsets.US_ASCII));
+        p.writeBytes(StringSelfDataType.STRING_LENENC, "csms".getBytes(StandardCharsets.US_ASCII));
+        p.writeBytes(StringSelfDataType.STRING_LENENC, "stations".getBytes(StandardCharsets.US_ASCII));
+        p.writeBytes(StringSelfDataType.STRING_LENENC, SHORT_STRING);
+        p.writeInteger(IntegerDataType.INT_LENENC, 0x0c);
+        p.writeInteger(IntegerDataType.INT2, 255);
+        p.writeInteger(IntegerDataType.INT4, 1020);
+        p.writeInteger(IntegerDataType.INT1, 253);
+        p.writeInteger(IntegerDataType.INT2, 0x1001);
+        p.writeInteger(IntegerDataType.INT1, 0);
+        p.writeInteger(IntegerDataType.INT8, Long.MAX_VALUE);
+        p.writeBytes(StringSelfDataType.STRING_LENENC, LONG_STRING);
+        p.setPayloadLength(p.getPosition());
+        this.readPacket = p;
+    }
+
+    @Benchmark
+    public int writeMixed() {
+        NativePacketPayload p = this.writePacket;
+        p.setPosition(0);
+        p.writeInteger(IntegerDataType.INT1, 0x17);
+        p.writeInteger(IntegerDataType.INT4, 42);
+        p.writeInteger(IntegerDataType.INT1, 0);
+        p.writeInteger(IntegerDataType.INT4, 1);
+        p.writeInteger(IntegerDataType.INT_LENENC, 70000);
+        p.writeInteger(IntegerDataType.INT8, Long.MIN_VALUE);
+        p.writeBytes(StringSelfDataType.STRING_LENENC, SHORT_STRING);
+        p.writeBytes(StringLengthDataType.STRING_FIXED, LONG_STRING);
+        return p.getPosition();
+    }
+
+    @Benchmark
+    public void readMixed(Blackhole bh) {
+        NativePacketPayload p = this.readPacket;
+        p.setPosition(0);
+        p.skipBytes(StringSelfDataType.STRING_LENENC);
+        bh.consume(p.readString(StringSelfDataType.STRING_LENENC, "ASCII"));
+        bh.consume(p.readBytes(StringSelfDataType.STRING_LENENC));
+        bh.consume(p.readString(StringSelfDataType.STRING_LENENC, "UTF-8"));
+        bh.consume(p.readInteger(IntegerDataType.INT_LENENC));
+        bh.consume(p.readInteger(IntegerDataType.INT2));
+        bh.consume(p.readInteger(IntegerDataType.INT4));
+        bh.consume(p.readInteger(IntegerDataType.INT1));
+        bh.consume(p.readInteger(IntegerDataType.INT2));
+        bh.consume(p.readInteger(IntegerDataType.INT1));
+        bh.consume(p.readInteger(IntegerDataType.INT8));
+        bh.consume(p.readBytes(StringSelfDataType.STRING_LENENC));
+    }
+
+    @Benchmark
+    public int skipLenencStrings() {
+        NativePacketPayload p = this.readPacket;
+        p.setPosition(0);
+        for (int i = 0; i < 4; i++) {
+            p.skipBytes(StringSelfDataType.STRING_LENENC);
+        }
+        return p.getPosition();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.QueryInfo;
+import com.mysql.cj.Session;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+
+/**
+ * Client-side prepared statement parsing, i.e. {@link QueryInfo} creation, for representative statement shapes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class QueryInfoBenchmark {
+
+    @Param({ "select", "insert", "insertOnDuplicateKey", "update", "comments" })
+    public String shape;
+
+    private Session session;
+    private String sql;
+
+    @Setup
+    public void setup() {
+        PropertySet pset = BenchmarkSupport.newPropertySet(PropertyKey.rewriteBatchedStatements.getKeyName(), "true");
+        this.session = BenchmarkSupport.newSession(pset, BenchmarkSupport.newServerSession(pset));
+
+        switch (this.shape) {
+            case "select":
+                this.sql = "SELECT s.id, s.name, s.status, s.updated_at FROM stations s JOIN regions r ON r.id = s.region_id "
+                        + "WHERE s.status = ? AND r.code IN (?, ?, ?) AND s.name LIKE ? ORDER BY s.name, s.id LIMIT ?";
+                break;
+            case "insert":
+                this.sql = "INSERT INTO stations (name, address, latitude, longitude, status, power_kw, updated_at) VALUES (?, ?, ?, ?, ?, ?, NOW())";
+                break;
+            case "insertOnDuplicateKey":
+                this.sql = "INSERT INTO station_status (station_id, status, changed_at) VALUES (?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE status = VALUES(status), changed_at = VALUES(changed_at)";
+                break;
+            case "update":
+                this.sql = "UPDATE stations SET status = ?, updated_at = ? WHERE id = ? AND status <> 'it''s ? not a placeholder'";
+                break;
+            case "comments":
+                this.sql = "/* report: daily */ SELECT `weird ? column`, \"quoted ?\" -- trailing ? comment\n FROM t # another ?\n"
+                        + " WHERE a = ? /* ? */ AND b = ?";
+                break;
+            default:
+                throw new IllegalArgumentException(this.shape);
+        }
+    }
+
+    @Benchmark
+    public QueryInfo parse() {
+        return new QueryInfo(this.sql, this.session, "UTF-8");
+    }
+
+    @Benchmark
+    public boolean isReadOnlySafeQuery() {
+        return QueryInfo.isReadOnlySafeQuery(this.sql, false);
+    }
+
+}
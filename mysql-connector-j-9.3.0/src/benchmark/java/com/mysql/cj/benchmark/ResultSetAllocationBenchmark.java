@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.protocol.a.StandInServer;
+
+/**
+ * Reads a result set from the stand-in server with and without the packet buffer pool. Every operation is one row, so running with "-prof gc" reports the
+ * bytes allocated per row in 'gc.alloc.rate.norm'. A 'packetBufferPoolSize' of 0 gives the allocation profile from before the pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResultSetAllocationBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({ "0", "256k" })
+    public String packetBufferPoolSize;
+
+    @Param({ "false", "true" })
+    public boolean useServerPrepStmts;
+
+    /** Rows at least this big are kept as buffer rows, which hold their packets until the result set is closed. */
+    @Param({ "2048", "0" })
+    public String largeRowSizeThreshold;
+
+    private StandInServer server;
+    private Connection connection;
+    private PreparedStatement select;
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        StandInServer.Response rows = StandInServer.resultSet("id", "name", "status", "updated");
+        for (int i = 0; i < ROWS; i++) {
+            rows.row((long) i, "Station " + i, "DISPONIBLE", "2025-03-14 15:09:26");
+        }
+        this.server = new StandInServer().start();
+        this.server.on("^SELECT id, name, status, updated FROM station", rows);
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.USER.getKeyName(), "root");
+        props.setProperty(PropertyKey.PASSWORD.getKeyName(), "");
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), String.valueOf(this.useServerPrepStmts));
+        props.setProperty(PropertyKey.packetBufferPoolSize.getKeyName(), this.packetBufferPoolSize);
+        props.setProperty(PropertyKey.largeRowSizeThreshold.getKeyName(), this.largeRowSizeThreshold);
+        this.connection = DriverManager.getConnection(this.server.getUrl(), props);
+        this.select = this.connection.prepareStatement("SELECT id, name, status, updated FROM station WHERE id >= ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long readRows() throws SQLException {
+        this.select.setInt(1, 0);
+        long sum = 0;
+        try (ResultSet rs = this.select.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getLong(1) + rs.getString(2).length();
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcPropertySet;
+import com.mysql.cj.jdbc.JdbcPropertySetImpl;
+import com.mysql.cj.jdbc.result.ResultSetImpl;
+import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.a.MysqlBinaryValueDecoder;
+import com.mysql.cj.protocol.a.MysqlTextValueDecoder;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
+import com.mysql.cj.protocol.a.NativeServerSession;
+import com.mysql.cj.protocol.a.result.BinaryBufferRow;
+import com.mysql.cj.protocol.a.result.ResultsetRowsStatic;
+import com.mysql.cj.protocol.a.result.TextBufferRow;
+import com.mysql.cj.result.DefaultColumnDefinition;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.result.Row;
+import com.mysql.cj.util.LazyString;
+
+/**
+ * Throughput and allocation of the primitive <code>ResultSet</code> getters.
+ * <p>
+ * Each invocation reads every column of 1M rows through <code>ResultSet.getInt()</code>, <code>getLong()</code> and <code>getDouble()</code>. The result sets
+ * scroll over a ring of pre-built row packets so that the rows themselves don't count towards the measured allocations. Run with the GC profiler, e.g.
+ * <code>-prof gc</code>: the <code>gc.alloc.rate.norm</code> metric of the <code>*Primitive</code> benchmarks is expected to be 0 B/op, whereas the
+ * <code>*Boxed</code> ones read the same columns through <code>getObject(int, Class)</code> and show the cost of the value factory chain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RowDecodingBenchmark {
+
+    static final int ROWS = 1_000_000;
+    static final int DISTINCT_ROWS = 1024;
+
+    private ResultSet textResultSet;
+    private ResultSet binaryResultSet;
+
+    @Setup
+    public void setup() throws SQLException {
+        // INT, BIGINT, SMALLINT UNSIGNED, DOUBLE
+        ColumnDefinition cd = new DefaultColumnDefinition(new Field[] { newField(MysqlType.FIELD_TYPE_LONG, MysqlType.INT, 11),
+                newField(MysqlType.FIELD_TYPE_LONGLONG, MysqlType.BIGINT, 20), newField(MysqlType.FIELD_TYPE_SHORT, MysqlType.SMALLINT_UNSIGNED, 5),
+                newField(MysqlType.FIELD_TYPE_DOUBLE, MysqlType.DOUBLE, 22) });
+
+        MysqlTextValueDecoder textDecoder = new MysqlTextValueDecoder();
+        MysqlBinaryValueDecoder binaryDecoder = new MysqlBinaryValueDecoder();
+
+        List<Row> textRows = new ArrayList<>(DISTINCT_ROWS);
+        List<Row> binaryRows = new ArrayList<>(DISTINCT_ROWS);
+        for (int i = 0; i < DISTINCT_ROWS; i++) {
+            int intVal = i * 7919 - 4_000_000;
+            long longVal = (long) i * 1_000_000_007L;
+            int shortVal = i * 61 % 65536;
+            double doubleVal = i / 3.0;
+
+            textRows.add(new TextBufferRow(new NativePacketPayload(textRow(intVal, longVal, shortVal, doubleVal)), cd, null, textDecoder));
+
+            NativePacketPayload binary = new NativePacketPayload(binaryRow(intVal, longVal, shortVal, doubleVal));
+            binary.setPosition(1); // skip the packet header, as the binary row reader does
+            binaryRows.add(new BinaryBufferRow(binary, cd, null, binaryDecoder));
+        }
+
+        JdbcConnection conn = newConnection(new JdbcPropertySetImpl());
+        this.textResultSet = newResultSet(new ResultsetRowsStatic(textRows, cd), conn);
+        this.binaryResultSet = newResultSet(new ResultsetRowsStatic(binaryRows, cd), conn);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long textGetLongPrimitive() throws SQLException {
+        ResultSet rs = this.textResultSet;
+        long sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            nextRow(rs);
+            sum += rs.getInt(1) + rs.getLong(2) + rs.getInt(3);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long textGetLongBoxed() throws SQLException {
+        ResultSet rs = this.textResultSet;
+        long sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            nextRow(rs);
+            sum += rs.getObject(1, Integer.class) + rs.getObject(2, Long.class) + rs.getObject(3, Integer.class);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long binaryGetLongPrimitive() throws SQLException {
+        ResultSet rs = this.binaryResultSet;
+        long sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            nextRow(rs);
+            sum += rs.getInt(1) + rs.getLong(2) + rs.getInt(3);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long binaryGetLongBoxed() throws SQLException {
+        ResultSet rs = this.binaryResultSet;
+        long sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            nextRow(rs);
+            sum += rs.getObject(1, Integer.class) + rs.getObject(2, Long.class) + rs.getObject(3, Integer.class);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double binaryGetDoublePrimitive() throws SQLException {
+        ResultSet rs = this.binaryResultSet;
+        double sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            nextRow(rs);
+            sum += rs.getDouble(4);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public double binaryGetDoubleBoxed() throws SQLException {
+        ResultSet rs = this.binaryResultSet;
+        double sum = 0;
+        for (int i = 0; i < ROWS; i++) {
+            nextRow(rs);
+            sum += rs.getObject(4, Double.class);
+        }
+        return sum;
+    }
+
+    private static void nextRow(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            rs.beforeFirst();
+            rs.next();
+        }
+    }
+
+    static ResultSet newResultSet(ResultsetRowsStatic rows, JdbcConnection conn) throws SQLException {
+        ResultSetImpl rs = new ResultSetImpl(rows, conn, null);
+        rs.setResultSetType(ResultSet.TYPE_SCROLL_INSENSITIVE);
+        return rs;
+    }
+
+    /**
+     * Creates a connection exposing only what a result set needs when not connected to a server.
+     *
+     * @param pset
+     *            {@link JdbcPropertySet}
+     * @return {@link JdbcConnection}
+     */
+    static JdbcConnection newConnection(JdbcPropertySet pset) {
+        NativeProtocol nativeProtocol = new NativeProtocol(null) {
+
+            {
+                this.serverSession = new NativeServerSession(pset);
+            }
+
+        };
+        NativeSession session = new NativeSession(null, pset) {
+
+            private static final long serialVersionUID = 1L;
+
+            {
+                this.protocol = nativeProtocol;
+            }
+
+        };
+        Lock connectionLock = new ReentrantLock();
+        return (JdbcConnection) Proxy.newProxyInstance(RowDecodingBenchmark.class.getClassLoader(), new Class<?>[] { JdbcConnection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getSession":
+                            return session;
+                        case "getPropertySet":
+                            return pset;
+                        case "getConnectionLock":
+                            return connectionLock;
+                        case "getDatabase":
+                        case "getExceptionInterceptor":
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException("JdbcConnection." + method.getName());
+                    }
+                });
+    }
+
+    static Field newField(int mysqlTypeId, MysqlType mysqlType, int length) {
+        LazyString name = new LazyString("c");
+        return new Field(name, name, name, name, name, length, mysqlTypeId, (short) (MysqlType.isSigned(mysqlType) ? 0 : MysqlType.FIELD_FLAG_UNSIGNED), 0, 63,
+                "ASCII", mysqlType);
+    }
+
+    static byte[] textRow(Object... values) {
+        ByteBuffer buf = ByteBuffer.allocate(256);
+        for (Object v : values) {
+            byte[] b = String.valueOf(v).getBytes(StandardCharsets.US_ASCII);
+            buf.put((byte) b.length).put(b);
+        }
+        // no ByteBuffer.flip() here, it returns a ByteBuffer only since Java 9
+        byte[] row = new byte[buf.position()];
+        System.arraycopy(buf.array(), 0, row, 0, row.length);
+        return row;
+    }
+
+    static byte[] binaryRow(int intVal, long longVal, int shortVal, double doubleVal) {
+        // header byte, NULL bitmap of (4 + 9) / 8 bytes, then values in their fixed-length little-endian form
+        return ByteBuffer.allocate(1 + 1 + 4 + 8 + 2 + 8).order(ByteOrder.LITTLE_ENDIAN).put((byte) 0).put((byte) 0).putInt(intVal).putLong(longVal)
+                .putShort((short) shortVal).putDouble(doubleVal).array();
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.log.StatementDigestRegistry;
+import com.mysql.cj.protocol.a.StandInServer;
+
+/**
+ * Plain statement executions against the in-process stand-in server, with and without statement digests. Measures what recording the digests adds to the
+ * execute path, both for SQL strings executed again, whose digest is cached, and for SQL strings seen for the first time, which must be normalized.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StatementDigestBenchmark {
+
+    private static final String SELECT = "SELECT s.id, s.name, s.status, s.updated FROM station s JOIN operator o ON o.id = s.operator_id "
+            + "WHERE s.status IN ('DISPONIBLE', 'OCCUPEE') AND o.name LIKE 'Op%' AND s.updated > '2025-03-14 15:09:26' ORDER BY s.updated DESC LIMIT ";
+
+    @Param({ "false", "true" })
+    public boolean gatherStatementDigests;
+
+    private StandInServer server;
+    private Connection connection;
+    private Statement statement;
+    private long counter;
+
+    @Setup
+    public void setup() throws IOException, SQLException {
+        StandInServer.Response rows = StandInServer.resultSet("id", "name", "status", "updated");
+        for (int i = 0; i < 10; i++) {
+            rows.row((long) i, "Station " + i, "DISPONIBLE", "2025-03-14 15:09:26");
+        }
+        this.server = new StandInServer().start();
+        this.server.on("^SELECT s.id, s.name", rows);
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.USER.getKeyName(), "root");
+        props.setProperty(PropertyKey.PASSWORD.getKeyName(), "");
+        props.setProperty(PropertyKey.gatherStatementDigests.getKeyName(), String.valueOf(this.gatherStatementDigests));
+        this.connection = DriverManager.getConnection(this.server.getUrl(), props);
+        this.statement = this.connection.createStatement();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        this.connection.close();
+        this.server.close();
+        StatementDigestRegistry.reset();
+    }
+
+    @Benchmark
+    public long repeatedSql() throws SQLException {
+        return read(SELECT + "10");
+    }
+
+    @Benchmark
+    public long distinctSql() throws SQLException {
+        return read(SELECT + this.counter++);
+    }
+
+    private long read(String sql) throws SQLException {
+        long sum = 0;
+        try (ResultSet rs = this.statement.executeQuery(sql)) {
+            while (rs.next()) {
+                sum += rs.getLong(1) + rs.getString(2).length();
+            }
+        }
+        return sum;
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.util.StringUtils;
+
+/**
+ * String to bytes and bytes to String conversions, for the character encodings most commonly used as 'characterEncoding'.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    @Param({ "UTF-8", "Cp1252", "US-ASCII", "SJIS" })
+    public String encoding;
+
+    @Param({ "ascii", "accented" })
+    public String content;
+
+    private String string;
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        String sample = "ascii".equals(this.content) ? "Borne 12 - Parking Central, niveau -1, place 42"
+                : "Borne 12 - Parking de l'Hôtel de Ville, côté église";
+        this.string = "SJIS".equals(this.encoding) && !"ascii".equals(this.content) ? "充電スタンド 12 - 中央駐車場 地下1階" : sample;
+        this.bytes = StringUtils.getBytes(this.string, this.encoding);
+    }
+
+    @Benchmark
+    public byte[] getBytes() {
+        return StringUtils.getBytes(this.string, this.encoding);
+    }
+
+    @Benchmark
+    public String toStringFromBytes() {
+        return StringUtils.toString(this.bytes, 0, this.bytes.length, this.encoding);
+    }
+
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.BindValue;
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.protocol.Message;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.ValueEncoder;
+import com.mysql.cj.protocol.a.ByteArrayValueEncoder;
+import com.mysql.cj.protocol.a.LocalDateTimeValueEncoder;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NumberValueEncoder;
+import com.mysql.cj.protocol.a.StringValueEncoder;
+import com.mysql.cj.result.Field;
+
+/**
+ * Parameter encoding, in text form for client-side prepared statements and in binary form for server-side prepared statements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ValueEncoderBenchmark {
+
+    @Param({ "INT", "BIGINT", "DECIMAL", "VARCHAR", "VARBINARY", "DATETIME" })
+    public String type;
+
+    private ValueEncoder encoder;
+    private SimpleBindValue binding;
+    private NativePacketPayload packet;
+
+    @Setup
+    public void setup() {
+        PropertySet pset = BenchmarkSupport.newPropertySet();
+        ServerSession serverSession = BenchmarkSupport.newServerSession(pset);
+
+        switch (this.type) {
+            case "INT":
+                this.encoder = new NumberValueEncoder();
+                this.binding = new SimpleBindValue(Integer.valueOf(-1234567), MysqlType.INT);
+                break;
+            case "BIGINT":
+                this.encoder = new NumberValueEncoder();
+                this.binding = new SimpleBindValue(Long.valueOf(9_007_199_254_740_993L), MysqlType.BIGINT);
+                break;
+            case "DECIMAL":
+                this.encoder = new NumberValueEncoder();
+                this.binding = new SimpleBindValue(new BigDecimal("48.8566140"), MysqlType.DECIMAL);
+                break;
+            case "VARCHAR":
+                this.encoder = new StringValueEncoder();
+                this.binding = new SimpleBindValue("Borne 12 - Parking de l'Hôtel de Ville \\ niveau -1", MysqlType.VARCHAR);
+                break;
+            case "VARBINARY":
+                byte[] bytes = new byte[256];
+                for (int i = 0; i < bytes.length; i++) {
+                    bytes[i] = (byte) i;
+                }
+                this.encoder = new ByteArrayValueEncoder();
+                this.binding = new SimpleBindValue(bytes, MysqlType.VARBINARY);
+                break;
+            case "DATETIME":
+                this.encoder = new LocalDateTimeValueEncoder();
+                this.binding = new SimpleBindValue(LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000), MysqlType.DATETIME);
+                break;
+            default:
+                throw new IllegalArgumentException(this.type);
+        }
+        this.encoder.init(pset, serverSession, null);
+        this.packet = new NativePacketPayload(1024);
+    }
+
+    @Benchmark
+    public int encodeAsText() {
+        this.packet.setPosition(0);
+        this.encoder.encodeAsText(this.packet, this.binding);
+        return this.packet.getPosition();
+    }
+
+    @Benchmark
+    public int encodeAsBinary() {
+        this.packet.setPosition(0);
+        this.encoder.encodeAsBinary(this.packet, this.binding);
+        return this.packet.getPosition();
+    }
+
+    /**
+     * A bare {@link BindValue} holding a value and its target type, so that encoders can be measured without a session.
+     */
+    static class SimpleBindValue implements BindValue {
+
+        private final Object value;
+        private MysqlType type;
+        private Field field;
+        private long scaleOrLength = -1;
+
+        SimpleBindValue(Object value, MysqlType type) {
+            this.value = value;
+            this.type = type;
+        }
+
+        @Override
+        public BindValue clone() {
+            SimpleBindValue bv = new SimpleBindValue(this.value, this.type);
+            bv.field = this.field;
+            bv.scaleOrLength = this.scaleOrLength;
+            return bv;
+        }
+
+        @Override
+        public void reset() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isNull() {
+            return this.value == null;
+        }
+
+        @Override
+        public void setNull(boolean isNull) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isStream() {
+            return false;
+        }
+
+        @Override
+        public MysqlType getMysqlType() {
+            return this.type;
+        }
+
+        @Override
+        public void setMysqlType(MysqlType type) {
+            this.type = type;
+        }
+
+        @Override
+        public byte[] getByteValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isSet() {
+            return true;
+        }
+
+        @Override
+        public void setBinding(Object obj, MysqlType type, int numberOfExecutions, AtomicBoolean sendTypesToServer) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Calendar getCalendar() {
+            return null;
+        }
+
+        @Override
+        public void setCalendar(Calendar cal) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean escapeBytesIfNeeded() {
+            return true;
+        }
+
+        @Override
+        public void setEscapeBytesIfNeeded(boolean val) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object getValue() {
+            return this.value;
+        }
+
+        @Override
+        public boolean isNational() {
+            return false;
+        }
+
+        @Override
+        public void setIsNational(boolean isNational) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int getFieldType() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getTextLength() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getBinaryLength() {
+            return this.value instanceof byte[] ? ((byte[]) this.value).length : 0;
+        }
+
+        @Override
+        public long getBoundBeforeExecutionNum() {
+            return 0;
+        }
+
+        @Override
+        public String getString() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Field getField() {
+            return this.field;
+        }
+
+        @Override
+        public void setField(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public boolean keepOrigNanos() {
+            return false;
+        }
+
+        @Override
+        public void setKeepOrigNanos(boolean value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void setScaleOrLength(long scaleOrLength) {
+            this.scaleOrLength = scaleOrLength;
+        }
+
+        @Override
+        public long getScaleOrLength() {
+            return this.scaleOrLength;
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public void setName(String name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeAsText(Message intoMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeAsBinary(Message intoMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeAsQueryAttribute(Message intoMessage) {
+            throw new UnsupportedOperationException();
+        }
+
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mysql.cj.conf.PropertyDefinitions;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.protocol.a.StandInServer;
+import com.mysql.cj.util.DriverThreadFactory;
+
+/**
+ * One connection per virtual thread, all of them running a query with a timeout at the same time against the in-process stand-in server, which answers
+ * after a fixed latency.
+ * <p>
+ * Each session holds its carrier thread while waiting for the response if the driver pins it, in which case no more sessions than carrier threads can wait on
+ * the server at the same time. The highest number of queries the server sees in flight is checked after each iteration and the benchmark fails if it didn't
+ * exceed the number of carrier threads, which is kept low on purpose. Requires Java 21 or later and, for the largest session counts, a limit of open files
+ * that allows two sockets per session.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-D" + PropertyDefinitions.SYSP_useVirtualThreads + "=true", "-Djdk.virtualThreadScheduler.parallelism=4",
+        "-Djdk.tracePinnedThreads=short" })
+public class VirtualThreadStressBenchmark {
+
+    @Param({ "1000", "10000", "50000" })
+    public int sessions;
+
+    @Param({ "50" })
+    public int latencyMillis;
+
+    private ThreadFactory sessionThreadFactory;
+    private StandInServer server;
+    private Connection[] connections;
+
+    @FunctionalInterface
+    private interface SessionTask {
+
+        void run(int session) throws Exception;
+
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        if (!DriverThreadFactory.isVirtualThreadSupported()) {
+            throw new IllegalStateException("Virtual threads are not supported by this JVM.");
+        }
+        this.sessionThreadFactory = DriverThreadFactory.newVirtualThreadFactory("session");
+        this.server = new StandInServer().setThreadFactory(this.sessionThreadFactory).start();
+        this.server.on("^SELECT id, status FROM station", StandInServer.resultSet("id", "status").row(1L, "DISPONIBLE")
+                .withLatency(this.latencyMillis, TimeUnit.MILLISECONDS));
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.USER.getKeyName(), "root");
+        props.setProperty(PropertyKey.PASSWORD.getKeyName(), "");
+        props.setProperty(PropertyKey.connectTimeout.getKeyName(), "60000");
+        this.connections = new Connection[this.sessions];
+        runSessions(i -> this.connections[i] = DriverManager.getConnection(this.server.getUrl(), props));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        runSessions(i -> this.connections[i].close());
+        this.server.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetServerCounters() {
+        this.server.resetMaxConcurrentCommands();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkCarrierPinning() {
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism", Runtime.getRuntime().availableProcessors());
+        int maxInFlight = this.server.getMaxConcurrentCommands();
+        if (maxInFlight <= carriers) {
+            throw new IllegalStateException(
+                    "No more than " + maxInFlight + " of " + this.sessions + " sessions waited on the server at once with " + carriers + " carrier threads.");
+        }
+    }
+
+    @Benchmark
+    public long query() throws Exception {
+        AtomicLong sum = new AtomicLong();
+        runSessions(i -> {
+            try (Statement stmt = this.connections[i].createStatement()) {
+                stmt.setQueryTimeout(60); // exercises the query cancellation scheduler
+                try (ResultSet rs = stmt.executeQuery("SELECT id, status FROM station WHERE id = " + i)) {
+                    while (rs.next()) {
+                        sum.addAndGet(rs.getLong(1));
+                    }
+                }
+            }
+        });
+        return sum.get();
+    }
+
+    private void runSessions(SessionTask task) throws Exception {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        Thread[] threads = new Thread[this.sessions];
+        for (int i = 0; i < threads.length; i++) {
+            int session = i;
+            threads[i] = this.sessionThreadFactory.newThread(() -> {
+                try {
+                    task.run(session);
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+}
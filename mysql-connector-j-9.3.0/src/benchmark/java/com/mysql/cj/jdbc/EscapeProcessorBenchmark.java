@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.SQLException;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JDBC escape sequence processing, which runs on every statement when 'enableEscapeProcessing' is on (the default).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EscapeProcessorBenchmark {
+
+    private static final TimeZone TZ = TimeZone.getTimeZone("Europe/Paris");
+
+    private static final String NO_ESCAPES = "SELECT id, name, status FROM stations WHERE status = 'DISPONIBLE' AND name LIKE 'Borne%' ORDER BY name LIMIT 50";
+
+    private static final String WITH_ESCAPES = "SELECT {fn UCASE(name)}, {fn CONCAT(address, city)} FROM stations "
+            + "WHERE updated_at > {ts '2025-03-14 15:09:26.535'} AND installed_on = {d '2024-01-01'} AND name LIKE 'B!_%' {escape '!'} "
+            + "AND {fn TIMESTAMPDIFF(SQL_TSI_DAY, installed_on, {fn NOW()})} > 30";
+
+    @Benchmark
+    public Object noEscapes() throws SQLException {
+        return EscapeProcessor.escapeSQL(NO_ESCAPES, TZ, true, false, null);
+    }
+
+    @Benchmark
+    public Object withEscapes() throws SQLException {
+        return EscapeProcessor.escapeSQL(WITH_ESCAPES, TZ, true, false, null);
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.conf.PropertyDefinitions;
+
+/**
+ * A {@link CacheAdapterFactory} for {@link QueryInfo} objects that are shared by all connections in the JVM, so that a given SQL string is parsed only once
+ * regardless of how many connections prepare it.
+ *
+ * The cache is split into lock-striped LRU segments and is bounded both by the number of entries and by the estimated memory footprint of the cached
+ * objects, as set in the system properties {@value PropertyDefinitions#SYSP_sharedQueryInfoCache_maxEntries} and
+ * {@value PropertyDefinitions#SYSP_sharedQueryInfoCache_maxWeight}. The connection property 'prepStmtCacheSize' doesn't apply to this cache, while
+ * 'prepStmtCacheSqlLimit' still limits the length of the SQL strings each connection caches.
+ */
+public class PerVmQueryInfoCacheFactory implements CacheAdapterFactory<String, QueryInfo> {
+
+    private static final int SEGMENTS = 16;
+    private static final int DEFAULT_MAX_ENTRIES = 16384;
+    private static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+
+    private static final SharedQueryInfoCache sharedCache = new SharedQueryInfoCache(
+            Integer.getInteger(PropertyDefinitions.SYSP_sharedQueryInfoCache_maxEntries, DEFAULT_MAX_ENTRIES),
+            Long.getLong(PropertyDefinitions.SYSP_sharedQueryInfoCache_maxWeight, DEFAULT_MAX_WEIGHT));
+
+    @Override
+    public CacheAdapter<String, QueryInfo> getInstance(Lock lock, String url, int cacheMaxSize, int maxKeySize) {
+        return new PerVmQueryInfoCache(maxKeySize);
+    }
+
+    /**
+     * Returns the JVM-wide cache backing all instances created by this factory, mostly for monitoring purposes.
+     *
+     * @return the {@link SharedQueryInfoCache} instance
+     */
+    public static SharedQueryInfoCache getSharedCache() {
+        return sharedCache;
+    }
+
+    class PerVmQueryInfoCache implements CacheAdapter<String, QueryInfo> {
+
+        private final int cacheSqlLimit;
+
+        protected PerVmQueryInfoCache(int maxKeySize) {
+            this.cacheSqlLimit = maxKeySize;
+        }
+
+        @Override
+        public QueryInfo get(String key) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return null;
+            }
+            return sharedCache.get(key);
+        }
+
+        @Override
+        public void put(String key, QueryInfo value) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return;
+            }
+            sharedCache.put(key, value);
+        }
+
+        @Override
+        public void invalidate(String key) {
+            sharedCache.invalidate(key);
+        }
+
+        @Override
+        public void invalidateAll(Set<String> keys) {
+            for (String key : keys) {
+                sharedCache.invalidate(key);
+            }
+        }
+
+        @Override
+        public void invalidateAll() {
+            sharedCache.invalidateAll();
+        }
+
+    }
+
+    /**
+     * The JVM-wide, lock-striped store of {@link QueryInfo} objects.
+     */
+    public static class SharedQueryInfoCache {
+
+        private final Segment[] segments = new Segment[SEGMENTS];
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        SharedQueryInfoCache(int maxEntries, long maxWeight) {
+            int segmentMaxEntries = Math.max(1, maxEntries / SEGMENTS);
+            long segmentMaxWeight = Math.max(1, maxWeight / SEGMENTS);
+            for (int i = 0; i < SEGMENTS; i++) {
+                this.segments[i] = new Segment(segmentMaxEntries, segmentMaxWeight);
+            }
+        }
+
+        private Segment segmentFor(String key) {
+            int h = key.hashCode();
+            return this.segments[(h ^ h >>> 16) & SEGMENTS - 1];
+        }
+
+        QueryInfo get(String key) {
+            QueryInfo value = segmentFor(key).get(key);
+            if (value == null) {
+                this.misses.increment();
+            } else {
+                this.hits.increment();
+            }
+            return value;
+        }
+
+        void put(String key, QueryInfo value) {
+            this.evictions.add(segmentFor(key).put(key, value));
+        }
+
+        void invalidate(String key) {
+            segmentFor(key).remove(key);
+        }
+
+        /**
+         * Removes all entries from the cache.
+         */
+        public void invalidateAll() {
+            for (Segment segment : this.segments) {
+                segment.clear();
+            }
+        }
+
+        /**
+         * Returns the number of lookups that found a cached {@link QueryInfo}.
+         *
+         * @return the number of cache hits
+         */
+        public long getHitCount() {
+            return this.hits.sum();
+        }
+
+        /**
+         * Returns the number of lookups that didn't find a cached {@link QueryInfo}.
+         *
+         * @return the number of cache misses
+         */
+        public long getMissCount() {
+            return this.misses.sum();
+        }
+
+        /**
+         * Returns the number of entries removed to keep the cache within its size and weight bounds.
+         *
+         * @return the number of evictions
+         */
+        public long getEvictionCount() {
+            return this.evictions.sum();
+        }
+
+        /**
+         * Returns the number of cached entries.
+         *
+         * @return the number of entries
+         */
+        public int size() {
+            int size = 0;
+            for (Segment segment : this.segments) {
+                size += segment.size();
+            }
+            return size;
+        }
+
+        /**
+         * Returns the estimated memory footprint, in bytes, of the cached entries.
+         *
+         * @return the estimated weight of all entries
+         */
+        public long getWeight() {
+            long weight = 0;
+            for (Segment segment : this.segments) {
+                weight += segment.getWeight();
+            }
+            return weight;
+        }
+
+    }
+
+    private static class Segment {
+
+        private final Lock lock = new ReentrantLock();
+        // Access-ordered, evictions are done explicitly so that the segment weight is kept in sync.
+        private final LinkedHashMap<String, QueryInfo> cache = new LinkedHashMap<>(16, 0.75F, true);
+        private final int maxEntries;
+        private final long maxWeight;
+        private long weight = 0;
+
+        Segment(int maxEntries, long maxWeight) {
+            this.maxEntries = maxEntries;
+            this.maxWeight = maxWeight;
+        }
+
+        QueryInfo get(String key) {
+            this.lock.lock();
+            try {
+                return this.cache.get(key);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        int put(String key, QueryInfo value) {
+            this.lock.lock();
+            try {
+                QueryInfo old = this.cache.put(key, value);
+                if (old != null) {
+                    this.weight -= weightOf(key, old);
+                }
+                this.weight += weightOf(key, value);
+
+                int evicted = 0;
+                Iterator<Entry<String, QueryInfo>> it = this.cache.entrySet().iterator();
+                while ((this.cache.size() > this.maxEntries || this.weight > this.maxWeight) && it.hasNext()) {
+                    Entry<String, QueryInfo> eldest = it.next();
+                    if (eldest.getValue() == value && this.cache.size() == 1) {
+                        break; // never evict the only entry, even if it's too heavy
+                    }
+                    this.weight -= weightOf(eldest.getKey(), eldest.getValue());
+                    it.remove();
+                    evicted++;
+                }
+                return evicted;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        void remove(String key) {
+            this.lock.lock();
+            try {
+                QueryInfo old = this.cache.remove(key);
+                if (old != null) {
+                    this.weight -= weightOf(key, old);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        void clear() {
+            this.lock.lock();
+            try {
+                this.cache.clear();
+                this.weight = 0;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        int size() {
+            this.lock.lock();
+            try {
+                return this.cache.size();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        long getWeight() {
+            this.lock.lock();
+            try {
+                return this.weight;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        /**
+         * Estimates the memory retained by a cache entry: the key characters plus the query static parts, which are the bulk of a {@link QueryInfo}.
+         */
+        private static long weightOf(String key, QueryInfo value) {
+            long weight = 2L * key.length();
+            byte[][] staticSqlParts = value.getStaticSqlParts();
+            if (staticSqlParts != null) {
+                for (byte[] part : staticSqlParts) {
+                    weight += part.length;
+                }
+            }
+            return weight;
+        }
+
+    }
+
+}
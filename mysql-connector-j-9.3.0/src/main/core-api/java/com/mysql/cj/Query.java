@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Lock;
 
+import com.mysql.cj.log.DigestStatistics;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.Resultset;
@@ -91,6 +92,13 @@ public interface Query {
      */
     long getExecuteTime();
 
+    /**
+     * Returns the statistics of the digest of the prepared statement this query stands for, where all its executions are recorded.
+     *
+     * @return the {@link DigestStatistics}, or null if this query is not a prepared statement
+     */
+    DigestStatistics getDigestStatistics();
+
     CancelQueryTask startQueryTimer(Query stmtToCancel, long timeout);
 
     AtomicBoolean getStatementExecuting();
@@ -28,6 +28,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionFactory;
@@ -58,6 +59,11 @@ public class QueryInfo {
     private static final String[] ODKU_CLAUSE = new String[] { "ON", "DUPLICATE", "KEY", "UPDATE" };
     private static final String LAST_INSERT_ID_FUNC = "LAST_INSERT_ID";
 
+    /** The number of characters of a query considered by {@link #getDigestText(String, boolean)}. */
+    public static final int MAX_DIGEST_SOURCE_LENGTH = 4096;
+    private static final String DIGEST_VALUES_LIST = "(...)";
+    private static final String DIGEST_TRUNCATED_TAG = " ...";
+
     private QueryInfo baseQueryInfo = null;
 
     private String sql;
@@ -628,6 +634,32 @@ public class QueryInfo {
         return this.isRewritableWithMultiValuesClause;
     }
 
+    /**
+     * Builds the key under which the {@link QueryInfo} of the given query is cached. Besides the query itself, the key holds all the settings that affect
+     * parsing, so that query infos built under different settings, e.g., by connections sharing a JVM-wide cache, never replace or get mistaken for each
+     * other.
+     *
+     * @param sql
+     *            the query to be prepared
+     * @param session
+     *            the {@link Session} the query is going to be prepared in
+     * @param encoding
+     *            the characters encoding used to extract the query static parts as byte arrays
+     * @return the cache key, or <code>null</code> if the query is <code>null</code>
+     */
+    public static String getCacheKey(String sql, Session session, String encoding) {
+        if (sql == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(sql.length() + 16);
+        key.append(session.getServerSession().isNoBackslashEscapesSet() ? '1' : '0');
+        key.append(session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue() ? '1' : '0');
+        key.append(session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).getValue() ? '1' : '0');
+        // Charset names can't contain spaces.
+        key.append(encoding == null ? "" : encoding.toUpperCase(Locale.ROOT)).append(' ');
+        return key.append(sql).toString();
+    }
+
     /**
      * Returns a {@link QueryInfo} for a multi-values INSERT/REPLACE assembled for the specified batch count, without re-parsing.
      *
@@ -910,6 +942,187 @@ public class QueryInfo {
         }
     }
 
+    /**
+     * Returns the digest text of the given query, i.e., the query stripped of comments and hints, with white space collapsed, literals replaced by '?' and
+     * lists of values, such as the ones in IN predicates or in multi-values clauses, collapsed into "(...)". All the executions of a statement, whether
+     * prepared or not, share the same digest text whatever values they use. Only the first {@link #MAX_DIGEST_SOURCE_LENGTH} characters of the
+     * query are considered.
+     *
+     * @param sql
+     *            the query to digest
+     * @param noBackslashEscapes
+     *            whether backslash escapes are disabled or not
+     * @return the digest text of the query
+     */
+    public static String getDigestText(String sql, boolean noBackslashEscapes) {
+        StringInspector strInspector = new StringInspector(sql, 0, OPENING_MARKERS, CLOSING_MARKERS, OVERRIDING_MARKERS,
+                noBackslashEscapes ? SearchMode.__COM_MYM_HNT_WS : SearchMode.__BSE_COM_MYM_HNT_WS);
+        int stopAt = Math.min(sql.length(), MAX_DIGEST_SOURCE_LENGTH);
+        strInspector.setStopPosition(stopAt);
+
+        StringBuilder digest = new StringBuilder(Math.min(stopAt, 256));
+        // For each open parenthesis: its position in the digest and whether it only encloses literals (1), also something else (-1) or nothing yet (0).
+        List<int[]> openParens = new ArrayList<>();
+        int lastEnd = 0;
+        int lastWordStart = -1;
+
+        int pos;
+        while ((pos = strInspector.indexOfNextChar()) != -1) {
+            if (pos > lastEnd && digest.length() > 0) {
+                digest.append(' ');
+            }
+            char c = strInspector.getChar();
+            int end = pos + 1;
+            boolean literal = false;
+            boolean word = false;
+
+            if (c == '\'' || c == '"') {
+                literal = true;
+                if (lastWordStart != -1 && lastEnd == pos && isLiteralIntroducer(digest, lastWordStart)) {
+                    digest.setLength(lastWordStart); // Character set introducer or hexadecimal/bit/national literal prefix.
+                }
+                end = endOfQuotedText(strInspector, c, stopAt);
+            } else if (c == '`') {
+                end = endOfQuotedText(strInspector, c, stopAt);
+                digest.append(sql, pos, end);
+            } else if (c == '?') {
+                literal = true;
+            } else if (Character.isDigit(c) || c == '.' && end < stopAt && Character.isDigit(sql.charAt(end)) && lastWordStart == -1) {
+                end = endOfNumber(sql, pos, stopAt);
+                word = end < stopAt && isWordChar(sql.charAt(end));
+                if (word) { // Not a number but a name starting with digits.
+                    while (end < stopAt && isWordChar(sql.charAt(end))) {
+                        end++;
+                    }
+                    digest.append(sql, pos, end);
+                } else {
+                    literal = true;
+                }
+            } else if (isWordChar(c)) {
+                word = true;
+                while (end < stopAt && isWordChar(sql.charAt(end))) {
+                    end++;
+                }
+                digest.append(sql, pos, end);
+            } else if (c == '(') {
+                markNotOnlyLiterals(openParens);
+                openParens.add(new int[] { digest.length(), 0 });
+                digest.append(c);
+            } else if (c == ')' && !openParens.isEmpty()) {
+                int[] paren = openParens.remove(openParens.size() - 1);
+                if (paren[1] == 1) {
+                    digest.setLength(paren[0]);
+                    int previous = indexOfPreviousValuesList(digest);
+                    if (previous != -1) {
+                        digest.setLength(previous); // Same as the preceding list, as in multi-values clauses.
+                    } else {
+                        digest.append(DIGEST_VALUES_LIST);
+                    }
+                } else {
+                    digest.append(c);
+                }
+            } else {
+                if (c != ',') {
+                    markNotOnlyLiterals(openParens);
+                }
+                digest.append(c);
+            }
+
+            if (literal) {
+                digest.append('?');
+                if (!openParens.isEmpty() && openParens.get(openParens.size() - 1)[1] == 0) {
+                    openParens.get(openParens.size() - 1)[1] = 1;
+                }
+            } else if (word || c == '`') {
+                markNotOnlyLiterals(openParens);
+            }
+            lastWordStart = word ? digest.length() - (end - pos) : -1;
+
+            strInspector.incrementPosition(end - strInspector.getPosition());
+            lastEnd = end;
+        }
+
+        if (stopAt < sql.length()) {
+            digest.append(DIGEST_TRUNCATED_TAG);
+        }
+        return digest.toString();
+    }
+
+    private static int endOfQuotedText(StringInspector strInspector, char quote, int stopAt) {
+        int end;
+        do {
+            end = Math.min(strInspector.indexOfClosingMarker() + 1, stopAt);
+            if (end < stopAt) {
+                strInspector.incrementPosition(); // Move past the closing marker, the quoted text goes on if a doubled quote follows.
+            }
+        } while (end < stopAt && strInspector.getChar() == quote);
+        return end;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isLiteralIntroducer(CharSequence digest, int wordStart) {
+        char c = digest.charAt(wordStart);
+        return c == '_' || digest.length() - wordStart == 1 && "xXbBnN".indexOf(c) != -1;
+    }
+
+    private static int endOfNumber(String sql, int pos, int stopAt) {
+        int end = pos;
+        if (end + 1 < stopAt && sql.charAt(end) == '0' && "xXbB".indexOf(sql.charAt(end + 1)) != -1) {
+            end += 2;
+            while (end < stopAt && Character.digit(sql.charAt(end), 16) != -1) {
+                end++;
+            }
+            return end;
+        }
+        while (end < stopAt && Character.isDigit(sql.charAt(end))) {
+            end++;
+        }
+        if (end < stopAt && sql.charAt(end) == '.') {
+            end++;
+            while (end < stopAt && Character.isDigit(sql.charAt(end))) {
+                end++;
+            }
+        }
+        if (end < stopAt && (sql.charAt(end) == 'e' || sql.charAt(end) == 'E')) {
+            int exp = end + 1;
+            if (exp < stopAt && (sql.charAt(exp) == '+' || sql.charAt(exp) == '-')) {
+                exp++;
+            }
+            if (exp < stopAt && Character.isDigit(sql.charAt(exp))) {
+                end = exp;
+                while (end < stopAt && Character.isDigit(sql.charAt(end))) {
+                    end++;
+                }
+            }
+        }
+        return end;
+    }
+
+    private static void markNotOnlyLiterals(List<int[]> openParens) {
+        if (!openParens.isEmpty()) {
+            openParens.get(openParens.size() - 1)[1] = -1;
+        }
+    }
+
+    private static int indexOfPreviousValuesList(StringBuilder digest) {
+        int i = digest.length();
+        while (i > 0 && digest.charAt(i - 1) == ' ') {
+            i--;
+        }
+        if (i == 0 || digest.charAt(i - 1) != ',') {
+            return -1;
+        }
+        int comma = i - 1;
+        i = comma;
+        while (i > 0 && digest.charAt(i - 1) == ' ') {
+            i--;
+        }
+        return i >= DIGEST_VALUES_LIST.length() && digest.substring(i - DIGEST_VALUES_LIST.length(), i).equals(DIGEST_VALUES_LIST) ? i : -1;
+    }
+
     /**
      * Checks whether the specified SQL contains or not an ON DUPLICATE KEY UPDATE clause. This operation does not take into consideration the multiplicity of
      * queries in the specified SQL.
@@ -48,6 +48,9 @@ public class PropertyDefinitions {
      * Operational system properties.
      */
     public static final String SYSP_disableAbandonedConnectionCleanup = "com.mysql.cj.disableAbandonedConnectionCleanup";
+    public static final String SYSP_sharedQueryInfoCache_maxEntries = "com.mysql.cj.sharedQueryInfoCache.maxEntries";
+    public static final String SYSP_sharedQueryInfoCache_maxWeight = "com.mysql.cj.sharedQueryInfoCache.maxWeight";
+    public static final String SYSP_useVirtualThreads = "com.mysql.cj.useVirtualThreads";
 
     /*
      * Testsuite system properties.
@@ -71,11 +74,6 @@ public class PropertyDefinitions {
     /** For testsuite.regression.DataSourceRegressionTest */
     public static final String SYSP_testsuite_ds_password /*                  */ = "com.mysql.cj.testsuite.ds.password";
 
-    /** For testsuite.perf.LoadStorePerfTest */
-    public static final String SYSP_testsuite_loadstoreperf_tabletype /*      */ = "com.mysql.cj.testsuite.loadstoreperf.tabletype"; // TODO document allowed types
-    /** For testsuite.perf.LoadStorePerfTest */
-    public static final String SYSP_testsuite_loadstoreperf_useBigResults /*  */ = "com.mysql.cj.testsuite.loadstoreperf.useBigResults";
-
     /** The system property that must exist to run the shutdown test in testsuite.simple.MiniAdminTest */
     public static final String SYSP_testsuite_miniAdminTest_runShutdown /*    */ = "com.mysql.cj.testsuite.miniAdminTest.runShutdown";
 
@@ -258,6 +256,38 @@ public class PropertyDefinitions {
                 new EnumPropertyDefinition<>(PropertyKey.databaseTerm, DatabaseTerm.CATALOG, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.databaseTerm"), "8.0.17", CATEGORY_CONNECTION, Integer.MIN_VALUE),
 
+                new StringPropertyDefinition(PropertyKey.poolName, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolName"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolMaxSize, 10, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.poolMaxSize"),
+                        "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 1, Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolMinIdle, 0, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.poolMinIdle"),
+                        "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolBorrowTimeout, 30000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolBorrowTimeout"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolIdleTimeout, 600000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolIdleTimeout"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolMaxLifetime, 1800000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolMaxLifetime"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolValidationInterval, 500, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolValidationInterval"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.poolValidationTimeout, 5000, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolValidationTimeout"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new BooleanPropertyDefinition(PropertyKey.poolEnableJMX, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolEnableJMX"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE),
+
+                new BooleanPropertyDefinition(PropertyKey.poolResetConnection, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.poolResetConnection"), "9.4.0", CATEGORY_CONNECTION, Integer.MIN_VALUE),
+
                 //
                 // CATEGORY_SESSION
                 //
@@ -294,6 +324,9 @@ public class PropertyDefinitions {
                 new StringPropertyDefinition(PropertyKey.socketFactory, "com.mysql.cj.protocol.StandardSocketFactory", RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.socketFactory"), "3.0.3", CATEGORY_NETWORK, 4),
 
+                new BooleanPropertyDefinition(PropertyKey.useNioSocketChannel, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.useNioSocketChannel"), "9.4.0", CATEGORY_NETWORK, 5),
+
                 new StringPropertyDefinition(PropertyKey.socksProxyHost, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.socksProxyHost"), "5.1.34", CATEGORY_NETWORK, 1),
 
@@ -324,6 +357,24 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useCompression, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useCompression"), "3.0.17", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
+                new StringPropertyDefinition(PropertyKey.compressionAlgorithms, "zlib,zstd", RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.compressionAlgorithms"), "9.4.0", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
+                new StringPropertyDefinition(PropertyKey.compressionCodecs, DEFAULT_VALUE_NULL_STRING, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.compressionCodecs"), "9.4.0", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.zlibCompressionLevel, 6, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.zlibCompressionLevel"), "9.4.0", CATEGORY_NETWORK, Integer.MIN_VALUE, 1, 9),
+
+                new IntegerPropertyDefinition(PropertyKey.zstdCompressionLevel, 3, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.zstdCompressionLevel"), "9.4.0", CATEGORY_NETWORK, Integer.MIN_VALUE, 1, 22),
+
+                new BooleanPropertyDefinition(PropertyKey.adaptiveCompression, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.adaptiveCompression"), "9.4.0", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.adaptiveCompressionMinSavings, 10, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.adaptiveCompressionMinSavings"), "9.4.0", CATEGORY_NETWORK, Integer.MIN_VALUE, 0, 90),
+
                 new IntegerPropertyDefinition(PropertyKey.maxAllowedPacket, 65535, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.maxAllowedPacket"), "5.1.8", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
@@ -711,6 +762,16 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.metadataCacheSize, 50, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.metadataCacheSize"), "3.1.1", CATEGORY_PERFORMANCE, 5, 1, Integer.MAX_VALUE),
 
+                new MemorySizePropertyDefinition(PropertyKey.packetBufferPoolSize, 262144, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.packetBufferPoolSize"), "9.4.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0,
+                        Integer.MAX_VALUE),
+
+                new BooleanPropertyDefinition(PropertyKey.pipelineBatchedStatements, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.pipelineBatchedStatements"), "9.4.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.pipelineBatchWindowSize, 64, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.pipelineBatchWindowSize"), "9.4.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 1, 65535),
+
                 new IntegerPropertyDefinition(PropertyKey.prepStmtCacheSize, 25, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.prepStmtCacheSize"), "3.0.10", CATEGORY_PERFORMANCE, 10, 0, Integer.MAX_VALUE),
 
@@ -784,6 +845,15 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.gatherPerfMetrics, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.gatherPerfMetrics"), "3.1.2", CATEGORY_DEBUGING_PROFILING, 10),
 
+                new BooleanPropertyDefinition(PropertyKey.queryLatencyEnableJMX, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.queryLatencyEnableJMX"), "9.4.0", CATEGORY_DEBUGING_PROFILING, 10),
+
+                new BooleanPropertyDefinition(PropertyKey.gatherStatementDigests, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.gatherStatementDigests"), "9.4.0", CATEGORY_DEBUGING_PROFILING, 10),
+
+                new BooleanPropertyDefinition(PropertyKey.statementDigestEnableJMX, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.statementDigestEnableJMX"), "9.4.0", CATEGORY_DEBUGING_PROFILING, 10),
+
                 // TODO currently is not used !!!
                 new IntegerPropertyDefinition(PropertyKey.reportMetricsIntervalMillis, 30000, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.reportMetricsIntervalMillis"), "3.1.2", CATEGORY_DEBUGING_PROFILING, 11, 0, Integer.MAX_VALUE),
@@ -892,7 +962,7 @@ public class PropertyDefinitions {
                         Messages.getString("ConnectionProperties.xdevapiDnsSrv"), "8.0.19", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
                 new EnumPropertyDefinition<>(PropertyKey.xdevapiCompression, Compression.PREFERRED, RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.xdevapiCompression"), "8.0.20", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
-                new StringPropertyDefinition(PropertyKey.xdevapiCompressionAlgorithms, "zstd_stream,lz4_message,deflate_stream", RUNTIME_NOT_MODIFIABLE,
+                new StringPropertyDefinition(PropertyKey.xdevapiCompressionAlgorithms, "deflate_stream,lz4_message,zstd_stream", RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.xdevapiCompressionAlgorithms"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE),
                 new StringPropertyDefinition(PropertyKey.xdevapiCompressionExtensions, DEFAULT_VALUE_NULL_STRING, RUNTIME_NOT_MODIFIABLE,
                         Messages.getString("ConnectionProperties.xdevapiCompressionExtensions"), "8.0.22", CATEGORY_XDEVAPI, Integer.MIN_VALUE)
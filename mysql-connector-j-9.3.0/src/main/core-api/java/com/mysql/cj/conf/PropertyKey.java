@@ -52,6 +52,8 @@ public enum PropertyKey {
     /** The database value from the properties instance passed to the driver. */
     DBNAME("dbname", false), //
 
+    adaptiveCompression("adaptiveCompression", true), //
+    adaptiveCompressionMinSavings("adaptiveCompressionMinSavings", true), //
     allowLoadLocalInfile("allowLoadLocalInfile", true), //
     allowLoadLocalInfileInPath("allowLoadLocalInfileInPath", true), //
     allowMultiQueries("allowMultiQueries", true), //
@@ -86,6 +88,8 @@ public enum PropertyKey {
     clobberStreamingResults("clobberStreamingResults", true), //
     clobCharacterEncoding("clobCharacterEncoding", true), //
     compensateOnDuplicateKeyUpdateCounts("compensateOnDuplicateKeyUpdateCounts", true), //
+    compressionAlgorithms("compressionAlgorithms", true), //
+    compressionCodecs("compressionCodecs", true), //
     connectionAttributes("connectionAttributes", true), //
     connectionCollation("connectionCollation", true), //
     connectionLifecycleInterceptors("connectionLifecycleInterceptors", true), //
@@ -120,6 +124,7 @@ public enum PropertyKey {
     forceConnectionTimeZoneToSession("forceConnectionTimeZoneToSession", true), //
     functionsNeverReturnBlobs("functionsNeverReturnBlobs", true), //
     gatherPerfMetrics("gatherPerfMetrics", true), //
+    gatherStatementDigests("gatherStatementDigests", true), //
     generateSimpleParameterMetadata("generateSimpleParameterMetadata", true), //
     getProceduresReturnsFunctions("getProceduresReturnsFunctions", true), //
     ha_enableJMX("ha.enableJMX", "haEnableJMX", true), //
@@ -167,6 +172,7 @@ public enum PropertyKey {
     ociConfigProfile("ociConfigProfile", true), //
     openTelemetry("openTelemetry", true), //
     overrideSupportsIntegrityEnhancementFacility("overrideSupportsIntegrityEnhancementFacility", true), //
+    packetBufferPoolSize("packetBufferPoolSize", true), //
     packetDebugBufferSize("packetDebugBufferSize", true), //
     padCharsWithSpace("padCharsWithSpace", true), //
     paranoid("paranoid", false), //
@@ -176,6 +182,18 @@ public enum PropertyKey {
     passwordCharacterEncoding("passwordCharacterEncoding", true), //
     pedantic("pedantic", true), //
     pinGlobalTxToPhysicalConnection("pinGlobalTxToPhysicalConnection", true), //
+    pipelineBatchedStatements("pipelineBatchedStatements", true), //
+    pipelineBatchWindowSize("pipelineBatchWindowSize", true), //
+    poolBorrowTimeout("poolBorrowTimeout", true), //
+    poolEnableJMX("poolEnableJMX", true), //
+    poolIdleTimeout("poolIdleTimeout", true), //
+    poolMaxLifetime("poolMaxLifetime", true), //
+    poolMaxSize("poolMaxSize", true), //
+    poolMinIdle("poolMinIdle", true), //
+    poolName("poolName", true), //
+    poolResetConnection("poolResetConnection", true), //
+    poolValidationInterval("poolValidationInterval", true), //
+    poolValidationTimeout("poolValidationTimeout", true), //
     populateInsertRowWithDefaultValues("populateInsertRowWithDefaultValues", true), //
     prepStmtCacheSize("prepStmtCacheSize", true), //
     prepStmtCacheSqlLimit("prepStmtCacheSqlLimit", true), //
@@ -187,6 +205,7 @@ public enum PropertyKey {
     queriesBeforeRetrySource("queriesBeforeRetrySource", true), //
     queryInfoCacheFactory("queryInfoCacheFactory", "parseInfoCacheFactory", true), //
     queryInterceptors("queryInterceptors", true), //
+    queryLatencyEnableJMX("queryLatencyEnableJMX", true), //
     queryTimeoutKillsConnection("queryTimeoutKillsConnection", true), //
     readFromSourceWhenNoReplicas("readFromSourceWhenNoReplicas", true), //
     readOnlyPropagatesToServer("readOnlyPropagatesToServer", true), //
@@ -218,6 +237,7 @@ public enum PropertyKey {
     socksProxyRemoteDns("socksProxyRemoteDns", true), //
     sslContextProvider("sslContextProvider", true), //
     sslMode("sslMode", true), //
+    statementDigestEnableJMX("statementDigestEnableJMX", true), //
     strictUpdates("strictUpdates", true), //
     tcpKeepAlive("tcpKeepAlive", true), //
     tcpNoDelay("tcpNoDelay", true), //
@@ -247,6 +267,7 @@ public enum PropertyKey {
     useLocalSessionState("useLocalSessionState", true), //
     useLocalTransactionState("useLocalTransactionState", true), //
     useNanosForElapsedTime("useNanosForElapsedTime", true), //
+    useNioSocketChannel("useNioSocketChannel", true), //
     useOldAliasMetadataBehavior("useOldAliasMetadataBehavior", true), //
     useOnlyServerErrorMessages("useOnlyServerErrorMessages", true), //
     useReadAheadInput("useReadAheadInput", true), //
@@ -278,7 +299,9 @@ public enum PropertyKey {
     xdevapiTlsVersions("xdevapi.tls-versions", "xdevapiTlsVersions", true), //
 
     yearIsDateType("yearIsDateType", true), //
-    zeroDateTimeBehavior("zeroDateTimeBehavior", true) //
+    zeroDateTimeBehavior("zeroDateTimeBehavior", true), //
+    zlibCompressionLevel("zlibCompressionLevel", true), //
+    zstdCompressionLevel("zstdCompressionLevel", true) //
     ;
 
     private String keyName;
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.log;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics of the executions of all the statements that share a digest, the normalized form of their SQL in which literal values are replaced by '?'.
+ * <p>
+ * Counters are {@link LongAdder}s and latencies go to a {@link LogLinearHistogram}, so connections executing statements of the same digest concurrently
+ * update them without locking. Reads are not atomic as a whole: a reader may see an execution counted in some of the statistics and not yet in others.
+ */
+public class DigestStatistics {
+
+    /**
+     * How a statement was executed.
+     */
+    public enum ExecutionType {
+        /** Text protocol, from a plain statement or issued internally by the driver. */
+        STATEMENT,
+        /** Text protocol, with the parameters of a client-side prepared statement substituted in. */
+        CLIENT_PREPARED,
+        /** Binary protocol, executing a server-side prepared statement. */
+        SERVER_PREPARED;
+    }
+
+    // Most digests are only executed by a few connections at a time.
+    private static final int LATENCY_MAX_STRIPES = 2;
+
+    private final String digestText;
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder clientPreparedExecutions = new LongAdder();
+    private final LongAdder serverPreparedExecutions = new LongAdder();
+    private final LongAdder rowsReceived = new LongAdder();
+    private final LongAdder rowsAffected = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LogLinearHistogram latency = new LogLinearHistogram(LATENCY_MAX_STRIPES);
+
+    public DigestStatistics(String digestText) {
+        this.digestText = digestText;
+    }
+
+    /**
+     * Records one execution.
+     *
+     * @param type
+     *            how the statement was executed
+     * @param nanos
+     *            the time from sending the statement to having read its results
+     * @param rowsReceived
+     *            the number of rows read in the results
+     * @param rowsAffected
+     *            the number of rows the server reported as changed
+     * @param bytesSent
+     *            the number of bytes sent, packet headers included
+     * @param bytesReceived
+     *            the number of bytes received, packet headers included
+     * @param failed
+     *            whether the execution ended with an error
+     */
+    public void record(ExecutionType type, long nanos, long rowsReceived, long rowsAffected, long bytesSent, long bytesReceived, boolean failed) {
+        this.executions.increment();
+        if (failed) {
+            this.errors.increment();
+        }
+        if (type == ExecutionType.CLIENT_PREPARED) {
+            this.clientPreparedExecutions.increment();
+        } else if (type == ExecutionType.SERVER_PREPARED) {
+            this.serverPreparedExecutions.increment();
+        }
+        if (rowsReceived > 0) {
+            this.rowsReceived.add(rowsReceived);
+        }
+        if (rowsAffected > 0) {
+            this.rowsAffected.add(rowsAffected);
+        }
+        this.bytesSent.add(bytesSent);
+        this.bytesReceived.add(bytesReceived);
+        this.latency.record(nanos);
+    }
+
+    public String getDigestText() {
+        return this.digestText;
+    }
+
+    public long getExecutionCount() {
+        return this.executions.sum();
+    }
+
+    public long getErrorCount() {
+        return this.errors.sum();
+    }
+
+    public long getClientPreparedExecutionCount() {
+        return this.clientPreparedExecutions.sum();
+    }
+
+    public long getServerPreparedExecutionCount() {
+        return this.serverPreparedExecutions.sum();
+    }
+
+    /**
+     * Returns the number of rows read in the results of the executions. Rows of streaming and cursor-based result sets are fetched after the execution and
+     * are not counted.
+     *
+     * @return the number of rows received
+     */
+    public long getRowsReceived() {
+        return this.rowsReceived.sum();
+    }
+
+    public long getRowsAffected() {
+        return this.rowsAffected.sum();
+    }
+
+    public long getBytesSent() {
+        return this.bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return this.bytesReceived.sum();
+    }
+
+    /**
+     * Returns the latencies of the executions, in nanoseconds.
+     *
+     * @return {@link LogLinearHistogram.Snapshot}
+     */
+    public LogLinearHistogram.Snapshot getLatency() {
+        return this.latency.getSnapshot();
+    }
+
+    public void reset() {
+        this.executions.reset();
+        this.errors.reset();
+        this.clientPreparedExecutions.reset();
+        this.serverPreparedExecutions.reset();
+        this.rowsReceived.reset();
+        this.rowsAffected.reset();
+        this.bytesSent.reset();
+        this.bytesReceived.reset();
+        this.latency.reset();
+    }
+
+    @Override
+    public String toString() {
+        LogLinearHistogram.Snapshot l = getLatency();
+        return "count=" + l.getCount() + ", errors=" + getErrorCount() + ", server prepared=" + getServerPreparedExecutionCount() + ", client prepared="
+                + getClientPreparedExecutionCount() + ", rows received=" + getRowsReceived() + ", rows affected=" + getRowsAffected() + ", bytes sent="
+                + getBytesSent() + ", bytes received=" + getBytesReceived() + ", p50=" + l.getP50() / 1000 + " us, p99=" + l.getP99() / 1000 + " us, max="
+                + l.getMax() / 1000 + " us: " + this.digestText;
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.log;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free histogram of non-negative long values, typically latencies in nanoseconds.
+ * <p>
+ * Buckets are log-linear: values below 32 have a bucket each, and every power of two above is split in 16 buckets of equal width, so a value is known
+ * within 1/16 of its magnitude whatever its scale. Values above {@link #MAX_TRACKABLE_VALUE} (over 36 minutes in nanoseconds) are counted in the last bucket,
+ * the exact minimum and maximum being tracked apart.
+ * <p>
+ * Recording takes a compare-and-set on the counts of the calling thread's stripe. All threads start on a single stripe; when they are seen competing for it,
+ * more stripes are added, up to the limit given on construction, and threads spread over them by thread id. Snapshots sum the stripes without stopping the
+ * recording threads, so they may miss the values being recorded at the same time.
+ */
+public class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int VALUE_BITS = 41;
+
+    /** The highest value counted in its own bucket. */
+    public static final long MAX_TRACKABLE_VALUE = (1L << VALUE_BITS) - 1;
+
+    static final int BUCKET_COUNT = (VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+    private static final int SUM_SLOT = BUCKET_COUNT;
+
+    private static final int DEFAULT_MAX_STRIPES = Math.min(32, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final int maxStripes;
+    private final AtomicReference<AtomicLongArray[]> stripes;
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a histogram that may use up to one stripe per available processor.
+     */
+    public LogLinearHistogram() {
+        this(DEFAULT_MAX_STRIPES);
+    }
+
+    /**
+     * Creates a histogram.
+     *
+     * @param maxStripes
+     *            the maximum number of stripes used under contention, rounded down to a power of two; each stripe takes about 5 KB
+     */
+    public LogLinearHistogram(int maxStripes) {
+        this.maxStripes = Integer.highestOneBit(Math.max(1, maxStripes));
+        this.stripes = new AtomicReference<>(new AtomicLongArray[] { new AtomicLongArray(BUCKET_COUNT + 1) });
+    }
+
+    /**
+     * Records a value.
+     *
+     * @param value
+     *            the value, negative values being counted as 0
+     */
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        int index = bucketIndex(value);
+        AtomicLongArray[] current = this.stripes.get();
+        AtomicLongArray counts = current.length == 1 ? current[0] : current[stripeIndex(current.length)];
+        long count = counts.get(index);
+        if (!counts.compareAndSet(index, count, count + 1)) {
+            counts.getAndIncrement(index);
+            addStripes(current);
+        }
+        counts.getAndAdd(SUM_SLOT, value);
+
+        long m;
+        while (value < (m = this.min.get()) && !this.min.compareAndSet(m, value)) {
+            // retry
+        }
+        while (value > (m = this.max.get()) && !this.max.compareAndSet(m, value)) {
+            // retry
+        }
+    }
+
+    /**
+     * Clears the histogram. Values recorded while clearing may be partially kept.
+     */
+    public void reset() {
+        for (AtomicLongArray counts : this.stripes.get()) {
+            for (int i = 0; i <= SUM_SLOT; i++) {
+                counts.set(i, 0);
+            }
+        }
+        this.min.set(Long.MAX_VALUE);
+        this.max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * Returns the values recorded so far.
+     *
+     * @return an immutable {@link Snapshot}
+     */
+    public Snapshot getSnapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long sum = 0;
+        for (AtomicLongArray stripe : this.stripes.get()) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+            sum += stripe.get(SUM_SLOT);
+        }
+        return new Snapshot(counts, sum, this.min.get(), this.max.get());
+    }
+
+    private void addStripes(AtomicLongArray[] current) {
+        if (current.length >= this.maxStripes) {
+            return;
+        }
+        AtomicLongArray[] added = Arrays.copyOf(current, current.length << 1);
+        for (int i = current.length; i < added.length; i++) {
+            added[i] = new AtomicLongArray(BUCKET_COUNT + 1);
+        }
+        // Losing the race only means another thread already added them.
+        this.stripes.compareAndSet(current, added);
+    }
+
+    private static int stripeIndex(int stripeCount) {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & stripeCount - 1;
+    }
+
+    static int bucketIndex(long value) {
+        long v = value > MAX_TRACKABLE_VALUE ? MAX_TRACKABLE_VALUE : value;
+        int shift = 63 - Long.numberOfLeadingZeros(v | SUB_BUCKET_COUNT) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (v >>> shift);
+    }
+
+    static long lowestValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT << 1) {
+            return bucketIndex;
+        }
+        return (long) (bucketIndex & SUB_BUCKET_COUNT - 1 | SUB_BUCKET_COUNT) << (bucketIndex >> SUB_BUCKET_BITS) - 1;
+    }
+
+    static long highestValue(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKET_COUNT << 1) {
+            return bucketIndex;
+        }
+        return lowestValue(bucketIndex) + (1L << (bucketIndex >> SUB_BUCKET_BITS) - 1) - 1;
+    }
+
+    /**
+     * Values recorded by a {@link LogLinearHistogram} at some point in time.
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+
+        Snapshot(long[] counts, long sum, long min, long max) {
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.counts = counts;
+            this.count = total;
+            this.sum = sum;
+            this.min = total == 0 ? 0 : min;
+            this.max = total == 0 ? 0 : max;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getSum() {
+            return this.sum;
+        }
+
+        public long getMin() {
+            return this.min;
+        }
+
+        public long getMax() {
+            return this.max;
+        }
+
+        public double getMean() {
+            return this.count == 0 ? 0 : (double) this.sum / this.count;
+        }
+
+        /**
+         * Returns the highest value of the bucket where the given percentile of the recorded values falls, bounded by the minimum and maximum recorded.
+         *
+         * @param percentile
+         *            the percentile, from 0 to 100
+         * @return the value at that percentile, or 0 if nothing was recorded
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (this.count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, Math.min(this.count, (long) Math.ceil(percentile / 100 * this.count)));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += this.counts[i];
+                if (seen >= rank) {
+                    // The last bucket also holds the values too high to be tracked.
+                    return i == BUCKET_COUNT - 1 ? this.max : Math.max(this.min, Math.min(this.max, highestValue(i)));
+                }
+            }
+            return this.max;
+        }
+
+        public long getP50() {
+            return getValueAtPercentile(50);
+        }
+
+        public long getP99() {
+            return getValueAtPercentile(99);
+        }
+
+        public long getP999() {
+            return getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + this.count + ", min=" + this.min + ", mean=" + Math.round(getMean()) + ", p50=" + getP50() + ", p99=" + getP99() + ", p999="
+                    + getP999() + ", max=" + this.max;
+        }
+
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+
+/**
+ * A compression algorithm usable by the compressed classic protocol.
+ * <p>
+ * Each compressed packet is compressed and decompressed independently, so implementations only need to support one-shot compression of a packet made of
+ * several input chunks. Codecs are identified by the name the algorithm has in the server's "protocol_compression_algorithms" system variable, e.g., "zlib"
+ * or "zstd". Built-in codecs can be replaced by classes listed in the connection property "compressionCodecs" that report the same algorithm name.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Returns the name of the compression algorithm implemented by this codec.
+     *
+     * @return
+     *         the algorithm name, e.g., "zlib" or "zstd".
+     */
+    String getAlgorithmName();
+
+    /**
+     * Creates a new compressor. Compressors are used by a single connection and are not required to be thread safe.
+     *
+     * @param level
+     *            the compression level, in the algorithm's own scale.
+     * @return
+     *         a new {@link Compressor}.
+     */
+    Compressor createCompressor(int level);
+
+    /**
+     * Creates a new decompressor. Decompressors are used by a single connection and are not required to be thread safe.
+     *
+     * @return
+     *         a new {@link Decompressor}.
+     */
+    Decompressor createDecompressor();
+
+    /**
+     * Compresses one packet at a time: {@link #begin(byte[], int, int)}, any number of {@link #update(byte[], int, int)} and finally {@link #finish()}.
+     */
+    interface Compressor {
+
+        /**
+         * Starts compressing a new packet into the given output buffer region.
+         *
+         * @param out
+         *            the output buffer.
+         * @param off
+         *            the offset where to start writing compressed data.
+         * @param len
+         *            the number of bytes available for compressed data.
+         */
+        void begin(byte[] out, int off, int len);
+
+        /**
+         * Adds uncompressed data to the current packet. The input buffer may be reused by the caller as soon as this method returns.
+         *
+         * @param in
+         *            the data to compress.
+         * @param off
+         *            the data offset.
+         * @param len
+         *            the data length.
+         */
+        void update(byte[] in, int off, int len);
+
+        /**
+         * Completes the compression of the current packet.
+         *
+         * @return
+         *         the number of compressed bytes written to the output buffer, or -1 if the compressed data doesn't fit in it.
+         */
+        int finish();
+
+        /**
+         * Releases the resources held by this compressor.
+         */
+        void end();
+
+    }
+
+    /**
+     * Decompresses one packet at a time.
+     */
+    interface Decompressor {
+
+        /**
+         * Decompresses a whole packet.
+         *
+         * @param in
+         *            the compressed data.
+         * @param off
+         *            the compressed data offset.
+         * @param len
+         *            the compressed data length.
+         * @param out
+         *            the output buffer.
+         * @param outOff
+         *            the offset where to start writing uncompressed data.
+         * @param outLen
+         *            the expected uncompressed length.
+         * @throws IOException
+         *             if the compressed data is corrupted or doesn't decompress to the expected length.
+         */
+        void decompress(byte[] in, int off, int len, byte[] out, int outOff, int outLen) throws IOException;
+
+        /**
+         * Releases the resources held by this decompressor.
+         */
+        void end();
+
+    }
+
+}
@@ -72,6 +72,13 @@ public interface ResultsetRows extends RowList, ProtocolEntity {
     default void close() {
     }
 
+    /**
+     * Returns the packet buffers still referenced by the rows to the connection's buffer pool. Called by the owner once it is closed; the rows must not be
+     * accessed afterwards.
+     */
+    default void releaseBuffers() {
+    }
+
     /**
      * Returns the result set that 'owns' this RowData
      *
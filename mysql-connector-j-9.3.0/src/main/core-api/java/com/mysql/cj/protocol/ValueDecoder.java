@@ -20,6 +20,9 @@
 
 package com.mysql.cj.protocol;
 
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.CJOperationNotSupportedException;
+import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.ValueFactory;
 
@@ -69,4 +72,62 @@ public interface ValueDecoder {
 
     <T> T decodeYear(byte[] bytes, int offset, int length, ValueFactory<T> vf);
 
+    /**
+     * Can a value of the given column be decoded by {@link #decodeAsLong(byte[], int, int, Field)} without involving a {@link ValueFactory}?
+     *
+     * @param f
+     *            column metadata
+     * @return true if the primitive decoding is supported for this column
+     */
+    default boolean canDecodeAsLong(Field f) {
+        return false;
+    }
+
+    /**
+     * Can a value of the given column be decoded by {@link #decodeAsDouble(byte[], int, int, Field)} without involving a {@link ValueFactory}?
+     *
+     * @param f
+     *            column metadata
+     * @return true if the primitive decoding is supported for this column
+     */
+    default boolean canDecodeAsDouble(Field f) {
+        return false;
+    }
+
+    /**
+     * Decode a non-NULL integer value directly to a primitive, without creating intermediate objects. Only valid for columns accepted by
+     * {@link #canDecodeAsLong(Field)}.
+     *
+     * @param bytes
+     *            bytes array with result data
+     * @param offset
+     *            offset in array
+     * @param length
+     *            data length
+     * @param f
+     *            column metadata
+     * @return decoded value
+     */
+    default long decodeAsLong(byte[] bytes, int offset, int length, Field f) {
+        throw ExceptionFactory.createException(CJOperationNotSupportedException.class, Messages.getString("OperationNotSupportedException.0"));
+    }
+
+    /**
+     * Decode a non-NULL numeric value directly to a primitive, without creating intermediate objects. Only valid for columns accepted by
+     * {@link #canDecodeAsDouble(Field)}.
+     *
+     * @param bytes
+     *            bytes array with result data
+     * @param offset
+     *            offset in array
+     * @param length
+     *            data length
+     * @param f
+     *            column metadata
+     * @return decoded value
+     */
+    default double decodeAsDouble(byte[] bytes, int offset, int length, Field f) {
+        throw ExceptionFactory.createException(CJOperationNotSupportedException.class, Messages.getString("OperationNotSupportedException.0"));
+    }
+
 }
@@ -91,6 +91,52 @@ public interface Row extends ProtocolEntity {
      */
     boolean getNull(int columnIndex);
 
+    /**
+     * Can the value of the given column be read with {@link #getLong(int)}, straight from the row data and without creating any objects?
+     *
+     * @param columnIndex
+     *            index of column (starting at 0)
+     * @return true if {@link #getLong(int)} may be used for this column
+     */
+    default boolean canDecodeAsLong(int columnIndex) {
+        return false;
+    }
+
+    /**
+     * Can the value of the given column be read with {@link #getDouble(int)}, straight from the row data and without creating any objects?
+     *
+     * @param columnIndex
+     *            index of column (starting at 0)
+     * @return true if {@link #getDouble(int)} may be used for this column
+     */
+    default boolean canDecodeAsDouble(int columnIndex) {
+        return false;
+    }
+
+    /**
+     * Decode the value of the given column as a primitive long and update the 'wasNull' status. Only valid for columns accepted by
+     * {@link #canDecodeAsLong(int)}.
+     *
+     * @param columnIndex
+     *            index of column (starting at 0)
+     * @return the value for the given column; if the value is SQL <code>NULL</code>, the value returned is 0
+     */
+    default long getLong(int columnIndex) {
+        throw ExceptionFactory.createException(CJOperationNotSupportedException.class, Messages.getString("OperationNotSupportedException.0"));
+    }
+
+    /**
+     * Decode the value of the given column as a primitive double and update the 'wasNull' status. Only valid for columns accepted by
+     * {@link #canDecodeAsDouble(int)}.
+     *
+     * @param columnIndex
+     *            index of column (starting at 0)
+     * @return the value for the given column; if the value is SQL <code>NULL</code>, the value returned is 0
+     */
+    default double getDouble(int columnIndex) {
+        throw ExceptionFactory.createException(CJOperationNotSupportedException.class, Messages.getString("OperationNotSupportedException.0"));
+    }
+
     /**
      * Was the last value retrieved a NULL value?
      *
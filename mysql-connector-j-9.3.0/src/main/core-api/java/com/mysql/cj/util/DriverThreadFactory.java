@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import com.mysql.cj.conf.PropertyDefinitions;
+
+/**
+ * Creates the background threads started by the driver, such as the ones cancelling timed out queries.
+ * <p>
+ * When the system property {@value PropertyDefinitions#SYSP_useVirtualThreads} is set to "true" and the running JVM supports virtual threads (Java 21 or
+ * later), virtual threads are created so that applications running one connection per virtual thread don't need a platform thread per connection for the
+ * driver housekeeping. Otherwise, daemon platform threads are created. Virtual threads are looked up reflectively as the driver must still run on Java 8.
+ */
+public class DriverThreadFactory implements ThreadFactory {
+
+    private static final boolean useVirtualThreads = Boolean.getBoolean(PropertyDefinitions.SYSP_useVirtualThreads) && isVirtualThreadSupported();
+
+    private final String name;
+    private final ThreadFactory virtualThreadFactory;
+
+    /**
+     * Constructs a factory of threads with the given name.
+     *
+     * @param name
+     *            name given to all the created threads
+     */
+    public DriverThreadFactory(String name) {
+        this.name = name;
+        this.virtualThreadFactory = useVirtualThreads ? newVirtualThreadFactory(name) : null;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        if (this.virtualThreadFactory != null) {
+            return this.virtualThreadFactory.newThread(r);
+        }
+        Thread t = new Thread(r, this.name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    /**
+     * Whether this factory creates virtual threads.
+     *
+     * @return true if the created threads are virtual threads
+     */
+    public boolean createsVirtualThreads() {
+        return this.virtualThreadFactory != null;
+    }
+
+    /**
+     * Checks if the running JVM supports virtual threads.
+     *
+     * @return true if virtual threads can be created
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a factory of virtual threads, as returned by <code>Thread.ofVirtual().name(name).factory()</code>.
+     *
+     * @param name
+     *            name given to all the created threads
+     * @return a {@link ThreadFactory} creating virtual threads
+     * @throws UnsupportedOperationException
+     *             if the running JVM doesn't support virtual threads
+     */
+    public static ThreadFactory newVirtualThreadFactory(String name) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class).invoke(builder, name);
+            Method factory = builderClass.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException | SecurityException e) {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this JVM.", e);
+        }
+    }
+
+}
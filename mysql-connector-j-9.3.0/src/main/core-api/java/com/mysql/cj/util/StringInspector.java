@@ -477,6 +477,17 @@ public class StringInspector {
         return -1;
     }
 
+    /**
+     * Returns the position of the next closing marker corresponding to the opening marker in the current position, and moves the current position there.
+     * If the current position is not an opening marker, then the current position is returned instead.
+     *
+     * @return
+     *         the position of the next closing marker corresponding to the opening marker in the current position, or the stop position if there is none
+     */
+    public int indexOfClosingMarker() {
+        return indexOfClosingMarker(this.defaultSearchMode);
+    }
+
     /**
      * Returns the position of the next closing marker corresponding to the opening marker in the current position.
      * If the current position is not an opening marker, then -1 is returned instead.
@@ -33,6 +33,7 @@ import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.CJTimeoutException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.OperationCancelledException;
+import com.mysql.cj.log.DigestStatistics;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.Resultset;
@@ -115,6 +116,11 @@ public abstract class AbstractQuery implements Query {
         this.executeTime = executeTime;
     }
 
+    @Override
+    public DigestStatistics getDigestStatistics() {
+        return null;
+    }
+
     @Override
     public void checkCancelTimeout() {
         this.cancelTimeoutLock.lock();
@@ -219,7 +225,7 @@ public abstract class AbstractQuery implements Query {
     public CancelQueryTask startQueryTimer(Query stmtToCancel, long timeout) {
         if (this.session.getPropertySet().getBooleanProperty(PropertyKey.enableQueryTimeouts).getValue() && timeout != 0) {
             CancelQueryTaskImpl timeoutTask = new CancelQueryTaskImpl(stmtToCancel);
-            this.session.getCancelTimer().schedule(timeoutTask, timeout);
+            timeoutTask.schedule(timeout);
             return timeoutTask;
         }
         return null;
@@ -235,10 +241,6 @@ public abstract class AbstractQuery implements Query {
                 throw ExceptionFactory.createException(t.getMessage(), t);
             }
 
-            if (this.session != null) {
-                this.session.getCancelTimer().purge();
-            }
-
             if (checkCancelTimeout) {
                 checkCancelTimeout();
             }
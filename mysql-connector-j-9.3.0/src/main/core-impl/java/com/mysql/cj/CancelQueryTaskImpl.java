@@ -21,6 +21,10 @@
 package com.mysql.cj;
 
 import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import com.mysql.cj.Query.CancelStatus;
 import com.mysql.cj.conf.HostInfo;
@@ -31,19 +35,40 @@ import com.mysql.cj.telemetry.TelemetryAttribute;
 import com.mysql.cj.telemetry.TelemetryScope;
 import com.mysql.cj.telemetry.TelemetrySpan;
 import com.mysql.cj.telemetry.TelemetrySpanName;
+import com.mysql.cj.util.DriverThreadFactory;
 
 //TODO should not be protocol-specific
 
 /**
- * Thread used to implement query timeouts...Eventually we could be more
- * efficient and have one thread with timers, but this is a straightforward
- * and simple way to implement a feature that isn't used all that often.
+ * Task used to implement query timeouts. Tasks from all sessions are scheduled in a single, JVM-wide, scheduler whose thread exits when idle. When a task
+ * fires, the query is killed from a separate thread, which is a virtual thread if enabled in {@link DriverThreadFactory}.
+ * <p>
+ * It is still a {@link TimerTask} so that callers scheduling it in the deprecated {@link NativeSession#getCancelTimer()} keep working.
  */
 public class CancelQueryTaskImpl extends TimerTask implements CancelQueryTask {
 
+    private static final ThreadFactory cancelThreadFactory = new DriverThreadFactory("MySQL Statement Cancellation");
+
+    /**
+     * Lazily initialized holder of the scheduler so that no thread is created before the first query timeout is set.
+     */
+    private static class SchedulerHolder {
+
+        static final ScheduledThreadPoolExecutor scheduler;
+
+        static {
+            scheduler = new ScheduledThreadPoolExecutor(1, new DriverThreadFactory("MySQL Statement Cancellation Timer"));
+            scheduler.setRemoveOnCancelPolicy(true);
+            scheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+            scheduler.allowCoreThreadTimeOut(true);
+        }
+
+    }
+
     Query queryToCancel;
     Throwable caughtWhileCancelling = null;
     boolean queryTimeoutKillsConnection = false;
+    private volatile ScheduledFuture<?> scheduledFuture = null;
 
     public CancelQueryTaskImpl(Query cancellee) {
         this.queryToCancel = cancellee;
@@ -51,16 +76,28 @@ public class CancelQueryTaskImpl extends TimerTask implements CancelQueryTask {
         this.queryTimeoutKillsConnection = session.getPropertySet().getBooleanProperty(PropertyKey.queryTimeoutKillsConnection).getValue();
     }
 
+    /**
+     * Schedules this task to cancel the query after the given timeout.
+     *
+     * @param timeoutMillis
+     *            timeout in milliseconds
+     */
+    public void schedule(long timeoutMillis) {
+        this.scheduledFuture = SchedulerHolder.scheduler.schedule(this, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
     @Override
     public boolean cancel() {
         boolean res = super.cancel();
+        ScheduledFuture<?> future = this.scheduledFuture;
+        res |= future != null && future.cancel(false);
         this.queryToCancel = null;
         return res;
     }
 
     @Override
     public void run() {
-        Thread cancelThread = new Thread() {
+        Thread cancelThread = cancelThreadFactory.newThread(new Runnable() {
 
             @Override
             public void run() {
@@ -69,7 +106,7 @@ public class CancelQueryTaskImpl extends TimerTask implements CancelQueryTask {
                     return;
                 }
                 NativeSession session = (NativeSession) localQueryToCancel.getSession();
-                if (session == null) {
+                if (session == null || session.isClosed()) {
                     return;
                 }
 
@@ -141,7 +178,7 @@ public class CancelQueryTaskImpl extends TimerTask implements CancelQueryTask {
                 }
             }
 
-        };
+        });
 
         cancelThread.start();
     }
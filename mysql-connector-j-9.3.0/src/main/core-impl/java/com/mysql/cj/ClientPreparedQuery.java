@@ -24,6 +24,8 @@ import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.log.DigestStatistics;
+import com.mysql.cj.log.StatementDigestRegistry;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.util.StringUtils;
 
@@ -45,6 +47,9 @@ public class ClientPreparedQuery extends AbstractQuery implements PreparedQuery
     protected RuntimeProperty<Boolean> autoClosePStmtStreams;
     protected RuntimeProperty<Boolean> useStreamLengthsInPrepStmts;
 
+    /** Looked up on first execution. */
+    private DigestStatistics digestStatistics = null;
+
     public ClientPreparedQuery(NativeSession sess) {
         super(sess);
         this.autoClosePStmtStreams = this.session.getPropertySet().getBooleanProperty(PropertyKey.autoClosePStmtStreams);
@@ -74,6 +79,15 @@ public class ClientPreparedQuery extends AbstractQuery implements PreparedQuery
     @Override
     public void setOriginalSql(String originalSql) {
         this.originalSql = originalSql;
+        this.digestStatistics = null;
+    }
+
+    @Override
+    public DigestStatistics getDigestStatistics() {
+        if (this.digestStatistics == null && this.originalSql != null) {
+            this.digestStatistics = StatementDigestRegistry.forSql(this.originalSql, this.session.getServerSession().isNoBackslashEscapesSet());
+        }
+        return this.digestStatistics;
     }
 
     @Override
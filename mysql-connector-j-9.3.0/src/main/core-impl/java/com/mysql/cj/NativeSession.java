@@ -62,11 +62,13 @@ import com.mysql.cj.protocol.Resultset;
 import com.mysql.cj.protocol.Resultset.Type;
 import com.mysql.cj.protocol.SocketConnection;
 import com.mysql.cj.protocol.SocketFactory;
+import com.mysql.cj.protocol.StandardSocketFactory;
 import com.mysql.cj.protocol.a.NativeMessageBuilder;
 import com.mysql.cj.protocol.a.NativePacketPayload;
 import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.protocol.a.NativeServerSession;
 import com.mysql.cj.protocol.a.NativeSocketConnection;
+import com.mysql.cj.protocol.a.NioSocketConnection;
 import com.mysql.cj.protocol.a.ResultsetFactory;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.LongValueFactory;
@@ -106,6 +108,7 @@ public class NativeSession extends CoreSession implements Serializable {
 
     private CopyOnWriteArrayList<WeakReference<SessionEventListener>> listeners = new CopyOnWriteArrayList<>();
 
+    /** Only created if requested through the deprecated {@link #getCancelTimer()}. */
     private transient Timer cancelTimer;
 
     public NativeSession(HostInfo hostInfo, PropertySet propSet) {
@@ -138,7 +141,10 @@ public class NativeSession extends CoreSession implements Serializable {
         setSessionMaxRows(-1);
 
         // TODO do we need different types of physical connections?
-        SocketConnection socketConnection = new NativeSocketConnection();
+        SocketConnection socketConnection = this.propertySet.getBooleanProperty(PropertyKey.useNioSocketChannel).getValue()
+                && StandardSocketFactory.class.getName().equals(this.propertySet.getStringProperty(PropertyKey.socketFactory).getValue())
+                        ? new NioSocketConnection()
+                        : new NativeSocketConnection();
         socketConnection.connect(this.hostInfo.getHost(), this.hostInfo.getPort(), this.propertySet, getExceptionInterceptor(), this.log, loginTimeout);
 
         // we use physical connection to create a -> protocol
@@ -156,7 +162,7 @@ public class NativeSession extends CoreSession implements Serializable {
 
         this.isClosed = false;
 
-        this.commandBuilder = new NativeMessageBuilder(getServerSession().supportsQueryAttributes());
+        this.commandBuilder = new NativeMessageBuilder(getServerSession().supportsQueryAttributes(), ((NativeProtocol) this.protocol).getPayloadPool());
     }
 
     // TODO: this method should not be used in user-level APIs
@@ -795,7 +801,6 @@ public class NativeSession extends CoreSession implements Serializable {
      */
     public <T extends Resultset> T execSQL(Query callingQuery, String query, int maxRows, NativePacketPayload packet, boolean streamResults,
             ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory, ColumnDefinition cachedMetadata, boolean isBatch) {
-        long queryStartTime = this.gatherPerfMetrics.getValue() ? System.currentTimeMillis() : 0;
         int endOfQueryPacketPosition = packet != null ? packet.getPosition() : 0;
 
         this.lastQueryFinishedTime = 0; // we're busy!
@@ -810,9 +815,11 @@ public class NativeSession extends CoreSession implements Serializable {
             }
         }
 
+        boolean releasePacket = false;
         try {
             if (packet == null) {
                 packet = this.commandBuilder.buildComQuery(null, this, query, callingQuery, this.characterEncoding.getValue());
+                releasePacket = true;
             }
             return ((NativeProtocol) this.protocol).sendQueryPacket(callingQuery, packet, maxRows, streamResults, cachedMetadata, resultSetFactory);
 
@@ -855,8 +862,8 @@ public class NativeSession extends CoreSession implements Serializable {
                 this.lastQueryFinishedTime = System.currentTimeMillis();
             }
 
-            if (this.gatherPerfMetrics.getValue()) {
-                ((NativeProtocol) this.protocol).getMetricsHolder().registerQueryExecutionTime(System.currentTimeMillis() - queryStartTime);
+            if (releasePacket) {
+                packet.release();
             }
         }
     }
@@ -993,6 +1000,14 @@ public class NativeSession extends CoreSession implements Serializable {
         return this.protocol != null && this.protocol.getServerSession().useAnsiQuotedIdentifiers() ? "\"" : "`";
     }
 
+    /**
+     * Returns a timer owned by this session, cancelled when the session is closed.
+     *
+     * @return {@link Timer}
+     * @deprecated Query timeouts are no longer scheduled in a per-session timer but in a JVM-wide scheduler shared by all sessions, see
+     *             {@link CancelQueryTaskImpl}. This timer isn't used by the driver anymore and is only created on demand for existing callers.
+     */
+    @Deprecated
     public Timer getCancelTimer() {
         getSessionLock().lock();
         try {
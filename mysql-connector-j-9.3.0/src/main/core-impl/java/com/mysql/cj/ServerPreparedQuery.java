@@ -32,7 +32,9 @@ import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.log.DigestStatistics.ExecutionType;
 import com.mysql.cj.log.ProfilerEvent;
+import com.mysql.cj.log.StatementDigestRegistry;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
@@ -44,6 +46,7 @@ import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.NativeMessageBuilder;
 import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.telemetry.TelemetryAttribute;
 import com.mysql.cj.telemetry.TelemetryScope;
@@ -82,6 +85,8 @@ public class ServerPreparedQuery extends ClientPreparedQuery {
     protected RuntimeProperty<Integer> slowQueryThresholdMillis;
 
     protected RuntimeProperty<Boolean> explainSlowQueries;
+
+    protected RuntimeProperty<Boolean> gatherStatementDigests;
     protected boolean useCursorFetch = false;
 
     protected boolean queryWasSlow = false;
@@ -103,6 +108,7 @@ public class ServerPreparedQuery extends ClientPreparedQuery {
         this.useAutoSlowLog = sess.getPropertySet().getBooleanProperty(PropertyKey.autoSlowLog).getValue();
         this.slowQueryThresholdMillis = sess.getPropertySet().getIntegerProperty(PropertyKey.slowQueryThresholdMillis);
         this.explainSlowQueries = sess.getPropertySet().getBooleanProperty(PropertyKey.explainSlowQueries);
+        this.gatherStatementDigests = sess.getPropertySet().getBooleanProperty(PropertyKey.gatherStatementDigests);
         this.useCursorFetch = sess.getPropertySet().getBooleanProperty(PropertyKey.useCursorFetch).getValue();
         this.commandBuilder = (NativeMessageBuilder) sess.getProtocol().getMessageBuilder();
     }
@@ -193,8 +199,22 @@ public class ServerPreparedQuery extends ClientPreparedQuery {
             }
         }
         String queryAsString = this.profileSQL || this.logSlowQueries || this.gatherPerfMetrics ? asSql() : "";
-        return readExecuteResult(sendExecutePacket(prepareExecutePacket(), queryAsString), maxRowsToRetrieve, createStreamingResultSet, metadata,
-                resultSetFactory, queryAsString);
+
+        NativeProtocol protocol = this.session.getProtocol();
+        final long beginNanos = System.nanoTime();
+        final long bytesSentBefore = protocol.getBytesSent();
+        final long bytesReceivedBefore = protocol.getBytesReceived();
+        T rs = null;
+        try {
+            rs = readExecuteResult(sendExecutePacket(prepareExecutePacket(), queryAsString), maxRowsToRetrieve, createStreamingResultSet, metadata,
+                    resultSetFactory, queryAsString);
+            return rs;
+        } finally {
+            if (this.gatherStatementDigests.getValue()) {
+                StatementDigestRegistry.record(getDigestStatistics(), ExecutionType.SERVER_PREPARED, System.nanoTime() - beginNanos,
+                        protocol.getBytesSent() - bytesSentBefore, protocol.getBytesReceived() - bytesReceivedBefore, rs);
+            }
+        }
     }
 
     public NativePacketPayload prepareExecutePacket() {
@@ -262,6 +282,7 @@ public class ServerPreparedQuery extends ClientPreparedQuery {
 
     public NativePacketPayload sendExecutePacket(NativePacketPayload packet, String queryAsString) { // TODO queryAsString should be shared instead of passed
         final long begin = this.session.getCurrentTimeNanosOrMillis();
+        final long beginNanos = System.nanoTime();
         resetCancelledState();
         CancelQueryTask timeoutTask = null;
         try {
@@ -272,6 +293,8 @@ public class ServerPreparedQuery extends ClientPreparedQuery {
 
             NativePacketPayload resultPacket = this.session.getProtocol().sendCommand(packet, false, 0);
 
+            this.session.getProtocol().getMetricsHolder().registerQueryLatency(System.nanoTime() - beginNanos);
+
             final long queryEndTime = this.session.getCurrentTimeNanosOrMillis();
 
             if (timeoutTask != null) {
@@ -295,7 +318,6 @@ public class ServerPreparedQuery extends ClientPreparedQuery {
             }
 
             if (this.gatherPerfMetrics) {
-                this.session.getProtocol().getMetricsHolder().registerQueryExecutionTime(executeTime);
                 this.session.getProtocol().getMetricsHolder().incrementNumberOfPreparedExecutes();
             }
 
@@ -20,325 +20,119 @@
 
 package com.mysql.cj.log;
 
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Metrics of a connection.
+ * <p>
+ * Query latencies are always recorded, in nanoseconds, in a {@link LogLinearHistogram} of the connection as well as in the {@link QueryLatencyRegistry}. The
+ * other counters are only updated if 'gatherPerfMetrics' is enabled, and all are reported when the connection closes in that case.
+ */
 public class BaseMetricsHolder {
 
-    private final static int HISTOGRAM_BUCKETS = 20;
-
-    /**
-     * If gathering metrics, what was the execution time of the longest query so
-     * far ?
-     */
-    private long longestQueryTimeMs = 0;
-
-    private long maximumNumberTablesAccessed = 0;
-
-    private long minimumNumberTablesAccessed = Long.MAX_VALUE;
-
-    /** When was the last time we reported metrics? */
-    //private long metricsLastReportedMs;
-
-    private long numberOfPreparedExecutes = 0;
-
-    private long numberOfPrepares = 0;
-
-    private long numberOfQueriesIssued = 0;
-
-    private long numberOfResultSetsCreated = 0;
-
-    private long[] numTablesMetricsHistBreakpoints;
-
-    private int[] numTablesMetricsHistCounts;
+    private static final double[] REPORTED_PERCENTILES = { 50, 75, 90, 95, 99, 99.9 };
 
-    private long[] oldHistBreakpoints = null;
+    private final LogLinearHistogram queryLatency = new LogLinearHistogram(2);
 
-    private int[] oldHistCounts = null;
+    private final LogLinearHistogram tablesAccessed = new LogLinearHistogram(1);
 
-    private long shortestQueryTimeMs = Long.MAX_VALUE;
+    private final LongAdder numberOfPreparedExecutes = new LongAdder();
 
-    private double totalQueryTimeMs = 0;
+    private final LongAdder numberOfPrepares = new LongAdder();
 
-    private long[] perfMetricsHistBreakpoints;
-
-    private int[] perfMetricsHistCounts;
+    private final LongAdder numberOfResultSetsCreated = new LongAdder();
 
+    private final Lock queryTimeLock = new ReentrantLock();
     private long queryTimeCount;
     private double queryTimeSum;
     private double queryTimeSumSquares;
     private double queryTimeMean;
 
-    private void createInitialHistogram(long[] breakpoints, long lowerBound, long upperBound) {
-        double bucketSize = ((double) upperBound - (double) lowerBound) / HISTOGRAM_BUCKETS * 1.25;
-
-        if (bucketSize < 1) {
-            bucketSize = 1;
-        }
-
-        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
-            breakpoints[i] = lowerBound;
-            lowerBound += bucketSize;
-        }
-    }
-
-    private void addToHistogram(int[] histogramCounts, long[] histogramBreakpoints, long value, int numberOfTimes, long currentLowerBound,
-            long currentUpperBound) {
-        if (histogramCounts == null) {
-            createInitialHistogram(histogramBreakpoints, currentLowerBound, currentUpperBound);
-        } else {
-            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
-                if (histogramBreakpoints[i] >= value) {
-                    histogramCounts[i] += numberOfTimes;
-
-                    break;
-                }
-            }
-        }
-    }
-
-    private void addToPerformanceHistogram(long value, int numberOfTimes) {
-        checkAndCreatePerformanceHistogram();
-
-        addToHistogram(this.perfMetricsHistCounts, this.perfMetricsHistBreakpoints, value, numberOfTimes,
-                this.shortestQueryTimeMs == Long.MAX_VALUE ? 0 : this.shortestQueryTimeMs, this.longestQueryTimeMs);
-    }
-
-    private void addToTablesAccessedHistogram(long value, int numberOfTimes) {
-        checkAndCreateTablesAccessedHistogram();
-
-        addToHistogram(this.numTablesMetricsHistCounts, this.numTablesMetricsHistBreakpoints, value, numberOfTimes,
-                this.minimumNumberTablesAccessed == Long.MAX_VALUE ? 0 : this.minimumNumberTablesAccessed, this.maximumNumberTablesAccessed);
-    }
-
-    private void checkAndCreatePerformanceHistogram() {
-        if (this.perfMetricsHistCounts == null) {
-            this.perfMetricsHistCounts = new int[HISTOGRAM_BUCKETS];
-        }
-
-        if (this.perfMetricsHistBreakpoints == null) {
-            this.perfMetricsHistBreakpoints = new long[HISTOGRAM_BUCKETS];
-        }
-    }
-
-    private void checkAndCreateTablesAccessedHistogram() {
-        if (this.numTablesMetricsHistCounts == null) {
-            this.numTablesMetricsHistCounts = new int[HISTOGRAM_BUCKETS];
-        }
-
-        if (this.numTablesMetricsHistBreakpoints == null) {
-            this.numTablesMetricsHistBreakpoints = new long[HISTOGRAM_BUCKETS];
-        }
-    }
-
     /**
-     * @param queryTimeMs
-     *            query execution time in milliseconds
+     * Records the latency of a query, from the moment it is sent until the first packet of the response is received.
+     *
+     * @param nanos
+     *            the query latency in nanoseconds
      */
-    public void registerQueryExecutionTime(long queryTimeMs) {
-        if (queryTimeMs > this.longestQueryTimeMs) {
-            this.longestQueryTimeMs = queryTimeMs;
-
-            repartitionPerformanceHistogram();
-        }
-
-        addToPerformanceHistogram(queryTimeMs, 1);
-
-        if (queryTimeMs < this.shortestQueryTimeMs) {
-            this.shortestQueryTimeMs = queryTimeMs == 0 ? 1 : queryTimeMs;
-        }
-
-        this.numberOfQueriesIssued++;
-
-        this.totalQueryTimeMs += queryTimeMs;
-    }
-
-    private void repartitionHistogram(int[] histCounts, long[] histBreakpoints, long currentLowerBound, long currentUpperBound) {
-        if (this.oldHistCounts == null) {
-            this.oldHistCounts = new int[histCounts.length];
-            this.oldHistBreakpoints = new long[histBreakpoints.length];
-        }
-
-        System.arraycopy(histCounts, 0, this.oldHistCounts, 0, histCounts.length);
-
-        System.arraycopy(histBreakpoints, 0, this.oldHistBreakpoints, 0, histBreakpoints.length);
-
-        createInitialHistogram(histBreakpoints, currentLowerBound, currentUpperBound);
-
-        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
-            addToHistogram(histCounts, histBreakpoints, this.oldHistBreakpoints[i], this.oldHistCounts[i], currentLowerBound, currentUpperBound);
-        }
+    public void registerQueryLatency(long nanos) {
+        this.queryLatency.record(nanos);
+        QueryLatencyRegistry.record(nanos);
     }
 
-    private void repartitionPerformanceHistogram() {
-        checkAndCreatePerformanceHistogram();
-
-        repartitionHistogram(this.perfMetricsHistCounts, this.perfMetricsHistBreakpoints,
-                this.shortestQueryTimeMs == Long.MAX_VALUE ? 0 : this.shortestQueryTimeMs, this.longestQueryTimeMs);
-    }
-
-    private void repartitionTablesAccessedHistogram() {
-        checkAndCreateTablesAccessedHistogram();
-
-        repartitionHistogram(this.numTablesMetricsHistCounts, this.numTablesMetricsHistBreakpoints,
-                this.minimumNumberTablesAccessed == Long.MAX_VALUE ? 0 : this.minimumNumberTablesAccessed, this.maximumNumberTablesAccessed);
+    /**
+     * Returns the latencies, in nanoseconds, of the queries executed on this connection.
+     *
+     * @return a {@link LogLinearHistogram.Snapshot}
+     */
+    public LogLinearHistogram.Snapshot getQueryLatency() {
+        return this.queryLatency.getSnapshot();
     }
 
     public void reportMetrics(Log log) {
+        LogLinearHistogram.Snapshot latency = this.queryLatency.getSnapshot();
+
         StringBuilder logMessage = new StringBuilder(256);
 
         logMessage.append("** Performance Metrics Report **\n");
-        logMessage.append("\nLongest reported query: " + this.longestQueryTimeMs + " ms");
-        logMessage.append("\nShortest reported query: " + this.shortestQueryTimeMs + " ms");
-        logMessage.append("\nAverage query execution time: " + this.totalQueryTimeMs / this.numberOfQueriesIssued + " ms");
-        logMessage.append("\nNumber of statements executed: " + this.numberOfQueriesIssued);
-        logMessage.append("\nNumber of result sets created: " + this.numberOfResultSetsCreated);
-        logMessage.append("\nNumber of statements prepared: " + this.numberOfPrepares);
-        logMessage.append("\nNumber of prepared statement executions: " + this.numberOfPreparedExecutes);
-
-        if (this.perfMetricsHistBreakpoints != null) {
-            logMessage.append("\n\n\tTiming Histogram:\n");
-            int maxNumPoints = 20;
-            int highestCount = Integer.MIN_VALUE;
-
-            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
-                if (this.perfMetricsHistCounts[i] > highestCount) {
-                    highestCount = this.perfMetricsHistCounts[i];
-                }
-            }
-
-            if (highestCount == 0) {
-                highestCount = 1; // avoid DIV/0
-            }
-
-            for (int i = 0; i < HISTOGRAM_BUCKETS - 1; i++) {
-
-                if (i == 0) {
-                    logMessage.append("\n\tless than " + this.perfMetricsHistBreakpoints[i + 1] + " ms: \t" + this.perfMetricsHistCounts[i]);
-                } else {
-                    logMessage.append("\n\tbetween " + this.perfMetricsHistBreakpoints[i] + " and " + this.perfMetricsHistBreakpoints[i + 1] + " ms: \t"
-                            + this.perfMetricsHistCounts[i]);
-                }
-
-                logMessage.append("\t");
-
-                int numPointsToGraph = (int) (maxNumPoints * ((double) this.perfMetricsHistCounts[i] / highestCount));
-
-                for (int j = 0; j < numPointsToGraph; j++) {
-                    logMessage.append("*");
-                }
-
-                if (this.longestQueryTimeMs < this.perfMetricsHistCounts[i + 1]) {
-                    break;
-                }
-            }
-
-            if (this.perfMetricsHistBreakpoints[HISTOGRAM_BUCKETS - 2] < this.longestQueryTimeMs) {
-                logMessage.append("\n\tbetween ");
-                logMessage.append(this.perfMetricsHistBreakpoints[HISTOGRAM_BUCKETS - 2]);
-                logMessage.append(" and ");
-                logMessage.append(this.perfMetricsHistBreakpoints[HISTOGRAM_BUCKETS - 1]);
-                logMessage.append(" ms: \t");
-                logMessage.append(this.perfMetricsHistCounts[HISTOGRAM_BUCKETS - 1]);
+        logMessage.append("\nLongest reported query: " + toMicros(latency.getMax()) + " us");
+        logMessage.append("\nShortest reported query: " + toMicros(latency.getMin()) + " us");
+        logMessage.append("\nAverage query execution time: " + toMicros(Math.round(latency.getMean())) + " us");
+        logMessage.append("\nNumber of statements executed: " + latency.getCount());
+        logMessage.append("\nNumber of result sets created: " + this.numberOfResultSetsCreated.sum());
+        logMessage.append("\nNumber of statements prepared: " + this.numberOfPrepares.sum());
+        logMessage.append("\nNumber of prepared statement executions: " + this.numberOfPreparedExecutes.sum());
+
+        if (latency.getCount() > 0) {
+            logMessage.append("\n\n\tQuery Time Percentiles:\n");
+            for (double percentile : REPORTED_PERCENTILES) {
+                logMessage.append("\n\t" + percentile + "%: \t" + toMicros(latency.getValueAtPercentile(percentile)) + " us");
             }
         }
 
-        if (this.numTablesMetricsHistBreakpoints != null) {
-            logMessage.append("\n\n\tTable Join Histogram:\n");
-            int maxNumPoints = 20;
-            int highestCount = Integer.MIN_VALUE;
-
-            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
-                if (this.numTablesMetricsHistCounts[i] > highestCount) {
-                    highestCount = this.numTablesMetricsHistCounts[i];
-                }
-            }
-
-            if (highestCount == 0) {
-                highestCount = 1; // avoid DIV/0
-            }
-
-            for (int i = 0; i < HISTOGRAM_BUCKETS - 1; i++) {
-
-                if (i == 0) {
-                    logMessage.append("\n\t" + this.numTablesMetricsHistBreakpoints[i + 1] + " tables or less: \t\t" + this.numTablesMetricsHistCounts[i]);
-                } else {
-                    logMessage.append("\n\tbetween " + this.numTablesMetricsHistBreakpoints[i] + " and " + this.numTablesMetricsHistBreakpoints[i + 1]
-                            + " tables: \t" + this.numTablesMetricsHistCounts[i]);
-                }
-
-                logMessage.append("\t");
-
-                int numPointsToGraph = (int) (maxNumPoints * ((double) this.numTablesMetricsHistCounts[i] / highestCount));
-
-                for (int j = 0; j < numPointsToGraph; j++) {
-                    logMessage.append("*");
-                }
-
-                if (this.maximumNumberTablesAccessed < this.numTablesMetricsHistBreakpoints[i + 1]) {
-                    break;
-                }
-            }
-
-            if (this.numTablesMetricsHistBreakpoints[HISTOGRAM_BUCKETS - 2] < this.maximumNumberTablesAccessed) {
-                logMessage.append("\n\tbetween ");
-                logMessage.append(this.numTablesMetricsHistBreakpoints[HISTOGRAM_BUCKETS - 2]);
-                logMessage.append(" and ");
-                logMessage.append(this.numTablesMetricsHistBreakpoints[HISTOGRAM_BUCKETS - 1]);
-                logMessage.append(" tables: ");
-                logMessage.append(this.numTablesMetricsHistCounts[HISTOGRAM_BUCKETS - 1]);
+        LogLinearHistogram.Snapshot tables = this.tablesAccessed.getSnapshot();
+        if (tables.getCount() > 0) {
+            logMessage.append("\n\n\tTables Accessed Percentiles:\n");
+            for (double percentile : REPORTED_PERCENTILES) {
+                logMessage.append("\n\t" + percentile + "%: \t" + tables.getValueAtPercentile(percentile) + " tables");
             }
+            logMessage.append("\n\tmaximum: \t" + tables.getMax() + " tables");
         }
 
         log.logInfo(logMessage);
-
-        //this.metricsLastReportedMs = System.currentTimeMillis();
     }
 
-    ///**
-    // * Reports currently collected metrics if this feature is enabled and the
-    // * timeout has passed.
-    // */
-    //protected void reportMetricsIfNeeded() {
-    //    if (this.gatherPerfMetrics.getValue()) {
-    //        if ((System.currentTimeMillis() - this.metricsLastReportedMs) > getPropertySet()
-    //                .getIntegerReadableProperty(PropertyDefinitions.PNAME_reportMetricsIntervalMillis).getValue()) {
-    //            reportMetrics();
-    //        }
-    //    }
-    //}
+    private static String toMicros(long nanos) {
+        return String.valueOf(nanos / 1000);
+    }
 
     public void reportNumberOfTablesAccessed(int numTablesAccessed) {
-        if (numTablesAccessed < this.minimumNumberTablesAccessed) {
-            this.minimumNumberTablesAccessed = numTablesAccessed;
-        }
-
-        if (numTablesAccessed > this.maximumNumberTablesAccessed) {
-            this.maximumNumberTablesAccessed = numTablesAccessed;
-
-            repartitionTablesAccessedHistogram();
-        }
-
-        addToTablesAccessedHistogram(numTablesAccessed, 1);
+        this.tablesAccessed.record(numTablesAccessed);
     }
 
     public void incrementNumberOfPreparedExecutes() {
-        this.numberOfPreparedExecutes++;
-
-        // We need to increment this, because server-side prepared statements bypass any execution by the connection itself...
-        this.numberOfQueriesIssued++;
+        this.numberOfPreparedExecutes.increment();
     }
 
     public void incrementNumberOfPrepares() {
-        this.numberOfPrepares++;
+        this.numberOfPrepares.increment();
     }
 
     public void incrementNumberOfResultSetsCreated() {
-        this.numberOfResultSetsCreated++;
+        this.numberOfResultSetsCreated.increment();
     }
 
     public void reportQueryTime(long millisOrNanos) {
-        this.queryTimeCount++;
-        this.queryTimeSum += millisOrNanos;
-        this.queryTimeSumSquares += millisOrNanos * millisOrNanos;
-        this.queryTimeMean = (this.queryTimeMean * (this.queryTimeCount - 1) + millisOrNanos) / this.queryTimeCount;
+        this.queryTimeLock.lock();
+        try {
+            this.queryTimeCount++;
+            this.queryTimeSum += millisOrNanos;
+            this.queryTimeSumSquares += millisOrNanos * millisOrNanos;
+            this.queryTimeMean = (this.queryTimeMean * (this.queryTimeCount - 1) + millisOrNanos) / this.queryTimeCount;
+        } finally {
+            this.queryTimeLock.unlock();
+        }
     }
 
     /**
@@ -352,13 +146,19 @@ public class BaseMetricsHolder {
      * @return true if millisOrNanos is outside the 99th percentile?
      */
     public boolean checkAbonormallyLongQuery(long millisOrNanos) {
-        boolean res = false;
-        if (this.queryTimeCount > 14) { // need a minimum amount for this to make sense
-            double stddev = Math.sqrt((this.queryTimeSumSquares - this.queryTimeSum * this.queryTimeSum / this.queryTimeCount) / (this.queryTimeCount - 1));
-            res = millisOrNanos > this.queryTimeMean + 5 * stddev;
+        this.queryTimeLock.lock();
+        try {
+            boolean res = false;
+            if (this.queryTimeCount > 14) { // need a minimum amount for this to make sense
+                double stddev = Math
+                        .sqrt((this.queryTimeSumSquares - this.queryTimeSum * this.queryTimeSum / this.queryTimeCount) / (this.queryTimeCount - 1));
+                res = millisOrNanos > this.queryTimeMean + 5 * stddev;
+            }
+            reportQueryTime(millisOrNanos);
+            return res;
+        } finally {
+            this.queryTimeLock.unlock();
         }
-        reportQueryTime(millisOrNanos);
-        return res;
     }
 
 }
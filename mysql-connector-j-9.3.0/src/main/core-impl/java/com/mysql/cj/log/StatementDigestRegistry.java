@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mysql.cj.QueryInfo;
+import com.mysql.cj.log.DigestStatistics.ExecutionType;
+import com.mysql.cj.protocol.Resultset;
+
+/**
+ * JVM-wide statistics by statement digest, as computed by {@link QueryInfo#getDigestText(String, boolean)}, for all the statements executed by all the
+ * connections.
+ * <p>
+ * The number of digests is bounded by {@link #MAX_DIGESTS}; the statements of the digests that come after are all counted in a single entry whose digest
+ * text is {@link #OTHER_DIGEST_TEXT}.
+ * <p>
+ * The digests of the last statements seen are also kept by SQL string, up to {@link #MAX_CACHED_STATEMENTS} of them, so that repeatedly executing the same
+ * plain statement doesn't normalize its SQL every time. Only statements no longer than {@link QueryInfo#MAX_DIGEST_SOURCE_LENGTH} are kept, longer ones
+ * being mostly bulk statements that hardly ever repeat. Once full, this cache is emptied and filled again, which only costs the normalization of the
+ * statements executed next.
+ */
+public final class StatementDigestRegistry {
+
+    public static final int MAX_DIGESTS = 1000;
+    public static final String OTHER_DIGEST_TEXT = "(other statements)";
+    public static final int MAX_CACHED_STATEMENTS = 1024;
+
+    private static final ConcurrentHashMap<String, DigestStatistics> digests = new ConcurrentHashMap<>();
+    private static final DigestStatistics otherDigests = new DigestStatistics(OTHER_DIGEST_TEXT);
+
+    // Digests by SQL string, with and without NO_BACKSLASH_ESCAPES, since the SQL mode changes where literals end.
+    private static final ConcurrentHashMap<String, DigestStatistics> statementDigests = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, DigestStatistics> noBackslashEscapesStatementDigests = new ConcurrentHashMap<>();
+
+    private StatementDigestRegistry() {
+    }
+
+    /**
+     * Returns the statistics of the digest of a statement, creating them if there is still room for them. Prepared statements are expected to keep them for
+     * all their executions, so that the SQL is only normalized once; plain statements find them in the cache by SQL string.
+     *
+     * @param sql
+     *            the statement SQL
+     * @param noBackslashEscapes
+     *            whether the server has the NO_BACKSLASH_ESCAPES SQL mode set
+     * @return the statistics of the digest, or the shared ones of {@link #OTHER_DIGEST_TEXT} if {@link #MAX_DIGESTS} other digests are tracked already
+     */
+    public static DigestStatistics forSql(String sql, boolean noBackslashEscapes) {
+        if (sql.length() > QueryInfo.MAX_DIGEST_SOURCE_LENGTH) {
+            return forDigestText(QueryInfo.getDigestText(sql, noBackslashEscapes));
+        }
+        ConcurrentHashMap<String, DigestStatistics> cache = noBackslashEscapes ? noBackslashEscapesStatementDigests : statementDigests;
+        DigestStatistics statistics = cache.get(sql);
+        if (statistics == null) {
+            statistics = forDigestText(QueryInfo.getDigestText(sql, noBackslashEscapes));
+            if (cache.size() >= MAX_CACHED_STATEMENTS) {
+                cache.clear();
+            }
+            cache.put(sql, statistics);
+        }
+        return statistics;
+    }
+
+    private static DigestStatistics forDigestText(String digestText) {
+        DigestStatistics statistics = digests.get(digestText);
+        if (statistics != null) {
+            return statistics;
+        }
+        if (digests.size() >= MAX_DIGESTS) {
+            return otherDigests;
+        }
+        return digests.computeIfAbsent(digestText, DigestStatistics::new);
+    }
+
+    /**
+     * Records an execution with the outcome read from its results.
+     *
+     * @param statistics
+     *            the statistics of the digest executed
+     * @param type
+     *            how the statement was executed
+     * @param nanos
+     *            the time from sending the statement to having read its results
+     * @param bytesSent
+     *            the number of bytes sent
+     * @param bytesReceived
+     *            the number of bytes received
+     * @param results
+     *            the first of the results, or null if the execution failed
+     */
+    public static void record(DigestStatistics statistics, ExecutionType type, long nanos, long bytesSent, long bytesReceived, Resultset results) {
+        long rowsReceived = 0;
+        long rowsAffected = 0;
+        for (Resultset rs = results; rs != null; rs = rs.getNextResultset()) {
+            if (rs.hasRows()) {
+                rowsReceived += Math.max(0, rs.getRows().size()); // Streaming and cursor-based rows have an unknown size.
+            } else {
+                rowsAffected += Math.max(0, rs.getUpdateCount());
+            }
+        }
+        statistics.record(type, nanos, rowsReceived, rowsAffected, bytesSent, bytesReceived, results == null);
+    }
+
+    /**
+     * Returns the statistics of the digests executed at least once since they were first seen or since the last {@link #reset()}, including those of
+     * {@link #OTHER_DIGEST_TEXT}.
+     *
+     * @return the list of {@link DigestStatistics}
+     */
+    public static List<DigestStatistics> getDigests() {
+        List<DigestStatistics> executed = new ArrayList<>();
+        digests.values().forEach(statistics -> {
+            if (statistics.getExecutionCount() > 0) {
+                executed.add(statistics);
+            }
+        });
+        if (otherDigests.getExecutionCount() > 0) {
+            executed.add(otherDigests);
+        }
+        return executed;
+    }
+
+    public static int getDigestCount() {
+        return digests.size();
+    }
+
+    /**
+     * Clears all the statistics. The digests stay registered, since open prepared statements still refer to their statistics.
+     */
+    public static void reset() {
+        digests.values().forEach(DigestStatistics::reset);
+        otherDigests.reset();
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A JVM-wide pool of fixed size direct {@link ByteBuffer}s used by the socket channel streams.
+ * <p>
+ * Direct buffers are expensive to allocate and are only freed when they become unreachable, so buffers released by closed connections are kept for reuse up
+ * to {@link #MAX_POOLED_BUFFERS} instances. Buffers released beyond that limit are simply dropped.
+ */
+public final class DirectBufferPool {
+
+    /** Size of every pooled buffer. Large enough to receive most packets of a result set in a single read. */
+    public static final int BUFFER_SIZE = 65536;
+
+    /** Maximum number of idle buffers retained by the pool. */
+    public static final int MAX_POOLED_BUFFERS = 256;
+
+    private static final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger pooledBuffers = new AtomicInteger();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, allocating a new one if the pool is empty.
+     *
+     * @return
+     *         a direct buffer with {@link #BUFFER_SIZE} capacity
+     */
+    public static ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        pooledBuffers.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The caller must not use the buffer after releasing it.
+     *
+     * @param buffer
+     *            a buffer obtained from {@link #acquire()}
+     */
+    public static void release(ByteBuffer buffer) {
+        if (buffer != null && pooledBuffers.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            buffers.offer(buffer);
+        } else if (buffer != null) {
+            pooledBuffers.decrementAndGet();
+        }
+    }
+
+}
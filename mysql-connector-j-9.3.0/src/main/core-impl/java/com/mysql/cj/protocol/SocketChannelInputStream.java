@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.Messages;
+
+/**
+ * An input stream that reads from a blocking {@link SocketChannel} into a pooled direct buffer.
+ * <p>
+ * Each read from the channel takes whatever the kernel has available, up to the buffer capacity, so whole packets (and usually many rows of a result set)
+ * are received with a single system call and copied straight into the destination array. A blocking channel read can't time out, so while the socket has an
+ * <code>SO_TIMEOUT</code> the stream reads through the socket's own input stream into a heap buffer instead, which waits for data with a timed poll.
+ * <p>
+ * While the channel is registered with a <code>NioSocketSelector</code> it is in non-blocking mode, which is only restored once the selector has deregistered
+ * it. Until then, the stream polls the channel.
+ */
+public class SocketChannelInputStream extends InputStream {
+
+    /** Size of the heap buffer used for reads with a timeout, same as the buffered socket streams of the other socket connections. */
+    private static final int TIMED_READ_BUFFER_SIZE = 16384;
+
+    /** Shortest and longest pauses between two reads while the channel is still registered with a selector. */
+    private static final long MIN_POLL_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_POLL_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SocketChannel channel;
+    private final Socket socket;
+    private ByteBuffer directBuffer;
+    private ByteBuffer heapBuffer = null;
+    private InputStream socketInput = null;
+    /** The buffer holding the unread data, either the direct or the heap one. */
+    private ByteBuffer buffer;
+    private volatile boolean closed = false;
+    private final Lock lock = new ReentrantLock();
+
+    public SocketChannelInputStream(SocketChannel channel) {
+        this.channel = channel;
+        this.socket = channel.socket();
+        this.directBuffer = DirectBufferPool.acquire();
+        this.directBuffer.flip(); // start empty, in read mode
+        this.buffer = this.directBuffer;
+    }
+
+    @Override
+    public int read() throws IOException {
+        this.lock.lock();
+        try {
+            checkClosed();
+            if (!this.buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            return this.buffer.get() & 0xff;
+        } finally {
+            releaseIfClosed();
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        } else if (off < 0 || off > b.length || len < 0 || off + len > b.length || off + len < 0) {
+            throw new IndexOutOfBoundsException();
+        } else if (len == 0) {
+            return 0;
+        }
+
+        this.lock.lock();
+        try {
+            checkClosed();
+            if (!this.buffer.hasRemaining() && !fill()) {
+                return -1;
+            }
+            int n = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, n);
+            return n;
+        } finally {
+            releaseIfClosed();
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+
+        this.lock.lock();
+        try {
+            checkClosed();
+            if (!this.buffer.hasRemaining() && !fill()) {
+                return 0;
+            }
+            int skipped = (int) Math.min(n, this.buffer.remaining());
+            this.buffer.position(this.buffer.position() + skipped);
+            return skipped;
+        } finally {
+            releaseIfClosed();
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes that can be read without waiting. If the buffer is empty, tries a single non-blocking read from the channel first.
+     */
+    @Override
+    public int available() throws IOException {
+        this.lock.lock();
+        try {
+            checkClosed();
+            if (!this.buffer.hasRemaining()) {
+                synchronized (this.channel.blockingLock()) {
+                    boolean blocking = this.channel.isBlocking();
+                    if (blocking) {
+                        this.channel.configureBlocking(false);
+                    }
+                    try {
+                        if (readChannel() < 0) {
+                            return 0;
+                        }
+                    } finally {
+                        if (blocking && this.channel.isOpen()) {
+                            this.channel.configureBlocking(true);
+                        }
+                    }
+                }
+            }
+            return this.buffer.remaining();
+        } finally {
+            releaseIfClosed();
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the stream closed and returns its buffer to the pool. The channel itself is closed together with the socket, which also makes a thread waiting
+     * for data fail.
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        if (this.lock.tryLock()) {
+            try {
+                releaseIfClosed();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (this.closed) {
+            throw new IOException(Messages.getString("SocketConnection.1"));
+        }
+    }
+
+    private void releaseIfClosed() {
+        if (this.closed && this.directBuffer != null) {
+            DirectBufferPool.release(this.directBuffer);
+            this.directBuffer = null;
+            this.heapBuffer = null;
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * Refills the empty buffer, waiting for data if none is available.
+     *
+     * @return
+     *         false if the end of stream was reached
+     * @throws IOException
+     *             if an I/O error occurs or the socket timeout expires
+     */
+    private boolean fill() throws IOException {
+        int timeout = this.socket.getSoTimeout();
+        long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        long pollInterval = MIN_POLL_INTERVAL_NANOS;
+
+        while (!restoreBlocking(this.channel)) {
+            int n = readChannel();
+            if (n != 0) {
+                return n > 0;
+            }
+            if (timeout > 0 && deadline - System.nanoTime() <= 0) {
+                throw new SocketTimeoutException("Read timed out");
+            }
+            LockSupport.parkNanos(pollInterval);
+            pollInterval = Math.min(pollInterval * 2, MAX_POLL_INTERVAL_NANOS);
+            checkClosed();
+        }
+
+        if (timeout == 0) {
+            return readChannel() > 0;
+        }
+
+        if (this.heapBuffer == null) {
+            this.heapBuffer = ByteBuffer.allocate(TIMED_READ_BUFFER_SIZE);
+            this.socketInput = this.socket.getInputStream();
+        }
+        this.buffer = this.heapBuffer;
+        this.buffer.clear();
+        int n = 0;
+        try {
+            n = this.socketInput.read(this.buffer.array(), 0, this.buffer.capacity());
+        } finally {
+            this.buffer.limit(Math.max(n, 0));
+        }
+        return n > 0;
+    }
+
+    /**
+     * Reads once from the channel into the direct buffer.
+     *
+     * @return
+     *         the number of bytes read, -1 at the end of stream
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    private int readChannel() throws IOException {
+        this.buffer = this.directBuffer;
+        this.buffer.clear();
+        try {
+            return this.channel.read(this.buffer);
+        } finally {
+            this.buffer.flip();
+        }
+    }
+
+    /**
+     * Puts the channel back in blocking mode after it was used by a <code>NioSocketSelector</code>.
+     *
+     * @param channel
+     *            the socket channel
+     * @return
+     *         true if the channel is in blocking mode, false if it is still registered with a selector
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    static boolean restoreBlocking(SocketChannel channel) throws IOException {
+        if (channel.isBlocking()) {
+            return true;
+        }
+        synchronized (channel.blockingLock()) {
+            if (channel.isRegistered()) {
+                return false; // the selector deregisters it on its next selection
+            }
+            channel.configureBlocking(true);
+            return true;
+        }
+    }
+
+}
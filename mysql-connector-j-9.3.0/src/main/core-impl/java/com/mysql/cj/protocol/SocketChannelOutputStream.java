@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.Messages;
+
+/**
+ * An output stream that writes to a blocking {@link SocketChannel} through a pooled direct buffer.
+ * <p>
+ * Data is copied into the direct buffer and written immediately, so the JDK doesn't need its own temporary per-thread direct buffers, which would otherwise be
+ * retained by every thread that ever wrote to a socket. This stream is meant to be wrapped by a {@link java.io.BufferedOutputStream}. If the channel is still
+ * registered with a <code>NioSocketSelector</code>, and thus in non-blocking mode, writes that don't fit in the socket send buffer are retried after a short
+ * pause.
+ */
+public class SocketChannelOutputStream extends OutputStream {
+
+    /** Pause before retrying a write while the channel is still registered with a selector. */
+    private static final long POLL_INTERVAL_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final SocketChannel channel;
+    private ByteBuffer buffer;
+    private volatile boolean closed = false;
+    private final Lock lock = new ReentrantLock();
+
+    public SocketChannelOutputStream(SocketChannel channel) {
+        this.channel = channel;
+        this.buffer = DirectBufferPool.acquire();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (b == null) {
+            throw new NullPointerException();
+        } else if (off < 0 || off > b.length || len < 0 || off + len > b.length || off + len < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        this.lock.lock();
+        try {
+            checkClosed();
+            while (len > 0) {
+                int chunk = Math.min(len, this.buffer.capacity());
+                this.buffer.clear();
+                this.buffer.put(b, off, chunk);
+                this.buffer.flip();
+                while (this.buffer.hasRemaining()) {
+                    if (this.channel.write(this.buffer) == 0 && !SocketChannelInputStream.restoreBlocking(this.channel)) {
+                        LockSupport.parkNanos(POLL_INTERVAL_NANOS);
+                        checkClosed();
+                    }
+                }
+                off += chunk;
+                len -= chunk;
+            }
+        } finally {
+            releaseIfClosed();
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the stream closed and returns its buffer to the pool. The channel itself is closed together with the socket.
+     */
+    @Override
+    public void close() throws IOException {
+        this.closed = true;
+        if (this.lock.tryLock()) {
+            try {
+                releaseIfClosed();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    private void checkClosed() throws IOException {
+        if (this.closed) {
+            throw new IOException(Messages.getString("SocketConnection.1"));
+        }
+    }
+
+    private void releaseIfClosed() {
+        if (this.closed && this.buffer != null) {
+            DirectBufferPool.release(this.buffer);
+            this.buffer = null;
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.IOException;
+
+/**
+ * Reads the bit streams of FSE and Huffman coded data, which are read backwards starting from the last byte. The highest set bit of that byte marks the end
+ * of the stream.
+ */
+final class BackwardBitReader {
+
+    private byte[] source;
+    private int start;
+    private int position;
+    private long container;
+    private int bitsConsumed;
+
+    void init(byte[] src, int off, int len) throws IOException {
+        if (len < 1) {
+            throw new IOException("Corrupted Zstandard data: empty bit stream.");
+        }
+        int lastByte = src[off + len - 1] & 0xFF;
+        if (lastByte == 0) {
+            throw new IOException("Corrupted Zstandard data: missing bit stream end mark.");
+        }
+        this.source = src;
+        this.start = off;
+        if (len >= 8) {
+            this.position = off + len - 8;
+            this.container = ZstdConstants.readLong(src, this.position);
+            this.bitsConsumed = 0;
+        } else {
+            this.position = off;
+            this.container = 0;
+            for (int i = 0; i < len; i++) {
+                this.container |= (src[off + i] & 0xFFL) << 8 * i;
+            }
+            this.bitsConsumed = (8 - len) * 8;
+        }
+        this.bitsConsumed += Integer.numberOfLeadingZeros(lastByte) - 23;
+    }
+
+    /**
+     * Returns the next bits without consuming them. Bits past the beginning of the stream read as zeros.
+     *
+     * @param numberOfBits
+     *            number of bits, up to 56
+     * @return the bits value
+     */
+    long peekBits(int numberOfBits) {
+        return this.container << (this.bitsConsumed & 63) >>> 1 >>> (63 - numberOfBits & 63);
+    }
+
+    void skipBits(int numberOfBits) {
+        this.bitsConsumed += numberOfBits;
+    }
+
+    int readBits(int numberOfBits) {
+        int value = (int) peekBits(numberOfBits);
+        this.bitsConsumed += numberOfBits;
+        return value;
+    }
+
+    /**
+     * Refills the bit container. At least 56 bits can be read after this call, unless the beginning of the stream is reached.
+     */
+    void reload() {
+        if (this.bitsConsumed > 64) {
+            return;
+        }
+        if (this.position >= this.start + 8) {
+            this.position -= this.bitsConsumed >>> 3;
+            this.bitsConsumed &= 7;
+        } else if (this.position == this.start) {
+            return;
+        } else {
+            int bytes = Math.min(this.bitsConsumed >>> 3, this.position - this.start);
+            this.position -= bytes;
+            this.bitsConsumed -= bytes << 3;
+        }
+        this.container = ZstdConstants.readLong(this.source, this.position);
+    }
+
+    /**
+     * Tells if more bits were consumed than the stream holds.
+     *
+     * @return true on overflow
+     */
+    boolean isOverflow() {
+        return this.bitsConsumed > 64;
+    }
+
+    /**
+     * Tells if the stream was consumed exactly.
+     *
+     * @return true if all bits were read
+     */
+    boolean isEnd() {
+        return this.position == this.start && this.bitsConsumed == 64;
+    }
+
+}
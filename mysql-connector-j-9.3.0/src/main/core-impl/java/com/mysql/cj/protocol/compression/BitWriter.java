@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+/**
+ * Writes FSE and Huffman coded bit streams, least significant bit first, into a byte array. Streams are closed with an end mark so that they can be read
+ * backwards by {@link BackwardBitReader}. Running out of space sets an overflow flag instead of failing, which callers check once the stream is closed.
+ */
+final class BitWriter {
+
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private long container;
+    private int bitCount;
+    private boolean overflow;
+
+    void init(byte[] buf, int off, int lim) {
+        this.buffer = buf;
+        this.position = off;
+        this.limit = lim;
+        this.container = 0;
+        this.bitCount = 0;
+        this.overflow = false;
+    }
+
+    /**
+     * Appends bits. At most 56 bits can be added between calls to {@link #flush()}.
+     *
+     * @param value
+     *            bits to add, higher bits are ignored
+     * @param numberOfBits
+     *            number of bits, up to 31
+     */
+    void addBits(int value, int numberOfBits) {
+        this.container |= (value & (1L << numberOfBits) - 1) << this.bitCount;
+        this.bitCount += numberOfBits;
+    }
+
+    void flush() {
+        int bytes = this.bitCount >>> 3;
+        if (this.position + 8 > this.limit) {
+            if (this.position + bytes > this.limit) {
+                this.overflow = true;
+                this.container = 0;
+                this.bitCount = 0;
+                return;
+            }
+            for (int i = 0; i < bytes; i++) {
+                this.buffer[this.position++] = (byte) (this.container >>> 8 * i);
+            }
+        } else {
+            ZstdConstants.writeInt(this.buffer, this.position, (int) this.container);
+            ZstdConstants.writeInt(this.buffer, this.position + 4, (int) (this.container >>> 32));
+            this.position += bytes;
+        }
+        this.container = bytes == 8 ? 0 : this.container >>> (bytes << 3);
+        this.bitCount &= 7;
+    }
+
+    /**
+     * Adds the end mark and writes out the remaining bits.
+     *
+     * @return the position after the stream, or -1 if the stream did not fit
+     */
+    int close() {
+        addBits(1, 1);
+        flush();
+        if (this.bitCount > 0) {
+            if (this.position >= this.limit) {
+                this.overflow = true;
+            } else {
+                this.buffer[this.position++] = (byte) this.container;
+            }
+        }
+        return this.overflow ? -1 : this.position;
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.IOException;
+
+/**
+ * Finite State Entropy decoding table. A state is decoded by reading its symbol, then moving to {@code baseline + readBits(numberOfBits)}.
+ */
+final class FseDecodingTable {
+
+    int log;
+    final byte[] symbols;
+    final byte[] numberOfBits;
+    final int[] baselines;
+
+    private final short[] normalizedCounts = new short[256];
+    private final int[] symbolNext = new int[256];
+
+    FseDecodingTable(int maxLog) {
+        this.symbols = new byte[1 << maxLog];
+        this.numberOfBits = new byte[1 << maxLog];
+        this.baselines = new int[1 << maxLog];
+    }
+
+    static FseDecodingTable predefined(short[] normalizedCounts, int log) {
+        FseDecodingTable table = new FseDecodingTable(log);
+        try {
+            table.build(normalizedCounts, normalizedCounts.length - 1, log);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return table;
+    }
+
+    /**
+     * Sets up a single state table that always decodes the same symbol, without consuming bits.
+     *
+     * @param symbol
+     *            the symbol
+     */
+    void initRle(int symbol) {
+        this.log = 0;
+        this.symbols[0] = (byte) symbol;
+        this.numberOfBits[0] = 0;
+        this.baselines[0] = 0;
+    }
+
+    /**
+     * Reads a table description (normalized counts) and builds the table from it.
+     *
+     * @param src
+     *            source buffer
+     * @param off
+     *            description offset
+     * @param len
+     *            number of bytes available
+     * @param maxSymbol
+     *            highest symbol allowed
+     * @param maxLog
+     *            highest accuracy log allowed
+     * @return the size of the description
+     * @throws IOException
+     *             if the description is not valid
+     */
+    int read(byte[] src, int off, int len, int maxSymbol, int maxLog) throws IOException {
+        short[] norm = this.normalizedCounts;
+        long bitLimit = (long) len << 3;
+        long bitPosition = 4;
+        int accuracyLog = (peekInt(src, off, len, 0) & 0xF) + 5;
+        if (accuracyLog > maxLog) {
+            throw corrupted();
+        }
+        int remaining = (1 << accuracyLog) + 1;
+        int threshold = 1 << accuracyLog;
+        int bits = accuracyLog + 1;
+        int symbol = 0;
+        boolean previousIsZero = false;
+        while (remaining > 1 && symbol <= maxSymbol) {
+            if (previousIsZero) {
+                int zeros = symbol;
+                while ((peekInt(src, off, len, bitPosition) & 0xFFFF) == 0xFFFF) {
+                    zeros += 24;
+                    bitPosition += 16;
+                    if (bitPosition > bitLimit) {
+                        throw corrupted();
+                    }
+                }
+                while ((peekInt(src, off, len, bitPosition) & 3) == 3) {
+                    zeros += 3;
+                    bitPosition += 2;
+                }
+                zeros += peekInt(src, off, len, bitPosition) & 3;
+                bitPosition += 2;
+                if (zeros > maxSymbol) {
+                    throw corrupted();
+                }
+                while (symbol < zeros) {
+                    norm[symbol++] = 0;
+                }
+            }
+            int value = peekInt(src, off, len, bitPosition);
+            int max = 2 * threshold - 1 - remaining;
+            int count;
+            if ((value & threshold - 1) < max) {
+                count = value & threshold - 1;
+                bitPosition += bits - 1;
+            } else {
+                count = value & 2 * threshold - 1;
+                if (count >= threshold) {
+                    count -= max;
+                }
+                bitPosition += bits;
+            }
+            count--;
+            remaining -= count < 0 ? -count : count;
+            if (remaining < 1 || bitPosition > bitLimit) {
+                throw corrupted();
+            }
+            norm[symbol++] = (short) count;
+            previousIsZero = count == 0;
+            while (remaining < threshold) {
+                bits--;
+                threshold >>= 1;
+            }
+        }
+        if (remaining != 1) {
+            throw corrupted();
+        }
+        build(norm, symbol - 1, accuracyLog);
+        return (int) (bitPosition + 7 >>> 3);
+    }
+
+    void build(short[] norm, int maxSymbol, int accuracyLog) throws IOException {
+        int size = 1 << accuracyLog;
+        int highThreshold = size - 1;
+        for (int s = 0; s <= maxSymbol; s++) {
+            if (norm[s] == -1) {
+                this.symbols[highThreshold--] = (byte) s;
+                this.symbolNext[s] = 1;
+            } else {
+                this.symbolNext[s] = norm[s];
+            }
+        }
+        int mask = size - 1;
+        int step = (size >>> 1) + (size >>> 3) + 3;
+        int position = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            for (int i = 0; i < norm[s]; i++) {
+                this.symbols[position] = (byte) s;
+                do {
+                    position = position + step & mask;
+                } while (position > highThreshold);
+            }
+        }
+        if (position != 0) {
+            throw corrupted();
+        }
+        for (int u = 0; u < size; u++) {
+            int next = this.symbolNext[this.symbols[u] & 0xFF]++;
+            int bits = accuracyLog - ZstdConstants.highBit(next);
+            this.numberOfBits[u] = (byte) bits;
+            this.baselines[u] = (next << bits) - size;
+        }
+        this.log = accuracyLog;
+    }
+
+    private static int peekInt(byte[] src, int off, int len, long bitPosition) {
+        int index = (int) (bitPosition >>> 3);
+        long value = 0;
+        for (int i = 0; i < 5 && index + i < len; i++) {
+            value |= (src[off + index + i] & 0xFFL) << 8 * i;
+        }
+        return (int) (value >>> (bitPosition & 7));
+    }
+
+    private static IOException corrupted() {
+        return new IOException("Corrupted Zstandard data: invalid FSE table description.");
+    }
+
+}
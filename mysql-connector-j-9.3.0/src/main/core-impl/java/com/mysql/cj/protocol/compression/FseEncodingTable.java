@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+/**
+ * Finite State Entropy encoding table, along with the helpers needed to derive a table from symbol statistics and to write its description.
+ */
+final class FseEncodingTable {
+
+    int log;
+    final int[] stateTable;
+    final int[] deltaNumberOfBits = new int[256];
+    final int[] deltaFindState = new int[256];
+
+    private final byte[] spread;
+    private final int[] cumulative = new int[257];
+
+    FseEncodingTable(int maxLog) {
+        this.stateTable = new int[1 << maxLog];
+        this.spread = new byte[1 << maxLog];
+    }
+
+    static FseEncodingTable predefined(short[] normalizedCounts, int log) {
+        FseEncodingTable table = new FseEncodingTable(log);
+        table.build(normalizedCounts, normalizedCounts.length - 1, log);
+        return table;
+    }
+
+    /**
+     * Builds the table from normalized counts. Symbol positions are spread in the same order as {@link FseDecodingTable} does.
+     *
+     * @param norm
+     *            normalized counts, summing up to {@code 1 << accuracyLog}; -1 stands for a probability lower than one
+     * @param maxSymbol
+     *            highest symbol
+     * @param accuracyLog
+     *            accuracy log
+     */
+    void build(short[] norm, int maxSymbol, int accuracyLog) {
+        int size = 1 << accuracyLog;
+        int highThreshold = size - 1;
+        int[] cumul = this.cumulative;
+        cumul[0] = 0;
+        for (int s = 1; s <= maxSymbol + 1; s++) {
+            if (norm[s - 1] == -1) {
+                cumul[s] = cumul[s - 1] + 1;
+                this.spread[highThreshold--] = (byte) (s - 1);
+            } else {
+                cumul[s] = cumul[s - 1] + norm[s - 1];
+            }
+        }
+        int mask = size - 1;
+        int step = (size >>> 1) + (size >>> 3) + 3;
+        int position = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            for (int i = 0; i < norm[s]; i++) {
+                this.spread[position] = (byte) s;
+                do {
+                    position = position + step & mask;
+                } while (position > highThreshold);
+            }
+        }
+        for (int u = 0; u < size; u++) {
+            int s = this.spread[u] & 0xFF;
+            this.stateTable[cumul[s]++] = size + u;
+        }
+        int total = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            int n = norm[s];
+            if (n == 0) {
+                this.deltaNumberOfBits[s] = (accuracyLog + 1 << 16) - size;
+            } else if (n == -1 || n == 1) {
+                this.deltaNumberOfBits[s] = (accuracyLog << 16) - size;
+                this.deltaFindState[s] = total - 1;
+                total++;
+            } else {
+                int maxBitsOut = accuracyLog - ZstdConstants.highBit(n - 1);
+                this.deltaNumberOfBits[s] = (maxBitsOut << 16) - (n << maxBitsOut);
+                this.deltaFindState[s] = total - n;
+                total += n;
+            }
+        }
+        this.log = accuracyLog;
+    }
+
+    int initState(int symbol) {
+        int bits = this.deltaNumberOfBits[symbol] + (1 << 15) >>> 16;
+        int value = (bits << 16) - this.deltaNumberOfBits[symbol];
+        return this.stateTable[(value >> bits) + this.deltaFindState[symbol]];
+    }
+
+    int encode(BitWriter out, int state, int symbol) {
+        int bits = state + this.deltaNumberOfBits[symbol] >>> 16;
+        out.addBits(state, bits);
+        return this.stateTable[(state >>> bits) + this.deltaFindState[symbol]];
+    }
+
+    void flush(BitWriter out, int state) {
+        out.addBits(state, this.log);
+    }
+
+    /**
+     * Chooses an accuracy log for a distribution.
+     *
+     * @param total
+     *            number of symbols to encode
+     * @param distinct
+     *            number of distinct symbols
+     * @param maxLog
+     *            highest accuracy log allowed
+     * @return the accuracy log
+     */
+    static int optimalLog(int total, int distinct, int maxLog) {
+        int log = Math.max(5, ZstdConstants.highBit(total) - 1);
+        log = Math.max(log, ZstdConstants.highBit(distinct) + 2);
+        return Math.min(log, maxLog);
+    }
+
+    /**
+     * Scales symbol counts so that they add up to {@code 1 << log}, keeping every present symbol.
+     *
+     * @param counts
+     *            symbol counts
+     * @param maxSymbol
+     *            highest symbol
+     * @param total
+     *            sum of the counts
+     * @param log
+     *            accuracy log; the number of distinct symbols must not exceed {@code 1 << log}
+     * @param norm
+     *            normalized counts
+     */
+    static void normalize(int[] counts, int maxSymbol, int total, int log, short[] norm) {
+        int size = 1 << log;
+        int sum = 0;
+        int largest = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            if (counts[s] == 0) {
+                norm[s] = 0;
+                continue;
+            }
+            int p = (int) (((long) counts[s] * size + (total >>> 1)) / total);
+            if (p < 1) {
+                p = 1;
+            }
+            norm[s] = (short) p;
+            sum += p;
+            if (counts[s] > counts[largest]) {
+                largest = s;
+            }
+        }
+        if (sum <= size) {
+            norm[largest] += size - sum;
+            return;
+        }
+        while (sum > size) {
+            int candidate = -1;
+            for (int s = 0; s <= maxSymbol; s++) {
+                if (norm[s] > 1 && (candidate < 0 || norm[s] > norm[candidate])) {
+                    candidate = s;
+                }
+            }
+            norm[candidate]--;
+            sum--;
+        }
+    }
+
+    /**
+     * Estimates the number of bits needed to encode symbols with the given normalized distribution.
+     *
+     * @param counts
+     *            symbol counts
+     * @param maxSymbol
+     *            highest symbol
+     * @param norm
+     *            normalized counts
+     * @param log
+     *            accuracy log of the distribution
+     * @return the estimated cost in bits, or {@link Integer#MAX_VALUE} if a symbol can't be encoded
+     */
+    static int cost(int[] counts, int maxSymbol, short[] norm, int log) {
+        double bits = 0;
+        for (int s = 0; s <= maxSymbol; s++) {
+            if (counts[s] == 0) {
+                continue;
+            }
+            if (s >= norm.length || norm[s] == 0) {
+                return Integer.MAX_VALUE;
+            }
+            int n = norm[s] == -1 ? 1 : norm[s];
+            bits += counts[s] * (log - Math.log(n) / Math.log(2));
+        }
+        return (int) bits + 1;
+    }
+
+    /**
+     * Writes a table description as read by {@link FseDecodingTable#read(byte[], int, int, int, int)}.
+     *
+     * @param norm
+     *            normalized counts
+     * @param maxSymbol
+     *            highest symbol with a non-zero count
+     * @param log
+     *            accuracy log
+     * @param out
+     *            destination buffer
+     * @param off
+     *            destination offset
+     * @param limit
+     *            end of the space available
+     * @return the position after the description, or -1 if it does not fit
+     */
+    static int writeDescription(short[] norm, int maxSymbol, int log, byte[] out, int off, int limit) {
+        int p = off;
+        long bitStream = log - 5;
+        int bitCount = 4;
+        int remaining = (1 << log) + 1;
+        int threshold = 1 << log;
+        int bits = log + 1;
+        int symbol = 0;
+        boolean previousIsZero = false;
+        while (symbol <= maxSymbol && remaining > 1) {
+            if (previousIsZero) {
+                int start = symbol;
+                while (norm[symbol] == 0) {
+                    symbol++;
+                }
+                while (symbol >= start + 24) {
+                    start += 24;
+                    bitStream |= 0xFFFFL << bitCount;
+                    if (p + 2 > limit) {
+                        return -1;
+                    }
+                    out[p++] = (byte) bitStream;
+                    out[p++] = (byte) (bitStream >>> 8);
+                    bitStream >>>= 16;
+                }
+                while (symbol >= start + 3) {
+                    start += 3;
+                    bitStream |= 3L << bitCount;
+                    bitCount += 2;
+                }
+                bitStream |= (long) (symbol - start) << bitCount;
+                bitCount += 2;
+                if (bitCount >= 16) {
+                    if (p + 2 > limit) {
+                        return -1;
+                    }
+                    out[p++] = (byte) bitStream;
+                    out[p++] = (byte) (bitStream >>> 8);
+                    bitStream >>>= 16;
+                    bitCount -= 16;
+                }
+            }
+            int count = norm[symbol++];
+            int max = 2 * threshold - 1 - remaining;
+            remaining -= count < 0 ? -count : count;
+            count++;
+            if (count >= threshold) {
+                count += max;
+            }
+            bitStream |= (long) count << bitCount;
+            bitCount += bits;
+            if (count < max) {
+                bitCount--;
+            }
+            previousIsZero = count == 1;
+            while (remaining < threshold) {
+                bits--;
+                threshold >>= 1;
+            }
+            if (bitCount >= 16) {
+                if (p + 2 > limit) {
+                    return -1;
+                }
+                out[p++] = (byte) bitStream;
+                out[p++] = (byte) (bitStream >>> 8);
+                bitStream >>>= 16;
+                bitCount -= 16;
+            }
+        }
+        while (bitCount > 0) {
+            if (p >= limit) {
+                return -1;
+            }
+            out[p++] = (byte) bitStream;
+            bitStream >>>= 8;
+            bitCount -= 8;
+        }
+        return p;
+    }
+
+}
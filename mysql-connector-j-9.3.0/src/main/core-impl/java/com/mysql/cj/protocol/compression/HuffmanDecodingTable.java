@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Huffman decoding table for literals. The table is indexed by the next {@link #maxBits} bits of the stream and gives the decoded symbol and the length of
+ * its code.
+ */
+final class HuffmanDecodingTable {
+
+    int maxBits;
+    final byte[] symbols = new byte[1 << ZstdConstants.HUFFMAN_MAX_BITS];
+    final byte[] lengths = new byte[1 << ZstdConstants.HUFFMAN_MAX_BITS];
+
+    private final byte[] weights = new byte[256];
+    private final int[] rankStart = new int[ZstdConstants.HUFFMAN_MAX_BITS + 2];
+    private final FseDecodingTable weightsTable = new FseDecodingTable(ZstdConstants.HUFFMAN_WEIGHTS_MAX_LOG);
+    private final BackwardBitReader reader = new BackwardBitReader();
+
+    /**
+     * Reads a Huffman tree description and builds the decoding table from it.
+     *
+     * @param src
+     *            source buffer
+     * @param off
+     *            description offset
+     * @param len
+     *            number of bytes available
+     * @return the size of the description
+     * @throws IOException
+     *             if the description is not valid
+     */
+    int read(byte[] src, int off, int len) throws IOException {
+        if (len < 1) {
+            throw corrupted();
+        }
+        int header = src[off] & 0xFF;
+        int count;
+        int size;
+        if (header >= 128) {
+            count = header - 127;
+            size = 1 + (count + 1 >>> 1);
+            if (size > len) {
+                throw corrupted();
+            }
+            for (int i = 0; i < count; i++) {
+                int b = src[off + 1 + (i >>> 1)];
+                this.weights[i] = (byte) ((i & 1) == 0 ? b >>> 4 & 0xF : b & 0xF);
+            }
+        } else {
+            size = 1 + header;
+            if (size > len) {
+                throw corrupted();
+            }
+            count = readWeights(src, off + 1, header, this.weights);
+        }
+        build(count);
+        return size;
+    }
+
+    /**
+     * Decodes FSE compressed Huffman weights.
+     *
+     * @param src
+     *            source buffer
+     * @param off
+     *            offset of the compressed weights
+     * @param len
+     *            size of the compressed weights
+     * @param out
+     *            decoded weights
+     * @return the number of weights
+     * @throws IOException
+     *             if the compressed weights are not valid
+     */
+    int readWeights(byte[] src, int off, int len, byte[] out) throws IOException {
+        FseDecodingTable table = this.weightsTable;
+        int descriptionSize = table.read(src, off, len, ZstdConstants.HUFFMAN_MAX_BITS, ZstdConstants.HUFFMAN_WEIGHTS_MAX_LOG);
+        BackwardBitReader in = this.reader;
+        in.init(src, off + descriptionSize, len - descriptionSize);
+        int state1 = in.readBits(table.log);
+        int state2 = in.readBits(table.log);
+        in.reload();
+        int count = 0;
+        while (true) {
+            if (count > 253) {
+                throw corrupted();
+            }
+            out[count++] = table.symbols[state1];
+            state1 = table.baselines[state1] + in.readBits(table.numberOfBits[state1]);
+            in.reload();
+            if (in.isOverflow()) {
+                out[count++] = table.symbols[state2];
+                break;
+            }
+            out[count++] = table.symbols[state2];
+            state2 = table.baselines[state2] + in.readBits(table.numberOfBits[state2]);
+            in.reload();
+            if (in.isOverflow()) {
+                out[count++] = table.symbols[state1];
+                break;
+            }
+        }
+        return count;
+    }
+
+    private void build(int count) throws IOException {
+        byte[] w = this.weights;
+        int weightSum = 0;
+        for (int i = 0; i < count; i++) {
+            if (w[i] > ZstdConstants.HUFFMAN_MAX_BITS) {
+                throw corrupted();
+            }
+            if (w[i] > 0) {
+                weightSum += 1 << w[i] - 1;
+            }
+        }
+        if (weightSum == 0) {
+            throw corrupted();
+        }
+        int bits = ZstdConstants.highBit(weightSum) + 1;
+        if (bits > ZstdConstants.HUFFMAN_MAX_BITS) {
+            throw corrupted();
+        }
+        int rest = (1 << bits) - weightSum;
+        if ((rest & rest - 1) != 0) {
+            throw corrupted();
+        }
+        w[count] = (byte) (ZstdConstants.highBit(rest) + 1);
+        int symbolCount = count + 1;
+
+        // codes are assigned by increasing weight, then by symbol
+        int[] start = this.rankStart;
+        Arrays.fill(start, 0);
+        for (int s = 0; s < symbolCount; s++) {
+            start[w[s]]++;
+        }
+        int position = 0;
+        for (int weight = 1; weight <= bits; weight++) {
+            int entries = start[weight] << weight - 1;
+            start[weight] = position;
+            position += entries;
+        }
+        for (int s = 0; s < symbolCount; s++) {
+            int weight = w[s];
+            if (weight == 0) {
+                continue;
+            }
+            int entries = 1 << weight - 1;
+            int from = start[weight];
+            Arrays.fill(this.symbols, from, from + entries, (byte) s);
+            Arrays.fill(this.lengths, from, from + entries, (byte) (bits + 1 - weight));
+            start[weight] = from + entries;
+        }
+        this.maxBits = bits;
+    }
+
+    private static IOException corrupted() {
+        return new IOException("Corrupted Zstandard data: invalid Huffman tree description.");
+    }
+
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Builds length limited Huffman codes for literals and writes the Huffman coded literals section of a block.
+ */
+final class HuffmanEncoder {
+
+    private final int[] counts = new int[256];
+    private final int[] lengths = new int[256];
+    private final int[] codes = new int[256];
+
+    private final int[] sorted = new int[256];
+    private final long[] nodeWeights = new long[512];
+    private final int[] parents = new int[512];
+    private final int[] depths = new int[512];
+
+    private final byte[] weights = new byte[256];
+    private final byte[] weightsCheck = new byte[256];
+    private final int[] weightCounts = new int[ZstdConstants.HUFFMAN_MAX_BITS + 1];
+    private final short[] weightsNorm = new short[ZstdConstants.HUFFMAN_MAX_BITS + 1];
+    private final FseEncodingTable weightsTable = new FseEncodingTable(ZstdConstants.HUFFMAN_WEIGHTS_MAX_LOG);
+    private final HuffmanDecodingTable decodingTable = new HuffmanDecodingTable();
+    private final BitWriter writer = new BitWriter();
+
+    private int maxSymbol;
+    private int maxLength;
+
+    /**
+     * Writes a compressed literals section.
+     *
+     * @param literals
+     *            literals buffer
+     * @param count
+     *            number of literals
+     * @param out
+     *            destination buffer
+     * @param off
+     *            destination offset
+     * @param limit
+     *            end of the space available
+     * @return the position after the section, or -1 if the literals can't be compressed or would not get smaller
+     */
+    int writeLiterals(byte[] literals, int count, byte[] out, int off, int limit) {
+        Arrays.fill(this.counts, 0);
+        for (int i = 0; i < count; i++) {
+            this.counts[literals[i] & 0xFF]++;
+        }
+        if (!buildLengths()) {
+            return -1;
+        }
+        long bits = 0;
+        for (int s = 0; s <= this.maxSymbol; s++) {
+            bits += (long) this.counts[s] * this.lengths[s];
+        }
+        if (bits >>> 3 >= count - (count >>> 5)) {
+            return -1;
+        }
+        buildCodes();
+
+        boolean singleStream = count < 1024;
+        int headerSize = singleStream ? 3 : count < 16384 ? 4 : 5;
+        int p = off + headerSize;
+        p = writeTreeDescription(out, p, limit);
+        if (p < 0) {
+            return -1;
+        }
+        if (singleStream) {
+            p = writeStream(literals, 0, count, out, p, limit);
+        } else {
+            int segment = count + 3 >>> 2;
+            int jumpTable = p;
+            p += 6;
+            for (int i = 0; i < 4 && p >= 0; i++) {
+                int start = i * segment;
+                int streamStart = p;
+                p = writeStream(literals, start, Math.min(start + segment, count) - start, out, p, limit);
+                if (i < 3 && p >= 0) {
+                    if (p - streamStart > 0xFFFF) {
+                        return -1;
+                    }
+                    ZstdConstants.writeShort(out, jumpTable + 2 * i, p - streamStart);
+                }
+            }
+        }
+        if (p < 0) {
+            return -1;
+        }
+        int compressedSize = p - off - headerSize;
+        int sizeFormat;
+        int sizeBits;
+        if (singleStream && compressedSize < 1024) {
+            sizeFormat = 0;
+            sizeBits = 10;
+        } else if (singleStream) {
+            return -1;
+        } else if (headerSize == 4 && compressedSize < 16384) {
+            sizeFormat = 2;
+            sizeBits = 14;
+        } else if (headerSize == 5) {
+            sizeFormat = 3;
+            sizeBits = 18;
+        } else {
+            return -1;
+        }
+        long header = ZstdConstants.LITERALS_TYPE_COMPRESSED | sizeFormat << 2 | (long) count << 4 | (long) compressedSize << 4 + sizeBits;
+        for (int i = 0; i < headerSize; i++) {
+            out[off + i] = (byte) (header >>> 8 * i);
+        }
+        return p;
+    }
+
+    /**
+     * Computes code lengths, limited to {@link ZstdConstants#HUFFMAN_MAX_BITS}, from the symbol counts.
+     *
+     * @return false if there are less than two distinct symbols
+     */
+    private boolean buildLengths() {
+        int[] c = this.counts;
+        int n = 0;
+        for (int s = 0; s < 256; s++) {
+            if (c[s] > 0) {
+                this.sorted[n++] = s;
+                this.maxSymbol = s;
+            }
+        }
+        if (n < 2) {
+            return false;
+        }
+        // insertion sort by count, keeping symbol order for ties
+        for (int i = 1; i < n; i++) {
+            int s = this.sorted[i];
+            int j = i - 1;
+            while (j >= 0 && c[this.sorted[j]] > c[s]) {
+                this.sorted[j + 1] = this.sorted[j];
+                j--;
+            }
+            this.sorted[j + 1] = s;
+        }
+
+        // two queues Huffman construction: leaves are nodes 0..n-1, internal nodes are n..2n-2, created by increasing weight
+        long[] weight = this.nodeWeights;
+        for (int i = 0; i < n; i++) {
+            weight[i] = c[this.sorted[i]];
+        }
+        int leaf = 0;
+        int internal = n;
+        for (int node = n; node < 2 * n - 1; node++) {
+            int a = leaf < n && (internal >= node || weight[leaf] <= weight[internal]) ? leaf++ : internal++;
+            int b = leaf < n && (internal >= node || weight[leaf] <= weight[internal]) ? leaf++ : internal++;
+            weight[node] = weight[a] + weight[b];
+            this.parents[a] = node;
+            this.parents[b] = node;
+        }
+        int root = 2 * n - 2;
+        this.depths[root] = 0;
+        for (int node = root - 1; node >= 0; node--) {
+            this.depths[node] = this.depths[this.parents[node]] + 1;
+        }
+
+        Arrays.fill(this.lengths, 0);
+        int limit = ZstdConstants.HUFFMAN_MAX_BITS;
+        long kraft = 0;
+        for (int i = 0; i < n; i++) {
+            int length = Math.min(this.depths[i], limit);
+            this.lengths[this.sorted[i]] = length;
+            kraft += 1L << limit - length;
+        }
+        long full = 1L << limit;
+        // too long codes were shortened: lengthen the longest codes that can still grow until the code fits
+        while (kraft > full) {
+            int candidate = -1;
+            for (int i = 0; i < n; i++) {
+                int length = this.lengths[this.sorted[i]];
+                if (length < limit && (candidate < 0 || length > this.lengths[candidate])) {
+                    candidate = this.sorted[i];
+                }
+            }
+            kraft -= 1L << limit - this.lengths[candidate] - 1;
+            this.lengths[candidate]++;
+        }
+        // the code must be complete: shorten the most frequent of the longest codes while there is room
+        while (kraft < full) {
+            int longest = 0;
+            for (int i = 0; i < n; i++) {
+                longest = Math.max(longest, this.lengths[this.sorted[i]]);
+            }
+            int candidate = -1;
+            for (int i = n - 1; i >= 0; i--) {
+                if (this.lengths[this.sorted[i]] == longest) {
+                    candidate = this.sorted[i];
+                    break;
+                }
+            }
+            kraft += 1L << limit - longest;
+            this.lengths[candidate]--;
+        }
+        int max = 0;
+        for (int i = 0; i < n; i++) {
+            max = Math.max(max, this.lengths[this.sorted[i]]);
+        }
+        this.maxLength = max;
+        return true;
+    }
+
+    /**
+     * Assigns codes the way {@link HuffmanDecodingTable} expects them: by increasing weight (decreasing length), then by symbol.
+     */
+    private void buildCodes() {
+        int position = 0;
+        for (int length = this.maxLength; length > 0; length--) {
+            int span = 1 << this.maxLength - length;
+            for (int s = 0; s <= this.maxSymbol; s++) {
+                if (this.lengths[s] == length) {
+                    this.codes[s] = position >>> this.maxLength - length;
+                    position += span;
+                }
+            }
+        }
+    }
+
+    private int writeTreeDescription(byte[] out, int off, int limit) {
+        int count = this.maxSymbol;
+        for (int s = 0; s < count; s++) {
+            this.weights[s] = (byte) (this.lengths[s] == 0 ? 0 : this.maxLength + 1 - this.lengths[s]);
+        }
+        int compressed = writeCompressedWeights(count, out, off, limit);
+        int directSize = 1 + (count + 1 >>> 1);
+        if (compressed > 0 && (count > 128 || compressed - off <= directSize)) {
+            return compressed;
+        }
+        if (count > 128 || off + directSize > limit) {
+            return -1;
+        }
+        out[off] = (byte) (127 + count);
+        for (int i = 0; i < count; i += 2) {
+            int low = i + 1 < count ? this.weights[i + 1] : 0;
+            out[off + 1 + (i >>> 1)] = (byte) (this.weights[i] << 4 | low);
+        }
+        return off + directSize;
+    }
+
+    /**
+     * Writes the weights compressed with FSE.
+     *
+     * @return the position after the description, or -1 if the weights can't be compressed this way
+     */
+    private int writeCompressedWeights(int count, byte[] out, int off, int limit) {
+        int[] wc = this.weightCounts;
+        Arrays.fill(wc, 0);
+        int maxWeight = 0;
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (wc[this.weights[i]]++ == 0) {
+                distinct++;
+            }
+            maxWeight = Math.max(maxWeight, this.weights[i]);
+        }
+        if (distinct < 2 || count < 2) {
+            return -1;
+        }
+        int log = count > 64 ? ZstdConstants.HUFFMAN_WEIGHTS_MAX_LOG : 5;
+        FseEncodingTable.normalize(wc, maxWeight, count, log, this.weightsNorm);
+        int p = FseEncodingTable.writeDescription(this.weightsNorm, maxWeight, log, out, off + 1, Math.min(limit, off + 128));
+        if (p < 0) {
+            return -1;
+        }
+        FseEncodingTable table = this.weightsTable;
+        table.build(this.weightsNorm, maxWeight, log);
+
+        // two interleaved states: the first one decodes the even weights, the second one the odd weights
+        BitWriter w = this.writer;
+        w.init(out, p, Math.min(limit, off + 128));
+        int i = count;
+        int state1;
+        int state2;
+        if ((count & 1) != 0) {
+            state1 = table.initState(this.weights[--i]);
+            state2 = table.initState(this.weights[--i]);
+            state1 = table.encode(w, state1, this.weights[--i]);
+        } else {
+            state2 = table.initState(this.weights[--i]);
+            state1 = table.initState(this.weights[--i]);
+        }
+        while (i > 0) {
+            state2 = table.encode(w, state2, this.weights[--i]);
+            state1 = table.encode(w, state1, this.weights[--i]);
+            w.flush();
+        }
+        table.flush(w, state2);
+        table.flush(w, state1);
+        int end = w.close();
+        if (end < 0) {
+            return -1;
+        }
+        out[off] = (byte) (end - off - 1);
+
+        // a stream whose last state transition reads no bit can't be told apart from a longer one: check it decodes back
+        try {
+            if (this.decodingTable.readWeights(out, off + 1, end - off - 1, this.weightsCheck) != count) {
+                return -1;
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        for (int k = 0; k < count; k++) {
+            if (this.weightsCheck[k] != this.weights[k]) {
+                return -1;
+            }
+        }
+        return end;
+    }
+
+    private int writeStream(byte[] literals, int start, int length, byte[] out, int off, int limit) {
+        if (off < 0) {
+            return -1;
+        }
+        BitWriter w = this.writer;
+        w.init(out, off, limit);
+        int i = start + length;
+        while (i - start >= 4) {
+            for (int k = 0; k < 4; k++) {
+                int s = literals[--i] & 0xFF;
+                w.addBits(this.codes[s], this.lengths[s]);
+            }
+            w.flush();
+        }
+        while (i > start) {
+            int s = literals[--i] & 0xFF;
+            w.addBits(this.codes[s], this.lengths[s]);
+        }
+        return w.close();
+    }
+
+}
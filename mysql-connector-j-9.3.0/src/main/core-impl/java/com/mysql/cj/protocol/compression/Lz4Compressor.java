@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.Lz4Constants.*;
+
+import java.util.Arrays;
+
+/**
+ * LZ4 compressor producing frames of independent 64 KB blocks, without checksums.
+ * <p>
+ * Matches are found with a single entry hash table, as the reference implementation does at its default acceleration, skipping faster through data that
+ * doesn't match anything.
+ * <p>
+ * Instances are not thread safe; the hash table they hold is reused from block to block.
+ */
+public class Lz4Compressor {
+
+    /** Maximum size of the blocks written. */
+    public static final int BLOCK_SIZE_MAX = 64 * 1024;
+
+    private static final int HASH_LOG = 12;
+    private static final int SKIP_TRIGGER = 6;
+    private static final int MAX_FRAME_HEADER_SIZE = 15;
+
+    // positions are stored as generationBase + offset in the block so that the table doesn't need to be cleared between blocks
+    private final int[] hashTable = new int[1 << HASH_LOG];
+    private int generationBase = 1;
+
+    /**
+     * Returns the maximum size of a frame holding the given amount of data, which is reached for incompressible data.
+     *
+     * @param srcLen
+     *            size of the data to compress
+     * @return the worst case compressed size
+     */
+    public static int maxCompressedLength(int srcLen) {
+        return MAX_FRAME_HEADER_SIZE + srcLen + (srcLen / BLOCK_SIZE_MAX + 1) * 4 + 4;
+    }
+
+    /**
+     * Compresses data into a single frame, that announces the content size.
+     *
+     * @param src
+     *            source buffer
+     * @param srcOff
+     *            offset of the data to compress
+     * @param srcLen
+     *            size of the data to compress
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to write the frame to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the size of the frame, or -1 if it does not fit in the destination
+     */
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        int out = writeFrameHeader(dst, dstOff, dstLen, srcLen);
+        int outEnd = dstOff + dstLen;
+        for (int blockStart = srcOff, srcEnd = srcOff + srcLen; blockStart < srcEnd && out >= 0; blockStart += BLOCK_SIZE_MAX) {
+            out = writeBlock(src, blockStart, Math.min(BLOCK_SIZE_MAX, srcEnd - blockStart), dst, out, outEnd);
+        }
+        if (out < 0 || outEnd - out < 4) {
+            return -1;
+        }
+        writeInt(dst, out, 0);
+        return out + 4 - dstOff;
+    }
+
+    /**
+     * Writes a frame header.
+     *
+     * @param dst
+     *            destination buffer
+     * @param off
+     *            offset to write the header to
+     * @param len
+     *            space available in the destination buffer
+     * @param contentSize
+     *            the size of the frame content, or -1 if unknown
+     * @return the position after the header, or -1 if it does not fit in the destination
+     */
+    int writeFrameHeader(byte[] dst, int off, int len, long contentSize) {
+        int descriptorSize = contentSize < 0 ? 2 : 10;
+        if (len < 4 + descriptorSize + 1) {
+            return -1;
+        }
+        writeInt(dst, off, MAGIC_NUMBER);
+        dst[off + 4] = (byte) (VERSION | FLAG_BLOCK_INDEPENDENCE | (contentSize < 0 ? 0 : FLAG_CONTENT_SIZE));
+        dst[off + 5] = (byte) (BLOCK_SIZE_ID_64KB << 4);
+        if (contentSize >= 0) {
+            writeInt(dst, off + 6, (int) contentSize);
+            writeInt(dst, off + 10, (int) (contentSize >>> 32));
+        }
+        dst[off + 4 + descriptorSize] = (byte) (XxHash32.hash(dst, off + 4, descriptorSize) >>> 8);
+        return off + 4 + descriptorSize + 1;
+    }
+
+    /**
+     * Writes a block, with its size, compressed or as is if it doesn't compress.
+     *
+     * @param src
+     *            source buffer
+     * @param srcOff
+     *            offset of the block data
+     * @param srcLen
+     *            size of the block data, at most {@link #BLOCK_SIZE_MAX}
+     * @param dst
+     *            destination buffer
+     * @param off
+     *            offset to write the block to
+     * @param end
+     *            end of the space available in the destination buffer
+     * @return the position after the block, or -1 if it does not fit in the destination
+     */
+    int writeBlock(byte[] src, int srcOff, int srcLen, byte[] dst, int off, int end) {
+        if (end - off < 4) {
+            return -1;
+        }
+        int blockEnd = compressBlock(src, srcOff, srcLen, dst, off + 4, Math.min(end, off + 4 + srcLen - 1));
+        if (blockEnd > 0) {
+            writeInt(dst, off, blockEnd - off - 4);
+            return blockEnd;
+        }
+        if (end - off - 4 < srcLen) {
+            return -1;
+        }
+        writeInt(dst, off, srcLen | BLOCK_UNCOMPRESSED);
+        System.arraycopy(src, srcOff, dst, off + 4, srcLen);
+        return off + 4 + srcLen;
+    }
+
+    /**
+     * Compresses a block.
+     *
+     * @return the position after the compressed block, or -1 if it does not fit before the limit
+     */
+    private int compressBlock(byte[] src, int srcOff, int srcLen, byte[] dst, int off, int limit) {
+        if (srcLen <= MATCH_FIND_LIMIT) {
+            return -1;
+        }
+        if (this.generationBase > Integer.MAX_VALUE - srcLen - 1) {
+            Arrays.fill(this.hashTable, 0);
+            this.generationBase = 1;
+        }
+        int lowest = this.generationBase;
+        int base = lowest - srcOff;
+        this.generationBase += srcLen + 1;
+
+        int[] table = this.hashTable;
+        int srcEnd = srcOff + srcLen;
+        int matchLimit = srcEnd - LAST_LITERALS;
+        int findLimit = srcEnd - MATCH_FIND_LIMIT;
+        int anchor = srcOff;
+        int p = srcOff;
+        int out = off;
+        int attempts = 1 << SKIP_TRIGGER;
+        while (p <= findLimit) {
+            int sequence = readInt(src, p);
+            int h = hash(sequence);
+            int candidate = table[h];
+            table[h] = base + p;
+            int c = candidate - base;
+            if (candidate < lowest || p - c > MAX_OFFSET || readInt(src, c) != sequence) {
+                p += attempts++ >>> SKIP_TRIGGER;
+                continue;
+            }
+            attempts = 1 << SKIP_TRIGGER;
+            while (p > anchor && c > srcOff && src[p - 1] == src[c - 1]) {
+                p--;
+                c--;
+            }
+            int matchLength = MIN_MATCH + count(src, c + MIN_MATCH, p + MIN_MATCH, matchLimit);
+            out = writeSequence(src, anchor, p - anchor, p - c, matchLength, dst, out, limit);
+            if (out < 0) {
+                return -1;
+            }
+            p += matchLength;
+            anchor = p;
+            if (p <= findLimit) {
+                table[hash(readInt(src, p - 2))] = base + p - 2;
+            }
+        }
+        return writeSequence(src, anchor, srcEnd - anchor, 0, 0, dst, out, limit);
+    }
+
+    private static int hash(int sequence) {
+        return sequence * 0x9E3779B1 >>> 32 - HASH_LOG;
+    }
+
+    private static int count(byte[] src, int a, int b, int limit) {
+        int start = b;
+        while (b + 8 <= limit) {
+            long diff = readLong(src, a) ^ readLong(src, b);
+            if (diff != 0) {
+                return b - start + (Long.numberOfTrailingZeros(diff) >>> 3);
+            }
+            a += 8;
+            b += 8;
+        }
+        while (b < limit && src[a] == src[b]) {
+            a++;
+            b++;
+        }
+        return b - start;
+    }
+
+    /**
+     * Writes a sequence, or the last literals of a block if the match length is 0.
+     *
+     * @return the position after the sequence, or -1 if it does not fit before the limit
+     */
+    private static int writeSequence(byte[] src, int literalsStart, int literalLength, int offset, int matchLength, byte[] dst, int off, int limit) {
+        int size = 1 + literalLength + literalLength / 255 + 1 + (matchLength == 0 ? 0 : 2 + (matchLength - MIN_MATCH) / 255 + 1);
+        if (limit - off < size) {
+            return -1;
+        }
+        int out = off + 1;
+        int token;
+        if (literalLength >= 15) {
+            token = 15 << 4;
+            out = writeLength(dst, out, literalLength - 15);
+        } else {
+            token = literalLength << 4;
+        }
+        System.arraycopy(src, literalsStart, dst, out, literalLength);
+        out += literalLength;
+        if (matchLength > 0) {
+            writeShort(dst, out, offset);
+            out += 2;
+            int length = matchLength - MIN_MATCH;
+            if (length >= 15) {
+                token |= 15;
+                out = writeLength(dst, out, length - 15);
+            } else {
+                token |= length;
+            }
+        }
+        dst[off] = (byte) token;
+        return out;
+    }
+
+    private static int writeLength(byte[] dst, int off, int length) {
+        int out = off;
+        for (; length >= 255; length -= 255) {
+            dst[out++] = (byte) 255;
+        }
+        dst[out++] = (byte) length;
+        return out;
+    }
+
+}
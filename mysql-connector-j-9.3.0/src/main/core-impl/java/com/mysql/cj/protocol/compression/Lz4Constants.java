@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+/**
+ * Constants and helpers of the LZ4 block and frame formats.
+ */
+final class Lz4Constants {
+
+    static final int MAGIC_NUMBER = 0x184D2204;
+    static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+    static final int SKIPPABLE_MAGIC_NUMBER = 0x184D2A50;
+
+    static final int VERSION = 0x40;
+    static final int VERSION_MASK = 0xC0;
+    static final int FLAG_BLOCK_INDEPENDENCE = 0x20;
+    static final int FLAG_BLOCK_CHECKSUM = 0x10;
+    static final int FLAG_CONTENT_SIZE = 0x08;
+    static final int FLAG_CONTENT_CHECKSUM = 0x04;
+    static final int FLAG_RESERVED = 0x02;
+    static final int FLAG_DICTIONARY_ID = 0x01;
+
+    /** Block maximum size identifier of 64 KB blocks, the smallest. */
+    static final int BLOCK_SIZE_ID_64KB = 4;
+    /** High bit of a block size, set for blocks stored uncompressed. */
+    static final int BLOCK_UNCOMPRESSED = 0x80000000;
+
+    static final int MIN_MATCH = 4;
+    /** The last literals of a block: matches can't extend into them. */
+    static final int LAST_LITERALS = 5;
+    /** Matches can't start in the last bytes of a block. */
+    static final int MATCH_FIND_LIMIT = 12;
+    static final int MAX_OFFSET = 65535;
+
+    private Lz4Constants() {
+    }
+
+    static int blockMaxSize(int blockSizeId) {
+        return 1 << 8 + 2 * blockSizeId;
+    }
+
+    static int readShort(byte[] b, int off) {
+        return b[off] & 0xFF | (b[off + 1] & 0xFF) << 8;
+    }
+
+    static int readInt(byte[] b, int off) {
+        return b[off] & 0xFF | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24;
+    }
+
+    static long readLong(byte[] b, int off) {
+        return readInt(b, off) & 0xFFFFFFFFL | (long) readInt(b, off + 4) << 32;
+    }
+
+    static void writeShort(byte[] b, int off, int value) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+    }
+
+    static void writeInt(byte[] b, int off, int value) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+        b[off + 2] = (byte) (value >>> 16);
+        b[off + 3] = (byte) (value >>> 24);
+    }
+
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.Lz4Constants.*;
+
+import java.io.IOException;
+
+/**
+ * LZ4 frame decompressor. Both independent and linked blocks are supported, as well as block and content checksums; dictionaries are not.
+ * <p>
+ * Instances are not thread safe.
+ */
+public class Lz4Decompressor {
+
+    /** Maximum size of a frame header, from the magic number to the header checksum. */
+    static final int MAX_FRAME_HEADER_SIZE = 19;
+
+    /** Maximum block size of the last frame header read by {@link #readFrameHeader(byte[], int, int)}. */
+    int blockMaxSize;
+    /** Whether the blocks of the last frame header read can be decompressed independently of each other. */
+    boolean blockIndependence;
+    /** Whether the last frame header read announces block checksums. */
+    boolean blockChecksum;
+    /** Whether the last frame header read announces a content checksum. */
+    boolean contentChecksum;
+    /** Content size of the last frame header read, or -1 if unknown. */
+    long contentSize;
+
+    /**
+     * Decompresses all frames found in the source into the destination.
+     *
+     * @param src
+     *            source buffer
+     * @param srcOff
+     *            offset of the compressed data
+     * @param srcLen
+     *            size of the compressed data
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to decompress to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the decompressed size
+     * @throws IOException
+     *             if the data is corrupted, uses unsupported features or does not fit in the destination
+     */
+    public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+        int in = srcOff;
+        int inEnd = srcOff + srcLen;
+        int out = dstOff;
+        int outEnd = dstOff + dstLen;
+        while (in < inEnd) {
+            if (inEnd - in < 4) {
+                throw truncated();
+            }
+            int magic = readInt(src, in);
+            if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC_NUMBER) {
+                if (inEnd - in < 8) {
+                    throw truncated();
+                }
+                long skip = readInt(src, in + 4) & 0xFFFFFFFFL;
+                if (skip > inEnd - in - 8) {
+                    throw truncated();
+                }
+                in += 8 + (int) skip;
+                continue;
+            }
+            in = readFrameHeader(src, in, inEnd);
+            int frameStart = out;
+            while (true) {
+                if (inEnd - in < 4) {
+                    throw truncated();
+                }
+                int size = readInt(src, in);
+                in += 4;
+                if (size == 0) {
+                    break;
+                }
+                int sizeInStream = size & ~BLOCK_UNCOMPRESSED;
+                if (sizeInStream > inEnd - in - (this.blockChecksum ? 4 : 0)) {
+                    throw truncated();
+                }
+                out = decodeBlock(size, src, in, dst, out, outEnd, this.blockIndependence ? out : frameStart);
+                in += sizeInStream + (this.blockChecksum ? 4 : 0);
+            }
+
+            if (this.contentSize >= 0 && this.contentSize != out - frameStart) {
+                throw new IOException("Corrupted LZ4 data: frame content size mismatch.");
+            }
+            if (this.contentChecksum) {
+                if (inEnd - in < 4) {
+                    throw truncated();
+                }
+                if (XxHash32.hash(dst, frameStart, out - frameStart) != readInt(src, in)) {
+                    throw new IOException("Corrupted LZ4 data: content checksum mismatch.");
+                }
+                in += 4;
+            }
+        }
+        return out - dstOff;
+    }
+
+    /**
+     * Returns the size of a frame header.
+     *
+     * @param flags
+     *            the frame flags, the byte following the magic number
+     * @return the size of the header, from the magic number to the header checksum
+     */
+    static int frameHeaderSize(byte flags) {
+        return 7 + ((flags & FLAG_CONTENT_SIZE) != 0 ? 8 : 0) + ((flags & FLAG_DICTIONARY_ID) != 0 ? 4 : 0);
+    }
+
+    /**
+     * Reads a frame header, starting with its magic number.
+     *
+     * @param src
+     *            source buffer
+     * @param off
+     *            frame offset
+     * @param end
+     *            end of the available data
+     * @return the offset of the first block
+     * @throws IOException
+     *             if the header is not valid or not complete
+     */
+    int readFrameHeader(byte[] src, int off, int end) throws IOException {
+        if (end - off < 7) {
+            throw truncated();
+        }
+        if (readInt(src, off) != MAGIC_NUMBER) {
+            throw new IOException("Not an LZ4 frame: unknown magic number.");
+        }
+        int flags = src[off + 4] & 0xFF;
+        int blockDescriptor = src[off + 5] & 0xFF;
+        if ((flags & VERSION_MASK) != VERSION) {
+            throw new IOException("Unsupported LZ4 data: unknown frame version.");
+        }
+        int blockSizeId = blockDescriptor >>> 4 & 7;
+        if ((flags & FLAG_RESERVED) != 0 || (blockDescriptor & 0x8F) != 0 || blockSizeId < BLOCK_SIZE_ID_64KB) {
+            throw new IOException("Corrupted LZ4 data: invalid frame descriptor.");
+        }
+        int headerSize = frameHeaderSize((byte) flags);
+        if (end - off < headerSize) {
+            throw truncated();
+        }
+        if ((XxHash32.hash(src, off + 4, headerSize - 5) >>> 8 & 0xFF) != (src[off + headerSize - 1] & 0xFF)) {
+            throw new IOException("Corrupted LZ4 data: frame header checksum mismatch.");
+        }
+        if ((flags & FLAG_DICTIONARY_ID) != 0) {
+            throw new IOException("Unsupported LZ4 data: frame requires a dictionary.");
+        }
+        this.blockMaxSize = blockMaxSize(blockSizeId);
+        this.blockIndependence = (flags & FLAG_BLOCK_INDEPENDENCE) != 0;
+        this.blockChecksum = (flags & FLAG_BLOCK_CHECKSUM) != 0;
+        this.contentChecksum = (flags & FLAG_CONTENT_CHECKSUM) != 0;
+        this.contentSize = (flags & FLAG_CONTENT_SIZE) != 0 ? readInt(src, off + 6) & 0xFFFFFFFFL | (long) readInt(src, off + 10) << 32 : -1;
+        return off + headerSize;
+    }
+
+    /**
+     * Decodes a block into the destination buffer, checking its checksum if the frame has block checksums.
+     *
+     * @param size
+     *            block size, as given before the block, including the flag of blocks stored uncompressed
+     * @param src
+     *            source buffer
+     * @param off
+     *            offset of the block content
+     * @param dst
+     *            destination buffer
+     * @param dstPos
+     *            position to decode to
+     * @param dstLimit
+     *            end of the space available in the destination buffer
+     * @param windowStart
+     *            first position of the destination buffer that matches may refer to
+     * @return the position after the decoded data
+     * @throws IOException
+     *             if the block is not valid or does not fit in the destination
+     */
+    int decodeBlock(int size, byte[] src, int off, byte[] dst, int dstPos, int dstLimit, int windowStart) throws IOException {
+        int len = size & ~BLOCK_UNCOMPRESSED;
+        if (len > this.blockMaxSize) {
+            throw new IOException("Corrupted LZ4 data: block too large.");
+        }
+        if (this.blockChecksum && XxHash32.hash(src, off, len) != readInt(src, off + len)) {
+            throw new IOException("Corrupted LZ4 data: block checksum mismatch.");
+        }
+        if ((size & BLOCK_UNCOMPRESSED) != 0) {
+            if (len > dstLimit - dstPos) {
+                throw tooSmall();
+            }
+            System.arraycopy(src, off, dst, dstPos, len);
+            return dstPos + len;
+        }
+
+        int in = off;
+        int end = off + len;
+        int out = dstPos;
+        while (true) {
+            if (in >= end) {
+                throw truncated();
+            }
+            int token = src[in++] & 0xFF;
+            int literalLength = token >>> 4;
+            if (literalLength == 15) {
+                int b;
+                do {
+                    if (in >= end) {
+                        throw truncated();
+                    }
+                    b = src[in++] & 0xFF;
+                    literalLength += b;
+                } while (b == 255);
+            }
+            if (literalLength > end - in) {
+                throw truncated();
+            }
+            if (literalLength > dstLimit - out) {
+                throw tooSmall();
+            }
+            System.arraycopy(src, in, dst, out, literalLength);
+            in += literalLength;
+            out += literalLength;
+            if (in == end) {
+                // the last sequence has no match
+                return out;
+            }
+
+            if (end - in < 2) {
+                throw truncated();
+            }
+            int offset = readShort(src, in);
+            in += 2;
+            if (offset == 0 || offset > out - windowStart) {
+                throw new IOException("Corrupted LZ4 data: match offset beyond window.");
+            }
+            int matchLength = token & 15;
+            if (matchLength == 15) {
+                int b;
+                do {
+                    if (in >= end) {
+                        throw truncated();
+                    }
+                    b = src[in++] & 0xFF;
+                    matchLength += b;
+                } while (b == 255);
+            }
+            matchLength += MIN_MATCH;
+            if (matchLength > dstLimit - out) {
+                throw tooSmall();
+            }
+            int from = out - offset;
+            if (offset >= matchLength) {
+                System.arraycopy(dst, from, dst, out, matchLength);
+                out += matchLength;
+            } else {
+                for (int matchEnd = out + matchLength; out < matchEnd;) {
+                    dst[out++] = dst[from++];
+                }
+            }
+        }
+    }
+
+    private static IOException truncated() {
+        return new IOException("Corrupted LZ4 data: unexpected end of data.");
+    }
+
+    private static IOException tooSmall() {
+        return new IOException("LZ4 data decompresses to more than the expected size.");
+    }
+
+}
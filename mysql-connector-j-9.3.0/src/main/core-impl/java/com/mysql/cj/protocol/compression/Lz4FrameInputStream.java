@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.Lz4Constants.*;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that decompresses a sequence of LZ4 frames, as written by {@link Lz4FrameOutputStream}.
+ * <p>
+ * Data is decompressed a block at a time into a buffer that also holds the history linked blocks refer to. The buffers are allocated for the largest block
+ * size met and reused for all the following frames, so reading a stream made of many small frames, e.g., one per message, doesn't allocate memory per frame.
+ * Block checksums are verified; content checksums are skipped.
+ */
+public class Lz4FrameInputStream extends FilterInputStream {
+
+    private final Lz4Decompressor decompressor = new Lz4Decompressor();
+    private final byte[] header = new byte[Lz4Decompressor.MAX_FRAME_HEADER_SIZE];
+    private byte[] block = new byte[0];
+    /** History and decompressed data of the current block. */
+    private byte[] window = new byte[0];
+    private int windowPos;
+    private int readPos;
+    private boolean inFrame = false;
+
+    private byte[] singleByte = new byte[1];
+
+    private boolean closed = false;
+
+    public Lz4FrameInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return this.windowPos - this.readPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.block = null;
+            this.window = null;
+            super.close();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = read(this.singleByte, 0, 1);
+        return read > 0 ? this.singleByte[0] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len <= 0) {
+            return 0;
+        }
+        while (this.readPos == this.windowPos) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        int read = Math.min(len, this.windowPos - this.readPos);
+        System.arraycopy(this.window, this.readPos, b, off, read);
+        this.readPos += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+        long skipped = 0;
+        while (skipped < n && (this.readPos < this.windowPos || nextBlock())) {
+            int toSkip = (int) Math.min(n - skipped, this.windowPos - this.readPos);
+            this.readPos += toSkip;
+            skipped += toSkip;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the next block, or the end of the current frame.
+     *
+     * @return <code>false</code> at the end of the stream
+     * @throws IOException
+     *             if any of the underlying I/O operations fail or the data is corrupted
+     */
+    private boolean nextBlock() throws IOException {
+        if (!this.inFrame) {
+            if (!readFrameHeader()) {
+                return false;
+            }
+            this.inFrame = true;
+        }
+        readFully(this.header, 0, 4);
+        int size = readInt(this.header, 0);
+        if (size == 0) {
+            if (this.decompressor.contentChecksum) {
+                readFully(this.header, 0, 4);
+            }
+            this.inFrame = false;
+            return true;
+        }
+        int len = (size & ~BLOCK_UNCOMPRESSED) + (this.decompressor.blockChecksum ? 4 : 0);
+        if (len > this.block.length) {
+            throw new IOException("Corrupted LZ4 data: block too large.");
+        }
+        readFully(this.block, 0, len);
+
+        int blockMaxSize = this.decompressor.blockMaxSize;
+        if (this.window.length - this.windowPos < blockMaxSize) {
+            // keep the history linked blocks may refer to
+            int keep = this.decompressor.blockIndependence ? 0 : Math.min(this.windowPos, MAX_OFFSET);
+            System.arraycopy(this.window, this.windowPos - keep, this.window, 0, keep);
+            this.windowPos = keep;
+            this.readPos = keep;
+        }
+        this.windowPos = this.decompressor.decodeBlock(size, this.block, 0, this.window, this.windowPos, this.windowPos + blockMaxSize,
+                this.decompressor.blockIndependence ? this.windowPos : 0);
+        return true;
+    }
+
+    /**
+     * Reads a frame header, skipping skippable frames.
+     *
+     * @return <code>false</code> at the end of the stream
+     * @throws IOException
+     *             if any of the underlying I/O operations fail or the header is not valid
+     */
+    private boolean readFrameHeader() throws IOException {
+        while (true) {
+            int first = this.in.read();
+            if (first < 0) {
+                return false;
+            }
+            this.header[0] = (byte) first;
+            readFully(this.header, 1, 3);
+            int magic = readInt(this.header, 0);
+            if ((magic & SKIPPABLE_MAGIC_MASK) != SKIPPABLE_MAGIC_NUMBER) {
+                break;
+            }
+            readFully(this.header, 0, 4);
+            long skip = readInt(this.header, 0) & 0xFFFFFFFFL;
+            while (skip > 0) {
+                long skipped = this.in.skip(skip);
+                if (skipped <= 0) {
+                    throw new EOFException();
+                }
+                skip -= skipped;
+            }
+        }
+        readFully(this.header, 4, 1);
+        int headerSize = Lz4Decompressor.frameHeaderSize(this.header[4]);
+        readFully(this.header, 5, headerSize - 5);
+        this.decompressor.readFrameHeader(this.header, 0, headerSize);
+
+        // all the data of the previous frame was read, and the new frame doesn't refer to it
+        this.windowPos = 0;
+        this.readPos = 0;
+        int blockMaxSize = this.decompressor.blockMaxSize;
+        if (this.block.length < blockMaxSize + 4) {
+            this.block = new byte[blockMaxSize + 4];
+            this.window = new byte[MAX_OFFSET + 1 + 2 * blockMaxSize];
+        }
+        return true;
+    }
+
+    private void readFully(byte[] b, int off, int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            int count = this.in.read(b, off + total, len - total);
+            if (count < 0) {
+                throw new EOFException("Corrupted LZ4 data: unexpected end of stream.");
+            }
+            total += count;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
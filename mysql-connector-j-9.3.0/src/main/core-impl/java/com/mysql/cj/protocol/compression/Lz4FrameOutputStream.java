@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.Lz4Constants.*;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} that compresses data into LZ4 frames of independent blocks.
+ * <p>
+ * Each {@link #flush()} completes the current frame, so that all the data written so far can be decompressed on its own; the next write starts a new frame.
+ * This suits protocols that compress each message separately: one instance, with its buffers, serves all the messages.
+ */
+public class Lz4FrameOutputStream extends FilterOutputStream {
+
+    private static final int FRAME_HEADER_SIZE = 7;
+
+    private final Lz4Compressor compressor = new Lz4Compressor();
+    private byte[] buffer = new byte[Lz4Compressor.BLOCK_SIZE_MAX];
+    private int buffered = 0;
+    /** Compressed data: a frame header, a block and an end mark. */
+    private byte[] compressed = new byte[FRAME_HEADER_SIZE + 4 + Lz4Compressor.BLOCK_SIZE_MAX + 4];
+    private boolean inFrame = false;
+
+    private byte[] singleByte = new byte[1];
+
+    private boolean closed = false;
+
+    public Lz4FrameOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.singleByte[0] = (byte) b;
+        write(this.singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off | len | b.length - (len + off) | off + len) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (this.buffered == this.buffer.length) {
+                writeBlock(false);
+            }
+            int toCopy = Math.min(len, this.buffer.length - this.buffered);
+            System.arraycopy(b, off, this.buffer, this.buffered, toCopy);
+            this.buffered += toCopy;
+            off += toCopy;
+            len -= toCopy;
+        }
+    }
+
+    /**
+     * Completes the current frame, if any data was written since the previous one, and flushes the underlying stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        if (this.buffered > 0 || this.inFrame) {
+            writeBlock(true);
+        }
+        this.out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            try {
+                flush();
+            } finally {
+                this.closed = true;
+                this.buffer = null;
+                this.compressed = null;
+                this.out.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the buffered data as a block, starting a frame if needed.
+     *
+     * @param endFrame
+     *            whether to end the frame after the block
+     * @throws IOException
+     *             if any of the underlying I/O operations fail
+     */
+    private void writeBlock(boolean endFrame) throws IOException {
+        int off = 0;
+        if (!this.inFrame) {
+            off = this.compressor.writeFrameHeader(this.compressed, 0, this.compressed.length, -1);
+            this.inFrame = true;
+        }
+        if (this.buffered > 0) {
+            off = this.compressor.writeBlock(this.buffer, 0, this.buffered, this.compressed, off, this.compressed.length);
+            this.buffered = 0;
+        }
+        if (endFrame) {
+            writeInt(this.compressed, off, 0);
+            off += 4;
+            this.inFrame = false;
+        }
+        this.out.write(this.compressed, 0, off);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+/**
+ * XXH32, the hash function used for LZ4 frame header, block and content checksums.
+ */
+final class XxHash32 {
+
+    private static final int PRIME1 = 0x9E3779B1;
+    private static final int PRIME2 = 0x85EBCA77;
+    private static final int PRIME3 = 0xC2B2AE3D;
+    private static final int PRIME4 = 0x27D4EB2F;
+    private static final int PRIME5 = 0x165667B1;
+
+    private XxHash32() {
+    }
+
+    static int hash(byte[] b, int off, int len) {
+        int end = off + len;
+        int p = off;
+        int h;
+        if (len >= 16) {
+            int v1 = PRIME1 + PRIME2;
+            int v2 = PRIME2;
+            int v3 = 0;
+            int v4 = -PRIME1;
+            do {
+                v1 = round(v1, Lz4Constants.readInt(b, p));
+                v2 = round(v2, Lz4Constants.readInt(b, p + 4));
+                v3 = round(v3, Lz4Constants.readInt(b, p + 8));
+                v4 = round(v4, Lz4Constants.readInt(b, p + 12));
+                p += 16;
+            } while (p <= end - 16);
+            h = Integer.rotateLeft(v1, 1) + Integer.rotateLeft(v2, 7) + Integer.rotateLeft(v3, 12) + Integer.rotateLeft(v4, 18);
+        } else {
+            h = PRIME5;
+        }
+        h += len;
+        for (; p + 4 <= end; p += 4) {
+            h += Lz4Constants.readInt(b, p) * PRIME3;
+            h = Integer.rotateLeft(h, 17) * PRIME4;
+        }
+        for (; p < end; p++) {
+            h += (b[p] & 0xFF) * PRIME5;
+            h = Integer.rotateLeft(h, 11) * PRIME1;
+        }
+        h ^= h >>> 15;
+        h *= PRIME2;
+        h ^= h >>> 13;
+        h *= PRIME3;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int round(int acc, int input) {
+        return Integer.rotateLeft(acc + input * PRIME2, 13) * PRIME1;
+    }
+
+}
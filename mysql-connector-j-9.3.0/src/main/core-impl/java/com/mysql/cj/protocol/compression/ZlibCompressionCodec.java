@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.mysql.cj.protocol.CompressionCodec;
+
+/**
+ * The "zlib" {@link CompressionCodec}, based on {@link Deflater} and {@link Inflater}. Input chunks are deflated as they are added, so no copy of the packet
+ * is kept.
+ */
+public class ZlibCompressionCodec implements CompressionCodec {
+
+    public static final String ALGORITHM_NAME = "zlib";
+
+    public static final int DEFAULT_LEVEL = 6;
+
+    @Override
+    public String getAlgorithmName() {
+        return ALGORITHM_NAME;
+    }
+
+    @Override
+    public Compressor createCompressor(int level) {
+        return new ZlibCompressor(level);
+    }
+
+    @Override
+    public Decompressor createDecompressor() {
+        return new ZlibDecompressor();
+    }
+
+    private static class ZlibCompressor implements Compressor {
+
+        private Deflater deflater;
+        private byte[] out;
+        private int off;
+        private int len;
+        private int pos;
+
+        ZlibCompressor(int level) {
+            this.deflater = new Deflater(level);
+        }
+
+        @Override
+        public void begin(byte[] buf, int offset, int length) {
+            this.deflater.reset();
+            this.out = buf;
+            this.off = offset;
+            this.len = length;
+            this.pos = 0;
+        }
+
+        @Override
+        public void update(byte[] in, int offset, int length) {
+            this.deflater.setInput(in, offset, length);
+            this.pos += this.deflater.deflate(this.out, this.off + this.pos, this.len - this.pos);
+        }
+
+        @Override
+        public int finish() {
+            this.deflater.finish();
+            this.pos += this.deflater.deflate(this.out, this.off + this.pos, this.len - this.pos);
+            this.out = null;
+            return this.deflater.finished() ? this.pos : -1;
+        }
+
+        @Override
+        public void end() {
+            this.deflater.end();
+            this.deflater = null;
+        }
+
+    }
+
+    private static class ZlibDecompressor implements Decompressor {
+
+        private Inflater inflater = new Inflater();
+
+        @Override
+        public void decompress(byte[] in, int off, int len, byte[] out, int outOff, int outLen) throws IOException {
+            this.inflater.reset();
+            this.inflater.setInput(in, off, len);
+            try {
+                if (this.inflater.inflate(out, outOff, outLen) != outLen) {
+                    throw new IOException("Error while uncompressing packet from server.");
+                }
+            } catch (DataFormatException dfe) {
+                throw new IOException("Error while uncompressing packet from server.", dfe);
+            }
+        }
+
+        @Override
+        public void end() {
+            this.inflater.end();
+            this.inflater = null;
+        }
+
+    }
+
+}
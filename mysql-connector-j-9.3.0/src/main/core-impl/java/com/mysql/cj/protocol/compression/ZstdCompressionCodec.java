@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.IOException;
+
+import com.mysql.cj.protocol.CompressionCodec;
+
+/**
+ * The "zstd" {@link CompressionCodec}, based on the built-in {@link ZstdCompressor} and {@link ZstdDecompressor}. Each packet is compressed as one Zstandard
+ * frame.
+ */
+public class ZstdCompressionCodec implements CompressionCodec {
+
+    public static final String ALGORITHM_NAME = "zstd";
+
+    /** Packets larger than this are not kept in the compressor's input buffer after being compressed. */
+    private static final int MAX_RETAINED_INPUT = 1 << 20;
+
+    @Override
+    public String getAlgorithmName() {
+        return ALGORITHM_NAME;
+    }
+
+    @Override
+    public Compressor createCompressor(int level) {
+        return new FrameCompressor(level);
+    }
+
+    @Override
+    public Decompressor createDecompressor() {
+        return new FrameDecompressor();
+    }
+
+    private static class FrameCompressor implements Compressor {
+
+        private ZstdCompressor compressor;
+        private byte[] input = new byte[4096];
+        private int inputLen;
+        private byte[] out;
+        private int off;
+        private int len;
+
+        FrameCompressor(int level) {
+            this.compressor = new ZstdCompressor(level);
+        }
+
+        @Override
+        public void begin(byte[] buf, int offset, int length) {
+            this.out = buf;
+            this.off = offset;
+            this.len = length;
+            this.inputLen = 0;
+        }
+
+        @Override
+        public void update(byte[] in, int offset, int length) {
+            if (this.inputLen + length > this.input.length) {
+                byte[] newInput = new byte[Math.max(this.inputLen + length, this.input.length * 2)];
+                System.arraycopy(this.input, 0, newInput, 0, this.inputLen);
+                this.input = newInput;
+            }
+            System.arraycopy(in, offset, this.input, this.inputLen, length);
+            this.inputLen += length;
+        }
+
+        @Override
+        public int finish() {
+            int compressedLen = this.compressor.compress(this.input, 0, this.inputLen, this.out, this.off, this.len);
+            this.out = null;
+            if (this.input.length > MAX_RETAINED_INPUT) {
+                this.input = new byte[4096];
+            }
+            return compressedLen;
+        }
+
+        @Override
+        public void end() {
+            this.compressor = null;
+            this.input = null;
+        }
+
+    }
+
+    private static class FrameDecompressor implements Decompressor {
+
+        private ZstdDecompressor decompressor = new ZstdDecompressor();
+
+        @Override
+        public void decompress(byte[] in, int off, int len, byte[] out, int outOff, int outLen) throws IOException {
+            if (this.decompressor.decompress(in, off, len, out, outOff, outLen) != outLen) {
+                throw new IOException("Corrupted Zstandard data: packet length mismatch.");
+            }
+        }
+
+        @Override
+        public void end() {
+            this.decompressor = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,719 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.ZstdConstants.*;
+
+import java.util.Arrays;
+
+/**
+ * Zstandard (RFC 8878) compressor producing either one single segment frame per call or, for streams, frames whose blocks are produced as the data comes.
+ * <p>
+ * Matches are found with a hash chain whose search depth, like the choice between greedy and lazy parsing, depends on the compression level. Levels follow
+ * the Zstandard scale, 1 to 22, though higher levels trade speed for ratio less aggressively than the reference implementation does. Literals are Huffman
+ * coded and sequences are FSE coded with either the predefined distributions or distributions computed for the block.
+ * <p>
+ * Instances are not thread safe; the match finder tables and buffers they hold are reused from frame to frame.
+ */
+public class ZstdCompressor {
+
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 22;
+    public static final int DEFAULT_LEVEL = 3;
+    /** Window size of the frames started by {@link #beginFrame(byte[], int, int)}. */
+    public static final int STREAM_WINDOW_SIZE = 1 << 20;
+
+    private static final int STREAM_FRAME_HEADER_SIZE = 6;
+
+    // hash log, chain log (0 for none), search depth, lazy steps, target length
+    private static final int[][] LEVEL_PARAMETERS = { //
+            { 14, 0, 1, 0, 0 }, //
+            { 15, 0, 1, 0, 0 }, //
+            { 16, 16, 4, 0, 24 }, //
+            { 16, 16, 8, 0, 32 }, //
+            { 17, 16, 8, 1, 32 }, //
+            { 17, 17, 16, 1, 48 }, //
+            { 17, 17, 24, 1, 64 }, //
+            { 17, 17, 32, 1, 96 }, //
+            { 17, 17, 48, 2, 128 }, //
+            { 18, 18, 64, 2, 128 }, //
+            { 18, 18, 96, 2, 192 }, //
+            { 18, 18, 128, 2, 256 }, //
+            { 18, 18, 192, 2, 384 }, //
+            { 18, 18, 256, 2, 512 }, //
+            { 18, 18, 384, 2, 768 }, //
+            { 18, 18, 512, 2, 1024 }, //
+            { 18, 18, 768, 2, 2048 }, //
+            { 18, 18, 1024, 2, 4096 }, //
+            { 18, 18, 1024, 2, 8192 }, //
+            { 18, 18, 1024, 2, 16384 }, //
+            { 18, 18, 1024, 2, 32768 }, //
+            { 18, 18, 1024, 2, BLOCK_SIZE_MAX } };
+
+    private static final int MIN_MATCH_LENGTH = 4;
+    private static final int MIN_LITERALS_TO_COMPRESS = 64;
+    private static final int MIN_SEQUENCES_FOR_CUSTOM_TABLES = 64;
+
+    private static final FseEncodingTable DEFAULT_LITERAL_LENGTH_TABLE = FseEncodingTable.predefined(LITERAL_LENGTH_DEFAULT_NORM, LITERAL_LENGTH_DEFAULT_LOG);
+    private static final FseEncodingTable DEFAULT_MATCH_LENGTH_TABLE = FseEncodingTable.predefined(MATCH_LENGTH_DEFAULT_NORM, MATCH_LENGTH_DEFAULT_LOG);
+    private static final FseEncodingTable DEFAULT_OFFSET_TABLE = FseEncodingTable.predefined(OFFSET_DEFAULT_NORM, OFFSET_DEFAULT_LOG);
+
+    private final int level;
+    private final int hashLog;
+    private final int chainLog;
+    private final int searchDepth;
+    private final int lazySteps;
+    private final int targetLength;
+
+    // match finder, positions are stored as generationBase + offset in the segment so that tables don't need to be cleared between segments
+    private int[] hashTable;
+    private int[] chainTable;
+    private int chainMask;
+    private int generationBase = 1;
+    private int generationEnd = 0;
+    private int nextToInsert;
+    private int matchOffset;
+
+    // segment of the frame started by beginFrame that the next call to compressBlocks may continue
+    private boolean streamContinuable;
+    private int streamSegmentStart;
+    private int streamEnd;
+
+    // sequences of the current block
+    private final byte[] literalBuffer = new byte[BLOCK_SIZE_MAX];
+    private int literalCount;
+    private final int[] literalLengths = new int[BLOCK_SIZE_MAX / MIN_MATCH_LENGTH + 1];
+    private final int[] matchLengths = new int[BLOCK_SIZE_MAX / MIN_MATCH_LENGTH + 1];
+    private final int[] offsetValues = new int[BLOCK_SIZE_MAX / MIN_MATCH_LENGTH + 1];
+    private int sequenceCount;
+    private final int[] repeatOffsets = new int[3];
+    private final int[] savedRepeatOffsets = new int[3];
+
+    // entropy coding
+    private final byte[] literalLengthCodes = new byte[BLOCK_SIZE_MAX / MIN_MATCH_LENGTH + 1];
+    private final byte[] matchLengthCodes = new byte[BLOCK_SIZE_MAX / MIN_MATCH_LENGTH + 1];
+    private final byte[] offsetCodes = new byte[BLOCK_SIZE_MAX / MIN_MATCH_LENGTH + 1];
+    private final int[] symbolCounts = new int[MATCH_LENGTH_MAX_CODE + 1];
+    private final short[] literalLengthNorm = new short[LITERAL_LENGTH_MAX_CODE + 1];
+    private final short[] matchLengthNorm = new short[MATCH_LENGTH_MAX_CODE + 1];
+    private final short[] offsetNorm = new short[OFFSET_MAX_CODE + 1];
+    private final FseEncodingTable literalLengthTable = new FseEncodingTable(LITERAL_LENGTH_MAX_LOG);
+    private final FseEncodingTable matchLengthTable = new FseEncodingTable(MATCH_LENGTH_MAX_LOG);
+    private final FseEncodingTable offsetTable = new FseEncodingTable(OFFSET_MAX_LOG);
+    private final FseEncodingTable[] tables = new FseEncodingTable[3];
+    private final byte[] descriptionBuffer = new byte[512];
+    private final HuffmanEncoder huffmanEncoder = new HuffmanEncoder();
+    private final BitWriter writer = new BitWriter();
+
+    /**
+     * Creates a compressor.
+     *
+     * @param level
+     *            compression level, from {@value #MIN_LEVEL} to {@value #MAX_LEVEL}; out of range values are clamped
+     */
+    public ZstdCompressor(int level) {
+        this.level = Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+        int[] parameters = LEVEL_PARAMETERS[this.level - 1];
+        this.hashLog = parameters[0];
+        this.chainLog = parameters[1];
+        this.searchDepth = parameters[2];
+        this.lazySteps = parameters[3];
+        this.targetLength = parameters[4] == 0 ? Integer.MAX_VALUE : parameters[4];
+    }
+
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Returns the maximum size of a frame holding the given amount of data, which is reached for incompressible data.
+     *
+     * @param srcLen
+     *            size of the data to compress
+     * @return the worst case compressed size
+     */
+    public static int maxCompressedLength(int srcLen) {
+        return srcLen + (srcLen / BLOCK_SIZE_MAX + 1) * BLOCK_HEADER_SIZE + 14;
+    }
+
+    /**
+     * Compresses data into a single frame.
+     *
+     * @param src
+     *            source buffer
+     * @param srcOff
+     *            offset of the data to compress
+     * @param srcLen
+     *            size of the data to compress
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to write the frame to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the size of the frame, or -1 if it does not fit in the destination
+     */
+    public int compress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        int out = dstOff;
+        int outEnd = dstOff + dstLen;
+
+        int contentSizeFlag = srcLen < 256 ? 0 : srcLen < 65536 + 256 ? 1 : 2;
+        int headerSize = 5 + (contentSizeFlag == 0 ? 1 : 1 << contentSizeFlag);
+        if (dstLen < headerSize) {
+            return -1;
+        }
+        writeInt(dst, out, MAGIC_NUMBER);
+        dst[out + 4] = (byte) (contentSizeFlag << 6 | 0x20);
+        out += 5;
+        if (contentSizeFlag == 0) {
+            dst[out++] = (byte) srcLen;
+        } else if (contentSizeFlag == 1) {
+            writeShort(dst, out, srcLen - 256);
+            out += 2;
+        } else {
+            writeInt(dst, out, srcLen);
+            out += 4;
+        }
+
+        resetRepeatOffsets();
+        out = writeBlocks(src, srcOff, srcOff, srcLen, dst, out, outEnd, true, false);
+        return out < 0 ? -1 : out - dstOff;
+    }
+
+    /**
+     * Starts a frame of unknown size, whose content is then given by successive calls to {@link #compressBlocks(byte[], int, int, byte[], int, int)}, e.g., a
+     * stream flushed at the end of each message. The frame's window size is {@value #STREAM_WINDOW_SIZE}.
+     *
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to write the frame header to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the size of the frame header, or -1 if it does not fit in the destination
+     */
+    public int beginFrame(byte[] dst, int dstOff, int dstLen) {
+        if (dstLen < STREAM_FRAME_HEADER_SIZE) {
+            return -1;
+        }
+        writeInt(dst, dstOff, MAGIC_NUMBER);
+        dst[dstOff + 4] = 0;
+        dst[dstOff + 5] = (byte) (highBit(STREAM_WINDOW_SIZE) - 10 << 3);
+        resetRepeatOffsets();
+        this.streamContinuable = false;
+        return STREAM_FRAME_HEADER_SIZE;
+    }
+
+    /**
+     * Compresses data into blocks of the frame started by {@link #beginFrame(byte[], int, int)}. The blocks are complete, so the receiver can decompress all
+     * the data given so far.
+     * <p>
+     * When srcOff is the offset where the data of the previous call ended, matches may refer to the data of previous calls up to
+     * {@value #STREAM_WINDOW_SIZE} bytes back, which must then be found unmodified at the same offsets of src. src may be a copy of the previous buffer, e.g.,
+     * after growing it.
+     *
+     * @param src
+     *            source buffer
+     * @param srcOff
+     *            offset of the data to compress
+     * @param srcLen
+     *            size of the data to compress
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to write the blocks to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the size of the blocks, or -1 if they do not fit in the destination
+     */
+    public int compressBlocks(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) {
+        int out = dstOff;
+        int outEnd = dstOff + dstLen;
+        // matches are kept within the window by starting a new segment, that doesn't refer to previous data, each time a segment reaches the window size
+        for (int start = srcOff, srcEnd = srcOff + srcLen; start < srcEnd && out >= 0;) {
+            boolean continued = this.streamContinuable && start == this.streamEnd && start - this.streamSegmentStart < STREAM_WINDOW_SIZE;
+            int segmentStart = continued ? this.streamSegmentStart : start;
+            int len = Math.min(srcEnd - start, segmentStart + STREAM_WINDOW_SIZE - start);
+            out = writeBlocks(src, segmentStart, start, len, dst, out, outEnd, false, continued);
+            this.streamContinuable = true;
+            this.streamSegmentStart = segmentStart;
+            start += len;
+            this.streamEnd = start;
+        }
+        if (out < 0) {
+            // the receiver won't see this data
+            this.streamContinuable = false;
+            return -1;
+        }
+        return out - dstOff;
+    }
+
+    /**
+     * Ends the frame started by {@link #beginFrame(byte[], int, int)} with an empty last block.
+     *
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to write the last block to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the size of the last block, or -1 if it does not fit in the destination
+     */
+    public int endFrame(byte[] dst, int dstOff, int dstLen) {
+        if (dstLen < BLOCK_HEADER_SIZE) {
+            return -1;
+        }
+        dst[dstOff] = (byte) (BLOCK_TYPE_RAW << 1 | 1);
+        dst[dstOff + 1] = 0;
+        dst[dstOff + 2] = 0;
+        return BLOCK_HEADER_SIZE;
+    }
+
+    private void resetRepeatOffsets() {
+        this.repeatOffsets[0] = 1;
+        this.repeatOffsets[1] = 4;
+        this.repeatOffsets[2] = 8;
+    }
+
+    /**
+     * Compresses data into blocks, matches referring only to the data of the segment, from segmentStart.
+     *
+     * @return the position after the blocks, or -1 if they do not fit before the end of the destination
+     */
+    private int writeBlocks(byte[] src, int segmentStart, int srcOff, int srcLen, byte[] dst, int off, int outEnd, boolean last, boolean continued) {
+        startSegment(segmentStart, srcOff, srcOff + srcLen, continued);
+        int out = off;
+        int srcEnd = srcOff + srcLen;
+        int blockStart = srcOff;
+        boolean lastBlock;
+        do {
+            int blockEnd = Math.min(blockStart + BLOCK_SIZE_MAX, srcEnd);
+            int blockSize = blockEnd - blockStart;
+            lastBlock = blockEnd == srcEnd;
+            if (outEnd - out < BLOCK_HEADER_SIZE) {
+                out = -1;
+                break;
+            }
+            System.arraycopy(this.repeatOffsets, 0, this.savedRepeatOffsets, 0, 3);
+            int end = blockSize < MIN_MATCH_LENGTH * 2 ? -1
+                    : compressBlock(src, segmentStart, srcEnd, blockStart, blockEnd, dst, out + BLOCK_HEADER_SIZE,
+                            Math.min(outEnd, out + BLOCK_HEADER_SIZE + blockSize - 1));
+            int header;
+            if (end > 0) {
+                header = end - out - BLOCK_HEADER_SIZE << 3 | BLOCK_TYPE_COMPRESSED << 1;
+            } else {
+                // not compressible: the decoder won't see the sequences, so neither must the repeat offsets
+                System.arraycopy(this.savedRepeatOffsets, 0, this.repeatOffsets, 0, 3);
+                if (outEnd - out - BLOCK_HEADER_SIZE < blockSize) {
+                    out = -1;
+                    break;
+                }
+                System.arraycopy(src, blockStart, dst, out + BLOCK_HEADER_SIZE, blockSize);
+                end = out + BLOCK_HEADER_SIZE + blockSize;
+                header = blockSize << 3 | BLOCK_TYPE_RAW << 1;
+            }
+            header |= last && lastBlock ? 1 : 0;
+            dst[out] = (byte) header;
+            dst[out + 1] = (byte) (header >>> 8);
+            dst[out + 2] = (byte) (header >>> 16);
+            out = end;
+            blockStart = blockEnd;
+        } while (!lastBlock);
+
+        endSegment(segmentStart, srcEnd);
+        return out;
+    }
+
+    /**
+     * Prepares the match finder for data from srcOff to srcEnd. Unless the segment is continued, the positions indexed so far, which may belong to data
+     * that the receiver never got if compression failed, are left out of the new segment.
+     */
+    private void startSegment(int segmentStart, int srcOff, int srcEnd, boolean continued) {
+        if (this.hashTable == null) {
+            this.hashTable = new int[1 << this.hashLog];
+            if (this.chainLog > 0) {
+                this.chainTable = new int[1 << this.chainLog];
+                this.chainMask = (1 << this.chainLog) - 1;
+            }
+        }
+        if (continued) {
+            return;
+        }
+        this.generationBase = this.generationEnd + 1;
+        if (this.generationBase > Integer.MAX_VALUE - (srcEnd - segmentStart) - 1) {
+            Arrays.fill(this.hashTable, 0);
+            if (this.chainTable != null) {
+                Arrays.fill(this.chainTable, 0);
+            }
+            this.generationBase = 1;
+        }
+        this.generationEnd = this.generationBase;
+        this.nextToInsert = srcOff;
+    }
+
+    private void endSegment(int segmentStart, int srcEnd) {
+        this.generationEnd = Math.max(this.generationEnd, this.generationBase + srcEnd - segmentStart);
+    }
+
+    /**
+     * Compresses a block.
+     *
+     * @return the position after the compressed block, or -1 if it does not fit before the limit
+     */
+    private int compressBlock(byte[] src, int segmentStart, int srcEnd, int blockStart, int blockEnd, byte[] dst, int off, int limit) {
+        this.literalCount = 0;
+        this.sequenceCount = 0;
+
+        int anchor = blockStart;
+        int p = blockStart;
+        int inputLimit = blockEnd - MIN_MATCH_LENGTH;
+        while (p < inputLimit) {
+            int length = findMatch(src, segmentStart, srcEnd, p, blockEnd);
+            if (length == 0) {
+                int step = 1 + (p - anchor >>> 8);
+                p += step;
+                if (step > 1 && this.nextToInsert < p - 1) {
+                    // don't index long runs of data that doesn't match anything
+                    this.nextToInsert = p - 1;
+                }
+                continue;
+            }
+            int offset = this.matchOffset;
+            for (int step = 0; step < this.lazySteps && p + 1 < inputLimit; step++) {
+                int nextLength = findMatch(src, segmentStart, srcEnd, p + 1, blockEnd);
+                if (nextLength == 0 || nextLength * 4 - highBit(this.matchOffset) <= length * 4 - highBit(offset) + 4) {
+                    break;
+                }
+                p++;
+                length = nextLength;
+                offset = this.matchOffset;
+            }
+            int matchStart = p - offset;
+            while (p > anchor && matchStart > segmentStart && src[p - 1] == src[matchStart - 1]) {
+                p--;
+                matchStart--;
+                length++;
+            }
+            addSequence(src, anchor, p - anchor, offset, length);
+            p += length;
+            anchor = p;
+            if (this.chainTable == null && this.nextToInsert < p - 2) {
+                this.nextToInsert = p - 2;
+            }
+        }
+        int remaining = blockEnd - anchor;
+        System.arraycopy(src, anchor, this.literalBuffer, this.literalCount, remaining);
+        this.literalCount += remaining;
+
+        int q = writeLiterals(dst, off, limit);
+        return q < 0 ? -1 : writeSequences(dst, q, limit);
+    }
+
+    private int hash(byte[] src, int p) {
+        return readInt(src, p) * 0x9E3779B1 >>> 32 - this.hashLog;
+    }
+
+    private void insertUpTo(byte[] src, int segmentStart, int srcEnd, int target) {
+        int[] hashes = this.hashTable;
+        int[] chain = this.chainTable;
+        int base = this.generationBase - segmentStart;
+        int end = Math.min(target, srcEnd - 3);
+        for (int q = this.nextToInsert; q < end; q++) {
+            int h = hash(src, q);
+            if (chain != null) {
+                chain[base + q & this.chainMask] = hashes[h];
+            }
+            hashes[h] = base + q;
+        }
+        this.nextToInsert = Math.max(this.nextToInsert, target);
+    }
+
+    /**
+     * Looks for the longest match at a position, among the repeat offset and the previous positions with the same hash.
+     *
+     * @return the match length, or 0 if there is no match; the match offset is left in {@link #matchOffset}
+     */
+    private int findMatch(byte[] src, int segmentStart, int srcEnd, int p, int blockEnd) {
+        insertUpTo(src, segmentStart, srcEnd, p);
+        int base = this.generationBase - segmentStart;
+        int current = base + p;
+        int h = hash(src, p);
+        int candidate = this.hashTable[h];
+        this.hashTable[h] = current;
+        if (this.chainTable != null) {
+            this.chainTable[current & this.chainMask] = candidate;
+        }
+        this.nextToInsert = p + 1;
+
+        int best = MIN_MATCH_LENGTH - 1;
+        int bestOffset = 0;
+        int sequence = readInt(src, p);
+        int repeat = this.repeatOffsets[0];
+        if (p - repeat >= segmentStart && readInt(src, p - repeat) == sequence) {
+            best = MIN_MATCH_LENGTH + count(src, p - repeat + MIN_MATCH_LENGTH, p + MIN_MATCH_LENGTH, blockEnd);
+            bestOffset = repeat;
+        }
+
+        int lowest = this.generationBase;
+        for (int depth = this.searchDepth; depth > 0 && candidate >= lowest && best < this.targetLength; depth--) {
+            int c = candidate - base;
+            if (best < blockEnd - p && src[c + best] == src[p + best] && readInt(src, c) == sequence) {
+                int length = MIN_MATCH_LENGTH + count(src, c + MIN_MATCH_LENGTH, p + MIN_MATCH_LENGTH, blockEnd);
+                if (length > best) {
+                    best = length;
+                    bestOffset = p - c;
+                    if (p + length == blockEnd) {
+                        break;
+                    }
+                }
+            }
+            if (this.chainTable == null) {
+                break;
+            }
+            int next = this.chainTable[candidate & this.chainMask];
+            if (next >= candidate || current - next > this.chainMask) {
+                break;
+            }
+            candidate = next;
+        }
+        this.matchOffset = bestOffset;
+        return best >= MIN_MATCH_LENGTH ? best : 0;
+    }
+
+    private static int count(byte[] src, int a, int b, int limit) {
+        int start = b;
+        while (b + 8 <= limit) {
+            long diff = readLong(src, a) ^ readLong(src, b);
+            if (diff != 0) {
+                return b - start + (Long.numberOfTrailingZeros(diff) >>> 3);
+            }
+            a += 8;
+            b += 8;
+        }
+        while (b < limit && src[a] == src[b]) {
+            a++;
+            b++;
+        }
+        return b - start;
+    }
+
+    private void addSequence(byte[] src, int literalsStart, int literalLength, int offset, int matchLength) {
+        System.arraycopy(src, literalsStart, this.literalBuffer, this.literalCount, literalLength);
+        this.literalCount += literalLength;
+
+        int[] rep = this.repeatOffsets;
+        int offsetValue;
+        if (literalLength > 0) {
+            offsetValue = offset == rep[0] ? 1 : offset == rep[1] ? 2 : offset == rep[2] ? 3 : offset + 3;
+        } else {
+            offsetValue = offset == rep[1] ? 1 : offset == rep[2] ? 2 : offset == rep[0] - 1 ? 3 : offset + 3;
+        }
+        // same repeat offsets update as the decoder
+        if (offsetValue > 3) {
+            rep[2] = rep[1];
+            rep[1] = rep[0];
+            rep[0] = offset;
+        } else if (offsetValue - 1 + (literalLength == 0 ? 1 : 0) != 0) {
+            if (offsetValue - 1 + (literalLength == 0 ? 1 : 0) != 1) {
+                rep[2] = rep[1];
+            }
+            rep[1] = rep[0];
+            rep[0] = offset;
+        }
+
+        int n = this.sequenceCount++;
+        this.literalLengths[n] = literalLength;
+        this.matchLengths[n] = matchLength;
+        this.offsetValues[n] = offsetValue;
+    }
+
+    private int writeLiterals(byte[] dst, int off, int limit) {
+        int n = this.literalCount;
+        byte[] literals = this.literalBuffer;
+        if (n >= MIN_LITERALS_TO_COMPRESS) {
+            int end = this.huffmanEncoder.writeLiterals(literals, n, dst, off, limit);
+            if (end > 0) {
+                return end;
+            }
+        }
+        boolean rle = n > 1;
+        for (int i = 1; i < n && rle; i++) {
+            rle = literals[i] == literals[0];
+        }
+        int type = rle ? LITERALS_TYPE_RLE : LITERALS_TYPE_RAW;
+        int headerSize = n < 32 ? 1 : n < 4096 ? 2 : 3;
+        int size = headerSize + (rle ? 1 : n);
+        if (limit - off < size) {
+            return -1;
+        }
+        if (headerSize == 1) {
+            dst[off] = (byte) (type | n << 3);
+        } else if (headerSize == 2) {
+            writeShort(dst, off, type | 1 << 2 | n << 4);
+        } else {
+            int header = type | 3 << 2 | n << 4;
+            writeShort(dst, off, header);
+            dst[off + 2] = (byte) (header >>> 16);
+        }
+        if (rle) {
+            dst[off + headerSize] = literals[0];
+        } else {
+            System.arraycopy(literals, 0, dst, off + headerSize, n);
+        }
+        return off + size;
+    }
+
+    private int writeSequences(byte[] dst, int off, int limit) {
+        int n = this.sequenceCount;
+        int p = off;
+        if (limit - p < 4) {
+            return -1;
+        }
+        if (n < 128) {
+            dst[p++] = (byte) n;
+        } else if (n < 0x7F00) {
+            dst[p++] = (byte) ((n >>> 8) + 128);
+            dst[p++] = (byte) n;
+        } else {
+            dst[p++] = (byte) 255;
+            writeShort(dst, p, n - 0x7F00);
+            p += 2;
+        }
+        if (n == 0) {
+            return p;
+        }
+
+        for (int i = 0; i < n; i++) {
+            this.literalLengthCodes[i] = (byte) literalLengthCode(this.literalLengths[i]);
+            this.matchLengthCodes[i] = (byte) matchLengthCode(this.matchLengths[i]);
+            this.offsetCodes[i] = (byte) highBit(this.offsetValues[i]);
+        }
+        int modesPosition = p++;
+        FseEncodingTable[] tables = this.tables;
+        int modes = 0;
+        for (int kind = 0; kind < 3; kind++) {
+            byte[] codes = kind == 0 ? this.literalLengthCodes : kind == 1 ? this.offsetCodes : this.matchLengthCodes;
+            int maxCode = kind == 0 ? LITERAL_LENGTH_MAX_CODE : kind == 1 ? OFFSET_MAX_CODE : MATCH_LENGTH_MAX_CODE;
+            int maxLog = kind == 0 ? LITERAL_LENGTH_MAX_LOG : kind == 1 ? OFFSET_MAX_LOG : MATCH_LENGTH_MAX_LOG;
+            short[] defaultNorm = kind == 0 ? LITERAL_LENGTH_DEFAULT_NORM : kind == 1 ? OFFSET_DEFAULT_NORM : MATCH_LENGTH_DEFAULT_NORM;
+            int defaultLog = kind == 0 ? LITERAL_LENGTH_DEFAULT_LOG : kind == 1 ? OFFSET_DEFAULT_LOG : MATCH_LENGTH_DEFAULT_LOG;
+            short[] norm = kind == 0 ? this.literalLengthNorm : kind == 1 ? this.offsetNorm : this.matchLengthNorm;
+            FseEncodingTable custom = kind == 0 ? this.literalLengthTable : kind == 1 ? this.offsetTable : this.matchLengthTable;
+
+            int[] counts = this.symbolCounts;
+            Arrays.fill(counts, 0);
+            int maxSymbol = 0;
+            int distinct = 0;
+            for (int i = 0; i < n; i++) {
+                int code = codes[i];
+                if (counts[code]++ == 0) {
+                    distinct++;
+                }
+                maxSymbol = Math.max(maxSymbol, code);
+            }
+            if (maxSymbol > maxCode) {
+                return -1;
+            }
+
+            int mode;
+            if (distinct == 1 && n > 2) {
+                mode = SEQUENCE_MODE_RLE;
+                if (p >= limit) {
+                    return -1;
+                }
+                dst[p++] = (byte) maxSymbol;
+                tables[kind] = null;
+            } else {
+                int defaultCost = FseEncodingTable.cost(counts, maxSymbol, defaultNorm, defaultLog);
+                int customCost = Integer.MAX_VALUE;
+                int log = 0;
+                int descriptionSize = 0;
+                if (n >= MIN_SEQUENCES_FOR_CUSTOM_TABLES || defaultCost == Integer.MAX_VALUE) {
+                    log = FseEncodingTable.optimalLog(n, distinct, maxLog);
+                    FseEncodingTable.normalize(counts, maxSymbol, n, log, norm);
+                    descriptionSize = FseEncodingTable.writeDescription(norm, maxSymbol, log, this.descriptionBuffer, 0, this.descriptionBuffer.length);
+                    customCost = FseEncodingTable.cost(counts, maxSymbol, norm, log) + descriptionSize * 8;
+                }
+                if (customCost < defaultCost) {
+                    mode = SEQUENCE_MODE_FSE;
+                    if (limit - p < descriptionSize) {
+                        return -1;
+                    }
+                    System.arraycopy(this.descriptionBuffer, 0, dst, p, descriptionSize);
+                    p += descriptionSize;
+                    custom.build(norm, maxSymbol, log);
+                    tables[kind] = custom;
+                } else {
+                    mode = SEQUENCE_MODE_PREDEFINED;
+                    tables[kind] = kind == 0 ? DEFAULT_LITERAL_LENGTH_TABLE : kind == 1 ? DEFAULT_OFFSET_TABLE : DEFAULT_MATCH_LENGTH_TABLE;
+                }
+            }
+            modes |= mode << 6 - 2 * kind;
+        }
+        dst[modesPosition] = (byte) modes;
+
+        FseEncodingTable ll = tables[0];
+        FseEncodingTable of = tables[1];
+        FseEncodingTable ml = tables[2];
+        BitWriter w = this.writer;
+        w.init(dst, p, limit);
+        int last = n - 1;
+        int mlState = ml == null ? 0 : ml.initState(this.matchLengthCodes[last]);
+        int ofState = of == null ? 0 : of.initState(this.offsetCodes[last]);
+        int llState = ll == null ? 0 : ll.initState(this.literalLengthCodes[last]);
+        writeExtraBits(w, last);
+        for (int i = last - 1; i >= 0; i--) {
+            if (of != null) {
+                ofState = of.encode(w, ofState, this.offsetCodes[i]);
+            }
+            if (ml != null) {
+                mlState = ml.encode(w, mlState, this.matchLengthCodes[i]);
+            }
+            if (ll != null) {
+                llState = ll.encode(w, llState, this.literalLengthCodes[i]);
+            }
+            w.flush();
+            writeExtraBits(w, i);
+        }
+        if (ml != null) {
+            ml.flush(w, mlState);
+        }
+        if (of != null) {
+            of.flush(w, ofState);
+        }
+        if (ll != null) {
+            ll.flush(w, llState);
+        }
+        return w.close();
+    }
+
+    private void writeExtraBits(BitWriter w, int i) {
+        int llCode = this.literalLengthCodes[i];
+        int mlCode = this.matchLengthCodes[i];
+        int ofCode = this.offsetCodes[i];
+        w.addBits(this.literalLengths[i] - LITERAL_LENGTH_BASE[llCode], LITERAL_LENGTH_BITS[llCode]);
+        w.addBits(this.matchLengths[i] - MATCH_LENGTH_BASE[mlCode], MATCH_LENGTH_BITS[mlCode]);
+        w.flush();
+        w.addBits(this.offsetValues[i] - (1 << ofCode), ofCode);
+        w.flush();
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+/**
+ * Constants and code tables of the Zstandard format, as specified by RFC 8878.
+ */
+final class ZstdConstants {
+
+    static final int MAGIC_NUMBER = 0xFD2FB528;
+    static final int SKIPPABLE_MAGIC_MASK = 0xFFFFFFF0;
+    static final int SKIPPABLE_MAGIC_NUMBER = 0x184D2A50;
+
+    static final int BLOCK_SIZE_MAX = 128 * 1024;
+    static final int BLOCK_HEADER_SIZE = 3;
+    static final int MIN_MATCH = 3;
+
+    static final int BLOCK_TYPE_RAW = 0;
+    static final int BLOCK_TYPE_RLE = 1;
+    static final int BLOCK_TYPE_COMPRESSED = 2;
+
+    static final int LITERALS_TYPE_RAW = 0;
+    static final int LITERALS_TYPE_RLE = 1;
+    static final int LITERALS_TYPE_COMPRESSED = 2;
+    static final int LITERALS_TYPE_TREELESS = 3;
+
+    static final int SEQUENCE_MODE_PREDEFINED = 0;
+    static final int SEQUENCE_MODE_RLE = 1;
+    static final int SEQUENCE_MODE_FSE = 2;
+    static final int SEQUENCE_MODE_REPEAT = 3;
+
+    static final int HUFFMAN_MAX_BITS = 11;
+    static final int HUFFMAN_WEIGHTS_MAX_LOG = 6;
+
+    static final int LITERAL_LENGTH_MAX_CODE = 35;
+    static final int MATCH_LENGTH_MAX_CODE = 52;
+    static final int OFFSET_MAX_CODE = 31;
+
+    static final int LITERAL_LENGTH_MAX_LOG = 9;
+    static final int MATCH_LENGTH_MAX_LOG = 9;
+    static final int OFFSET_MAX_LOG = 8;
+
+    static final int[] LITERAL_LENGTH_BASE = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 18, 20, 22, 24, 28, 32, 40, 48, 64, 128, 256, 512,
+            1024, 2048, 4096, 8192, 16384, 32768, 65536 };
+    static final int[] LITERAL_LENGTH_BITS = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2, 3, 3, 4, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15,
+            16 };
+
+    static final int[] MATCH_LENGTH_BASE = { 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31, 32,
+            33, 34, 35, 37, 39, 41, 43, 47, 51, 59, 67, 83, 99, 131, 259, 515, 1027, 2051, 4099, 8195, 16387, 32771, 65539 };
+    static final int[] MATCH_LENGTH_BITS = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 1, 2, 2,
+            3, 3, 4, 4, 5, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+
+    static final short[] LITERAL_LENGTH_DEFAULT_NORM = { 4, 3, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 2, 1, 1, 1, 2, 2, 2, 2, 2, 2, 2, 2, 2, 3, 2, 1, 1, 1, 1, 1, -1, -1,
+            -1, -1 };
+    static final int LITERAL_LENGTH_DEFAULT_LOG = 6;
+    static final short[] MATCH_LENGTH_DEFAULT_NORM = { 1, 4, 3, 2, 2, 2, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1,
+            1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1, -1, -1 };
+    static final int MATCH_LENGTH_DEFAULT_LOG = 6;
+    static final short[] OFFSET_DEFAULT_NORM = { 1, 1, 1, 1, 1, 1, 2, 2, 2, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, 1, -1, -1, -1, -1, -1 };
+    static final int OFFSET_DEFAULT_LOG = 5;
+
+    private ZstdConstants() {
+    }
+
+    static int highBit(int value) {
+        return 31 - Integer.numberOfLeadingZeros(value);
+    }
+
+    static int literalLengthCode(int literalLength) {
+        if (literalLength < 16) {
+            return literalLength;
+        }
+        if (literalLength >= 64) {
+            return highBit(literalLength) + 19;
+        }
+        int code = 16;
+        while (LITERAL_LENGTH_BASE[code + 1] <= literalLength) {
+            code++;
+        }
+        return code;
+    }
+
+    static int matchLengthCode(int matchLength) {
+        int base = matchLength - MIN_MATCH;
+        if (base < 32) {
+            return base;
+        }
+        if (base >= 128) {
+            return highBit(base) + 36;
+        }
+        int code = 32;
+        while (MATCH_LENGTH_BASE[code + 1] <= matchLength) {
+            code++;
+        }
+        return code;
+    }
+
+    static int readShort(byte[] b, int off) {
+        return b[off] & 0xFF | (b[off + 1] & 0xFF) << 8;
+    }
+
+    static int readInt(byte[] b, int off) {
+        return b[off] & 0xFF | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24;
+    }
+
+    static long readLong(byte[] b, int off) {
+        return readInt(b, off) & 0xFFFFFFFFL | (long) readInt(b, off + 4) << 32;
+    }
+
+    static void writeShort(byte[] b, int off, int value) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+    }
+
+    static void writeInt(byte[] b, int off, int value) {
+        b[off] = (byte) value;
+        b[off + 1] = (byte) (value >>> 8);
+        b[off + 2] = (byte) (value >>> 16);
+        b[off + 3] = (byte) (value >>> 24);
+    }
+
+}
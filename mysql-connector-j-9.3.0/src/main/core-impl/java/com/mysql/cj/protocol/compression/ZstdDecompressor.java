@@ -0,0 +1,575 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.ZstdConstants.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Zstandard (RFC 8878) decompressor. Dictionaries are not supported.
+ * <p>
+ * Instances are not thread safe; the tables and buffers they hold are reused from frame to frame.
+ */
+public class ZstdDecompressor {
+
+    private static final FseDecodingTable DEFAULT_LITERAL_LENGTH_TABLE = FseDecodingTable.predefined(LITERAL_LENGTH_DEFAULT_NORM, LITERAL_LENGTH_DEFAULT_LOG);
+    private static final FseDecodingTable DEFAULT_MATCH_LENGTH_TABLE = FseDecodingTable.predefined(MATCH_LENGTH_DEFAULT_NORM, MATCH_LENGTH_DEFAULT_LOG);
+    private static final FseDecodingTable DEFAULT_OFFSET_TABLE = FseDecodingTable.predefined(OFFSET_DEFAULT_NORM, OFFSET_DEFAULT_LOG);
+
+    private final FseDecodingTable literalLengthTable = new FseDecodingTable(LITERAL_LENGTH_MAX_LOG);
+    private final FseDecodingTable matchLengthTable = new FseDecodingTable(MATCH_LENGTH_MAX_LOG);
+    private final FseDecodingTable offsetTable = new FseDecodingTable(OFFSET_MAX_LOG);
+    private final HuffmanDecodingTable huffmanTable = new HuffmanDecodingTable();
+    private final BackwardBitReader reader = new BackwardBitReader();
+
+    // state carried from block to block within a frame
+    private FseDecodingTable currentLiteralLengthTable;
+    private FseDecodingTable currentMatchLengthTable;
+    private FseDecodingTable currentOffsetTable;
+    private boolean huffmanTableValid;
+    private int repeatOffset1;
+    private int repeatOffset2;
+    private int repeatOffset3;
+
+    // decoded literals of the current block; raw literals are read in place
+    private byte[] literalBuffer = new byte[BLOCK_SIZE_MAX];
+    private byte[] literals;
+    private int literalsOffset;
+    private int literalsLength;
+
+    /** Window size of the last frame header read by {@link #readFrameHeader(byte[], int, int)}. */
+    long windowSize;
+    /** Content size of the last frame header read, or -1 if unknown. */
+    long contentSize;
+    /** Whether the last frame header read announces a content checksum. */
+    boolean contentChecksum;
+
+    /**
+     * Decompresses all frames found in the source into the destination.
+     *
+     * @param src
+     *            source buffer
+     * @param srcOff
+     *            offset of the compressed data
+     * @param srcLen
+     *            size of the compressed data
+     * @param dst
+     *            destination buffer
+     * @param dstOff
+     *            offset to decompress to
+     * @param dstLen
+     *            space available in the destination buffer
+     * @return the decompressed size
+     * @throws IOException
+     *             if the data is corrupted, uses unsupported features or does not fit in the destination
+     */
+    public int decompress(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int dstLen) throws IOException {
+        int in = srcOff;
+        int inEnd = srcOff + srcLen;
+        int out = dstOff;
+        int outEnd = dstOff + dstLen;
+        while (in < inEnd) {
+            if (inEnd - in < 4) {
+                throw truncated();
+            }
+            int magic = readInt(src, in);
+            if ((magic & SKIPPABLE_MAGIC_MASK) == SKIPPABLE_MAGIC_NUMBER) {
+                if (inEnd - in < 8) {
+                    throw truncated();
+                }
+                long skip = readInt(src, in + 4) & 0xFFFFFFFFL;
+                if (skip > inEnd - in - 8) {
+                    throw truncated();
+                }
+                in += 8 + (int) skip;
+                continue;
+            }
+            in = readFrameHeader(src, in, inEnd);
+            int frameStart = out;
+            boolean lastBlock;
+            do {
+                if (inEnd - in < BLOCK_HEADER_SIZE) {
+                    throw truncated();
+                }
+                int header = src[in] & 0xFF | (src[in + 1] & 0xFF) << 8 | (src[in + 2] & 0xFF) << 16;
+                in += BLOCK_HEADER_SIZE;
+                lastBlock = (header & 1) != 0;
+                int type = header >>> 1 & 3;
+                int size = header >>> 3;
+                int sizeInStream = type == BLOCK_TYPE_RLE ? 1 : size;
+                if (sizeInStream > inEnd - in) {
+                    throw truncated();
+                }
+                out = decodeBlock(type, src, in, size, dst, out, outEnd, frameStart);
+                in += sizeInStream;
+            } while (!lastBlock);
+
+            if (this.contentSize >= 0 && this.contentSize != out - frameStart) {
+                throw new IOException("Corrupted Zstandard data: frame content size mismatch.");
+            }
+            if (this.contentChecksum) {
+                if (inEnd - in < 4) {
+                    throw truncated();
+                }
+                if ((int) XxHash64.hash(dst, frameStart, out - frameStart) != readInt(src, in)) {
+                    throw new IOException("Corrupted Zstandard data: content checksum mismatch.");
+                }
+                in += 4;
+            }
+        }
+        return out - dstOff;
+    }
+
+    /**
+     * Reads a frame header, starting with its magic number, and resets the state carried between blocks.
+     *
+     * @param src
+     *            source buffer
+     * @param off
+     *            frame offset
+     * @param end
+     *            end of the available data
+     * @return the offset of the first block
+     * @throws IOException
+     *             if the header is not valid or not complete
+     */
+    int readFrameHeader(byte[] src, int off, int end) throws IOException {
+        if (end - off < 5) {
+            throw truncated();
+        }
+        if (readInt(src, off) != MAGIC_NUMBER) {
+            throw new IOException("Not a Zstandard frame: unknown magic number.");
+        }
+        int descriptor = src[off + 4] & 0xFF;
+        int contentSizeFlag = descriptor >>> 6;
+        boolean singleSegment = (descriptor & 0x20) != 0;
+        int dictionaryIdFlag = descriptor & 3;
+        if ((descriptor & 0x08) != 0) {
+            throw new IOException("Corrupted Zstandard data: reserved frame header bit set.");
+        }
+        int contentSizeBytes = contentSizeFlag == 0 ? singleSegment ? 1 : 0 : 1 << contentSizeFlag;
+        int dictionaryIdBytes = dictionaryIdFlag == 3 ? 4 : dictionaryIdFlag;
+        int p = off + 5;
+        if (end - p < (singleSegment ? 0 : 1) + dictionaryIdBytes + contentSizeBytes) {
+            throw truncated();
+        }
+        if (!singleSegment) {
+            int windowDescriptor = src[p++] & 0xFF;
+            int windowLog = 10 + (windowDescriptor >>> 3);
+            long windowBase = 1L << windowLog;
+            this.windowSize = windowBase + (windowBase >>> 3) * (windowDescriptor & 7);
+        }
+        long dictionaryId = 0;
+        for (int i = 0; i < dictionaryIdBytes; i++) {
+            dictionaryId |= (src[p++] & 0xFFL) << 8 * i;
+        }
+        if (dictionaryId != 0) {
+            throw new IOException("Unsupported Zstandard data: frame requires dictionary " + dictionaryId + ".");
+        }
+        long size = -1;
+        if (contentSizeBytes > 0) {
+            size = 0;
+            for (int i = 0; i < contentSizeBytes; i++) {
+                size |= (src[p++] & 0xFFL) << 8 * i;
+            }
+            if (contentSizeBytes == 2) {
+                size += 256;
+            }
+        }
+        this.contentSize = size;
+        if (singleSegment) {
+            this.windowSize = size;
+        }
+        this.contentChecksum = (descriptor & 0x04) != 0;
+
+        this.currentLiteralLengthTable = null;
+        this.currentMatchLengthTable = null;
+        this.currentOffsetTable = null;
+        this.huffmanTableValid = false;
+        this.repeatOffset1 = 1;
+        this.repeatOffset2 = 4;
+        this.repeatOffset3 = 8;
+        return p;
+    }
+
+    /**
+     * Decodes a block into the destination buffer.
+     *
+     * @param type
+     *            block type
+     * @param src
+     *            source buffer
+     * @param off
+     *            offset of the block content
+     * @param size
+     *            block size, as given by the block header
+     * @param dst
+     *            destination buffer
+     * @param dstPos
+     *            position to decode to
+     * @param dstLimit
+     *            end of the space available in the destination buffer
+     * @param windowStart
+     *            first position of the destination buffer that matches may refer to
+     * @return the position after the decoded data
+     * @throws IOException
+     *             if the block is not valid or does not fit in the destination
+     */
+    int decodeBlock(int type, byte[] src, int off, int size, byte[] dst, int dstPos, int dstLimit, int windowStart) throws IOException {
+        switch (type) {
+            case BLOCK_TYPE_RAW:
+                if (size > dstLimit - dstPos) {
+                    throw tooSmall();
+                }
+                System.arraycopy(src, off, dst, dstPos, size);
+                return dstPos + size;
+            case BLOCK_TYPE_RLE:
+                if (size > dstLimit - dstPos) {
+                    throw tooSmall();
+                }
+                Arrays.fill(dst, dstPos, dstPos + size, src[off]);
+                return dstPos + size;
+            case BLOCK_TYPE_COMPRESSED:
+                if (size > BLOCK_SIZE_MAX) {
+                    throw new IOException("Corrupted Zstandard data: block too large.");
+                }
+                int end = off + size;
+                int p = decodeLiterals(src, off, end);
+                return decodeSequences(src, p, end, dst, dstPos, dstLimit, windowStart);
+            default:
+                throw new IOException("Corrupted Zstandard data: reserved block type.");
+        }
+    }
+
+    private int decodeLiterals(byte[] src, int off, int end) throws IOException {
+        if (end - off < 1) {
+            throw corrupted();
+        }
+        int b0 = src[off] & 0xFF;
+        int type = b0 & 3;
+        int sizeFormat = b0 >>> 2 & 3;
+
+        if (type == LITERALS_TYPE_RAW || type == LITERALS_TYPE_RLE) {
+            int headerSize;
+            int size;
+            if ((sizeFormat & 1) == 0) {
+                headerSize = 1;
+                size = b0 >>> 3;
+            } else if (sizeFormat == 1) {
+                headerSize = 2;
+                size = end - off < 2 ? -1 : (b0 >>> 4) + ((src[off + 1] & 0xFF) << 4);
+            } else {
+                headerSize = 3;
+                size = end - off < 3 ? -1 : (b0 >>> 4) + ((src[off + 1] & 0xFF) << 4) + ((src[off + 2] & 0xFF) << 12);
+            }
+            if (size < 0 || size > BLOCK_SIZE_MAX) {
+                throw corrupted();
+            }
+            int p = off + headerSize;
+            if (type == LITERALS_TYPE_RAW) {
+                if (size > end - p) {
+                    throw corrupted();
+                }
+                this.literals = src;
+                this.literalsOffset = p;
+                this.literalsLength = size;
+                return p + size;
+            }
+            if (p >= end) {
+                throw corrupted();
+            }
+            Arrays.fill(this.literalBuffer, 0, size, src[p]);
+            this.literals = this.literalBuffer;
+            this.literalsOffset = 0;
+            this.literalsLength = size;
+            return p + 1;
+        }
+
+        int headerSize = sizeFormat < 2 ? 3 : sizeFormat + 2;
+        if (end - off < headerSize) {
+            throw corrupted();
+        }
+        long header = 0;
+        for (int i = 0; i < headerSize; i++) {
+            header |= (src[off + i] & 0xFFL) << 8 * i;
+        }
+        int sizeBits = sizeFormat < 2 ? 10 : sizeFormat == 2 ? 14 : 18;
+        int regeneratedSize = (int) (header >>> 4) & (1 << sizeBits) - 1;
+        int compressedSize = (int) (header >>> 4 + sizeBits) & (1 << sizeBits) - 1;
+        boolean singleStream = sizeFormat == 0;
+        int p = off + headerSize;
+        if (regeneratedSize > BLOCK_SIZE_MAX || compressedSize > end - p) {
+            throw corrupted();
+        }
+        int streamsEnd = p + compressedSize;
+        if (type == LITERALS_TYPE_COMPRESSED) {
+            p += this.huffmanTable.read(src, p, compressedSize);
+            this.huffmanTableValid = true;
+        } else if (!this.huffmanTableValid) {
+            throw corrupted();
+        }
+        if (singleStream) {
+            decodeHuffmanStream(src, p, streamsEnd - p, this.literalBuffer, 0, regeneratedSize);
+        } else {
+            if (streamsEnd - p < 10) {
+                throw corrupted();
+            }
+            int size1 = readShort(src, p);
+            int size2 = readShort(src, p + 2);
+            int size3 = readShort(src, p + 4);
+            int size4 = streamsEnd - p - 6 - size1 - size2 - size3;
+            int segment = regeneratedSize + 3 >>> 2;
+            int lastSegment = regeneratedSize - 3 * segment;
+            if (size4 < 1 || lastSegment < 0) {
+                throw corrupted();
+            }
+            p += 6;
+            decodeHuffmanStream(src, p, size1, this.literalBuffer, 0, segment);
+            p += size1;
+            decodeHuffmanStream(src, p, size2, this.literalBuffer, segment, segment);
+            p += size2;
+            decodeHuffmanStream(src, p, size3, this.literalBuffer, 2 * segment, segment);
+            p += size3;
+            decodeHuffmanStream(src, p, size4, this.literalBuffer, 3 * segment, lastSegment);
+        }
+        this.literals = this.literalBuffer;
+        this.literalsOffset = 0;
+        this.literalsLength = regeneratedSize;
+        return streamsEnd;
+    }
+
+    private void decodeHuffmanStream(byte[] src, int off, int len, byte[] out, int outOff, int count) throws IOException {
+        HuffmanDecodingTable table = this.huffmanTable;
+        BackwardBitReader in = this.reader;
+        byte[] symbols = table.symbols;
+        byte[] lengths = table.lengths;
+        int bits = table.maxBits;
+        in.init(src, off, len);
+        int o = outOff;
+        int end = outOff + count;
+        int fastEnd = end - 3;
+        while (o < fastEnd) {
+            in.reload();
+            for (int i = 0; i < 4; i++) {
+                int index = (int) in.peekBits(bits);
+                out[o++] = symbols[index];
+                in.skipBits(lengths[index]);
+            }
+        }
+        in.reload();
+        while (o < end) {
+            int index = (int) in.peekBits(bits);
+            out[o++] = symbols[index];
+            in.skipBits(lengths[index]);
+        }
+        in.reload();
+        if (!in.isEnd()) {
+            throw corrupted();
+        }
+    }
+
+    private int decodeSequences(byte[] src, int off, int end, byte[] dst, int dstPos, int dstLimit, int windowStart) throws IOException {
+        if (off >= end) {
+            throw corrupted();
+        }
+        int p = off;
+        int sequenceCount = src[p++] & 0xFF;
+        if (sequenceCount >= 128) {
+            if (sequenceCount == 255) {
+                if (end - p < 2) {
+                    throw corrupted();
+                }
+                sequenceCount = readShort(src, p) + 0x7F00;
+                p += 2;
+            } else {
+                if (p >= end) {
+                    throw corrupted();
+                }
+                sequenceCount = (sequenceCount - 128 << 8) + (src[p++] & 0xFF);
+            }
+        }
+
+        byte[] lit = this.literals;
+        int litPos = this.literalsOffset;
+        int litEnd = litPos + this.literalsLength;
+        int out = dstPos;
+
+        if (sequenceCount > 0) {
+            if (p >= end) {
+                throw corrupted();
+            }
+            int modes = src[p++] & 0xFF;
+            if ((modes & 3) != 0) {
+                throw corrupted();
+            }
+            p += setupTable(modes >>> 6, src, p, end, LITERAL_LENGTH_MAX_CODE, LITERAL_LENGTH_MAX_LOG, 0);
+            p += setupTable(modes >>> 4 & 3, src, p, end, OFFSET_MAX_CODE, OFFSET_MAX_LOG, 1);
+            p += setupTable(modes >>> 2 & 3, src, p, end, MATCH_LENGTH_MAX_CODE, MATCH_LENGTH_MAX_LOG, 2);
+            FseDecodingTable llTable = this.currentLiteralLengthTable;
+            FseDecodingTable ofTable = this.currentOffsetTable;
+            FseDecodingTable mlTable = this.currentMatchLengthTable;
+
+            BackwardBitReader in = this.reader;
+            in.init(src, p, end - p);
+            int llState = in.readBits(llTable.log);
+            int ofState = in.readBits(ofTable.log);
+            int mlState = in.readBits(mlTable.log);
+            in.reload();
+
+            int rep1 = this.repeatOffset1;
+            int rep2 = this.repeatOffset2;
+            int rep3 = this.repeatOffset3;
+            for (int n = sequenceCount; n > 0; n--) {
+                int ofCode = ofTable.symbols[ofState];
+                int llCode = llTable.symbols[llState];
+                int mlCode = mlTable.symbols[mlState];
+                if (ofCode > 30) {
+                    throw corrupted();
+                }
+                int offsetValue = (1 << ofCode) + in.readBits(ofCode);
+                in.reload();
+                int matchLength = MATCH_LENGTH_BASE[mlCode] + in.readBits(MATCH_LENGTH_BITS[mlCode]);
+                int literalLength = LITERAL_LENGTH_BASE[llCode] + in.readBits(LITERAL_LENGTH_BITS[llCode]);
+                in.reload();
+
+                int offset;
+                if (offsetValue > 3) {
+                    offset = offsetValue - 3;
+                    rep3 = rep2;
+                    rep2 = rep1;
+                    rep1 = offset;
+                } else {
+                    int index = offsetValue - 1 + (literalLength == 0 ? 1 : 0);
+                    if (index == 0) {
+                        offset = rep1;
+                    } else {
+                        offset = index == 1 ? rep2 : index == 2 ? rep3 : rep1 - 1;
+                        if (offset == 0) {
+                            throw corrupted();
+                        }
+                        if (index != 1) {
+                            rep3 = rep2;
+                        }
+                        rep2 = rep1;
+                        rep1 = offset;
+                    }
+                }
+
+                if (n > 1) {
+                    llState = llTable.baselines[llState] + in.readBits(llTable.numberOfBits[llState]);
+                    mlState = mlTable.baselines[mlState] + in.readBits(mlTable.numberOfBits[mlState]);
+                    ofState = ofTable.baselines[ofState] + in.readBits(ofTable.numberOfBits[ofState]);
+                    in.reload();
+                }
+                if (in.isOverflow()) {
+                    throw corrupted();
+                }
+
+                if (literalLength > litEnd - litPos) {
+                    throw corrupted();
+                }
+                if (literalLength + matchLength > dstLimit - out) {
+                    throw tooSmall();
+                }
+                System.arraycopy(lit, litPos, dst, out, literalLength);
+                out += literalLength;
+                litPos += literalLength;
+                if (offset > out - windowStart) {
+                    throw new IOException("Corrupted Zstandard data: match offset beyond window.");
+                }
+                int from = out - offset;
+                if (offset >= matchLength) {
+                    System.arraycopy(dst, from, dst, out, matchLength);
+                    out += matchLength;
+                } else {
+                    for (int end2 = out + matchLength; out < end2;) {
+                        dst[out++] = dst[from++];
+                    }
+                }
+            }
+            if (!in.isEnd()) {
+                throw corrupted();
+            }
+            this.repeatOffset1 = rep1;
+            this.repeatOffset2 = rep2;
+            this.repeatOffset3 = rep3;
+        } else if (p != end) {
+            throw corrupted();
+        }
+
+        int remaining = litEnd - litPos;
+        if (remaining > dstLimit - out) {
+            throw tooSmall();
+        }
+        System.arraycopy(lit, litPos, dst, out, remaining);
+        return out + remaining;
+    }
+
+    private int setupTable(int mode, byte[] src, int off, int end, int maxSymbol, int maxLog, int kind) throws IOException {
+        FseDecodingTable table;
+        int size = 0;
+        switch (mode) {
+            case SEQUENCE_MODE_PREDEFINED:
+                table = kind == 0 ? DEFAULT_LITERAL_LENGTH_TABLE : kind == 1 ? DEFAULT_OFFSET_TABLE : DEFAULT_MATCH_LENGTH_TABLE;
+                break;
+            case SEQUENCE_MODE_RLE:
+                if (off >= end || (src[off] & 0xFF) > maxSymbol) {
+                    throw corrupted();
+                }
+                table = kind == 0 ? this.literalLengthTable : kind == 1 ? this.offsetTable : this.matchLengthTable;
+                table.initRle(src[off] & 0xFF);
+                size = 1;
+                break;
+            case SEQUENCE_MODE_FSE:
+                table = kind == 0 ? this.literalLengthTable : kind == 1 ? this.offsetTable : this.matchLengthTable;
+                size = table.read(src, off, end - off, maxSymbol, maxLog);
+                break;
+            default:
+                table = kind == 0 ? this.currentLiteralLengthTable : kind == 1 ? this.currentOffsetTable : this.currentMatchLengthTable;
+                if (table == null) {
+                    throw corrupted();
+                }
+        }
+        if (kind == 0) {
+            this.currentLiteralLengthTable = table;
+        } else if (kind == 1) {
+            this.currentOffsetTable = table;
+        } else {
+            this.currentMatchLengthTable = table;
+        }
+        return size;
+    }
+
+    private static IOException corrupted() {
+        return new IOException("Corrupted Zstandard data: invalid compressed block.");
+    }
+
+    private static IOException truncated() {
+        return new IOException("Corrupted Zstandard data: unexpected end of data.");
+    }
+
+    private static IOException tooSmall() {
+        return new IOException("Zstandard data decompresses to more than the expected size.");
+    }
+
+}
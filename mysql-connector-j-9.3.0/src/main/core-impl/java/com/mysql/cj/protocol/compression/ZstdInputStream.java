@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static com.mysql.cj.protocol.compression.ZstdConstants.*;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An {@link InputStream} that decompresses a sequence of Zstandard frames, including frames that are still being written, such as those of a compressed
+ * connection flushed at the end of each message.
+ * <p>
+ * Data is decompressed a block at a time into a buffer that also holds the window of the frame. The buffer grows with the data, up to twice the window size,
+ * and is then reused for the rest of the stream. Content checksums are skipped.
+ */
+public class ZstdInputStream extends FilterInputStream {
+
+    /** Frames requiring larger windows are refused, as the reference implementation does by default. */
+    private static final long MAX_WINDOW_SIZE = 1L << 27;
+    private static final int MAX_FRAME_HEADER_SIZE = 18;
+    private static final int INITIAL_WINDOW_BUFFER_SIZE = 4 * BLOCK_SIZE_MAX;
+
+    private final ZstdDecompressor decompressor = new ZstdDecompressor();
+    private final byte[] header = new byte[MAX_FRAME_HEADER_SIZE];
+    private byte[] block = new byte[BLOCK_SIZE_MAX];
+    /** Window and decompressed data of the current block. */
+    private byte[] window = new byte[0];
+    private int windowPos;
+    private int readPos;
+    private boolean inFrame = false;
+
+    private byte[] singleByte = new byte[1];
+
+    private boolean closed = false;
+
+    public ZstdInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return this.windowPos - this.readPos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            this.closed = true;
+            this.block = null;
+            this.window = null;
+            super.close();
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int read = read(this.singleByte, 0, 1);
+        return read > 0 ? this.singleByte[0] & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len <= 0) {
+            return 0;
+        }
+        while (this.readPos == this.windowPos) {
+            if (!nextBlock()) {
+                return -1;
+            }
+        }
+        int read = Math.min(len, this.windowPos - this.readPos);
+        System.arraycopy(this.window, this.readPos, b, off, read);
+        this.readPos += read;
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+        long skipped = 0;
+        while (skipped < n && (this.readPos < this.windowPos || nextBlock())) {
+            int toSkip = (int) Math.min(n - skipped, this.windowPos - this.readPos);
+            this.readPos += toSkip;
+            skipped += toSkip;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * Reads the next block.
+     *
+     * @return <code>false</code> at the end of the stream
+     * @throws IOException
+     *             if any of the underlying I/O operations fail or the data is corrupted
+     */
+    private boolean nextBlock() throws IOException {
+        if (!this.inFrame) {
+            if (!readFrameHeader()) {
+                return false;
+            }
+            this.inFrame = true;
+        }
+        readFully(this.header, 0, BLOCK_HEADER_SIZE);
+        int blockHeader = this.header[0] & 0xFF | (this.header[1] & 0xFF) << 8 | (this.header[2] & 0xFF) << 16;
+        boolean lastBlock = (blockHeader & 1) != 0;
+        int type = blockHeader >>> 1 & 3;
+        int size = blockHeader >>> 3;
+        if (size > BLOCK_SIZE_MAX) {
+            throw new IOException("Corrupted Zstandard data: block too large.");
+        }
+        readFully(this.block, 0, type == BLOCK_TYPE_RLE ? 1 : size);
+
+        makeRoom();
+        int windowStart = (int) Math.max(0, this.windowPos - this.decompressor.windowSize);
+        this.windowPos = this.decompressor.decodeBlock(type, this.block, 0, size, this.window, this.windowPos, this.windowPos + BLOCK_SIZE_MAX, windowStart);
+
+        if (lastBlock) {
+            if (this.decompressor.contentChecksum) {
+                readFully(this.header, 0, 4);
+            }
+            this.inFrame = false;
+        }
+        return true;
+    }
+
+    /**
+     * Makes room for a block after the decompressed data, keeping the window.
+     */
+    private void makeRoom() {
+        if (this.window.length - this.windowPos >= BLOCK_SIZE_MAX) {
+            return;
+        }
+        int keep = (int) Math.min(this.windowPos, this.decompressor.windowSize);
+        int maxLength = (int) (2 * this.decompressor.windowSize + BLOCK_SIZE_MAX);
+        byte[] target = this.window;
+        if (keep + BLOCK_SIZE_MAX > this.window.length / 2 && this.window.length < maxLength) {
+            // grow rather than move the window too often
+            target = new byte[(int) Math.min(maxLength, Math.max(2L * this.window.length, keep + BLOCK_SIZE_MAX))];
+        }
+        System.arraycopy(this.window, this.windowPos - keep, target, 0, keep);
+        this.window = target;
+        this.windowPos = keep;
+        this.readPos = keep;
+    }
+
+    /**
+     * Reads a frame header, skipping skippable frames.
+     *
+     * @return <code>false</code> at the end of the stream
+     * @throws IOException
+     *             if any of the underlying I/O operations fail or the header is not valid
+     */
+    private boolean readFrameHeader() throws IOException {
+        while (true) {
+            int first = this.in.read();
+            if (first < 0) {
+                return false;
+            }
+            this.header[0] = (byte) first;
+            readFully(this.header, 1, 3);
+            int magic = readInt(this.header, 0);
+            if ((magic & SKIPPABLE_MAGIC_MASK) != SKIPPABLE_MAGIC_NUMBER) {
+                break;
+            }
+            readFully(this.header, 0, 4);
+            long skip = readInt(this.header, 0) & 0xFFFFFFFFL;
+            while (skip > 0) {
+                long skipped = this.in.skip(skip);
+                if (skipped <= 0) {
+                    throw new EOFException();
+                }
+                skip -= skipped;
+            }
+        }
+        readFully(this.header, 4, 1);
+        int descriptor = this.header[4] & 0xFF;
+        int contentSizeFlag = descriptor >>> 6;
+        boolean singleSegment = (descriptor & 0x20) != 0;
+        int dictionaryIdFlag = descriptor & 3;
+        int headerSize = 5 + (singleSegment ? 0 : 1) + (dictionaryIdFlag == 3 ? 4 : dictionaryIdFlag)
+                + (contentSizeFlag == 0 ? singleSegment ? 1 : 0 : 1 << contentSizeFlag);
+        readFully(this.header, 5, headerSize - 5);
+        this.decompressor.readFrameHeader(this.header, 0, headerSize);
+        if (this.decompressor.windowSize > MAX_WINDOW_SIZE) {
+            throw new IOException("Unsupported Zstandard data: window larger than " + MAX_WINDOW_SIZE + " bytes.");
+        }
+
+        // all the data of the previous frame was read, and the new frame doesn't refer to it
+        this.windowPos = 0;
+        this.readPos = 0;
+        if (this.window.length == 0) {
+            this.window = new byte[(int) Math.min(INITIAL_WINDOW_BUFFER_SIZE, 2 * this.decompressor.windowSize + BLOCK_SIZE_MAX)];
+        }
+        return true;
+    }
+
+    private void readFully(byte[] b, int off, int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            int count = this.in.read(b, off + total, len - total);
+            if (count < 0) {
+                throw new EOFException("Corrupted Zstandard data: unexpected end of stream.");
+            }
+            total += count;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * An {@link OutputStream} that compresses data into one Zstandard frame, ended when the stream is closed.
+ * <p>
+ * Each {@link #flush()} compresses the data written since the previous one into complete blocks, so that the receiver can decompress it without waiting for
+ * more data. This suits protocols that compress a connection as one stream flushed at the end of each message. The data already compressed is kept as
+ * history that the following data can refer to, up to the frame window size, {@value ZstdCompressor#STREAM_WINDOW_SIZE} bytes. The buffers grow with the data
+ * written up to that size, and are reused for the whole stream: when full, the history is dropped and the buffer starts over.
+ */
+public class ZstdOutputStream extends FilterOutputStream {
+
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    private final ZstdCompressor compressor;
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int buffered = 0;
+    private int compressedUpTo = 0;
+    private byte[] compressed = new byte[ZstdCompressor.maxCompressedLength(INITIAL_BUFFER_SIZE)];
+    private boolean frameStarted = false;
+
+    private byte[] singleByte = new byte[1];
+
+    private boolean closed = false;
+
+    public ZstdOutputStream(OutputStream out) {
+        this(out, ZstdCompressor.DEFAULT_LEVEL);
+    }
+
+    /**
+     * Creates a compressing stream.
+     *
+     * @param out
+     *            the stream to write the frame to
+     * @param level
+     *            compression level, from {@value ZstdCompressor#MIN_LEVEL} to {@value ZstdCompressor#MAX_LEVEL}
+     */
+    public ZstdOutputStream(OutputStream out, int level) {
+        super(out);
+        this.compressor = new ZstdCompressor(level);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.singleByte[0] = (byte) b;
+        write(this.singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if ((off | len | b.length - (len + off) | off + len) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        while (len > 0) {
+            if (this.buffered == this.buffer.length) {
+                if (this.buffer.length < ZstdCompressor.STREAM_WINDOW_SIZE) {
+                    byte[] newBuffer = new byte[Math.min(2 * this.buffer.length, ZstdCompressor.STREAM_WINDOW_SIZE)];
+                    System.arraycopy(this.buffer, 0, newBuffer, 0, this.buffered);
+                    this.buffer = newBuffer;
+                    this.compressed = new byte[ZstdCompressor.maxCompressedLength(newBuffer.length)];
+                } else {
+                    compressBuffered();
+                    this.buffered = 0;
+                    this.compressedUpTo = 0;
+                }
+            }
+            int toCopy = Math.min(len, this.buffer.length - this.buffered);
+            System.arraycopy(b, off, this.buffer, this.buffered, toCopy);
+            this.buffered += toCopy;
+            off += toCopy;
+            len -= toCopy;
+        }
+    }
+
+    /**
+     * Compresses the data written so far into complete blocks and flushes the underlying stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        compressBuffered();
+        this.out.flush();
+    }
+
+    /**
+     * Ends the frame and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!this.closed) {
+            try {
+                compressBuffered();
+                if (this.frameStarted) {
+                    int len = this.compressor.endFrame(this.compressed, 0, this.compressed.length);
+                    this.out.write(this.compressed, 0, len);
+                }
+                this.out.flush();
+            } finally {
+                this.closed = true;
+                this.buffer = null;
+                this.compressed = null;
+                this.out.close();
+            }
+        }
+    }
+
+    private void compressBuffered() throws IOException {
+        if (this.buffered == this.compressedUpTo) {
+            return;
+        }
+        if (!this.frameStarted) {
+            int len = this.compressor.beginFrame(this.compressed, 0, this.compressed.length);
+            this.out.write(this.compressed, 0, len);
+            this.frameStarted = true;
+        }
+        int len = this.compressor.compressBlocks(this.buffer, this.compressedUpTo, this.buffered - this.compressedUpTo, this.compressed, 0,
+                this.compressed.length);
+        this.out.write(this.compressed, 0, len);
+        this.compressedUpTo = this.buffered;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+}
@@ -237,6 +237,56 @@ public abstract class AbstractResultsetRow implements ResultsetRow {
         return retVal;
     }
 
+    @Override
+    public boolean canDecodeAsLong(int columnIndex) {
+        return this.valueDecoder.canDecodeAsLong(this.metadata.getFields()[columnIndex]);
+    }
+
+    @Override
+    public boolean canDecodeAsDouble(int columnIndex) {
+        return this.valueDecoder.canDecodeAsDouble(this.metadata.getFields()[columnIndex]);
+    }
+
+    /**
+     * Decode a primitive long value from a byte array, bypassing the value factories.
+     *
+     * @param columnIndex
+     *            The (internal) index of the column
+     * @param bytes
+     *            byte array, may be null if the value is NULL
+     * @param offset
+     *            offset into byte array
+     * @param length
+     *            length of value in byte array
+     * @param isNull
+     *            is the column value NULL
+     * @return value, or 0 for NULL
+     */
+    protected long getLongFromBytes(int columnIndex, byte[] bytes, int offset, int length, boolean isNull) {
+        this.wasNull = isNull;
+        return isNull ? 0L : this.valueDecoder.decodeAsLong(bytes, offset, length, this.metadata.getFields()[columnIndex]);
+    }
+
+    /**
+     * Decode a primitive double value from a byte array, bypassing the value factories.
+     *
+     * @param columnIndex
+     *            The (internal) index of the column
+     * @param bytes
+     *            byte array, may be null if the value is NULL
+     * @param offset
+     *            offset into byte array
+     * @param length
+     *            length of value in byte array
+     * @param isNull
+     *            is the column value NULL
+     * @return value, or 0 for NULL
+     */
+    protected double getDoubleFromBytes(int columnIndex, byte[] bytes, int offset, int length, boolean isNull) {
+        this.wasNull = isNull;
+        return isNull ? 0d : this.valueDecoder.decodeAsDouble(bytes, offset, length, this.metadata.getFields()[columnIndex]);
+    }
+
     @Override
     public Row setMetadata(ColumnDefinition f) {
         this.metadata = f;
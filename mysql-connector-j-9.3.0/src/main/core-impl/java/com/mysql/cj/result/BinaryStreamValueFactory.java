@@ -22,6 +22,7 @@ package com.mysql.cj.result;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.Arrays;
 
 import com.mysql.cj.conf.PropertySet;
 
@@ -36,7 +37,8 @@ public class BinaryStreamValueFactory extends DefaultValueFactory<InputStream> {
 
     @Override
     public InputStream createFromBytes(byte[] bytes, int offset, int length, Field f) {
-        return new ByteArrayInputStream(bytes, offset, length);
+        // The bytes may be a slice of a pooled packet, reused for other results once the result set is closed, while the stream may be read later.
+        return new ByteArrayInputStream(Arrays.copyOfRange(bytes, offset, offset + length));
     }
 
     @Override
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.util.Arrays;
+
+import com.mysql.cj.protocol.CompressionCodec;
+
+/**
+ * Decides, packet by packet, whether the compressed protocol should compress what it sends, based on how well similar packets compressed before.
+ * <p>
+ * Packets are grouped in streams of similar content: the executions of one server prepared statement, the long data sent for one of its parameters, the text
+ * statements that start the same way, or the data of a "LOAD DATA LOCAL INFILE". The compression ratio of each stream is learned from the packets it
+ * compresses; before compressing a large packet of a stream it knows nothing about yet, the policy compresses a sample taken from the middle of the packet with
+ * the fastest compression level. Streams that compress worse than the target stop being compressed, e.g., already compressed BLOBs, images or encrypted
+ * columns, and are probed again from time to time in case their content changes. Streams that compress only a little better than the target are compressed
+ * with the fastest compression level.
+ * <p>
+ * The ratios are kept in a small table indexed by stream, so streams may evict each other; an evicted stream is learned again.
+ */
+public class AdaptiveCompressionPolicy {
+
+    /** Compress the packet with the configured compression level. */
+    static final int COMPRESS = 0;
+    /** Compress the packet with the fastest compression level. */
+    static final int COMPRESS_FAST = 1;
+    /** Send the packet uncompressed. */
+    static final int SKIP = 2;
+
+    private static final int STREAMS_LOG = 6;
+    private static final int SAMPLE_SIZE = 4096;
+    /** Packets from this size up are sampled instead of compressed to learn the ratio of their stream. */
+    private static final int SAMPLE_THRESHOLD = 4 * SAMPLE_SIZE;
+    /** A skipped stream is probed again after this many packets... */
+    private static final int PROBE_INTERVAL_PACKETS = 32;
+    /** ...or this many bytes, whichever comes first. */
+    private static final long PROBE_INTERVAL_BYTES = 4L << 20;
+    /** Fixed point scale of the compression ratios, i.e., compressed length * RATIO_ONE / uncompressed length. */
+    private static final int RATIO_ONE = 1024;
+    private static final int UNKNOWN = -1;
+
+    private CompressionCodec.Compressor fastCompressor;
+    private final CompressionStatistics statistics;
+    /** Ratio above which packets are not compressed. */
+    private final int skipRatio;
+    /** Ratio above which packets are compressed with the fastest level. */
+    private final int fastRatio;
+
+    private final long[] streamKeys = new long[1 << STREAMS_LOG];
+    private final int[] streamRatios = new int[1 << STREAMS_LOG];
+    private final int[] packetsSinceProbe = new int[1 << STREAMS_LOG];
+    private final long[] bytesSinceProbe = new long[1 << STREAMS_LOG];
+    private byte[] sample = new byte[SAMPLE_SIZE];
+    /** Stream of the packet being sent. */
+    private int currentStream;
+
+    /**
+     * Creates a policy.
+     *
+     * @param fastCompressor
+     *            a compressor of the negotiated compression algorithm set up with its fastest compression level, used for samples and for poorly compressible
+     *            streams
+     * @param minSavingsPercent
+     *            the share of the bytes of a packet compression must save for the packet to be compressed, in percent
+     * @param statistics
+     *            the connection's {@link CompressionStatistics}
+     */
+    public AdaptiveCompressionPolicy(CompressionCodec.Compressor fastCompressor, int minSavingsPercent, CompressionStatistics statistics) {
+        this.fastCompressor = fastCompressor;
+        this.statistics = statistics;
+        this.skipRatio = RATIO_ONE * (100 - minSavingsPercent) / 100;
+        this.fastRatio = RATIO_ONE * (100 - 2 * minSavingsPercent) / 100;
+        Arrays.fill(this.streamRatios, UNKNOWN);
+    }
+
+    /**
+     * Gets the compressor to use for the packets compressed with the fastest compression level.
+     *
+     * @return {@link CompressionCodec.Compressor}
+     */
+    CompressionCodec.Compressor getFastCompressor() {
+        return this.fastCompressor;
+    }
+
+    /**
+     * Decides how to send a packet.
+     *
+     * @param packet
+     *            packet payload
+     * @param packetLen
+     *            payload length
+     * @param packetSequence
+     *            sequence id
+     * @return {@link #COMPRESS}, {@link #COMPRESS_FAST} or {@link #SKIP}
+     */
+    int decide(byte[] packet, int packetLen, byte packetSequence) {
+        long key = streamKey(packet, packetLen, packetSequence);
+        int stream = (int) (key * 0x9E3779B97F4A7C15L >>> 64 - STREAMS_LOG);
+        this.currentStream = stream;
+
+        if (this.streamKeys[stream] != key) {
+            this.streamKeys[stream] = key;
+            this.streamRatios[stream] = UNKNOWN;
+        } else if (this.streamRatios[stream] > this.skipRatio) {
+            this.bytesSinceProbe[stream] += packetLen;
+            if (++this.packetsSinceProbe[stream] < PROBE_INTERVAL_PACKETS && this.bytesSinceProbe[stream] < PROBE_INTERVAL_BYTES) {
+                return SKIP;
+            }
+            // time to check whether the stream became compressible
+            this.streamRatios[stream] = UNKNOWN;
+        }
+
+        if (this.streamRatios[stream] == UNKNOWN) {
+            this.packetsSinceProbe[stream] = 0;
+            this.bytesSinceProbe[stream] = 0;
+            if (packetLen < SAMPLE_THRESHOLD) {
+                // learn from the packet itself
+                return COMPRESS;
+            }
+            this.streamRatios[stream] = sampleRatio(packet, packetLen);
+        }
+
+        int ratio = this.streamRatios[stream];
+        return ratio > this.skipRatio ? SKIP : ratio > this.fastRatio ? COMPRESS_FAST : COMPRESS;
+    }
+
+    /**
+     * Learns from the outcome of compressing the last packet {@link #decide(byte[], int, byte)} was called for.
+     *
+     * @param uncompressedLen
+     *            the length of the packet, including the headers of split packets
+     * @param sentLen
+     *            the length sent, as a sum of the compressed and uncompressed parts
+     */
+    void packetSent(long uncompressedLen, long sentLen) {
+        int ratio = (int) Math.min(RATIO_ONE, sentLen * RATIO_ONE / uncompressedLen);
+        int stream = this.currentStream;
+        int previous = this.streamRatios[stream];
+        this.streamRatios[stream] = previous == UNKNOWN ? ratio : (3 * previous + ratio) / 4;
+    }
+
+    /**
+     * Releases the resources held by this policy.
+     */
+    void end() {
+        this.fastCompressor.end();
+        this.fastCompressor = null;
+        this.sample = null;
+    }
+
+    private int sampleRatio(byte[] packet, int packetLen) {
+        long start = System.nanoTime();
+        this.fastCompressor.begin(this.sample, 0, SAMPLE_SIZE);
+        this.fastCompressor.update(packet, (packetLen - SAMPLE_SIZE) / 2, SAMPLE_SIZE);
+        int compressedLen = this.fastCompressor.finish();
+        this.statistics.sampleCompressed(SAMPLE_SIZE, System.nanoTime() - start);
+        return compressedLen < 0 ? RATIO_ONE : compressedLen * RATIO_ONE / SAMPLE_SIZE;
+    }
+
+    /**
+     * Identifies the stream a packet belongs to.
+     *
+     * @param packet
+     *            packet payload
+     * @param packetLen
+     *            payload length
+     * @param packetSequence
+     *            sequence id
+     * @return a key made of the command and what identifies the stream within the command
+     */
+    static long streamKey(byte[] packet, int packetLen, byte packetSequence) {
+        if (packetSequence != 0) {
+            // not the start of a command, e.g., the contents of a file sent for a "LOAD DATA LOCAL INFILE"
+            return 0xFFL << 48;
+        }
+        long command = packet[0] & 0xFF;
+        switch ((int) command) {
+            case NativeConstants.COM_STMT_SEND_LONG_DATA:
+                // statement id and parameter number
+                if (packetLen >= 7) {
+                    return command << 48 | (readInt(packet, 1) & 0xFFFFFFFFL) << 16 | packet[5] & 0xFF | (packet[6] & 0xFF) << 8;
+                }
+                break;
+            case NativeConstants.COM_STMT_EXECUTE:
+                // statement id
+                if (packetLen >= 5) {
+                    return command << 48 | readInt(packet, 1) & 0xFFFFFFFFL;
+                }
+                break;
+            case NativeConstants.COM_QUERY:
+                // the beginning of the statement
+                int hash = 0;
+                for (int i = 1, end = Math.min(packetLen, 49); i < end; i++) {
+                    hash = 31 * hash + packet[i];
+                }
+                return command << 48 | hash & 0xFFFFFFFFL;
+            default:
+                break;
+        }
+        return command << 48;
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return b[off] & 0xFF | (b[off + 1] & 0xFF) << 8 | (b[off + 2] & 0xFF) << 16 | (b[off + 3] & 0xFF) << 24;
+    }
+
+}
@@ -23,11 +23,11 @@ package com.mysql.cj.protocol.a;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
 
 import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.CompressionCodec;
+import com.mysql.cj.protocol.compression.ZlibCompressionCodec;
 import com.mysql.cj.util.StringUtils;
 
 /**
@@ -41,8 +41,14 @@ public class CompressedInputStream extends InputStream {
     /** The stream we are reading from the server */
     private InputStream in;
 
-    /** The ZIP inflater used to un-compress packets */
-    private Inflater inflater;
+    /** The decompressor of the negotiated compression algorithm used to un-compress packets */
+    private CompressionCodec.Decompressor decompressor;
+
+    /** Counters of the work done decompressing */
+    private CompressionStatistics statistics;
+
+    /** The buffer compressed packets are read into, reused while large enough */
+    private byte[] compressedBuffer = new byte[0];
 
     /** Connection property reference */
     private RuntimeProperty<Boolean> traceProtocol;
@@ -70,10 +76,31 @@ public class CompressedInputStream extends InputStream {
      *            logger
      */
     public CompressedInputStream(InputStream streamFromServer, RuntimeProperty<Boolean> traceProtocol, Log log) {
+        this(streamFromServer, new ZlibCompressionCodec().createDecompressor(), new CompressionStatistics(), traceProtocol, log);
+    }
+
+    /**
+     * Creates a new CompressedInputStream that reads the given stream from the
+     * server and un-compresses packets with the given decompressor.
+     *
+     * @param streamFromServer
+     *            original server InputStream
+     * @param decompressor
+     *            the {@link CompressionCodec.Decompressor} of the negotiated compression algorithm
+     * @param statistics
+     *            the {@link CompressionStatistics} to update
+     * @param traceProtocol
+     *            "traceProtocol" property
+     * @param log
+     *            logger
+     */
+    public CompressedInputStream(InputStream streamFromServer, CompressionCodec.Decompressor decompressor, CompressionStatistics statistics,
+            RuntimeProperty<Boolean> traceProtocol, Log log) {
         this.traceProtocol = traceProtocol;
         this.log = log;
         this.in = streamFromServer;
-        this.inflater = new Inflater();
+        this.decompressor = decompressor;
+        this.statistics = statistics;
     }
 
     @Override
@@ -89,8 +116,9 @@ public class CompressedInputStream extends InputStream {
     public void close() throws IOException {
         this.in.close();
         this.buffer = null;
-        this.inflater.end();
-        this.inflater = null;
+        this.compressedBuffer = null;
+        this.decompressor.end();
+        this.decompressor = null;
         this.traceProtocol = null;
         this.log = null;
     }
@@ -125,18 +153,19 @@ public class CompressedInputStream extends InputStream {
         if (uncompressedLength > 0) {
             uncompressedData = new byte[uncompressedLength];
 
-            byte[] compressedBuffer = new byte[compressedPacketLength];
-
-            readFully(compressedBuffer, 0, compressedPacketLength);
+            if (this.compressedBuffer.length < compressedPacketLength) {
+                this.compressedBuffer = new byte[compressedPacketLength];
+            }
 
-            this.inflater.reset();
+            readFully(this.compressedBuffer, 0, compressedPacketLength);
 
-            this.inflater.setInput(compressedBuffer);
+            long start = System.nanoTime();
+            this.decompressor.decompress(this.compressedBuffer, 0, compressedPacketLength, uncompressedData, 0, uncompressedLength);
+            this.statistics.packetDecompressed(compressedPacketLength, uncompressedLength, System.nanoTime() - start);
 
-            try {
-                this.inflater.inflate(uncompressedData);
-            } catch (DataFormatException dfe) {
-                throw new IOException("Error while uncompressing packet from server.");
+            if (this.compressedBuffer.length > NativeConstants.MAX_PACKET_SIZE / 16) {
+                // don't hold on to buffers of huge packets
+                this.compressedBuffer = new byte[0];
             }
 
         } else {
@@ -22,19 +22,32 @@ package com.mysql.cj.protocol.a;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.util.zip.Deflater;
 
+import com.mysql.cj.protocol.CompressionCodec;
 import com.mysql.cj.protocol.MessageSender;
+import com.mysql.cj.protocol.compression.ZlibCompressionCodec;
 
 /**
- * A {@link MessageSender} for the compressed protocol.
+ * A {@link MessageSender} for the compressed protocol. Packets are compressed with the {@link CompressionCodec} negotiated with the server, unless an
+ * {@link AdaptiveCompressionPolicy} decides they are not worth it.
  *
  * TODO: add support for pre-allocated buffer for large packets (if there's a demonstrable perf improvement)
  */
 public class CompressedPacketSender implements MessageSender<NativePacketPayload> {
 
     private BufferedOutputStream outputStream;
-    private Deflater deflater = new Deflater();
+    private CompressionCodec.Compressor compressor;
+    private AdaptiveCompressionPolicy policy;
+    private CompressionStatistics statistics;
+    /** Compressor used for the current packet, <code>null</code> if it is sent uncompressed. Used only across one send() invocation. */
+    private CompressionCodec.Compressor packetCompressor;
+    /** Time the compression of the current compressed packet started. */
+    private long compressionStartNanos;
+    /** Uncompressed and sent lengths of the compressed packets sent. Used only across one send() invocation. */
+    private long uncompressedBytes;
+    private long sentBytes;
+    /** Buffer for the uncompressed packet headers. */
+    private byte uncompressedHeader[] = new byte[NativeConstants.HEADER_LENGTH];
     /** Buffer to compress data to. Used only across one send() invocation. */
     private byte compressedPacket[];
     /** Sequence id of compressed packet. Used only across one send() invocation. */
@@ -45,21 +58,69 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
     public static final int COMP_HEADER_LENGTH = 7;
     public static final int MIN_COMPRESS_LEN = 50;
 
+    /**
+     * Creates a packet sender that uses zlib compression with the default compression level.
+     *
+     * @param outputStream
+     *            the stream to write compressed packets to
+     */
     public CompressedPacketSender(BufferedOutputStream outputStream) {
+        this(outputStream, new ZlibCompressionCodec().createCompressor(ZlibCompressionCodec.DEFAULT_LEVEL));
+    }
+
+    /**
+     * Creates a packet sender that uses the given compressor.
+     *
+     * @param outputStream
+     *            the stream to write compressed packets to
+     * @param compressor
+     *            the {@link CompressionCodec.Compressor} of the negotiated compression algorithm
+     */
+    public CompressedPacketSender(BufferedOutputStream outputStream, CompressionCodec.Compressor compressor) {
+        this(outputStream, compressor, null, new CompressionStatistics());
+    }
+
+    /**
+     * Creates a packet sender that uses the given compressor, for the packets the given policy decides to compress.
+     *
+     * @param outputStream
+     *            the stream to write compressed packets to
+     * @param compressor
+     *            the {@link CompressionCodec.Compressor} of the negotiated compression algorithm
+     * @param policy
+     *            the {@link AdaptiveCompressionPolicy}, or <code>null</code> to compress all the packets larger than {@link #MIN_COMPRESS_LEN}
+     * @param statistics
+     *            the {@link CompressionStatistics} to update
+     */
+    public CompressedPacketSender(BufferedOutputStream outputStream, CompressionCodec.Compressor compressor, AdaptiveCompressionPolicy policy,
+            CompressionStatistics statistics) {
         this.outputStream = outputStream;
+        this.compressor = compressor;
+        this.policy = policy;
+        this.statistics = statistics;
     }
 
     /**
      * Shut down this packet sender and deallocate any resources.
      */
     public void stop() {
-        this.deflater.end();
-        this.deflater = null;
+        this.compressor.end();
+        this.compressor = null;
+        if (this.policy != null) {
+            this.policy.end();
+            this.policy = null;
+        }
     }
 
+    /**
+     * Start compressing a new compressed packet.
+     */
     private void resetPacket() {
         this.compressedPayloadLen = 0;
-        this.deflater.reset();
+        if (this.packetCompressor != null) {
+            this.compressionStartNanos = System.nanoTime();
+            this.packetCompressor.begin(this.compressedPacket, 0, this.compressedPacket.length);
+        }
     }
 
     /**
@@ -71,12 +132,12 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *            uncompressed packet length
      */
     private void addUncompressedHeader(byte packetSequence, int uncompressedPacketLen) {
-        byte uncompressedHeader[] = new byte[NativeConstants.HEADER_LENGTH];
-        NativeUtils.encodeMysqlThreeByteInteger(uncompressedPacketLen, uncompressedHeader, 0);
-        uncompressedHeader[3] = packetSequence;
-        this.deflater.setInput(uncompressedHeader);
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        if (this.packetCompressor == null) {
+            return;
+        }
+        NativeUtils.encodeMysqlThreeByteInteger(uncompressedPacketLen, this.uncompressedHeader, 0);
+        this.uncompressedHeader[3] = packetSequence;
+        this.packetCompressor.update(this.uncompressedHeader, 0, NativeConstants.HEADER_LENGTH);
     }
 
     /**
@@ -90,18 +151,37 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *            length
      */
     private void addPayload(byte[] payload, int payloadOffset, int payloadLen) {
-        this.deflater.setInput(payload, payloadOffset, payloadLen);
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        if (this.packetCompressor != null) {
+            this.packetCompressor.update(payload, payloadOffset, payloadLen);
+        }
     }
 
     /**
      * Complete compression of the current payload contents to the compressed packet.
+     *
+     * @param maxCompressedLen
+     *            the length the compressed data must be smaller than to be sent
+     * @param uncompressedLen
+     *            the length of the data compressed
+     * @return
+     *         <code>true</code> if the compressed data is small enough and thus should be sent
      */
-    private void completeCompression() {
-        this.deflater.finish();
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+    private boolean completeCompression(int maxCompressedLen, int uncompressedLen) {
+        if (this.packetCompressor == null) {
+            this.statistics.packetSkipped(uncompressedLen);
+            return false;
+        }
+        this.compressedPayloadLen = this.packetCompressor.finish();
+        long nanos = System.nanoTime() - this.compressionStartNanos;
+        this.uncompressedBytes += uncompressedLen;
+        if (this.compressedPayloadLen >= 0 && this.compressedPayloadLen < maxCompressedLen) {
+            this.statistics.packetCompressed(uncompressedLen, this.compressedPayloadLen, nanos);
+            this.sentBytes += this.compressedPayloadLen;
+            return true;
+        }
+        this.statistics.packetNotCompressed(uncompressedLen, nanos);
+        this.sentBytes += uncompressedLen;
+        return false;
     }
 
     /**
@@ -182,11 +262,19 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
             return;
         }
 
-        if (packetLen + NativeConstants.HEADER_LENGTH > NativeConstants.MAX_PACKET_SIZE) {
-            this.compressedPacket = new byte[NativeConstants.MAX_PACKET_SIZE];
+        int decision = this.policy == null ? AdaptiveCompressionPolicy.COMPRESS : this.policy.decide(packet, packetLen, packetSequence);
+        if (decision == AdaptiveCompressionPolicy.SKIP) {
+            this.packetCompressor = null;
         } else {
-            this.compressedPacket = new byte[NativeConstants.HEADER_LENGTH + packetLen];
+            this.packetCompressor = decision == AdaptiveCompressionPolicy.COMPRESS_FAST ? this.policy.getFastCompressor() : this.compressor;
+            if (packetLen + NativeConstants.HEADER_LENGTH > NativeConstants.MAX_PACKET_SIZE) {
+                this.compressedPacket = new byte[NativeConstants.MAX_PACKET_SIZE];
+            } else {
+                this.compressedPacket = new byte[NativeConstants.HEADER_LENGTH + packetLen];
+            }
         }
+        this.uncompressedBytes = 0;
+        this.sentBytes = 0;
 
         PacketSplitter packetSplitter = new PacketSplitter(packetLen);
 
@@ -194,7 +282,7 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
         int unsentOffset = 0;
         // loop over constructing and sending compressed packets
         while (true) {
-            this.compressedPayloadLen = 0;
+            resetPacket();
 
             if (packetSplitter.nextPacket()) {
                 // rest of previous packet
@@ -211,13 +299,12 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
                 addUncompressedHeader(packetSequence, packetSplitter.getPacketLen());
                 addPayload(packet, packetSplitter.getOffset(), lenNoHdr);
 
-                completeCompression();
                 // don't send payloads with incompressible data
-                if (this.compressedPayloadLen >= len) {
+                if (!completeCompression(len, unsentPayloadLen + len)) {
                     // combine the unsent and current packet in an uncompressed packet
                     writeCompressedHeader(unsentPayloadLen + len, this.compressedSequenceId++, 0);
                     this.outputStream.write(packet, unsentOffset, unsentPayloadLen);
-                    writeUncompressedHeader(lenNoHdr, packetSequence);
+                    writeUncompressedHeader(packetSplitter.getPacketLen(), packetSequence);
                     this.outputStream.write(packet, packetSplitter.getOffset(), lenNoHdr);
                 } else {
                     sendCompressedPacket(len + unsentPayloadLen);
@@ -226,18 +313,15 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
                 packetSequence++;
                 unsentPayloadLen = packetSplitter.getPacketLen() - lenNoHdr;
                 unsentOffset = packetSplitter.getOffset() + lenNoHdr;
-                resetPacket();
             } else if (unsentPayloadLen > 0) {
                 // no more packets, send remaining unsent data
                 addPayload(packet, unsentOffset, unsentPayloadLen);
-                completeCompression();
-                if (this.compressedPayloadLen >= unsentPayloadLen) {
+                if (!completeCompression(unsentPayloadLen, unsentPayloadLen)) {
                     writeCompressedHeader(unsentPayloadLen, this.compressedSequenceId, 0);
                     this.outputStream.write(packet, unsentOffset, unsentPayloadLen);
                 } else {
                     sendCompressedPacket(unsentPayloadLen);
                 }
-                resetPacket();
                 break;
             } else {
                 // nothing left to send (only happens on boundaries)
@@ -247,8 +331,22 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
 
         this.outputStream.flush();
 
+        if (this.policy != null && this.packetCompressor != null) {
+            this.policy.packetSent(this.uncompressedBytes, this.sentBytes);
+        }
+
         // release reference to (possibly large) compressed packet buffer
         this.compressedPacket = null;
+        this.packetCompressor = null;
+    }
+
+    /**
+     * Returns the counters of the work done compressing packets.
+     *
+     * @return {@link CompressionStatistics}
+     */
+    public CompressionStatistics getStatistics() {
+        return this.statistics;
     }
 
     @Override
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the work done by the compressed protocol on one connection, in both directions. Only the connection's own thread updates them, but they can be
+ * read from any thread, e.g., by a monitoring tool, to tune "compressionAlgorithms", the compression levels and "adaptiveCompression".
+ * <p>
+ * X Protocol sessions count their compressed messages as packets. They compress all the messages above a fixed size, so their packets are never skipped nor
+ * sent uncompressed after compression, and the bytes saved may be negative.
+ * <p>
+ * Times are measured on the thread that compresses or decompresses and, the work being CPU bound, stand for the CPU time spent on it.
+ */
+public class CompressionStatistics {
+
+    private final LongAdder packetsCompressed = new LongAdder();
+    private final LongAdder packetsNotCompressed = new LongAdder();
+    private final LongAdder packetsSkipped = new LongAdder();
+    private final LongAdder bytesSkipped = new LongAdder();
+    private final LongAdder bytesToCompress = new LongAdder();
+    private final LongAdder bytesSentSaved = new LongAdder();
+    private final LongAdder bytesCompressedInVain = new LongAdder();
+    private final LongAdder bytesSampled = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+    private final LongAdder packetsDecompressed = new LongAdder();
+    private final LongAdder bytesDecompressed = new LongAdder();
+    private final LongAdder bytesReceivedSaved = new LongAdder();
+    private final LongAdder decompressionNanos = new LongAdder();
+
+    /**
+     * Counts a packet sent compressed.
+     *
+     * @param uncompressedLen
+     *            the length of the packet
+     * @param compressedLen
+     *            the length sent
+     * @param nanos
+     *            the time spent compressing it
+     */
+    public void packetCompressed(int uncompressedLen, int compressedLen, long nanos) {
+        this.packetsCompressed.increment();
+        this.bytesToCompress.add(uncompressedLen);
+        this.bytesSentSaved.add(uncompressedLen - compressedLen);
+        this.compressionNanos.add(nanos);
+    }
+
+    void packetNotCompressed(int uncompressedLen, long nanos) {
+        this.packetsNotCompressed.increment();
+        this.bytesToCompress.add(uncompressedLen);
+        this.bytesCompressedInVain.add(uncompressedLen);
+        this.compressionNanos.add(nanos);
+    }
+
+    void packetSkipped(int uncompressedLen) {
+        this.packetsSkipped.increment();
+        this.bytesSkipped.add(uncompressedLen);
+    }
+
+    void sampleCompressed(int sampleLen, long nanos) {
+        this.bytesSampled.add(sampleLen);
+        this.compressionNanos.add(nanos);
+    }
+
+    /**
+     * Counts a compressed packet received.
+     *
+     * @param compressedLen
+     *            the length received
+     * @param uncompressedLen
+     *            the length of the packet once decompressed
+     * @param nanos
+     *            the time spent decompressing it
+     */
+    public void packetDecompressed(int compressedLen, int uncompressedLen, long nanos) {
+        this.packetsDecompressed.increment();
+        this.bytesDecompressed.add(uncompressedLen);
+        this.bytesReceivedSaved.add(uncompressedLen - compressedLen);
+        this.decompressionNanos.add(nanos);
+    }
+
+    /**
+     * Returns the number of packets sent compressed.
+     *
+     * @return the number of packets
+     */
+    public long getPacketsCompressed() {
+        return this.packetsCompressed.sum();
+    }
+
+    /**
+     * Returns the number of packets that were compressed but sent uncompressed because compression didn't make them smaller.
+     *
+     * @return the number of packets
+     */
+    public long getPacketsNotCompressed() {
+        return this.packetsNotCompressed.sum();
+    }
+
+    /**
+     * Returns the number of packets sent uncompressed without trying to compress them, because adaptive compression found their kind not compressible enough.
+     *
+     * @return the number of packets
+     */
+    public long getPacketsSkipped() {
+        return this.packetsSkipped.sum();
+    }
+
+    /**
+     * Returns the number of bytes sent uncompressed without trying to compress them.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesSkipped() {
+        return this.bytesSkipped.sum();
+    }
+
+    /**
+     * Returns the number of bytes handed to the compressor, whether compression paid off or not.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesToCompress() {
+        return this.bytesToCompress.sum();
+    }
+
+    /**
+     * Returns the number of bytes compressed for nothing, i.e., in packets that ended up being sent uncompressed.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesCompressedInVain() {
+        return this.bytesCompressedInVain.sum();
+    }
+
+    /**
+     * Returns the number of bytes compressed only to estimate how well packets compress.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesSampled() {
+        return this.bytesSampled.sum();
+    }
+
+    /**
+     * Returns the number of bytes compression saved on packets sent to the server.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesSentSaved() {
+        return this.bytesSentSaved.sum();
+    }
+
+    /**
+     * Returns the time spent compressing, including compressions in vain and samples.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getCompressionNanos() {
+        return this.compressionNanos.sum();
+    }
+
+    /**
+     * Returns the number of compressed packets received from the server.
+     *
+     * @return the number of packets
+     */
+    public long getPacketsDecompressed() {
+        return this.packetsDecompressed.sum();
+    }
+
+    /**
+     * Returns the number of bytes obtained by decompressing packets received from the server.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesDecompressed() {
+        return this.bytesDecompressed.sum();
+    }
+
+    /**
+     * Returns the number of bytes compression saved on packets received from the server.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesReceivedSaved() {
+        return this.bytesReceivedSaved.sum();
+    }
+
+    /**
+     * Returns the time spent decompressing.
+     *
+     * @return the time in nanoseconds
+     */
+    public long getDecompressionNanos() {
+        return this.decompressionNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "sent: " + getPacketsCompressed() + " packets compressed, " + getPacketsNotCompressed() + " not compressed, " + getPacketsSkipped()
+                + " skipped (" + getBytesSkipped() + " bytes), " + getBytesSentSaved() + " bytes saved out of " + getBytesToCompress() + " in "
+                + getCompressionNanos() / 1000 + " us; received: " + getPacketsDecompressed() + " packets decompressed, " + getBytesReceivedSaved()
+                + " bytes saved out of " + getBytesDecompressed() + " in " + getDecompressionNanos() / 1000 + " us";
+    }
+
+}
@@ -35,9 +35,24 @@ import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 public class MultiPacketReader implements MessageReader<NativePacketHeader, NativePacketPayload> {
 
     private MessageReader<NativePacketHeader, NativePacketPayload> packetReader;
+    private NativePacketPayloadPool payloadPool;
+    private long bytesRead = 0;
 
     public MultiPacketReader(MessageReader<NativePacketHeader, NativePacketPayload> packetReader) {
+        this(packetReader, null);
+    }
+
+    /**
+     * Creates a reader that takes the scratch buffer for continuation packets from the given pool.
+     *
+     * @param packetReader
+     *            the underlying {@link MessageReader}
+     * @param payloadPool
+     *            {@link NativePacketPayloadPool}, may be null
+     */
+    public MultiPacketReader(MessageReader<NativePacketHeader, NativePacketPayload> packetReader, NativePacketPayloadPool payloadPool) {
         this.packetReader = packetReader;
+        this.payloadPool = payloadPool;
     }
 
     @Override
@@ -54,6 +69,7 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
     public NativePacketPayload readMessage(Optional<NativePacketPayload> reuse, NativePacketHeader header) throws IOException {
         int packetLength = header.getMessageSize();
         NativePacketPayload buf = this.packetReader.readMessage(reuse, header);
+        this.bytesRead += NativeConstants.HEADER_LENGTH + packetLength;
 
         if (packetLength == NativeConstants.MAX_PACKET_SIZE) { // it's a multi-packet
 
@@ -68,7 +84,7 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
                 multiPacketLength = hdr.getMessageSize();
 
                 if (multiPacket == null) {
-                    multiPacket = new NativePacketPayload(multiPacketLength);
+                    multiPacket = this.payloadPool != null ? this.payloadPool.acquire(multiPacketLength) : new NativePacketPayload(multiPacketLength);
                 }
 
                 multiPacketSeq++;
@@ -77,11 +93,13 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
                 }
 
                 this.packetReader.readMessage(Optional.of(multiPacket), hdr);
+                this.bytesRead += NativeConstants.HEADER_LENGTH + multiPacketLength;
 
                 buf.writeBytes(StringLengthDataType.STRING_FIXED, multiPacket.getByteBuffer(), 0, multiPacketLength);
 
             } while (multiPacketLength == NativeConstants.MAX_PACKET_SIZE);
 
+            multiPacket.release();
             buf.setPosition(0);
         }
 
@@ -106,7 +124,7 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
                 multiPacketLength = hdr.getMessageSize();
 
                 if (multiPacket == null) {
-                    multiPacket = new NativePacketPayload(multiPacketLength);
+                    multiPacket = this.payloadPool != null ? this.payloadPool.acquire(multiPacketLength) : new NativePacketPayload(multiPacketLength);
                 }
 
                 multiPacketSeq++;
@@ -120,12 +138,32 @@ public class MultiPacketReader implements MessageReader<NativePacketHeader, Nati
 
             } while (multiPacketLength == NativeConstants.MAX_PACKET_SIZE);
 
+            multiPacket.release();
             buf.setPosition(0);
         }
 
         return buf;
     }
 
+    /**
+     * Returns the number of bytes of the packets read so far, headers included. Probed packets are counted when they are read.
+     *
+     * @return the number of bytes read
+     */
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    /**
+     * Carries on counting from the number of bytes read by another reader, the one this reader replaces.
+     *
+     * @param bytesRead
+     *            the number of bytes read so far
+     */
+    void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
     @Override
     public byte getMessageSequence() {
         return this.packetReader.getMessageSequence();
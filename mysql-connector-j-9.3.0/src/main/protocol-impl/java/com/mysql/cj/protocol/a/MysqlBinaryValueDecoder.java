@@ -24,6 +24,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 
 import com.mysql.cj.Messages;
+import com.mysql.cj.MysqlType;
 import com.mysql.cj.exceptions.DataReadException;
 import com.mysql.cj.protocol.InternalDate;
 import com.mysql.cj.protocol.InternalTime;
@@ -291,4 +292,91 @@ public class MysqlBinaryValueDecoder implements ValueDecoder {
         return vf.createFromYear(asShort);
     }
 
+    @Override
+    public boolean canDecodeAsLong(Field f) {
+        switch (f.getMysqlTypeId()) {
+            case MysqlType.FIELD_TYPE_TINY:
+            case MysqlType.FIELD_TYPE_SHORT:
+            case MysqlType.FIELD_TYPE_LONG:
+            case MysqlType.FIELD_TYPE_INT24:
+                return true;
+            case MysqlType.FIELD_TYPE_LONGLONG:
+                // unsigned values above Long.MAX_VALUE require BigInteger
+                return !f.isUnsigned();
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public boolean canDecodeAsDouble(Field f) {
+        switch (f.getMysqlTypeId()) {
+            case MysqlType.FIELD_TYPE_FLOAT:
+            case MysqlType.FIELD_TYPE_DOUBLE:
+                return true;
+            default:
+                return canDecodeAsLong(f);
+        }
+    }
+
+    @Override
+    public long decodeAsLong(byte[] bytes, int offset, int length, Field f) {
+        switch (f.getMysqlTypeId()) {
+            case MysqlType.FIELD_TYPE_TINY:
+                if (length != NativeConstants.BIN_LEN_INT1) {
+                    throw new DataReadException(Messages.getString("ResultSet.InvalidLengthForType", new Object[] { length, "BYTE" }));
+                }
+                return f.isUnsigned() ? bytes[offset] & 0xff : bytes[offset];
+
+            case MysqlType.FIELD_TYPE_SHORT:
+                if (length != NativeConstants.BIN_LEN_INT2) {
+                    throw new DataReadException(Messages.getString("ResultSet.InvalidLengthForType", new Object[] { length, "SHORT" }));
+                }
+                int asInt = bytes[offset] & 0xff | (bytes[offset + 1] & 0xff) << 8;
+                return f.isUnsigned() ? asInt : (short) asInt;
+
+            case MysqlType.FIELD_TYPE_LONG:
+            case MysqlType.FIELD_TYPE_INT24:
+                if (length != NativeConstants.BIN_LEN_INT4) {
+                    throw new DataReadException(Messages.getString("ResultSet.InvalidLengthForType", new Object[] { length, "INT" }));
+                }
+                long asLong = bytes[offset] & 0xff | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff) << 16
+                        | (long) (bytes[offset + 3] & 0xff) << 24;
+                return f.isUnsigned() && f.getMysqlTypeId() == MysqlType.FIELD_TYPE_LONG ? asLong : (int) asLong;
+
+            default:
+                if (length != NativeConstants.BIN_LEN_INT8) {
+                    throw new DataReadException(Messages.getString("ResultSet.InvalidLengthForType", new Object[] { length, "LONG" }));
+                }
+                return getLongLE(bytes, offset);
+        }
+    }
+
+    @Override
+    public double decodeAsDouble(byte[] bytes, int offset, int length, Field f) {
+        switch (f.getMysqlTypeId()) {
+            case MysqlType.FIELD_TYPE_FLOAT:
+                if (length != NativeConstants.BIN_LEN_FLOAT) {
+                    throw new DataReadException(Messages.getString("ResultSet.InvalidLengthForType", new Object[] { length, "FLOAT" }));
+                }
+                int asInt = bytes[offset] & 0xff | (bytes[offset + 1] & 0xff) << 8 | (bytes[offset + 2] & 0xff) << 16 | (bytes[offset + 3] & 0xff) << 24;
+                return Float.intBitsToFloat(asInt);
+
+            case MysqlType.FIELD_TYPE_DOUBLE:
+                if (length != NativeConstants.BIN_LEN_DOUBLE) {
+                    throw new DataReadException(Messages.getString("ResultSet.InvalidLengthForType", new Object[] { length, "DOUBLE" }));
+                }
+                return Double.longBitsToDouble(getLongLE(bytes, offset));
+
+            default:
+                return decodeAsLong(bytes, offset, length, f);
+        }
+    }
+
+    private static long getLongLE(byte[] bytes, int offset) {
+        return bytes[offset] & 0xff | (long) (bytes[offset + 1] & 0xff) << 8 | (long) (bytes[offset + 2] & 0xff) << 16 | (long) (bytes[offset + 3] & 0xff) << 24
+                | (long) (bytes[offset + 4] & 0xff) << 32 | (long) (bytes[offset + 5] & 0xff) << 40 | (long) (bytes[offset + 6] & 0xff) << 48
+                | (long) (bytes[offset + 7] & 0xff) << 56;
+    }
+
 }
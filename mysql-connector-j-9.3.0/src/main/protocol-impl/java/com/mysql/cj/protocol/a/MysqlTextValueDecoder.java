@@ -26,6 +26,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.mysql.cj.Messages;
+import com.mysql.cj.MysqlType;
 import com.mysql.cj.exceptions.DataReadException;
 import com.mysql.cj.exceptions.NumberOutOfRange;
 import com.mysql.cj.protocol.InternalDate;
@@ -166,6 +167,38 @@ public class MysqlTextValueDecoder implements ValueDecoder {
         return vf.createFromYear(getLong(bytes, offset, offset + length));
     }
 
+    @Override
+    public boolean canDecodeAsLong(Field f) {
+        switch (f.getMysqlTypeId()) {
+            case MysqlType.FIELD_TYPE_TINY:
+            case MysqlType.FIELD_TYPE_SHORT:
+            case MysqlType.FIELD_TYPE_LONG:
+            case MysqlType.FIELD_TYPE_INT24:
+                return true;
+            case MysqlType.FIELD_TYPE_LONGLONG:
+                // unsigned values above Long.MAX_VALUE require BigInteger
+                return !f.isUnsigned();
+            default:
+                return false;
+        }
+    }
+
+    @Override
+    public boolean canDecodeAsDouble(Field f) {
+        // floating point text values can't be parsed without creating a String, leave them to the value factories
+        return canDecodeAsLong(f);
+    }
+
+    @Override
+    public long decodeAsLong(byte[] bytes, int offset, int length, Field f) {
+        return getLong(bytes, offset, offset + length);
+    }
+
+    @Override
+    public double decodeAsDouble(byte[] bytes, int offset, int length, Field f) {
+        return getLong(bytes, offset, offset + length);
+    }
+
     public static int getInt(byte[] buf, int offset, int endpos) throws NumberFormatException {
         long l = getLong(buf, offset, endpos);
         if (l < Integer.MIN_VALUE || l > Integer.MAX_VALUE) {
@@ -159,13 +159,17 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
         this.useConnectWithDb = this.database != null && this.database.length() > 0
                 && !this.propertySet.getBooleanProperty(PropertyKey.createDatabaseIfNotExist).getValue();
 
+        String compressionAlgorithm = this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()
+                ? capabilities.negotiateCompressionAlgorithm(this.propertySet.getStringProperty(PropertyKey.compressionAlgorithms).getValue())
+                : null;
+
         long clientParam = capabilityFlags & NativeServerSession.CLIENT_LONG_PASSWORD //
                 | (this.propertySet.getBooleanProperty(PropertyKey.useAffectedRows).getValue() ? //
                         0 : capabilityFlags & NativeServerSession.CLIENT_FOUND_ROWS) //
                 | capabilityFlags & NativeServerSession.CLIENT_LONG_FLAG //
                 | (this.useConnectWithDb ? capabilityFlags & NativeServerSession.CLIENT_CONNECT_WITH_DB : 0) //
-                | (this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue() ? //
-                        capabilityFlags & NativeServerSession.CLIENT_COMPRESS : 0) //
+                | (compressionAlgorithm != null ? //
+                        NativeCapabilities.getCompressionAlgorithmFlag(compressionAlgorithm) : 0) //
                 | (this.propertySet.getBooleanProperty(PropertyKey.allowLoadLocalInfile).getValue()
                         || this.propertySet.getStringProperty(PropertyKey.allowLoadLocalInfileInPath).isExplicitlySet() ? //
                                 capabilityFlags & NativeServerSession.CLIENT_LOCAL_FILES : 0) //
@@ -643,6 +647,11 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
         if ((clientParam & NativeServerSession.CLIENT_CONNECT_ATTRS) != 0) {
             appendConnectionAttributes(last_sent, this.propertySet.getStringProperty(PropertyKey.connectionAttributes).getValue(), enc);
         }
+
+        // zstd compression level
+        if ((clientParam & NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0) {
+            last_sent.writeInteger(IntegerDataType.INT1, this.propertySet.getIntegerProperty(PropertyKey.zstdCompressionLevel).getValue());
+        }
         return last_sent;
     }
 
@@ -24,10 +24,14 @@ import com.mysql.cj.Messages;
 import com.mysql.cj.ServerVersion;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.UnableToConnectException;
+import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.protocol.ServerCapabilities;
 import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.compression.ZlibCompressionCodec;
+import com.mysql.cj.protocol.compression.ZstdCompressionCodec;
+import com.mysql.cj.util.StringUtils;
 
 public class NativeCapabilities implements ServerCapabilities {
 
@@ -156,4 +160,38 @@ public class NativeCapabilities implements ServerCapabilities {
         return this.serverHasFracSecsSupport;
     }
 
+    /**
+     * Chooses the compression algorithm to use in this session.
+     *
+     * @param compressionAlgorithms
+     *            comma-delimited list of the algorithms the client is willing to use, in order of preference
+     * @return
+     *         the first algorithm in the list the server supports, or <code>null</code> if there is none
+     */
+    public String negotiateCompressionAlgorithm(String compressionAlgorithms) {
+        for (String algorithm : StringUtils.split(compressionAlgorithms, ",", true)) {
+            if ((this.capabilityFlags & getCompressionAlgorithmFlag(algorithm)) != 0) {
+                return algorithm.toLowerCase();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the capability flag that announces support for the given compression algorithm.
+     *
+     * @param algorithm
+     *            compression algorithm name, "zlib" or "zstd"
+     * @return
+     *         {@link NativeServerSession#CLIENT_COMPRESS} or {@link NativeServerSession#CLIENT_ZSTD_COMPRESSION_ALGORITHM}
+     */
+    public static int getCompressionAlgorithmFlag(String algorithm) {
+        if (ZlibCompressionCodec.ALGORITHM_NAME.equalsIgnoreCase(algorithm)) {
+            return NativeServerSession.CLIENT_COMPRESS;
+        } else if (ZstdCompressionCodec.ALGORITHM_NAME.equalsIgnoreCase(algorithm)) {
+            return NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+        }
+        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("Protocol.Compression.9", new Object[] { algorithm }));
+    }
+
 }
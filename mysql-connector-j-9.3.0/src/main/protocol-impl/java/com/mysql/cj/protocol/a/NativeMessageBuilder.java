@@ -45,11 +45,26 @@ import com.mysql.cj.util.StringUtils;
 public class NativeMessageBuilder implements MessageBuilder<NativePacketPayload> {
 
     private boolean supportsQueryAttributes = true;
+    private NativePacketPayloadPool payloadPool = null;
 
     public NativeMessageBuilder(boolean supportsQueryAttributes) {
         this.supportsQueryAttributes = supportsQueryAttributes;
     }
 
+    /**
+     * Creates a builder that takes the buffers of the COM_QUERY packets it builds from the given pool. Such packets should be released with
+     * {@link NativePacketPayload#release()} once sent.
+     *
+     * @param supportsQueryAttributes
+     *            whether the server supports query attributes
+     * @param payloadPool
+     *            {@link NativePacketPayloadPool}
+     */
+    public NativeMessageBuilder(boolean supportsQueryAttributes, NativePacketPayloadPool payloadPool) {
+        this.supportsQueryAttributes = supportsQueryAttributes;
+        this.payloadPool = payloadPool;
+    }
+
     @Override
     public NativePacketPayload buildSqlStatement(String statement) {
         throw ExceptionFactory.createException(CJOperationNotSupportedException.class, "Not supported");
@@ -153,7 +168,7 @@ public class NativeMessageBuilder implements MessageBuilder<NativePacketPayload>
                 }
             }
 
-            sendPacket = new NativePacketPayload(packLength);
+            sendPacket = this.payloadPool != null ? this.payloadPool.acquire(packLength) : new NativePacketPayload(packLength);
         }
 
         sendPacket.setPosition(0);
@@ -69,6 +69,9 @@ public class NativePacketPayload implements Message {
 
     private Map<String, Integer> tags = new HashMap<>();
 
+    /** The pool this payload was acquired from, while it is in use. */
+    NativePacketPayloadPool pool = null;
+
     @Override
     public String toString() {
         int numBytes = this.position <= this.payloadLength ? this.position : this.payloadLength;
@@ -102,6 +105,19 @@ public class NativePacketPayload implements Message {
         return this.byteBuffer.length;
     }
 
+    /**
+     * Returns this payload to the {@link NativePacketPayloadPool} it was acquired from. The payload and its buffer must not be used afterwards. Does nothing
+     * if the payload doesn't come from a pool or was already released.
+     */
+    public void release() {
+        NativePacketPayloadPool owner = this.pool;
+        if (owner != null) {
+            this.pool = null;
+            this.tags.clear();
+            owner.release(this);
+        }
+    }
+
     /**
      * Checks that underlying buffer has enough space to store additionalData bytes starting from current position.
      * If buffer size is smaller than required then it is re-allocated with bigger size.
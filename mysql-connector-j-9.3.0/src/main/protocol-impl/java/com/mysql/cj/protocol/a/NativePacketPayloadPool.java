@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.mysql.cj.conf.RuntimeProperty;
+
+/**
+ * A per-connection pool of {@link NativePacketPayload} instances, used for the transient payloads of a query: the COM_QUERY command and the rows that are
+ * copied out of their packets as soon as they are read.
+ * <p>
+ * Buffers are kept in power-of-two size classes from {@link #MIN_POOLED_SIZE} to {@link #MAX_POOLED_SIZE} bytes. Requests above the largest class are served
+ * with plain, unpooled payloads. The total size of the idle buffers kept by the pool never exceeds the 'packetBufferPoolSize' connection property; buffers
+ * released beyond that limit are left to the garbage collector.
+ * <p>
+ * A payload obtained from {@link #acquire(int)} must be returned with {@link NativePacketPayload#release()} once nothing references its contents anymore.
+ * Payloads that are never released are simply garbage collected, and releasing a payload that didn't come from a pool, or releasing it twice, has no effect.
+ */
+public class NativePacketPayloadPool {
+
+    /** Capacity of the smallest size class. */
+    public static final int MIN_POOLED_SIZE = 256;
+
+    /** Capacity of the largest size class. */
+    public static final int MAX_POOLED_SIZE = 1 << 20;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_POOLED_SIZE);
+    private static final int SIZE_CLASSES = Integer.numberOfTrailingZeros(MAX_POOLED_SIZE) - MIN_SHIFT + 1;
+
+    private final RuntimeProperty<Integer> maxRetainedSize;
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final ArrayDeque<NativePacketPayload>[] pooled = new ArrayDeque[SIZE_CLASSES];
+    private long retainedSize = 0;
+    private long acquired = 0;
+    private long reused = 0;
+    private final Lock lock = new ReentrantLock();
+
+    public NativePacketPayloadPool(RuntimeProperty<Integer> maxRetainedSize) {
+        this.maxRetainedSize = maxRetainedSize;
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            this.pooled[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Returns a payload with room for at least <code>length</code> bytes, positioned at 0 and with payload length set to <code>length</code>.
+     *
+     * @param length
+     *            required size in bytes
+     * @return {@link NativePacketPayload}
+     */
+    public NativePacketPayload acquire(int length) {
+        if (length > MAX_POOLED_SIZE || this.maxRetainedSize.getValue() <= 0) {
+            return new NativePacketPayload(length);
+        }
+
+        int sizeClass = sizeClassFor(length);
+        NativePacketPayload payload;
+        this.lock.lock();
+        try {
+            this.acquired++;
+            payload = this.pooled[sizeClass].pollLast();
+            if (payload != null) {
+                this.retainedSize -= payload.getCapacity();
+                this.reused++;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+
+        if (payload == null) {
+            payload = new NativePacketPayload(MIN_POOLED_SIZE << sizeClass);
+        }
+        payload.setPosition(0);
+        payload.setPayloadLength(length);
+        payload.pool = this;
+        return payload;
+    }
+
+    /**
+     * Takes back a payload previously returned by {@link #acquire(int)}. Called from {@link NativePacketPayload#release()}.
+     *
+     * @param payload
+     *            {@link NativePacketPayload}
+     */
+    void release(NativePacketPayload payload) {
+        int capacity = payload.getCapacity();
+        if (capacity < MIN_POOLED_SIZE) {
+            return;
+        }
+        // A payload may have outgrown its class; file it under the largest class it can fully serve.
+        int sizeClass = Math.min(SIZE_CLASSES - 1, 31 - Integer.numberOfLeadingZeros(capacity) - MIN_SHIFT);
+
+        this.lock.lock();
+        try {
+            if (this.retainedSize + capacity <= this.maxRetainedSize.getValue()) {
+                this.pooled[sizeClass].addLast(payload);
+                this.retainedSize += capacity;
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops all idle buffers.
+     */
+    public void clear() {
+        this.lock.lock();
+        try {
+            for (ArrayDeque<NativePacketPayload> q : this.pooled) {
+                q.clear();
+            }
+            this.retainedSize = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total capacity of the idle buffers kept by the pool.
+     *
+     * @return size in bytes
+     */
+    public long getRetainedSize() {
+        this.lock.lock();
+        try {
+            return this.retainedSize;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of {@link #acquire(int)} calls served from the pool so far.
+     *
+     * @return number of pooled acquisitions
+     */
+    public long getAcquiredCount() {
+        this.lock.lock();
+        try {
+            return this.acquired;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of {@link #acquire(int)} calls that reused an idle buffer.
+     *
+     * @return number of reused buffers
+     */
+    public long getReusedCount() {
+        this.lock.lock();
+        try {
+            return this.reused;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private static int sizeClassFor(int length) {
+        if (length <= MIN_POOLED_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(length - 1) - MIN_SHIFT;
+    }
+
+}
@@ -78,6 +78,7 @@ import com.mysql.cj.MysqlType;
 import com.mysql.cj.NativeCharsetSettings;
 import com.mysql.cj.NativeSession;
 import com.mysql.cj.Query;
+import com.mysql.cj.QueryInfo;
 import com.mysql.cj.QueryResult;
 import com.mysql.cj.ServerPreparedQuery;
 import com.mysql.cj.ServerVersion;
@@ -102,11 +103,15 @@ import com.mysql.cj.exceptions.WrongArgumentException;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.exceptions.MysqlDataTruncation;
 import com.mysql.cj.log.BaseMetricsHolder;
+import com.mysql.cj.log.DigestStatistics;
+import com.mysql.cj.log.DigestStatistics.ExecutionType;
 import com.mysql.cj.log.Log;
 import com.mysql.cj.log.ProfilerEvent;
 import com.mysql.cj.log.ProfilerEventHandler;
+import com.mysql.cj.log.StatementDigestRegistry;
 import com.mysql.cj.protocol.AbstractProtocol;
 import com.mysql.cj.protocol.ColumnDefinition;
+import com.mysql.cj.protocol.CompressionCodec;
 import com.mysql.cj.protocol.ExportControlled;
 import com.mysql.cj.protocol.FullReadInputStream;
 import com.mysql.cj.protocol.Message;
@@ -130,6 +135,8 @@ import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
 import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
 import com.mysql.cj.protocol.a.result.OkPacket;
+import com.mysql.cj.protocol.compression.ZlibCompressionCodec;
+import com.mysql.cj.protocol.compression.ZstdCompressionCodec;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.IntegerValueFactory;
 import com.mysql.cj.result.Row;
@@ -152,6 +159,8 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     protected static final int MAX_QUERY_SIZE_TO_EXPLAIN = 1024 * 1024; // don't explain queries above 1MB
     protected static final int SSL_REQUEST_LENGTH = 32;
     private static final String EXPLAINABLE_STATEMENT = "SELECT";
+    // enough to decode QueryInfo.MAX_DIGEST_SOURCE_LENGTH characters and one more in any character set
+    private static final int MAX_DIGEST_SOURCE_BYTES = (QueryInfo.MAX_DIGEST_SOURCE_LENGTH + 1) * 4;
     private static final String[] EXPLAINABLE_STATEMENT_EXTENSION = new String[] { "INSERT", "UPDATE", "REPLACE", "DELETE" };
 
     protected MessageSender<NativePacketPayload> packetSender;
@@ -167,6 +176,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     /** Use this when reading in rows to avoid thousands of new() calls, because the byte arrays just get copied out of the packet anyway */
     protected NativePacketPayload reusablePacket = null;
 
+    /** Buffers for the transient packets of a query: COM_QUERY commands and rows that are copied out of their packets */
+    protected NativePacketPayloadPool payloadPool = null;
+
     /**
      * Packet used for 'LOAD DATA LOCAL INFILE'
      * We use a SoftReference, so that we don't penalize intermittent use of this feature
@@ -175,6 +187,8 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
     protected byte packetSequence = 0;
     protected boolean useCompression = false;
+    protected CompressionStatistics compressionStatistics = null;
+    private long bytesSent = 0;
 
     private RuntimeProperty<Integer> maxAllowedPacket;
     private RuntimeProperty<Boolean> useServerPrepStmts;
@@ -201,6 +215,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
     private RuntimeProperty<Boolean> maintainTimeStats;
     private RuntimeProperty<Integer> maxQuerySizeToLog;
+    private RuntimeProperty<Boolean> gatherStatementDigests;
 
     private InputStream localInfileInputStream;
 
@@ -258,6 +273,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
         this.maintainTimeStats = this.propertySet.getBooleanProperty(PropertyKey.maintainTimeStats);
         this.maxQuerySizeToLog = this.propertySet.getIntegerProperty(PropertyKey.maxQuerySizeToLog);
+        this.gatherStatementDigests = this.propertySet.getBooleanProperty(PropertyKey.gatherStatementDigests);
         this.useAutoSlowLog = this.propertySet.getBooleanProperty(PropertyKey.autoSlowLog).getValue();
         this.logSlowQueries = this.propertySet.getBooleanProperty(PropertyKey.logSlowQueries).getValue();
         this.maxAllowedPacket = this.propertySet.getIntegerProperty(PropertyKey.maxAllowedPacket);
@@ -266,6 +282,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.useServerPrepStmts = this.propertySet.getBooleanProperty(PropertyKey.useServerPrepStmts);
 
         this.reusablePacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
+        this.payloadPool = new NativePacketPayloadPool(this.propertySet.getMemorySizeProperty(PropertyKey.packetBufferPoolSize));
 
         try {
             this.packetSender = new SimplePacketSender(this.socketConnection.getMysqlOutput());
@@ -315,7 +332,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         if (this.nativeMessageBuilder != null) {
             return this.nativeMessageBuilder;
         }
-        return this.nativeMessageBuilder = new NativeMessageBuilder(this.serverSession.supportsQueryAttributes());
+        return this.nativeMessageBuilder = new NativeMessageBuilder(this.serverSession.supportsQueryAttributes(), this.payloadPool);
     }
 
     @Override
@@ -419,13 +436,24 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             //
             // Can't enable compression until after handshake
             //
-            if ((this.serverSession.getCapabilities().getCapabilityFlags() & NativeServerSession.CLIENT_COMPRESS) != 0
-                    && this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()
+            String compressionAlgorithm = (this.serverSession.getClientParam() & NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0
+                    ? ZstdCompressionCodec.ALGORITHM_NAME
+                    : (this.serverSession.getClientParam() & NativeServerSession.CLIENT_COMPRESS) != 0 ? ZlibCompressionCodec.ALGORITHM_NAME : null;
+            if (compressionAlgorithm != null && this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()
                     && !(this.socketConnection.getMysqlInput().getUnderlyingStream() instanceof CompressedInputStream)) {
+                CompressionCodec codec = getCompressionCodec(compressionAlgorithm);
+                int level = this.propertySet.getIntegerProperty(ZstdCompressionCodec.ALGORITHM_NAME.equals(compressionAlgorithm) ? //
+                        PropertyKey.zstdCompressionLevel : PropertyKey.zlibCompressionLevel).getValue();
+                this.compressionStatistics = new CompressionStatistics();
+                AdaptiveCompressionPolicy policy = this.propertySet.getBooleanProperty(PropertyKey.adaptiveCompression).getValue()
+                        ? new AdaptiveCompressionPolicy(codec.createCompressor(1),
+                                this.propertySet.getIntegerProperty(PropertyKey.adaptiveCompressionMinSavings).getValue(), this.compressionStatistics)
+                        : null;
                 this.useCompression = true;
                 this.socketConnection.setMysqlInput(new FullReadInputStream(new CompressedInputStream(this.socketConnection.getMysqlInput(),
-                        this.propertySet.getBooleanProperty(PropertyKey.traceProtocol), this.log)));
-                this.compressedPacketSender = new CompressedPacketSender(this.socketConnection.getMysqlOutput());
+                        codec.createDecompressor(), this.compressionStatistics, this.propertySet.getBooleanProperty(PropertyKey.traceProtocol), this.log)));
+                this.compressedPacketSender = new CompressedPacketSender(this.socketConnection.getMysqlOutput(), codec.createCompressor(level), policy,
+                        this.compressionStatistics);
                 this.packetSender = this.compressedPacketSender;
             }
 
@@ -449,6 +477,55 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.propertySet.getBooleanProperty(PropertyKey.enablePacketDebug).addListener(this);
     }
 
+    /**
+     * Returns the codec implementing the given compression algorithm. Codecs listed in the connection property "compressionCodecs" take precedence over the
+     * built-in ones.
+     *
+     * @param compressionAlgorithm
+     *            the negotiated compression algorithm name
+     * @return a {@link CompressionCodec}
+     */
+    private CompressionCodec getCompressionCodec(String compressionAlgorithm) {
+        String codecClasses = this.propertySet.getStringProperty(PropertyKey.compressionCodecs).getValue();
+        if (codecClasses != null && !codecClasses.trim().isEmpty()) {
+            for (CompressionCodec codec : Util.loadClasses(CompressionCodec.class, codecClasses, "Protocol.Compression.10", getExceptionInterceptor())) {
+                if (compressionAlgorithm.equalsIgnoreCase(codec.getAlgorithmName())) {
+                    return codec;
+                }
+            }
+        }
+        return ZstdCompressionCodec.ALGORITHM_NAME.equals(compressionAlgorithm) ? new ZstdCompressionCodec() : new ZlibCompressionCodec();
+    }
+
+    /**
+     * Returns the counters of the work done by the compressed protocol on this connection.
+     *
+     * @return {@link CompressionStatistics}, or <code>null</code> if the connection is not compressed
+     */
+    public CompressionStatistics getCompressionStatistics() {
+        return this.compressionStatistics;
+    }
+
+    /**
+     * Returns the number of bytes of the packets sent on this connection, headers included. These are the bytes of the MySQL protocol, before any
+     * compression.
+     *
+     * @return the number of bytes sent
+     */
+    public long getBytesSent() {
+        return this.bytesSent;
+    }
+
+    /**
+     * Returns the number of bytes of the packets received on this connection since the end of the handshake, headers included. These are the bytes of the
+     * MySQL protocol, after any decompression.
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return this.packetReader instanceof MultiPacketReader ? ((MultiPacketReader) this.packetReader).getBytesRead() : 0;
+    }
+
     @Override
     public void handlePropertyChange(RuntimeProperty<?> prop) {
         switch (prop.getPropertyDefinition().getPropertyKey()) {
@@ -498,7 +575,11 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
 
         // do it after other decorators to have trace and debug applied to individual packets
-        messageReader = new MultiPacketReader(messageReader);
+        MultiPacketReader multiPacketReader = new MultiPacketReader(messageReader, this.payloadPool);
+        if (this.packetReader instanceof MultiPacketReader) {
+            multiPacketReader.setBytesRead(((MultiPacketReader) this.packetReader).getBytesRead());
+        }
+        messageReader = multiPacketReader;
 
         this.packetReader = messageReader;
         this.packetDebugRingBuffer = debugRingBuffer;
@@ -584,8 +665,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     public final NativePacketPayload readMessage(NativePacketPayload reuse) {
         try {
             NativePacketHeader header = this.packetReader.readHeader();
+            byte messageSequence = header.getMessageSequence(); // the header instance may be reused by multi-packet reads
             NativePacketPayload buf = this.packetReader.readMessage(Optional.ofNullable(reuse), header);
-            this.packetSequence = header.getMessageSequence();
+            this.packetSequence = messageSequence;
             return buf;
 
         } catch (IOException ioEx) {
@@ -600,8 +682,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     public final NativePacketPayload probeMessage(NativePacketPayload reuse) {
         try {
             NativePacketHeader header = this.packetReader.probeHeader();
+            byte messageSequence = header.getMessageSequence(); // the header instance may be reused by multi-packet reads
             NativePacketPayload buf = this.packetReader.probeMessage(Optional.ofNullable(reuse), header);
-            this.packetSequence = header.getMessageSequence();
+            this.packetSequence = messageSequence;
             return buf;
 
         } catch (IOException ioEx) {
@@ -628,6 +711,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
             this.packetSequence++;
             this.packetSender.send(packet.getByteBuffer(), packetLen, this.packetSequence);
+            this.bytesSent += NativeConstants.HEADER_LENGTH + packetLen;
 
             // Don't hold on to large packets
             if (packet == this.sharedSendPacket) {
@@ -733,6 +817,71 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Sends a command packet without waiting for the server response. Used by pipelined batch execution, where several commands are written back to back
+     * and their responses are consumed later, in the same order, by {@link #readPipelinedResult(int, boolean, ColumnDefinition, ProtocolEntityFactory)}.
+     *
+     * Unlike {@link #sendCommand(Message, boolean, int)}, this method neither clears the input stream nor invokes query interceptors, as the input stream may
+     * hold responses of previously pipelined commands.
+     *
+     * @param queryPacket
+     *            {@link Message} containing the command
+     */
+    public final void sendPipelinedCommand(Message queryPacket) {
+        this.commandCount++;
+
+        try {
+            checkForOutstandingStreamingData();
+
+            this.packetSequence = -1;
+            send(queryPacket, queryPacket.getPosition());
+
+        } catch (CJException ex) {
+            // don't wrap CJExceptions
+            this.serverSession.preserveOldTransactionState();
+            throw ex;
+        } catch (Exception ex) {
+            this.serverSession.preserveOldTransactionState();
+            throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, getPacketSentTimeHolder(), getPacketReceivedTimeHolder(),
+                    ex, getExceptionInterceptor());
+        }
+    }
+
+    /**
+     * Reads the response of the oldest outstanding command sent by {@link #sendPipelinedCommand(Message)}.
+     *
+     * @param <T>
+     *            extends {@link Resultset}
+     * @param maxRows
+     *            rows limit
+     * @param isBinaryEncoded
+     *            true for responses to COM_STMT_EXECUTE
+     * @param metadata
+     *            use this metadata instead of the one provided on wire
+     * @param resultSetFactory
+     *            {@link ProtocolEntityFactory}
+     * @return T instance
+     * @throws IOException
+     *             if an i/o error occurs
+     */
+    public final <T extends Resultset> T readPipelinedResult(int maxRows, boolean isBinaryEncoded, ColumnDefinition metadata,
+            ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory) throws IOException {
+        this.serverSession.setStatusFlags(0, true);
+        this.hadWarnings = false;
+        setWarningCount(0);
+
+        this.packetReader.resetMessageSequence();
+
+        try {
+            NativePacketPayload resultPacket = readMessage(this.reusablePacket);
+            checkErrorMessage(resultPacket, true);
+            return readAllResults(maxRows, false, resultPacket, isBinaryEncoded, metadata, resultSetFactory);
+        } catch (CJException e) {
+            this.serverSession.preserveOldTransactionState();
+            throw e;
+        }
+    }
+
     public void checkTransactionState() {
         int transState = this.serverSession.getTransactionState();
         if (transState == ServerSession.TRANSACTION_COMPLETED) {
@@ -781,6 +930,10 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     }
 
     public void checkErrorMessage(NativePacketPayload resultPacket) {
+        checkErrorMessage(resultPacket, false);
+    }
+
+    private void checkErrorMessage(NativePacketPayload resultPacket, boolean pipelined) {
         resultPacket.setPosition(0);
         byte statusCode = (byte) resultPacket.readInteger(IntegerDataType.INT1);
 
@@ -812,7 +965,10 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
                 xOpen = MysqlErrorNumbers.mysqlToSqlstate(errno);
             }
 
-            clearInputStream();
+            // Responses of subsequent pipelined commands may already be buffered, so the input stream must be left untouched.
+            if (!pipelined) {
+                clearInputStream();
+            }
 
             StringBuilder errorBuf = new StringBuilder();
 
@@ -834,7 +990,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
                 }
             }
 
-            appendDeadlockStatusInformation(this.session, xOpen, errorBuf);
+            if (!pipelined) {
+                appendDeadlockStatusInformation(this.session, xOpen, errorBuf);
+            }
 
             if (xOpen != null) {
                 if (xOpen.startsWith("22")) {
@@ -878,6 +1036,15 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Returns the pool of transient packet buffers of this connection.
+     *
+     * @return {@link NativePacketPayloadPool}
+     */
+    public NativePacketPayloadPool getPayloadPool() {
+        return this.payloadPool;
+    }
+
     /**
      * Don't hold on to overly-large packets
      */
@@ -911,6 +1078,10 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     public final <T extends Resultset> T sendQueryPacket(Query callingQuery, NativePacketPayload queryPacket, int maxRows, boolean streamResults,
             ColumnDefinition cachedMetadata, ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory) throws IOException {
         final long queryStartTime = getCurrentTimeNanosOrMillis();
+        final long queryStartNanos = System.nanoTime();
+        final long bytesSentBefore = this.bytesSent;
+        final long bytesReceivedBefore = getBytesReceived();
+        boolean digestRecorded = false;
 
         this.statementExecutionDepth++;
 
@@ -939,6 +1110,8 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             // Send query command and sql query string
             NativePacketPayload resultPacket = sendCommand(queryPacket, false, 0);
 
+            this.metricsHolder.registerQueryLatency(System.nanoTime() - queryStartNanos);
+
             final long queryEndTime = getCurrentTimeNanosOrMillis();
             final long queryDuration = queryEndTime - queryStartTime;
             if (callingQuery != null) {
@@ -952,6 +1125,10 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
             T rs = readAllResults(maxRows, streamResults, resultPacket, false, cachedMetadata, resultSetFactory);
 
+            recordStatementDigest(callingQuery, queryBuf, queryPosition, oldPacketPosition - queryPosition, queryStartNanos, bytesSentBefore,
+                    bytesReceivedBefore, rs);
+            digestRecorded = true;
+
             if (this.profileSQL || queryWasSlow) {
                 long fetchEndTime = this.profileSQL ? getCurrentTimeNanosOrMillis() : 0L;
 
@@ -1013,6 +1190,11 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             return rs;
 
         } catch (CJException sqlEx) {
+            if (!digestRecorded) {
+                recordStatementDigest(callingQuery, queryBuf, queryPosition, oldPacketPosition - queryPosition, queryStartNanos, bytesSentBefore,
+                        bytesReceivedBefore, null);
+            }
+
             if (this.queryInterceptors != null) {
                 // TODO why doing this?
                 invokeQueryInterceptorsPost(query, callingQuery, null, false); // we don't do anything with the result set in this case
@@ -1029,6 +1211,45 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Records a text protocol execution in the statistics of its statement digest, unless disabled by 'gatherStatementDigests'. Prepared statements keep
+     * their digest, other statements are normalized at each execution from no more of their SQL than the digest considers. Internal queries are not
+     * recorded.
+     *
+     * @param callingQuery
+     *            {@link Query}, null for internal queries
+     * @param queryBuf
+     *            the buffer holding the SQL sent
+     * @param queryPosition
+     *            the position of the SQL in the buffer
+     * @param queryLength
+     *            the length of the SQL in bytes
+     * @param startNanos
+     *            {@link System#nanoTime()} before the query was sent
+     * @param bytesSentBefore
+     *            {@link #getBytesSent()} before the query was sent
+     * @param bytesReceivedBefore
+     *            {@link #getBytesReceived()} before the query was sent
+     * @param rs
+     *            the results, or null if the execution failed
+     */
+    private void recordStatementDigest(Query callingQuery, byte[] queryBuf, int queryPosition, int queryLength, long startNanos, long bytesSentBefore,
+            long bytesReceivedBefore, Resultset rs) {
+        if (callingQuery == null || !this.gatherStatementDigests.getValue()) {
+            return;
+        }
+        DigestStatistics digest = callingQuery.getDigestStatistics();
+        ExecutionType type = ExecutionType.CLIENT_PREPARED;
+        if (digest == null) {
+            // A large statement, e.g., a multi-values INSERT, is only decoded as far as needed to fill the digest and to tell it was truncated.
+            int sourceLength = Math.min(queryLength, MAX_DIGEST_SOURCE_BYTES);
+            digest = StatementDigestRegistry.forSql(StringUtils.toString(queryBuf, queryPosition, sourceLength), this.serverSession.isNoBackslashEscapesSet());
+            type = ExecutionType.STATEMENT;
+        }
+        StatementDigestRegistry.record(digest, type, System.nanoTime() - startNanos, this.bytesSent - bytesSentBefore, getBytesReceived() - bytesReceivedBefore,
+                rs);
+    }
+
     public <T extends Resultset> T invokeQueryInterceptorsPre(Supplier<String> sql, Query interceptedQuery, boolean forceExecute) {
         T previousResultSet = null;
 
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.exceptions.FeatureNotAvailableException;
+import com.mysql.cj.exceptions.SSLParamsException;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.AbstractSocketConnection;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.NioSocketFactory;
+import com.mysql.cj.protocol.PacketSentTimeHolder;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.SocketChannelInputStream;
+import com.mysql.cj.protocol.SocketChannelOutputStream;
+import com.mysql.cj.protocol.SocketConnection;
+
+/**
+ * A {@link SocketConnection} built on a {@link SocketChannel}, selected by the connection property 'useNioSocketChannel'.
+ * <p>
+ * Reads and writes go through pooled direct buffers (see {@link SocketChannelInputStream} and {@link SocketChannelOutputStream}) instead of the
+ * <code>java.net.Socket</code> streams. The channel is used in blocking mode, so a connection doesn't need a selector of its own. While no TLS is in use, the
+ * channel can also be registered with a {@link NioSocketSelector} so that a few threads can watch many idle connections for incoming data.
+ * <p>
+ * TLS isn't implemented over the channel: after a TLS handshake the connection uses the blocking TLS socket streams, same as {@link NativeSocketConnection},
+ * and can't be registered with a {@link NioSocketSelector} anymore. Since 'sslMode' defaults to PREFERRED, connections to a server that supports TLS only
+ * keep the channel streams if 'sslMode=DISABLED' is set.
+ */
+public class NioSocketConnection extends AbstractSocketConnection implements SocketConnection {
+
+    private SocketChannel channel;
+    private SocketChannelInputStream channelInput;
+    private SocketChannelOutputStream channelOutput;
+
+    @Override
+    public void connect(String hostName, int portNumber, PropertySet propSet, ExceptionInterceptor excInterceptor, Log log, int loginTimeout) {
+        try {
+            this.port = portNumber;
+            this.host = hostName;
+            this.propertySet = propSet;
+            this.exceptionInterceptor = excInterceptor;
+
+            this.socketFactory = new NioSocketFactory();
+            this.mysqlSocket = this.socketFactory.connect(this.host, this.port, propSet, loginTimeout);
+            this.channel = this.mysqlSocket.getChannel();
+
+            int socketTimeout = propSet.getIntegerProperty(PropertyKey.socketTimeout).getValue();
+            if (socketTimeout != 0) {
+                this.mysqlSocket.setSoTimeout(socketTimeout);
+            }
+
+            this.socketFactory.beforeHandshake();
+
+            this.channelInput = new SocketChannelInputStream(this.channel);
+            this.channelOutput = new SocketChannelOutputStream(this.channel);
+
+            this.mysqlInput = new FullReadInputStream(this.channelInput);
+            this.mysqlOutput = new BufferedOutputStream(this.channelOutput, 16384);
+        } catch (IOException ioEx) {
+            throw ExceptionFactory.createCommunicationsException(propSet, null, new PacketSentTimeHolder() {
+            }, null, ioEx, getExceptionInterceptor());
+        }
+    }
+
+    @Override
+    public void performTlsHandshake(ServerSession serverSession) throws SSLParamsException, FeatureNotAvailableException, IOException {
+        performTlsHandshake(serverSession, null);
+    }
+
+    @Override
+    public void performTlsHandshake(ServerSession serverSession, Log log) throws SSLParamsException, FeatureNotAvailableException, IOException {
+        // The TLS socket reads and writes the channel through its own streams. Nothing is buffered at this point: the server waits for the client hello.
+        this.channelInput.close();
+        this.channelOutput.close();
+        this.channelInput = null;
+        this.channelOutput = null;
+
+        this.mysqlSocket = this.socketFactory.performTlsHandshake(this, serverSession, log);
+
+        this.mysqlInput = new FullReadInputStream(
+                this.propertySet.getBooleanProperty(PropertyKey.useUnbufferedInput).getValue() ? getMysqlSocket().getInputStream()
+                        : new BufferedInputStream(getMysqlSocket().getInputStream(), 16384));
+
+        this.mysqlOutput = new BufferedOutputStream(getMysqlSocket().getOutputStream(), 16384);
+        this.mysqlOutput.flush();
+    }
+
+    /**
+     * Returns the underlying socket channel.
+     *
+     * @return {@link SocketChannel}
+     */
+    public SocketChannel getChannel() {
+        return this.channel;
+    }
+
+    /**
+     * Does this connection still read and write through the channel, i.e. can it be registered with a {@link NioSocketSelector}? This is no longer the case
+     * once TLS is in use.
+     *
+     * @return true if the channel is open and used by the channel streams
+     */
+    public boolean isSelectable() {
+        SocketChannel sc = this.channel;
+        return sc != null && sc.isOpen() && this.channelInput != null;
+    }
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.exceptions.ExceptionFactory;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.protocol.SocketConnection;
+
+/**
+ * Readiness notifications for idle connections opened with 'useNioSocketChannel=true'.
+ * <p>
+ * A single thread calling {@link #select(long)} can watch any number of connections and learn which ones received data while nobody was reading from them,
+ * typically an error packet sent by the server before it closes an idle session, or which were closed by the peer. Only idle connections should be
+ * registered: the selector never reads from the channels, and reporting a connection says nothing about whether a statement in progress on it completed.
+ * <p>
+ * The socket connection of a JDBC connection is available through
+ * <code>((NativeSession) conn.unwrap(JdbcConnection.class).getSession()).getProtocol().getSocketConnection()</code>. {@link #register(SocketConnection)} and
+ * {@link #unregister(SocketConnection)} may be called from any thread; they take effect on the next selection.
+ */
+public class NioSocketSelector implements Closeable {
+
+    private final Selector selector;
+    private final ConcurrentLinkedQueue<Runnable> pendingChanges = new ConcurrentLinkedQueue<>();
+
+    public NioSocketSelector() throws IOException {
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Starts watching the given connection for incoming data.
+     *
+     * @param socketConnection
+     *            a {@link NioSocketConnection} not using TLS
+     */
+    public void register(SocketConnection socketConnection) {
+        NioSocketConnection conn = asNioSocketConnection(socketConnection);
+        this.pendingChanges.add(() -> {
+            try {
+                SelectionKey key = conn.getChannel().keyFor(this.selector);
+                if (key != null && !key.isValid()) {
+                    // a cancelled key stays attached to the channel until the next selection operation
+                    this.selector.selectNow();
+                }
+                // the connection switches the channel back to blocking mode when it is used again, once the channel has been deregistered
+                SocketChannel channel = conn.getChannel();
+                synchronized (channel.blockingLock()) {
+                    channel.configureBlocking(false);
+                    channel.register(this.selector, SelectionKey.OP_READ, conn);
+                }
+            } catch (ClosedChannelException e) {
+                // nothing to watch anymore
+            } catch (IOException e) {
+                throw ExceptionFactory.createException(e.getMessage(), e);
+            }
+        });
+        this.selector.wakeup();
+    }
+
+    /**
+     * Stops watching the given connection. Connections must be unregistered before they are used again. The channel is only deregistered by the next
+     * selection, or when this selector is closed, and until then the connection polls it instead of blocking on reads.
+     *
+     * @param socketConnection
+     *            a connection previously registered with this selector
+     */
+    public void unregister(SocketConnection socketConnection) {
+        NioSocketConnection conn = asNioSocketConnection(socketConnection);
+        this.pendingChanges.add(() -> {
+            SelectionKey key = conn.getChannel().keyFor(this.selector);
+            if (key != null) {
+                key.cancel();
+            }
+        });
+        this.selector.wakeup();
+    }
+
+    /**
+     * Waits until at least one registered connection has data to read or was closed, the timeout expires or {@link #wakeup()} is called.
+     *
+     * @param timeoutMillis
+     *            timeout in milliseconds, 0 to wait indefinitely
+     * @return the ready connections, possibly empty
+     * @throws IOException
+     *             if an I/O error occurs
+     */
+    public List<SocketConnection> select(long timeoutMillis) throws IOException {
+        applyPendingChanges();
+        this.selector.select(timeoutMillis);
+        if (this.selector.selectedKeys().isEmpty()) { // keys may also have been selected while applying the pending changes
+            return Collections.emptyList();
+        }
+
+        List<SocketConnection> ready = new ArrayList<>(this.selector.selectedKeys().size());
+        for (Iterator<SelectionKey> it = this.selector.selectedKeys().iterator(); it.hasNext();) {
+            SelectionKey key = it.next();
+            it.remove();
+            ready.add((SocketConnection) key.attachment());
+        }
+        return ready;
+    }
+
+    /**
+     * Makes a thread blocked in {@link #select(long)} return immediately.
+     */
+    public void wakeup() {
+        this.selector.wakeup();
+    }
+
+    /**
+     * Returns the number of connections currently watched.
+     *
+     * @return number of registered connections
+     */
+    public int getRegisteredCount() {
+        return this.selector.keys().size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.selector.close();
+    }
+
+    private void applyPendingChanges() {
+        Runnable change;
+        while ((change = this.pendingChanges.poll()) != null) {
+            change.run();
+        }
+    }
+
+    private static NioSocketConnection asNioSocketConnection(SocketConnection socketConnection) {
+        if (socketConnection instanceof NioSocketConnection && ((NioSocketConnection) socketConnection).isSelectable()) {
+            return (NioSocketConnection) socketConnection;
+        }
+        throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("SocketConnection.2"));
+    }
+
+}
@@ -26,9 +26,11 @@ import java.util.Optional;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.PropertySet;
 import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.ProtocolEntityReader;
 import com.mysql.cj.protocol.ResultsetRow;
+import com.mysql.cj.protocol.a.result.ByteArrayRow;
 
 public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, NativePacketPayload> {
 
@@ -62,9 +64,14 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
         NativePacketHeader hdr = this.protocol.getPacketReader().readHeader();
 
         // read the entire packet(s)
-        rowPacket = this.protocol.getPacketReader()
-                .readMessage(rf.canReuseRowPacketForBufferRow() ? Optional.ofNullable(this.protocol.getReusablePacket()) : Optional.empty(), hdr);
-        this.protocol.checkErrorMessage(rowPacket);
+        rowPacket = this.protocol.getPacketReader().readMessage(rf.canReuseRowPacketForBufferRow() ? Optional.ofNullable(this.protocol.getReusablePacket())
+                : Optional.of(this.protocol.getPayloadPool().acquire(hdr.getMessageSize())), hdr);
+        try {
+            this.protocol.checkErrorMessage(rowPacket);
+        } catch (CJException e) {
+            rowPacket.release();
+            throw e;
+        }
         // Didn't read an error, so re-position to beginning of packet in order to read result set data
         rowPacket.setPosition(rowPacket.getPosition() - 1);
 
@@ -72,10 +79,16 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
         if (!this.protocol.getServerSession().isEOFDeprecated() && rowPacket.isEOFPacket()
                 || this.protocol.getServerSession().isEOFDeprecated() && rowPacket.isResultSetOKPacket()) {
             this.protocol.readServerStatusForResultSets(rowPacket, true);
+            rowPacket.release();
             return null;
         }
 
-        return sf.createFromMessage(rowPacket);
+        ResultsetRow row = sf.createFromMessage(rowPacket);
+        if (row instanceof ByteArrayRow) {
+            // the values were copied out of the packet, buffer rows keep it until their result set is closed
+            rowPacket.release();
+        }
+        return row;
     }
 
 }
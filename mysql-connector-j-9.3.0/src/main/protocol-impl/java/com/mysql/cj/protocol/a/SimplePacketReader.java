@@ -40,6 +40,12 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
 
     private byte readPacketSequence = -1;
 
+    /**
+     * Header instance reused for every packet. Callers consume the header before asking for the next one, so there is no need to allocate a new buffer for
+     * each packet.
+     */
+    private final NativePacketHeader header = new NativePacketHeader();
+
     NativePacketHeader lastHeader = null;
     NativePacketPayload lastMessage = null;
 
@@ -66,7 +72,7 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
     }
 
     private NativePacketHeader readHeaderLocal() throws IOException {
-        NativePacketHeader hdr = new NativePacketHeader();
+        NativePacketHeader hdr = this.header;
 
         try {
             this.socketConnection.getMysqlInput().readFully(hdr.getBuffer().array(), 0, NativeConstants.HEADER_LENGTH);
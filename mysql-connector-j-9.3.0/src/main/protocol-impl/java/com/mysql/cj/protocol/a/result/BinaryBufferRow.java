@@ -235,6 +235,26 @@ public class BinaryBufferRow extends AbstractBufferRow {
         return getValueFromBytes(columnIndex, this.rowFromServer.getByteBuffer(), this.rowFromServer.getPosition(), length, vf);
     }
 
+    @Override
+    public long getLong(int columnIndex) {
+        if (this.isNull[columnIndex]) {
+            return getLongFromBytes(columnIndex, null, 0, 0, true);
+        }
+        findAndSeekToOffset(columnIndex);
+        int length = NativeUtils.getBinaryEncodedLength(this.metadata.getFields()[columnIndex].getMysqlTypeId());
+        return getLongFromBytes(columnIndex, this.rowFromServer.getByteBuffer(), this.rowFromServer.getPosition(), length, false);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        if (this.isNull[columnIndex]) {
+            return getDoubleFromBytes(columnIndex, null, 0, 0, true);
+        }
+        findAndSeekToOffset(columnIndex);
+        int length = NativeUtils.getBinaryEncodedLength(this.metadata.getFields()[columnIndex].getMysqlTypeId());
+        return getDoubleFromBytes(columnIndex, this.rowFromServer.getByteBuffer(), this.rowFromServer.getPosition(), length, false);
+    }
+
     @Override
     public void setBytes(int columnIndex, byte[] value) {
         byte[] backup = null;
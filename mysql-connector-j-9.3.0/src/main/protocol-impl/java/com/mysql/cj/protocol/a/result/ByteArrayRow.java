@@ -82,4 +82,16 @@ public class ByteArrayRow extends AbstractResultsetRow {
         return getValueFromBytes(columnIndex, columnData, 0, length, vf);
     }
 
+    @Override
+    public long getLong(int columnIndex) {
+        byte[] columnData = this.internalRowData[columnIndex];
+        return getLongFromBytes(columnIndex, columnData, 0, columnData == null ? 0 : columnData.length, columnData == null);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        byte[] columnData = this.internalRowData[columnIndex];
+        return getDoubleFromBytes(columnIndex, columnData, 0, columnData == null ? 0 : columnData.length, columnData == null);
+    }
+
 }
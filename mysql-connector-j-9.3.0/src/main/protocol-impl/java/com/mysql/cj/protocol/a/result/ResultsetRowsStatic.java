@@ -53,6 +53,15 @@ public class ResultsetRowsStatic extends AbstractResultsetRows implements Result
         this.rows.add(row);
     }
 
+    @Override
+    public void releaseBuffers() {
+        for (Row row : this.rows) {
+            if (row instanceof AbstractBufferRow) {
+                ((AbstractBufferRow) row).rowFromServer.release();
+            }
+        }
+    }
+
     @Override
     public void afterLast() {
         if (this.rows.size() > 0) {
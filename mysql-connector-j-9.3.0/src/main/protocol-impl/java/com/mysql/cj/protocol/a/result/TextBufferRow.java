@@ -122,4 +122,21 @@ public class TextBufferRow extends AbstractBufferRow {
         return getValueFromBytes(columnIndex, this.rowFromServer.getByteBuffer(), this.rowFromServer.getPosition(), length, vf);
     }
 
+    @Override
+    public long getLong(int columnIndex) {
+        // the length prefix doubles as NULL marker, so read it only once rather than going through getNull()
+        findAndSeekToOffset(columnIndex);
+        long length = this.rowFromServer.readInteger(IntegerDataType.INT_LENENC);
+        return getLongFromBytes(columnIndex, this.rowFromServer.getByteBuffer(), this.rowFromServer.getPosition(), (int) length,
+                length == NativePacketPayload.NULL_LENGTH);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        findAndSeekToOffset(columnIndex);
+        long length = this.rowFromServer.readInteger(IntegerDataType.INT_LENENC);
+        return getDoubleFromBytes(columnIndex, this.rowFromServer.getByteBuffer(), this.rowFromServer.getPosition(), (int) length,
+                length == NativePacketPayload.NULL_LENGTH);
+    }
+
 }
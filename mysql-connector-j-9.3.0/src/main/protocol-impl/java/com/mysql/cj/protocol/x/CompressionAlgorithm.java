@@ -29,6 +29,10 @@ import java.util.zip.InflaterInputStream;
 import com.mysql.cj.Messages;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.protocol.compression.Lz4FrameInputStream;
+import com.mysql.cj.protocol.compression.Lz4FrameOutputStream;
+import com.mysql.cj.protocol.compression.ZstdInputStream;
+import com.mysql.cj.protocol.compression.ZstdOutputStream;
 
 /**
  * Contains all information about a compression algorithm, its name, compression mode and classes that implement the inflating and deflating streams of data.
@@ -46,6 +50,7 @@ public class CompressionAlgorithm {
     private CompressionMode compressionMode;
     private String inputStreamClassFqn;
     private String outputStreamClassFqn;
+    private boolean streamsReusable;
 
     /**
      * Returns a list of the compression algorithms supported natively. Additional algorithms can be registered by user.
@@ -54,6 +59,9 @@ public class CompressionAlgorithm {
      */
     public static Map<String, CompressionAlgorithm> getDefaultInstances() {
         HashMap<String, CompressionAlgorithm> defaultInstances = new HashMap<>();
+        defaultInstances.put("lz4_message",
+                new CompressionAlgorithm("lz4_message", Lz4FrameInputStream.class.getName(), Lz4FrameOutputStream.class.getName(), true));
+        defaultInstances.put("zstd_stream", new CompressionAlgorithm("zstd_stream", ZstdInputStream.class.getName(), ZstdOutputStream.class.getName(), true));
         defaultInstances.put("deflate_stream",
                 new CompressionAlgorithm("deflate_stream", InflaterInputStream.class.getName(), SyncFlushDeflaterOutputStream.class.getName()));
         return defaultInstances;
@@ -74,6 +82,23 @@ public class CompressionAlgorithm {
     }
 
     public CompressionAlgorithm(String name, String inputStreamClassFqn, String outputStreamClassFqn) {
+        this(name, inputStreamClassFqn, outputStreamClassFqn, false);
+    }
+
+    /**
+     * Creates an algorithm whose streams may serve all the messages of a session, whatever its compression mode: the inflating stream reads the messages one
+     * after the other from a continuous source, and the deflating stream completes a message on each flush.
+     *
+     * @param name
+     *            the compression algorithm identifier or alias
+     * @param inputStreamClassFqn
+     *            the name of the {@link InputStream} class that inflates data
+     * @param outputStreamClassFqn
+     *            the name of the {@link OutputStream} class that deflates data
+     * @param streamsReusable
+     *            whether the streams can be reused from message to message in message mode
+     */
+    CompressionAlgorithm(String name, String inputStreamClassFqn, String outputStreamClassFqn, boolean streamsReusable) {
         this.algorithmIdentifier = getNormalizedAlgorithmName(name);
         String[] nameMode = this.algorithmIdentifier.split("_");
         if (nameMode.length != 2) {
@@ -101,6 +126,7 @@ public class CompressionAlgorithm {
                     Messages.getString("Protocol.Compression.5", new Object[] { outputStreamClassFqn }), e);
         }
         this.outputStreamClassFqn = outputStreamClassFqn;
+        this.streamsReusable = streamsReusable;
     }
 
     /**
@@ -121,6 +147,16 @@ public class CompressionAlgorithm {
         return this.compressionMode;
     }
 
+    /**
+     * Checks if one instance of each of this algorithm's streams can serve all the messages of a session. That is the case of all the algorithms operating in
+     * stream mode and of the natively supported ones.
+     *
+     * @return <code>true</code> if the streams can be reused from message to message
+     */
+    public boolean areStreamsReusable() {
+        return this.compressionMode == CompressionMode.STREAM || this.streamsReusable;
+    }
+
     /**
      * Gets this algorithm's {@link InputStream} implementation class name that can be used to inflate data.
      *
@@ -22,7 +22,6 @@ package com.mysql.cj.protocol.x;
 
 import static com.mysql.cj.protocol.x.XMessageHeader.HEADER_LENGTH;
 
-import java.io.ByteArrayInputStream;
 import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
@@ -34,6 +33,7 @@ import com.mysql.cj.Messages;
 import com.mysql.cj.exceptions.CJCommunicationsException;
 import com.mysql.cj.exceptions.ExceptionFactory;
 import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.protocol.a.CompressionStatistics;
 import com.mysql.cj.x.protobuf.Mysqlx.ServerMessages;
 import com.mysql.cj.x.protobuf.MysqlxConnection.Compression;
 
@@ -43,7 +43,16 @@ import com.mysql.cj.x.protobuf.MysqlxConnection.Compression;
  */
 public class CompressionSplittedInputStream extends FilterInputStream {
 
+    /** Compressed messages up to this size are read into a buffer that is kept for the following ones. */
+    private static final int MAX_RETAINED_PACKET_SIZE = 1024 * 1024;
+
     private CompressorStreamsFactory compressorIoStreamsFactory;
+    private CompressionStatistics statistics;
+
+    private byte[] packetBuffer = new byte[0];
+    private int compressedPayloadLength = 0;
+    private int uncompressedLength = 0;
+    private long decompressionNanos = 0;
 
     private byte[] frameHeader = new byte[HEADER_LENGTH];
     private int frameHeaderConsumed = 0;
@@ -58,8 +67,23 @@ public class CompressionSplittedInputStream extends FilterInputStream {
     private boolean closed = false;
 
     public CompressionSplittedInputStream(InputStream in, CompressorStreamsFactory streamsFactory) {
+        this(in, streamsFactory, new CompressionStatistics());
+    }
+
+    /**
+     * Creates a new {@link CompressionSplittedInputStream} that records the size and decompression time of each compressed X Protocol frame read.
+     *
+     * @param in
+     *            the underlying {@link InputStream}.
+     * @param streamsFactory
+     *            the factory of the decompressing {@link InputStream}s.
+     * @param statistics
+     *            the {@link CompressionStatistics} to update.
+     */
+    public CompressionSplittedInputStream(InputStream in, CompressorStreamsFactory streamsFactory, CompressionStatistics statistics) {
         super(in);
         this.compressorIoStreamsFactory = streamsFactory;
+        this.statistics = statistics;
     }
 
     /**
@@ -140,10 +164,13 @@ public class CompressionSplittedInputStream extends FilterInputStream {
 
         try {
             if (isCompressedDataAvailable()) {
+                long start = System.nanoTime();
                 int bytesRead = readFully(this.compressorIn, b, off, len);
+                this.decompressionNanos += System.nanoTime() - start;
                 if (isCompressedDataReadComplete()) {
                     this.compressorIn.close();
                     this.compressorIn = null;
+                    this.statistics.packetDecompressed(HEADER_LENGTH + this.compressedPayloadLength, this.uncompressedLength, this.decompressionNanos);
                 }
                 return bytesRead;
             }
@@ -188,9 +215,12 @@ public class CompressionSplittedInputStream extends FilterInputStream {
 
         if (isCompressedFrame()) {
             Compression compressedMessage = parseCompressedMessage();
-            this.compressorIn = new ConfinedInputStream(
-                    this.compressorIoStreamsFactory.getInputStreamInstance(new ByteArrayInputStream(compressedMessage.getPayload().toByteArray())),
-                    (int) compressedMessage.getUncompressedSize());
+            this.compressedPayloadLength = this.framePayloadLength;
+            this.uncompressedLength = (int) compressedMessage.getUncompressedSize();
+            long start = System.nanoTime();
+            this.compressorIn = new ConfinedInputStream(this.compressorIoStreamsFactory.getInputStreamInstance(compressedMessage.getPayload().newInput()),
+                    this.uncompressedLength);
+            this.decompressionNanos = System.nanoTime() - start;
 
             // Preemptively set as all bytes consumed since next reads will be redirected to the compressor InputStream.
             this.frameHeaderConsumed = HEADER_LENGTH;
@@ -219,16 +249,23 @@ public class CompressionSplittedInputStream extends FilterInputStream {
     private Compression parseCompressedMessage() {
         Parser<Compression> parser = (Parser<Compression>) MessageConstants.MESSAGE_CLASS_TO_PARSER
                 .get(MessageConstants.MESSAGE_TYPE_TO_CLASS.get(ServerMessages.Type.COMPRESSION_VALUE));
-        byte[] packet = new byte[this.xMessageHeader.getMessageSize()];
+        int packetLength = this.xMessageHeader.getMessageSize();
+        byte[] packet = this.packetBuffer;
+        if (packetLength > packet.length) {
+            packet = new byte[packetLength];
+            if (packetLength <= MAX_RETAINED_PACKET_SIZE) {
+                this.packetBuffer = packet;
+            }
+        }
 
         try {
-            readFully(packet);
+            readFully(packet, 0, packetLength);
         } catch (IOException e) {
             throw ExceptionFactory.createException(CJCommunicationsException.class, Messages.getString("Protocol.Compression.Streams.0"), e);
         }
 
         try {
-            return parser.parseFrom(packet);
+            return parser.parseFrom(packet, 0, packetLength);
         } catch (InvalidProtocolBufferException e) {
             throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("Protocol.Compression.Streams.1"), e);
         }
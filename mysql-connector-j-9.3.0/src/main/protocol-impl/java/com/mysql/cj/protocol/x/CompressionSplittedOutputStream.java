@@ -26,11 +26,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.Arrays;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnsafeByteOperations;
+import com.mysql.cj.protocol.a.CompressionStatistics;
 import com.mysql.cj.x.protobuf.Mysqlx.ClientMessages;
 import com.mysql.cj.x.protobuf.MysqlxConnection.Compression;
 
@@ -41,7 +42,11 @@ import com.mysql.cj.x.protobuf.MysqlxConnection.Compression;
  */
 public class CompressionSplittedOutputStream extends FilterOutputStream {
 
+    /** Buffers that grew beyond this size while compressing a large frame are released afterwards instead of being kept for the following frames. */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
     private CompressorStreamsFactory compressorIoStreamsFactory;
+    private CompressionStatistics statistics;
 
     private byte[] frameHeader = new byte[HEADER_LENGTH];
     private int frameHeaderBuffered = 0;
@@ -52,16 +57,33 @@ public class CompressionSplittedOutputStream extends FilterOutputStream {
 
     private boolean compressionEnabled = false;
 
-    private ByteArrayOutputStream bufferOut = null;
+    private CompressedDataBuffer bufferOut = new CompressedDataBuffer();
     private OutputStream compressorOut = null;
+    private byte[] packetBuffer = new byte[0];
+    private long compressionNanos = 0;
 
     private byte[] singleByte = new byte[1];
 
     private boolean closed = false;
 
     public CompressionSplittedOutputStream(OutputStream out, CompressorStreamsFactory ioStreamsFactory) {
+        this(out, ioStreamsFactory, new CompressionStatistics());
+    }
+
+    /**
+     * Creates a new {@link CompressionSplittedOutputStream} that records the size and compression time of each compressed X Protocol frame written.
+     *
+     * @param out
+     *            the underlying {@link OutputStream}.
+     * @param ioStreamsFactory
+     *            the factory of the compressing {@link OutputStream}s.
+     * @param statistics
+     *            the {@link CompressionStatistics} to update.
+     */
+    public CompressionSplittedOutputStream(OutputStream out, CompressorStreamsFactory ioStreamsFactory, CompressionStatistics statistics) {
         super(out);
         this.compressorIoStreamsFactory = ioStreamsFactory;
+        this.statistics = statistics;
     }
 
     /**
@@ -129,9 +151,11 @@ public class CompressionSplittedOutputStream extends FilterOutputStream {
             this.compressionEnabled = this.framePayloadLength >= 250; // Compression threshold. May be user configurable in the future.
 
             if (this.compressionEnabled) {
-                this.bufferOut = new ByteArrayOutputStream();
+                this.bufferOut.reset();
+                long start = System.nanoTime();
                 this.compressorOut = this.compressorIoStreamsFactory.getOutputStreamInstance(this.bufferOut);
                 this.compressorOut.write(this.frameHeader, 0, HEADER_LENGTH);
+                this.compressionNanos = System.nanoTime() - start;
             } else {
                 this.out.write(this.frameHeader, 0, HEADER_LENGTH);
             }
@@ -141,7 +165,9 @@ public class CompressionSplittedOutputStream extends FilterOutputStream {
         int bytesToDump = len - bytesProcessed;
         if (bytesToDump > 0) {
             if (this.compressionEnabled) {
+                long start = System.nanoTime();
                 this.compressorOut.write(b, off + bytesProcessed, bytesToDump);
+                this.compressionNanos += System.nanoTime() - start;
             } else {
                 this.out.write(b, off + bytesProcessed, bytesToDump);
             }
@@ -227,22 +253,44 @@ public class CompressionSplittedOutputStream extends FilterOutputStream {
     private void finalizeWrite() throws IOException {
         if (isWriteComplete()) {
             if (this.compressionEnabled) {
+                long start = System.nanoTime();
                 this.compressorOut.close();
+                this.compressionNanos += System.nanoTime() - start;
                 this.compressorOut = null;
 
-                byte[] compressedData = this.bufferOut.toByteArray();
-                Compression compressedMessage = Compression.newBuilder().setUncompressedSize(XMessageHeader.HEADER_LENGTH + this.framePayloadLength)
-                        .setClientMessages(ClientMessages.Type.forNumber(this.xMessageHeader.getMessageType())).setPayload(ByteString.copyFrom(compressedData))
+                int uncompressedSize = HEADER_LENGTH + this.framePayloadLength;
+                Compression compressedMessage = Compression.newBuilder().setUncompressedSize(uncompressedSize)
+                        .setClientMessages(ClientMessages.Type.forNumber(this.xMessageHeader.getMessageType())).setPayload(this.bufferOut.toByteString())
                         .build();
 
-                ByteBuffer messageHeader = ByteBuffer.allocate(XMessageHeader.HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
-                messageHeader.putInt(compressedMessage.getSerializedSize() + XMessageHeader.MESSAGE_TYPE_LENGTH);
-                messageHeader.put((byte) ClientMessages.Type.COMPRESSION_VALUE);
-
-                this.out.write(messageHeader.array());
-                compressedMessage.writeTo(this.out);
+                // Header and message are serialized into a single buffer, kept for the following frames, and written at once.
+                int messageSize = compressedMessage.getSerializedSize();
+                int packetSize = HEADER_LENGTH + messageSize;
+                byte[] packet = this.packetBuffer;
+                if (packetSize > packet.length) {
+                    packet = new byte[packetSize];
+                    if (packetSize <= MAX_RETAINED_BUFFER_SIZE) {
+                        this.packetBuffer = packet;
+                    }
+                }
+                int messageSizeWithType = messageSize + XMessageHeader.MESSAGE_TYPE_LENGTH;
+                packet[0] = (byte) messageSizeWithType;
+                packet[1] = (byte) (messageSizeWithType >>> 8);
+                packet[2] = (byte) (messageSizeWithType >>> 16);
+                packet[3] = (byte) (messageSizeWithType >>> 24);
+                packet[4] = (byte) ClientMessages.Type.COMPRESSION_VALUE;
+                CodedOutputStream codedOut = CodedOutputStream.newInstance(packet, HEADER_LENGTH, messageSize);
+                compressedMessage.writeTo(codedOut);
+                codedOut.checkNoSpaceLeft();
+
+                this.out.write(packet, 0, packetSize);
                 this.out.flush();
 
+                this.statistics.packetCompressed(uncompressedSize, packetSize, this.compressionNanos);
+
+                if (this.bufferOut.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+                    this.bufferOut = new CompressedDataBuffer();
+                }
                 this.compressionEnabled = false;
             }
 
@@ -255,6 +303,25 @@ public class CompressionSplittedOutputStream extends FilterOutputStream {
         }
     }
 
+    /**
+     * A {@link ByteArrayOutputStream} that collects the compressed data of each frame and exposes it as a {@link ByteString} without copying it.
+     */
+    private static class CompressedDataBuffer extends ByteArrayOutputStream {
+
+        CompressedDataBuffer() {
+            super(1024);
+        }
+
+        int capacity() {
+            return this.buf.length;
+        }
+
+        ByteString toByteString() {
+            return UnsafeByteOperations.unsafeWrap(this.buf, 0, this.count);
+        }
+
+    }
+
     /**
      * Ensures that this {@link OutputStream} wasn't closed yet.
      *
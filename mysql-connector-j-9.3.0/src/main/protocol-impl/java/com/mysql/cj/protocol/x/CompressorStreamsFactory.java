@@ -54,12 +54,21 @@ public class CompressorStreamsFactory {
         return getCompressionMode() == CompressionMode.STREAM;
     }
 
+    /**
+     * Checks if one instance of the compressor streams serves all the messages, as it does when the compressed streams are continuous.
+     *
+     * @return <code>true</code> if the compressor streams are created once and reused
+     */
+    public boolean areCompressorStreamsReusable() {
+        return this.compressionAlgorithm.areStreamsReusable();
+    }
+
     /**
      * Creates an instance of an {@link InputStream} that wraps around the given {@link InputStream} and knows how to inflate data using the algorithm given in
      * this class' constructor.
      *
-     * If the compression algorithm operates in steam mode (continuous) then create and reuse one single instance of the compressor {@link InputStream}, else
-     * create a new instance every time.
+     * If the compression algorithm operates in steam mode (continuous), or its streams are otherwise reusable, then create and reuse one single instance of the
+     * compressor {@link InputStream}, else create a new instance every time.
      *
      * @param in
      *            the {@link InputStream} to use as source of the bytes to inflate.
@@ -69,7 +78,7 @@ public class CompressorStreamsFactory {
     public InputStream getInputStreamInstance(InputStream in) {
         InputStream underlyingIn = in;
 
-        if (areCompressedStreamsContinuous()) {
+        if (areCompressorStreamsReusable()) {
             if (this.compressorInputStreamInstance != null) {
                 this.underlyingInputStream.addInputStream(underlyingIn);
                 return this.compressorInputStreamInstance;
@@ -87,7 +96,7 @@ public class CompressorStreamsFactory {
                     new Object[] { this.compressionAlgorithm.getInputStreamClassName(), this.compressionAlgorithm.getAlgorithmIdentifier() }), e);
         }
 
-        if (areCompressedStreamsContinuous()) {
+        if (areCompressorStreamsReusable()) {
             this.compressorInputStreamInstance = compressionIn;
         }
         return compressionIn;
@@ -97,8 +106,8 @@ public class CompressorStreamsFactory {
      * Creates an instance of an {@link OutputStream} that wraps around the given {@link OutputStream} and knows how to deflate data using the algorithm given
      * in this class' constructor.
      *
-     * If the compression algorithm operates in steam mode (continuous) then create and reuse one single instance of the compressor {@link OutputStream}, else
-     * create a new instance every time.
+     * If the compression algorithm operates in steam mode (continuous), or its streams are otherwise reusable, then create and reuse one single instance of the
+     * compressor {@link OutputStream}, else create a new instance every time.
      *
      * @param out
      *            the {@link OutputStream} to use as target of the bytes to deflate.
@@ -108,7 +117,7 @@ public class CompressorStreamsFactory {
     public OutputStream getOutputStreamInstance(OutputStream out) {
         OutputStream underlyingOut = out;
 
-        if (areCompressedStreamsContinuous()) {
+        if (areCompressorStreamsReusable()) {
             if (this.compressorOutputStreamInstance != null) {
                 this.underlyingOutputStream.setOutputStream(underlyingOut);
                 return this.compressorOutputStreamInstance;
@@ -126,7 +135,7 @@ public class CompressorStreamsFactory {
                     new Object[] { this.compressionAlgorithm.getOutputStreamClassName(), this.compressionAlgorithm.getAlgorithmIdentifier() }), e);
         }
 
-        if (areCompressedStreamsContinuous()) {
+        if (areCompressorStreamsReusable()) {
             compressionOut = new ContinuousOutputStream(compressionOut);
             this.compressorOutputStreamInstance = compressionOut;
         }
@@ -33,6 +33,16 @@ public class ContinuousOutputStream extends FilterOutputStream {
         super(out);
     }
 
+    /**
+     * Writes the given bytes to the underlying {@link OutputStream} at once instead of one byte at a time.
+     *
+     * @see FilterOutputStream#write(byte[], int, int)
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.out.write(b, off, len);
+    }
+
     /**
      * Instead of closing the {@link OutputStream} flushes its data.
      */
@@ -21,6 +21,7 @@
 package com.mysql.cj.protocol.x;
 
 import java.io.FilterOutputStream;
+import java.io.IOException;
 import java.io.OutputStream;
 
 /**
@@ -32,6 +33,16 @@ public class ReusableOutputStream extends FilterOutputStream {
         super(out);
     }
 
+    /**
+     * Writes the given bytes to the underlying {@link OutputStream} at once instead of one byte at a time.
+     *
+     * @see FilterOutputStream#write(byte[], int, int)
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        this.out.write(b, off, len);
+    }
+
     /**
      * Sets a new underlying {@link OutputStream} in this {@link ReusableOutputStream}.
      *
@@ -83,6 +83,7 @@ import com.mysql.cj.protocol.ServerCapabilities;
 import com.mysql.cj.protocol.ServerSession;
 import com.mysql.cj.protocol.SocketConnection;
 import com.mysql.cj.protocol.ValueEncoder;
+import com.mysql.cj.protocol.a.CompressionStatistics;
 import com.mysql.cj.protocol.a.NativeSocketConnection;
 import com.mysql.cj.protocol.x.Notice.XSessionStateChanged;
 import com.mysql.cj.result.DefaultColumnDefinition;
@@ -134,6 +135,7 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
 
     private boolean compressionEnabled = false;
     private CompressionAlgorithm compressionAlgorithm;
+    private CompressionStatistics compressionStatistics = new CompressionStatistics();
 
     private Map<Class<? extends com.google.protobuf.Message>, ProtocolEntityFactory<? extends ProtocolEntity, XMessage>> messageToProtocolEntityFactory = new HashMap<>();
 
@@ -285,6 +287,16 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         this.compressionEnabled = true;
     }
 
+    /**
+     * Returns the compression statistics of this session: number of compressed messages sent and received, bytes saved and time spent compressing and
+     * decompressing. All values stay at zero if compression wasn't negotiated.
+     *
+     * @return the {@link CompressionStatistics} of this session.
+     */
+    public CompressionStatistics getCompressionStatistics() {
+        return this.compressionStatistics;
+    }
+
     @Override
     public void beforeHandshake() {
         this.serverSession = new XServerSession();
@@ -490,14 +502,16 @@ public class XProtocol extends AbstractProtocol<XMessage> implements Protocol<XM
         if (this.compressionEnabled) {
             try {
                 this.reader = new SyncMessageReader(new FullReadInputStream(
-                        new CompressionSplittedInputStream(this.socketConnection.getMysqlInput(), new CompressorStreamsFactory(this.compressionAlgorithm))),
+                        new CompressionSplittedInputStream(this.socketConnection.getMysqlInput(), new CompressorStreamsFactory(this.compressionAlgorithm),
+                                this.compressionStatistics)),
                         this);
             } catch (IOException e) {
                 ExceptionFactory.createException(Messages.getString("Protocol.Compression.6"), e);
             }
             try {
                 this.sender = new SyncMessageSender(
-                        new CompressionSplittedOutputStream(this.socketConnection.getMysqlOutput(), new CompressorStreamsFactory(this.compressionAlgorithm)));
+                        new CompressionSplittedOutputStream(this.socketConnection.getMysqlOutput(), new CompressorStreamsFactory(this.compressionAlgorithm),
+                                this.compressionStatistics));
             } catch (IOException e) {
                 ExceptionFactory.createException(Messages.getString("Protocol.Compression.7"), e);
             }
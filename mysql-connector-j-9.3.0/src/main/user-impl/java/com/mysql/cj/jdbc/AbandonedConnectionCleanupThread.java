@@ -27,12 +27,14 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.mysql.cj.MysqlConnection;
 import com.mysql.cj.conf.PropertyDefinitions;
 import com.mysql.cj.protocol.NetworkResources;
+import com.mysql.cj.util.DriverThreadFactory;
 
 /**
  * This class implements a thread that is responsible for closing abandoned MySQL connections, i.e., connections that are not explicitly closed.
@@ -52,9 +54,10 @@ public class AbandonedConnectionCleanupThread implements Runnable {
         if (abandonedConnectionCleanupDisabled) {
             cleanupThreadExecutorService = null;
         } else {
+            ThreadFactory threadFactory = new DriverThreadFactory("mysql-cj-abandoned-connection-cleanup");
             cleanupThreadExecutorService = Executors.newSingleThreadExecutor(r -> {
-                Thread t = new Thread(r, "mysql-cj-abandoned-connection-cleanup");
-                t.setDaemon(true);
+                // A daemon thread, or a virtual thread if enabled by the system property com.mysql.cj.useVirtualThreads.
+                Thread t = threadFactory.newThread(r);
                 // Tie the thread's context ClassLoader to the ClassLoader that loaded the class instead of inheriting the context ClassLoader from the current
                 // thread, which would happen by default.
                 // Application servers may use this information if they attempt to shutdown this thread. By leaving the default context ClassLoader this thread
@@ -20,6 +20,7 @@
 
 package com.mysql.cj.jdbc;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -63,6 +64,7 @@ import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.FeatureNotAvailableException;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.exceptions.StatementIsClosedException;
+import com.mysql.cj.jdbc.exceptions.CommunicationsException;
 import com.mysql.cj.jdbc.exceptions.MySQLStatementCancelledException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
 import com.mysql.cj.jdbc.exceptions.SQLError;
@@ -74,6 +76,7 @@ import com.mysql.cj.log.ProfilerEvent;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.telemetry.TelemetryAttribute;
 import com.mysql.cj.telemetry.TelemetryScope;
@@ -463,6 +466,10 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
                         }
                     }
 
+                    if (canExecuteBatchPipelined()) {
+                        return executeBatchPipelined(batchTimeout);
+                    }
+
                     return executeBatchSerially(batchTimeout);
                 } finally {
                     this.query.getStatementExecuting().set(false);
@@ -914,6 +921,237 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
         }
     }
 
+    /**
+     * Checks whether the current batch can be executed by {@link #executeBatchPipelined(long)}.
+     *
+     * @return true if 'pipelineBatchedStatements' is enabled and nothing in the batch or in the connection setup requires a round trip per statement
+     * @throws SQLException
+     *             if a database access error occurs or this method is called on a closed PreparedStatement
+     */
+    protected boolean canExecuteBatchPipelined() throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            return this.pipelineBatchedStatements.getValue() && !this.batchHasPlainStatements && this.query.getBatchedArgs().size() > 1
+                    && getQueryInfo().getNumberOfQueries() == 1 && isNonResultSetProducingQuery() && !this.session.shouldIntercept()
+                    && !this.session.getPropertySet().getBooleanProperty(PropertyKey.jdbcCompliantTruncation).getValue();
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Executes the batch by writing up to 'pipelineBatchWindowSize' statements to the server before reading their results, which are then consumed in the
+     * same order the statements were sent.
+     *
+     * If a statement fails, on the server or while being sent, and the batch is not allowed to continue, no more statements are sent but the results of the
+     * ones already in flight are still read and reported in the resulting {@link java.sql.BatchUpdateException}.
+     *
+     * @param batchTimeout
+     *            timeout for the batch execution
+     * @return update counts in the same fashion as executeBatch()
+     *
+     * @throws SQLException
+     *             if a database access error occurs or this method is called on a closed PreparedStatement
+     */
+    protected long[] executeBatchPipelined(long batchTimeout) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            JdbcConnection locallyScopedConn = this.connection;
+            NativeProtocol protocol = this.session.getProtocol();
+
+            List<Object> batchedArgs = this.query.getBatchedArgs();
+            int nbrCommands = batchedArgs.size();
+            int windowSize = this.pipelineBatchWindowSize.getValue();
+
+            long[] updateCounts = new long[nbrCommands];
+
+            for (int i = 0; i < nbrCommands; i++) {
+                updateCounts[i] = -3;
+            }
+
+            if (this.retrieveGeneratedKeys) {
+                this.batchedGeneratedKeys = new ArrayList<>(nbrCommands);
+            }
+
+            implicitlyCloseAllOpenResults();
+
+            String oldDb = null;
+
+            if (!locallyScopedConn.getDatabase().equals(getCurrentDatabase())) {
+                oldDb = locallyScopedConn.getDatabase();
+                locallyScopedConn.setDatabase(getCurrentDatabase());
+            }
+
+            locallyScopedConn.setSessionMaxRows(-1);
+
+            SQLException sqlEx = null;
+            boolean stopSending = false;
+            int sentCount = 0;
+            int receivedCount = 0;
+            // Statements that failed before anything was written for them, and so have no result to read.
+            boolean[] notSent = new boolean[nbrCommands];
+
+            CancelQueryTask timeoutTask = null;
+
+            try {
+                timeoutTask = startQueryTimer(this, batchTimeout);
+
+                while (receivedCount < sentCount || !stopSending && sentCount < nbrCommands) {
+                    while (!stopSending && sentCount < nbrCommands && sentCount - receivedCount < windowSize) {
+                        try {
+                            NativePacketPayload sendPacket = fillPipelinedSendPacket((QueryBindings) batchedArgs.get(sentCount));
+                            try {
+                                protocol.sendPipelinedCommand(sendPacket);
+                            } catch (CJException e) {
+                                throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+                            }
+                        } catch (SQLException ex) {
+                            if (ex instanceof CommunicationsException) {
+                                // the connection is gone, the results of the statements in flight can't be read
+                                long[] newUpdateCounts = new long[receivedCount];
+                                System.arraycopy(updateCounts, 0, newUpdateCounts, 0, receivedCount);
+
+                                throw SQLError.createBatchUpdateException(ex, newUpdateCounts, this.exceptionInterceptor);
+                            }
+
+                            // Nothing was written for this statement, the results of the ones in flight are read before the error is reported.
+                            notSent[sentCount] = true;
+                            updateCounts[sentCount] = EXECUTE_FAILED;
+                            if (sqlEx == null || !stopSending) {
+                                sqlEx = ex;
+                            }
+                            if (!this.continueBatchOnError) {
+                                stopSending = true;
+                            }
+                        }
+                        sentCount++;
+                    }
+
+                    if (notSent[receivedCount]) {
+                        receivedCount++;
+                        continue;
+                    }
+
+                    ((PreparedQuery) this.query).setBatchCommandIndex(receivedCount);
+
+                    try {
+                        ResultSetInternalMethods rs = readPipelinedResult(protocol);
+
+                        if (this.retrieveGeneratedKeys) {
+                            rs.setFirstCharOfQuery(getQueryInfo().getFirstStmtChar());
+                        }
+
+                        this.results = rs;
+                        this.updateCount = rs.getUpdateCount();
+
+                        if (containsOnDuplicateKeyUpdate() && this.compensateForOnDuplicateKeyUpdate) {
+                            if (this.updateCount == 2 || this.updateCount == 0) {
+                                this.updateCount = 1;
+                            }
+                        }
+
+                        this.lastInsertId = rs.getUpdateID();
+                        updateCounts[receivedCount] = this.updateCount;
+
+                        if (timeoutTask != null) {
+                            // we need to check the cancel state on each iteration to generate timeout exception if needed
+                            try {
+                                checkCancelTimeout();
+                            } catch (CJException e) {
+                                throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+                            }
+                        }
+
+                        // limit one generated key per OnDuplicateKey statement
+                        getBatchedGeneratedKeys(containsOnDuplicateKeyUpdate() ? 1 : 0);
+                    } catch (SQLException ex) {
+                        if (ex instanceof CommunicationsException) {
+                            // the connection is gone, there are no more results to read
+                            long[] newUpdateCounts = new long[receivedCount];
+                            System.arraycopy(updateCounts, 0, newUpdateCounts, 0, receivedCount);
+
+                            throw SQLError.createBatchUpdateException(ex, newUpdateCounts, this.exceptionInterceptor);
+                        }
+
+                        if (updateCounts[receivedCount] == -3) {
+                            updateCounts[receivedCount] = EXECUTE_FAILED;
+                        }
+
+                        if (sqlEx == null || !stopSending) {
+                            sqlEx = ex;
+                        }
+
+                        if (!this.continueBatchOnError || ex instanceof MySQLTimeoutException || ex instanceof MySQLStatementCancelledException
+                                || hasDeadlockOrTimeoutRolledBackTx(ex)) {
+                            stopSending = true;
+                        }
+                    }
+
+                    receivedCount++;
+                }
+
+                if (sqlEx != null) {
+                    long[] newUpdateCounts = updateCounts;
+
+                    if (receivedCount < nbrCommands) {
+                        newUpdateCounts = new long[receivedCount];
+                        System.arraycopy(updateCounts, 0, newUpdateCounts, 0, receivedCount);
+                    }
+
+                    throw SQLError.createBatchUpdateException(sqlEx, newUpdateCounts, this.exceptionInterceptor);
+                }
+            } finally {
+                ((PreparedQuery) this.query).setBatchCommandIndex(-1);
+
+                stopQueryTimer(timeoutTask, false, false);
+                resetCancelledState();
+
+                if (oldDb != null && !locallyScopedConn.isClosed()) {
+                    locallyScopedConn.setDatabase(oldDb);
+                }
+            }
+
+            return updateCounts;
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    /**
+     * Builds the packet for one statement of a pipelined batch.
+     *
+     * @param bindings
+     *            the batched parameter set
+     * @return the packet to send
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    protected NativePacketPayload fillPipelinedSendPacket(QueryBindings bindings) throws SQLException {
+        return ((PreparedQuery) this.query).fillSendPacket(bindings);
+    }
+
+    /**
+     * Reads the result of the oldest statement of a pipelined batch whose result is still pending.
+     *
+     * @param protocol
+     *            the protocol the batch is being pipelined through
+     * @return the statement result
+     * @throws SQLException
+     *             if the statement failed or a database access error occurs
+     */
+    protected ResultSetInternalMethods readPipelinedResult(NativeProtocol protocol) throws SQLException {
+        try {
+            return protocol.readPipelinedResult(-1, false, null, getResultSetFactory());
+        } catch (CJException e) {
+            throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+        } catch (IOException ioEx) {
+            throw SQLError.createCommunicationsException(this.connection, protocol.getPacketSentTimeHolder(), protocol.getPacketReceivedTimeHolder(), ioEx,
+                    this.exceptionInterceptor);
+        }
+    }
+
     /**
      * Actually execute the prepared statement. This is here so server-side
      * PreparedStatements can re-use most of the code from this class.
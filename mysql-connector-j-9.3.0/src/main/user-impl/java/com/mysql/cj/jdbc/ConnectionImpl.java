@@ -37,6 +37,7 @@ import java.sql.SQLWarning;
 import java.sql.SQLXML;
 import java.sql.Savepoint;
 import java.sql.Struct;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -78,6 +79,8 @@ import com.mysql.cj.jdbc.exceptions.SQLExceptionsMapping;
 import com.mysql.cj.jdbc.ha.MultiHostConnectionProxy;
 import com.mysql.cj.jdbc.ha.MultiHostMySQLConnection;
 import com.mysql.cj.jdbc.interceptors.ConnectionLifecycleInterceptor;
+import com.mysql.cj.jdbc.jmx.QueryLatencyMonitor;
+import com.mysql.cj.jdbc.jmx.StatementDigestMonitor;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaDataImpl;
 import com.mysql.cj.jdbc.result.ResultSetFactory;
@@ -406,6 +409,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                 if (this.propertySet.getStringProperty(PropertyKey.socksProxyHost).getStringValue() != null) {
                     this.propertySet.getProperty(PropertyKey.socketFactory).setValue(SocksProxySocketFactory.class.getName());
                 }
+                if (this.propertySet.getBooleanProperty(PropertyKey.queryLatencyEnableJMX).getValue()) {
+                    QueryLatencyMonitor.registerJmx();
+                }
+                if (this.propertySet.getBooleanProperty(PropertyKey.statementDigestEnableJMX).getValue()) {
+                    StatementDigestMonitor.registerJmx();
+                }
 
                 initializeSafeQueryInterceptors();
             } catch (CJException e) {
@@ -643,12 +652,17 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         ClientPreparedStatement pStmt = null;
 
         if (this.cachePrepStmts.getValue()) {
-            QueryInfo pStmtInfo = this.queryInfoCache.get(nativeSql);
+            // The cache key holds the parse settings too, so 'prepStmtCacheSqlLimit' is checked here against the query alone.
+            String cacheKey = nativeSql == null || nativeSql.length() > this.prepStmtCacheSqlLimit.getValue() ? null
+                    : QueryInfo.getCacheKey(nativeSql, this.session, this.propertySet.getStringProperty(PropertyKey.characterEncoding).getValue());
+            QueryInfo pStmtInfo = cacheKey == null ? null : this.queryInfoCache.get(cacheKey);
 
             if (pStmtInfo == null) {
                 pStmt = ClientPreparedStatement.getInstance(getMultiHostSafeProxy(), nativeSql, this.database);
 
-                this.queryInfoCache.put(nativeSql, pStmt.getQueryInfo());
+                if (cacheKey != null) {
+                    this.queryInfoCache.put(cacheKey, pStmt.getQueryInfo());
+                }
             } else {
                 pStmt = ClientPreparedStatement.getInstance(getMultiHostSafeProxy(), nativeSql, this.database, pStmtInfo);
             }
@@ -1036,8 +1050,8 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
             @SuppressWarnings("unchecked")
             CacheAdapterFactory<String, QueryInfo> cacheFactory = Util.getInstance(CacheAdapterFactory.class, queryInfoCacheFactory, null, null,
                     getExceptionInterceptor());
-            this.queryInfoCache = cacheFactory.getInstance(connectionLock, this.origHostInfo.getDatabaseUrl(), cacheSize,
-                    this.prepStmtCacheSqlLimit.getValue());
+            // Cache keys are longer than the queries they stand for, 'prepStmtCacheSqlLimit' is enforced when building them.
+            this.queryInfoCache = cacheFactory.getInstance(connectionLock, this.origHostInfo.getDatabaseUrl(), cacheSize, Integer.MAX_VALUE);
 
             if (this.useServerPrepStmts.getValue()) {
                 this.serverSideStatementCheckCache = new LRUCache<>(cacheSize);
@@ -1897,6 +1911,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
                 this.session.getServerSession().getCharsetSettings().configurePreHandshake(true);
                 this.session.resetSessionState();
+                closeServerPreparedStatements();
                 this.session.getServerSession().getCharsetSettings().configurePostHandshake(true);
                 this.session.setSessionVariables();
                 handleAutoCommitDefaults();
@@ -1910,6 +1925,35 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         }
     }
 
+    /**
+     * Closes the server-side prepared statements, cached or still open, which COM_RESET_CONNECTION deallocated on the server. Statements still held by
+     * the application fail with "statement closed" instead of an unknown statement handler error from the server.
+     *
+     * @throws SQLException
+     *             if an error occurs
+     */
+    private void closeServerPreparedStatements() throws SQLException {
+        if (this.serverSideStatementCache != null) {
+            this.serverSideStatementCheckCacheLock.lock();
+            try {
+                List<ServerPreparedStatement> cached = new ArrayList<>(this.serverSideStatementCache.values());
+                this.serverSideStatementCache.clear();
+                for (ServerPreparedStatement ps : cached) {
+                    ps.isCached = false;
+                    ps.setClosed(false);
+                    ps.doClose(CloseOption.PROPAGATE, CloseOption.NO_CACHE);
+                }
+            } finally {
+                this.serverSideStatementCheckCacheLock.unlock();
+            }
+        }
+        for (JdbcStatement stmt : this.openStatements) {
+            if (stmt instanceof ServerPreparedStatement) {
+                ((ServerPreparedStatement) stmt).doClose(CloseOption.PROPAGATE, CloseOption.NO_CACHE);
+            }
+        }
+    }
+
     @Override
     public void rollback() throws SQLException {
         Lock connectionLock = getConnectionLock();
@@ -51,13 +51,19 @@ public class MysqlDataSourceFactory implements ObjectFactory {
      */
     protected final static String XA_DATA_SOURCE_CLASS_NAME = MysqlXADataSource.class.getName();
 
+    /**
+     * The class name for a MysqlPoolingDataSource
+     */
+    protected final static String POOLING_DATA_SOURCE_CLASS_NAME = MysqlPoolingDataSource.class.getName();
+
     @Override
     public Object getObjectInstance(Object refObj, Name nm, Context ctx, Hashtable<?, ?> env) throws Exception {
         Reference ref = (Reference) refObj;
         String className = ref.getClassName();
 
         if (className != null
-                && (className.equals(DATA_SOURCE_CLASS_NAME) || className.equals(POOL_DATA_SOURCE_CLASS_NAME) || className.equals(XA_DATA_SOURCE_CLASS_NAME))) {
+                && (className.equals(DATA_SOURCE_CLASS_NAME) || className.equals(POOL_DATA_SOURCE_CLASS_NAME) || className.equals(XA_DATA_SOURCE_CLASS_NAME)
+                        || className.equals(POOLING_DATA_SOURCE_CLASS_NAME))) {
             MysqlDataSource dataSource = Util.getInstance(MysqlDataSource.class, className, null, null, null);
 
             int portNumber = 3306;
@@ -0,0 +1,552 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.ConnectionEvent;
+import javax.sql.ConnectionEventListener;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.exceptions.MysqlErrorNumbers;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.jdbc.jmx.ConnectionPoolMonitor;
+import com.mysql.cj.util.DriverThreadFactory;
+
+/**
+ * A DataSource that keeps a pool of physical connections and hands out logical connections from it. Closing a logical connection gives its physical
+ * connection back to the pool instead of closing it.
+ * <p>
+ * Borrowing and returning connections don't take any lock: idle connections sit in a concurrent deque and the number of connections in use is bounded by a
+ * semaphore whose fast path is a single compare-and-set. Connections are handed out most recently used first, so that a lightly loaded pool keeps using the
+ * same few connections and lets the others reach 'poolIdleTimeout'.
+ * <p>
+ * A connection that has been idle for more than 'poolValidationInterval' is validated with a COM_PING before being handed out; more recently used connections
+ * are handed out without any round trip. When returned, a connection is reset with COM_RESET_CONNECTION, as in {@link JdbcConnection#resetServerState()},
+ * instead of being reopened. If 'poolResetConnection' is disabled, only its transaction is rolled back, so that its server-side prepared statements stay
+ * cached; 'paranoid' connections, which are never reset, are only rolled back too. Connections older than 'poolMaxLifetime' or idle for longer than
+ * 'poolIdleTimeout' are closed by a housekeeping thread, which also keeps 'poolMinIdle' connections open. Connections that reported a communications error
+ * are never reused.
+ * <p>
+ * The pool properties are read when the first connection is requested and must be set on the DataSource itself, not in the connection URL. If 'poolEnableJMX'
+ * is set, the pool metrics are published by a {@link ConnectionPoolMonitor}. The pool is shut down by {@link #close()}.
+ */
+public class MysqlPoolingDataSource extends MysqlDataSource implements ConnectionEventListener, AutoCloseable {
+
+    static final long serialVersionUID = 1928418233347526811L;
+
+    private static final AtomicInteger poolCounter = new AtomicInteger();
+
+    private static final AtomicReferenceFieldUpdater<MysqlPoolingDataSource, Pool> poolUpdater = AtomicReferenceFieldUpdater
+            .newUpdater(MysqlPoolingDataSource.class, Pool.class, "pool");
+
+    private transient volatile Pool pool = null;
+
+    /**
+     * Default no-arg constructor for Serialization
+     */
+    public MysqlPoolingDataSource() {
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new physical connection if no idle one is available and the pool isn't full. Waits for up to
+     * 'poolBorrowTimeout' milliseconds when all the connections are in use.
+     *
+     * @return a logical connection, which returns to the pool when closed
+     * @throws SQLException
+     *             if the pool is closed, if no connection became available in time, or if a new physical connection couldn't be opened
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getPool().borrow();
+    }
+
+    /**
+     * Not supported, as all the pooled connections use the same credentials; set them with {@link #setUser(String)} and {@link #setPassword(String)}.
+     *
+     * @throws SQLException
+     *             always
+     */
+    @Override
+    public Connection getConnection(String userID, String pass) throws SQLException {
+        throw SQLError.createSQLFeatureNotSupportedException(Messages.getString("MysqlPoolingDataSource.2"),
+                MysqlErrorNumbers.SQLSTATE_CONNJ_DRIVER_NOT_CAPABLE, null);
+    }
+
+    /**
+     * Closes all the idle connections and shuts the pool down. Connections in use are closed when they are returned. Further calls to
+     * {@link #getConnection()} fail.
+     */
+    @Override
+    public void close() {
+        Pool p = getPoolIfStarted();
+        if (p != null) {
+            p.close();
+        } else {
+            // never started, don't start it anymore
+            poolUpdater.compareAndSet(this, null, new Pool(true));
+        }
+    }
+
+    /**
+     * Closes all the idle connections right away, for example after a failover of the server. New connections are opened as needed.
+     */
+    public void evictIdleConnections() {
+        Pool p = getPoolIfStarted();
+        if (p != null) {
+            p.evictIdle(true);
+        }
+    }
+
+    /**
+     * Returns the number of physical connections currently open, both in use and idle.
+     *
+     * @return the number of connections open
+     */
+    public int getTotalConnectionCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.total.get();
+    }
+
+    /**
+     * Returns the number of connections currently handed out.
+     *
+     * @return the number of connections in use
+     */
+    public int getActiveConnectionCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.maxSize - p.permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of connections currently waiting in the pool.
+     *
+     * @return the number of idle connections
+     */
+    public int getIdleConnectionCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.idleCount.get();
+    }
+
+    /**
+     * Returns the number of threads currently waiting for a connection because all of them are in use.
+     *
+     * @return the number of waiting threads
+     */
+    public int getPendingThreadCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.permits.getQueueLength();
+    }
+
+    /**
+     * Returns the number of physical connections opened since the pool started.
+     *
+     * @return the number of connections opened
+     */
+    public long getCreatedConnectionCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.createdCount.sum();
+    }
+
+    /**
+     * Returns the number of physical connections closed since the pool started, for having expired, been idle for too long, failed or been evicted.
+     *
+     * @return the number of connections closed
+     */
+    public long getClosedConnectionCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.closedCount.sum();
+    }
+
+    /**
+     * Returns the number of connections handed out since the pool started.
+     *
+     * @return the number of connections borrowed
+     */
+    public long getBorrowCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.borrowCount.sum();
+    }
+
+    /**
+     * Returns the number of times a connection request timed out waiting for a connection.
+     *
+     * @return the number of timed out borrows
+     */
+    public long getBorrowTimeoutCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.borrowTimeoutCount.sum();
+    }
+
+    /**
+     * Returns the number of idle connections found dead when validated before being handed out.
+     *
+     * @return the number of failed validations
+     */
+    public long getValidationFailureCount() {
+        Pool p = getPoolIfStarted();
+        return p == null ? 0 : p.validationFailureCount.sum();
+    }
+
+    /**
+     * Returns the average time spent in {@link #getConnection()}, including waiting for a free connection, validating or opening it.
+     *
+     * @return the average borrow time, in microseconds
+     */
+    public long getAverageBorrowWaitMicros() {
+        Pool p = getPoolIfStarted();
+        long borrows = p == null ? 0 : p.borrowCount.sum();
+        return borrows == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(p.borrowWaitNanos.sum()) / borrows;
+    }
+
+    @Override
+    public void connectionClosed(ConnectionEvent event) {
+        PoolEntry entry = (PoolEntry) event.getSource();
+        entry.pool.giveBack(entry);
+    }
+
+    @Override
+    public void connectionErrorOccurred(ConnectionEvent event) {
+        ((PoolEntry) event.getSource()).broken = true;
+    }
+
+    private Pool getPoolIfStarted() {
+        return this.pool;
+    }
+
+    private Pool getPool() throws SQLException {
+        Pool p = this.pool;
+        if (p == null) {
+            Pool newPool = new Pool(false);
+            if (poolUpdater.compareAndSet(this, null, newPool)) {
+                newPool.start();
+            }
+            p = this.pool;
+        }
+        return p;
+    }
+
+    private JdbcConnection openPhysicalConnection() throws SQLException {
+        Properties props = exposeAsProperties();
+        if (this.user != null) {
+            props.setProperty(PropertyKey.USER.getKeyName(), this.user);
+        }
+        if (this.password != null) {
+            props.setProperty(PropertyKey.PASSWORD.getKeyName(), this.password);
+        }
+        return (JdbcConnection) getConnection(props);
+    }
+
+    /**
+     * A physical connection owned by the pool.
+     */
+    static class PoolEntry extends MysqlPooledConnection {
+
+        final Pool pool;
+        final JdbcConnection physicalConnection;
+        final long creationTime = System.currentTimeMillis();
+        volatile long lastReturnTime = this.creationTime;
+        volatile boolean broken = false;
+
+        PoolEntry(Pool pool, JdbcConnection physicalConnection) {
+            super(physicalConnection);
+            this.pool = pool;
+            this.physicalConnection = physicalConnection;
+        }
+
+    }
+
+    /**
+     * The runtime state of the pool, which isn't serialized with the DataSource.
+     */
+    class Pool {
+
+        final String name;
+        final int maxSize;
+        final int minIdle;
+        final long borrowTimeout;
+        final long idleTimeout;
+        final long maxLifetime;
+        final long validationInterval;
+        final int validationTimeout;
+        final boolean resetConnection;
+
+        /** Idle connections, most recently returned first. */
+        final ConcurrentLinkedDeque<PoolEntry> idle = new ConcurrentLinkedDeque<>();
+        /** Kept apart as {@link ConcurrentLinkedDeque#size()} walks the whole deque. */
+        final AtomicInteger idleCount = new AtomicInteger();
+        /** One permit per connection that can still be handed out. */
+        final Semaphore permits;
+        final AtomicInteger total = new AtomicInteger();
+
+        final LongAdder createdCount = new LongAdder();
+        final LongAdder closedCount = new LongAdder();
+        final LongAdder borrowCount = new LongAdder();
+        final LongAdder borrowTimeoutCount = new LongAdder();
+        final LongAdder validationFailureCount = new LongAdder();
+        final LongAdder borrowWaitNanos = new LongAdder();
+
+        volatile boolean closed;
+        private ScheduledThreadPoolExecutor housekeeper = null;
+        private ConnectionPoolMonitor monitor = null;
+
+        Pool(boolean closed) {
+            String poolName = getStringProperty(PropertyKey.poolName).getValue();
+            this.name = poolName != null ? poolName : "MysqlPool-" + poolCounter.incrementAndGet();
+            this.maxSize = getIntegerProperty(PropertyKey.poolMaxSize).getValue();
+            this.minIdle = Math.min(getIntegerProperty(PropertyKey.poolMinIdle).getValue(), this.maxSize);
+            this.borrowTimeout = getIntegerProperty(PropertyKey.poolBorrowTimeout).getValue();
+            this.idleTimeout = getIntegerProperty(PropertyKey.poolIdleTimeout).getValue();
+            this.maxLifetime = getIntegerProperty(PropertyKey.poolMaxLifetime).getValue();
+            this.validationInterval = getIntegerProperty(PropertyKey.poolValidationInterval).getValue();
+            this.validationTimeout = getIntegerProperty(PropertyKey.poolValidationTimeout).getValue();
+            this.resetConnection = getBooleanProperty(PropertyKey.poolResetConnection).getValue();
+            this.permits = new Semaphore(this.maxSize);
+            this.closed = closed;
+        }
+
+        void start() throws SQLException {
+            long period = 30000;
+            if (this.idleTimeout > 0) {
+                period = Math.min(period, this.idleTimeout / 2);
+            }
+            if (this.maxLifetime > 0) {
+                period = Math.min(period, this.maxLifetime / 2);
+            }
+            period = Math.max(period, 100);
+            this.housekeeper = new ScheduledThreadPoolExecutor(1, new DriverThreadFactory("MySQL Connection Pool Housekeeper " + this.name));
+            this.housekeeper.scheduleWithFixedDelay(this::housekeep, this.minIdle > 0 ? 0 : period, period, TimeUnit.MILLISECONDS);
+
+            if (getBooleanProperty(PropertyKey.poolEnableJMX).getValue()) {
+                this.monitor = new ConnectionPoolMonitor(MysqlPoolingDataSource.this, this.name, this.maxSize);
+                this.monitor.registerJmx();
+            }
+        }
+
+        Connection borrow() throws SQLException {
+            long start = System.nanoTime();
+            checkOpen();
+            if (!this.permits.tryAcquire()) {
+                try {
+                    if (!this.permits.tryAcquire(this.borrowTimeout, TimeUnit.MILLISECONDS)) {
+                        this.borrowTimeoutCount.increment();
+                        throw SQLError.createSQLException(Messages.getString("MysqlPoolingDataSource.0", new Object[] { this.borrowTimeout, this.name }),
+                                MysqlErrorNumbers.SQLSTATE_CONNECTION_EXCEPTION_SQL_CLIENT_UNABLE_TO_ESTABLISH_SQL_CONNECTION, 0, true, null);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw SQLError.createSQLException(Messages.getString("MysqlPoolingDataSource.0", new Object[] { this.borrowTimeout, this.name }),
+                            MysqlErrorNumbers.SQLSTATE_CONNECTION_EXCEPTION_SQL_CLIENT_UNABLE_TO_ESTABLISH_SQL_CONNECTION, 0, true, e, null);
+                }
+            }
+
+            try {
+                checkOpen();
+                PoolEntry entry;
+                while ((entry = pollIdle()) != null && !isUsable(entry)) {
+                    discard(entry);
+                }
+                if (entry == null) {
+                    entry = open();
+                }
+                Connection conn = entry.getConnection(false, false);
+                this.borrowCount.increment();
+                this.borrowWaitNanos.add(System.nanoTime() - start);
+                return conn;
+            } catch (SQLException | RuntimeException e) {
+                this.permits.release();
+                throw e;
+            }
+        }
+
+        void giveBack(PoolEntry entry) {
+            try {
+                boolean reusable = !entry.broken && !this.closed && !isExpired(entry, System.currentTimeMillis());
+                if (reusable) {
+                    try {
+                        reusable = !entry.physicalConnection.isClosed();
+                        if (reusable) {
+                            resetSession(entry.physicalConnection);
+                        }
+                    } catch (Exception e) {
+                        reusable = false;
+                    }
+                }
+                // a borrower may have opened a connection while this one was being returned
+                if (!reusable || this.total.get() > this.maxSize) {
+                    discard(entry);
+                    return;
+                }
+                entry.lastReturnTime = System.currentTimeMillis();
+                this.idle.offerFirst(entry);
+                this.idleCount.incrementAndGet();
+                if (this.closed) {
+                    evictIdle(true);
+                }
+            } finally {
+                this.permits.release();
+            }
+        }
+
+        private void resetSession(JdbcConnection conn) throws SQLException {
+            // resetServerState() does nothing on a paranoid connection, so its transaction must still be rolled back here
+            if (this.resetConnection && !conn.getPropertySet().getBooleanProperty(PropertyKey.paranoid).getValue()) {
+                conn.resetServerState();
+            } else if (!conn.getAutoCommit()) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+
+        void close() {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            if (this.housekeeper != null) {
+                this.housekeeper.shutdownNow();
+            }
+            evictIdle(true);
+            if (this.monitor != null) {
+                this.monitor.unregisterJmx();
+            }
+        }
+
+        /**
+         * Closes the idle connections that are expired or, if there are more than 'poolMinIdle' of them, idle for too long. Starts with the least recently
+         * used ones, at the tail of the deque.
+         *
+         * @param all
+         *            close all the idle connections instead
+         */
+        void evictIdle(boolean all) {
+            long now = System.currentTimeMillis();
+            for (Iterator<PoolEntry> it = this.idle.descendingIterator(); it.hasNext();) {
+                PoolEntry entry = it.next();
+                boolean evict = all || isExpired(entry, now)
+                        || this.idleTimeout > 0 && now - entry.lastReturnTime >= this.idleTimeout && this.idleCount.get() > this.minIdle;
+                if (evict && this.idle.removeLastOccurrence(entry)) {
+                    this.idleCount.decrementAndGet();
+                    discard(entry);
+                }
+            }
+        }
+
+        private void housekeep() {
+            evictIdle(false);
+            while (!this.closed && this.idleCount.get() < this.minIdle) {
+                int t = this.total.get();
+                if (t >= this.maxSize) {
+                    return;
+                }
+                if (this.total.compareAndSet(t, t + 1)) {
+                    PoolEntry entry;
+                    try {
+                        entry = newEntry();
+                    } catch (SQLException | RuntimeException e) {
+                        this.total.decrementAndGet();
+                        return; // retried on next run
+                    }
+                    this.idle.offerLast(entry);
+                    this.idleCount.incrementAndGet();
+                }
+            }
+            if (this.closed) {
+                evictIdle(true);
+            }
+        }
+
+        private PoolEntry pollIdle() {
+            PoolEntry entry = this.idle.pollFirst();
+            if (entry != null) {
+                this.idleCount.decrementAndGet();
+            }
+            return entry;
+        }
+
+        private boolean isUsable(PoolEntry entry) {
+            long now = System.currentTimeMillis();
+            if (isExpired(entry, now)) {
+                return false;
+            }
+            if (now - entry.lastReturnTime > this.validationInterval) {
+                try {
+                    entry.physicalConnection.pingInternal(true, this.validationTimeout);
+                } catch (Exception e) {
+                    this.validationFailureCount.increment();
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isExpired(PoolEntry entry, long now) {
+            return this.maxLifetime > 0 && now - entry.creationTime >= this.maxLifetime;
+        }
+
+        private PoolEntry open() throws SQLException {
+            this.total.incrementAndGet();
+            try {
+                return newEntry();
+            } catch (SQLException | RuntimeException e) {
+                this.total.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private PoolEntry newEntry() throws SQLException {
+            PoolEntry entry = new PoolEntry(this, openPhysicalConnection());
+            entry.addConnectionEventListener(MysqlPoolingDataSource.this);
+            this.createdCount.increment();
+            return entry;
+        }
+
+        private void discard(PoolEntry entry) {
+            this.total.decrementAndGet();
+            this.closedCount.increment();
+            try {
+                entry.close();
+            } catch (SQLException e) {
+                // the connection is being dropped anyway
+            }
+        }
+
+        private void checkOpen() throws SQLException {
+            if (this.closed) {
+                throw SQLError.createSQLException(Messages.getString("MysqlPoolingDataSource.1", new Object[] { this.name }),
+                        MysqlErrorNumbers.SQLSTATE_CONNECTION_EXCEPTION_CONNECTION_DOES_NOT_EXIST, null);
+            }
+        }
+
+    }
+
+}
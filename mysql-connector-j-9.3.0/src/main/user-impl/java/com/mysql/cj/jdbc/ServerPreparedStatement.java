@@ -52,6 +52,8 @@ import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
 import com.mysql.cj.jdbc.result.ResultSetMetaData;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.Message;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.telemetry.TelemetryAttribute;
 import com.mysql.cj.telemetry.TelemetryScope;
 import com.mysql.cj.telemetry.TelemetrySpan;
@@ -297,6 +299,109 @@ public class ServerPreparedStatement extends ClientPreparedStatement {
         }
     }
 
+    @Override
+    protected boolean canExecuteBatchPipelined() throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            if (!super.canExecuteBatchPipelined()) {
+                return false;
+            }
+
+            // Long data is sent through COM_STMT_SEND_LONG_DATA and COM_STMT_RESET, which can't be interleaved with pending results.
+            for (Object arg : this.query.getBatchedArgs()) {
+                QueryBindings bindings = (QueryBindings) arg;
+                if (bindings.isLongParameterSwitchDetected()) {
+                    return false;
+                }
+                for (BindValue bv : bindings.getBindValues()) {
+                    if (bv.isStream()) {
+                        return false;
+                    }
+                }
+            }
+
+            return true;
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    @Override
+    protected long[] executeBatchPipelined(long batchTimeout) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            JdbcConnection locallyScopedConn = this.connection;
+
+            if (locallyScopedConn.isReadOnly()) {
+                throw SQLError.createSQLException(Messages.getString("ServerPreparedStatement.2") + Messages.getString("ServerPreparedStatement.3"),
+                        MysqlErrorNumbers.SQLSTATE_CONNJ_ILLEGAL_ARGUMENT, this.exceptionInterceptor);
+            }
+
+            clearWarnings();
+
+            // Store this for later, we're going to 'swap' them out as we send each batched statement...
+            BindValue[] oldBindValues = ((ServerPreparedQuery) this.query).getQueryBindings().getBindValues();
+
+            try {
+                // The server may hold parameter types from a previous execution, so they are always sent with the first statement of the batch.
+                ((ServerPreparedQuery) this.query).getQueryBindings().getSendTypesToServer().set(true);
+
+                return super.executeBatchPipelined(batchTimeout);
+            } finally {
+                ((ServerPreparedQuery) this.query).getQueryBindings().setBindValues(oldBindValues);
+                ((ServerPreparedQuery) this.query).getQueryBindings().getSendTypesToServer().set(true);
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+    }
+
+    @Override
+    protected NativePacketPayload fillPipelinedSendPacket(QueryBindings bindings) throws SQLException {
+        ServerPreparedQuery spQuery = (ServerPreparedQuery) this.query;
+
+        BindValue[] previousBindValues = spQuery.getQueryBindings().getBindValues();
+        boolean sendTypesToServer = spQuery.getQueryBindings().getSendTypesToServer().get();
+
+        spQuery.setQueryBindings(bindings);
+        BindValue[] parameterBindings = bindings.getBindValues();
+
+        // We need to check types each time, as the user might have bound different types in each addBatch()
+        if (!sendTypesToServer) {
+            for (int j = 0; j < parameterBindings.length; j++) {
+                if (parameterBindings[j].getMysqlType() != previousBindValues[j].getMysqlType()) {
+                    sendTypesToServer = true;
+                    break;
+                }
+            }
+        }
+        bindings.getSendTypesToServer().set(sendTypesToServer);
+
+        try {
+            bindings.setNumberOfExecutions(bindings.getNumberOfExecutions() + 1);
+            return spQuery.prepareExecutePacket();
+        } catch (CJException e) {
+            throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+        } finally {
+            // types just sent remain valid on the server side for the following statements
+            bindings.getSendTypesToServer().set(false);
+        }
+    }
+
+    @Override
+    protected ResultSetInternalMethods readPipelinedResult(NativeProtocol protocol) throws SQLException {
+        try {
+            return protocol.readPipelinedResult(-1, true, ((ServerPreparedQuery) this.query).getResultFields(), getResultSetFactory());
+        } catch (CJException e) {
+            throw SQLExceptionsMapping.translateException(e, this.exceptionInterceptor);
+        } catch (IOException ioEx) {
+            throw SQLError.createCommunicationsException(this.connection, protocol.getPacketSentTimeHolder(), protocol.getPacketReceivedTimeHolder(), ioEx,
+                    this.exceptionInterceptor);
+        }
+    }
+
     private static SQLException appendMessageToException(SQLException sqlEx, String messageToAppend, ExceptionInterceptor interceptor) {
         String sqlState = sqlEx.getSQLState();
         int vendorErrorCode = sqlEx.getErrorCode();
@@ -68,6 +68,7 @@ import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.ResultSetFactory;
 import com.mysql.cj.jdbc.result.ResultSetImpl;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.log.DigestStatistics;
 import com.mysql.cj.log.ProfilerEvent;
 import com.mysql.cj.protocol.Message;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
@@ -170,6 +171,8 @@ public class StatementImpl implements JdbcStatement {
     protected RuntimeProperty<Boolean> dumpQueriesOnException;
     protected boolean logSlowQueries = false;
     protected RuntimeProperty<Boolean> rewriteBatchedStatements;
+    protected RuntimeProperty<Boolean> pipelineBatchedStatements;
+    protected RuntimeProperty<Integer> pipelineBatchWindowSize;
     protected RuntimeProperty<Integer> maxAllowedPacket;
     protected boolean dontCheckOnDuplicateKeyUpdateInSQL;
 
@@ -216,6 +219,8 @@ public class StatementImpl implements JdbcStatement {
         this.continueBatchOnError = pset.getBooleanProperty(PropertyKey.continueBatchOnError).getValue();
         this.pedantic = pset.getBooleanProperty(PropertyKey.pedantic).getValue();
         this.rewriteBatchedStatements = pset.getBooleanProperty(PropertyKey.rewriteBatchedStatements);
+        this.pipelineBatchedStatements = pset.getBooleanProperty(PropertyKey.pipelineBatchedStatements);
+        this.pipelineBatchWindowSize = pset.getIntegerProperty(PropertyKey.pipelineBatchWindowSize);
         this.charEncoding = pset.getStringProperty(PropertyKey.characterEncoding).getValue();
         this.profileSQL = pset.getBooleanProperty(PropertyKey.profileSQL).getValue();
         this.useUsageAdvisor = pset.getBooleanProperty(PropertyKey.useUsageAdvisor).getValue();
@@ -2465,6 +2470,11 @@ public class StatementImpl implements JdbcStatement {
         this.query.setExecuteTime(executeTime);
     }
 
+    @Override
+    public DigestStatistics getDigestStatistics() {
+        return this.query.getDigestStatistics();
+    }
+
     @Override
     public AtomicBoolean getStatementExecuting() {
         return this.query.getStatementExecuting();
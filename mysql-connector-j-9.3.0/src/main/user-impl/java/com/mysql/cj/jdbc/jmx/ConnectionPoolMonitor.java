@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.jdbc.MysqlPoolingDataSource;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+
+/**
+ * Publishes the metrics of a {@link MysqlPoolingDataSource} with JMX, under the name "com.mysql.cj.jdbc.jmx:type=ConnectionPool,name=&lt;poolName&gt;".
+ */
+public class ConnectionPoolMonitor implements ConnectionPoolMonitorMBean {
+
+    private final MysqlPoolingDataSource dataSource;
+    private final String poolName;
+    private final int maxPoolSize;
+    private ObjectName objectName = null;
+
+    public ConnectionPoolMonitor(MysqlPoolingDataSource dataSource, String poolName, int maxPoolSize) {
+        this.dataSource = dataSource;
+        this.poolName = poolName;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public synchronized void registerJmx() throws SQLException {
+        if (this.objectName != null) {
+            return;
+        }
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName("com.mysql.cj.jdbc.jmx:type=ConnectionPool,name=" + ObjectName.quote(this.poolName));
+            mbs.registerMBean(this, name);
+            this.objectName = name;
+        } catch (Exception e) {
+            throw SQLError.createSQLException(Messages.getString("ConnectionPoolMonitor.0"), null, e, null);
+        }
+    }
+
+    public synchronized void unregisterJmx() {
+        if (this.objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        } catch (Exception e) {
+            // already gone
+        }
+        this.objectName = null;
+    }
+
+    @Override
+    public String getPoolName() {
+        return this.poolName;
+    }
+
+    @Override
+    public int getMaxPoolSize() {
+        return this.maxPoolSize;
+    }
+
+    @Override
+    public int getTotalConnectionCount() {
+        return this.dataSource.getTotalConnectionCount();
+    }
+
+    @Override
+    public int getActiveConnectionCount() {
+        return this.dataSource.getActiveConnectionCount();
+    }
+
+    @Override
+    public int getIdleConnectionCount() {
+        return this.dataSource.getIdleConnectionCount();
+    }
+
+    @Override
+    public int getPendingThreadCount() {
+        return this.dataSource.getPendingThreadCount();
+    }
+
+    @Override
+    public long getCreatedConnectionCount() {
+        return this.dataSource.getCreatedConnectionCount();
+    }
+
+    @Override
+    public long getClosedConnectionCount() {
+        return this.dataSource.getClosedConnectionCount();
+    }
+
+    @Override
+    public long getBorrowCount() {
+        return this.dataSource.getBorrowCount();
+    }
+
+    @Override
+    public long getBorrowTimeoutCount() {
+        return this.dataSource.getBorrowTimeoutCount();
+    }
+
+    @Override
+    public long getValidationFailureCount() {
+        return this.dataSource.getValidationFailureCount();
+    }
+
+    @Override
+    public long getAverageBorrowWaitMicros() {
+        return this.dataSource.getAverageBorrowWaitMicros();
+    }
+
+    @Override
+    public void evictIdleConnections() {
+        this.dataSource.evictIdleConnections();
+    }
+
+}
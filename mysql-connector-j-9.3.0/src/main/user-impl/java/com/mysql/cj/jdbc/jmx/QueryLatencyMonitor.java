@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.log.QueryLatencyRegistry;
+
+/**
+ * Publishes the JVM-wide query latencies of the {@link QueryLatencyRegistry} with JMX, under the name "com.mysql.cj.jdbc.jmx:type=QueryLatency".
+ */
+public class QueryLatencyMonitor implements QueryLatencyMonitorMBean {
+
+    private static final QueryLatencyMonitor INSTANCE = new QueryLatencyMonitor();
+
+    private boolean isJmxRegistered = false;
+
+    private QueryLatencyMonitor() {
+    }
+
+    /**
+     * Registers the monitor, unless already done.
+     *
+     * @throws SQLException
+     *             if the registration fails
+     */
+    public static void registerJmx() throws SQLException {
+        INSTANCE.register();
+    }
+
+    private synchronized void register() throws SQLException {
+        if (this.isJmxRegistered) {
+            return;
+        }
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName("com.mysql.cj.jdbc.jmx:type=QueryLatency");
+            mbs.registerMBean(this, name);
+            this.isJmxRegistered = true;
+        } catch (Exception e) {
+            throw SQLError.createSQLException(Messages.getString("QueryLatencyMonitor.0"), null, e, null);
+        }
+    }
+
+    @Override
+    public long getQueryCount() {
+        return QueryLatencyRegistry.getAllQueriesSnapshot().getCount();
+    }
+
+    @Override
+    public long getMeanMicros() {
+        return Math.round(QueryLatencyRegistry.getAllQueriesSnapshot().getMean() / 1000);
+    }
+
+    @Override
+    public long getP50Micros() {
+        return QueryLatencyRegistry.getAllQueriesSnapshot().getP50() / 1000;
+    }
+
+    @Override
+    public long getP99Micros() {
+        return QueryLatencyRegistry.getAllQueriesSnapshot().getP99() / 1000;
+    }
+
+    @Override
+    public long getP999Micros() {
+        return QueryLatencyRegistry.getAllQueriesSnapshot().getP999() / 1000;
+    }
+
+    @Override
+    public long getMaxMicros() {
+        return QueryLatencyRegistry.getAllQueriesSnapshot().getMax() / 1000;
+    }
+
+    @Override
+    public void resetLatencies() {
+        QueryLatencyRegistry.reset();
+    }
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.mysql.cj.Messages;
+import com.mysql.cj.jdbc.exceptions.SQLError;
+import com.mysql.cj.log.DigestStatistics;
+import com.mysql.cj.log.StatementDigestRegistry;
+
+/**
+ * Publishes the JVM-wide statement digest statistics of the {@link StatementDigestRegistry} with JMX, under the name
+ * "com.mysql.cj.jdbc.jmx:type=StatementDigests".
+ */
+public class StatementDigestMonitor implements StatementDigestMonitorMBean {
+
+    private static final StatementDigestMonitor INSTANCE = new StatementDigestMonitor();
+
+    private boolean isJmxRegistered = false;
+
+    private StatementDigestMonitor() {
+    }
+
+    /**
+     * Registers the monitor, unless already done.
+     *
+     * @throws SQLException
+     *             if the registration fails
+     */
+    public static void registerJmx() throws SQLException {
+        INSTANCE.register();
+    }
+
+    private synchronized void register() throws SQLException {
+        if (this.isJmxRegistered) {
+            return;
+        }
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName("com.mysql.cj.jdbc.jmx:type=StatementDigests");
+            mbs.registerMBean(this, name);
+            this.isJmxRegistered = true;
+        } catch (Exception e) {
+            throw SQLError.createSQLException(Messages.getString("StatementDigestMonitor.0"), null, e, null);
+        }
+    }
+
+    @Override
+    public int getDigestCount() {
+        return StatementDigestRegistry.getDigestCount();
+    }
+
+    /**
+     * Lists the digests the driver spent the most time executing, one line per digest.
+     *
+     * @param limit
+     *            the maximum number of digests listed
+     * @return the digests and their statistics
+     */
+    @Override
+    public String[] listDigestsByTotalTime(int limit) {
+        return listDigests(s -> s.getLatency().getSum(), limit);
+    }
+
+    /**
+     * Lists the digests with the highest 99th percentile latency, one line per digest.
+     *
+     * @param limit
+     *            the maximum number of digests listed
+     * @return the digests and their statistics
+     */
+    @Override
+    public String[] listSlowestDigests(int limit) {
+        return listDigests(s -> s.getLatency().getP99(), limit);
+    }
+
+    /**
+     * Lists the digests with the most failed executions, one line per digest.
+     *
+     * @param limit
+     *            the maximum number of digests listed
+     * @return the digests and their statistics
+     */
+    @Override
+    public String[] listDigestsWithErrors(int limit) {
+        return StatementDigestRegistry.getDigests().stream().filter(s -> s.getErrorCount() > 0)
+                .sorted(Comparator.comparingLong(DigestStatistics::getErrorCount).reversed()).limit(Math.max(0, limit)).map(DigestStatistics::toString)
+                .toArray(String[]::new);
+    }
+
+    private String[] listDigests(ToLongFunction<DigestStatistics> key, int limit) {
+        // Keys are computed once per digest, latency keys requiring a snapshot of the histogram.
+        return StatementDigestRegistry.getDigests().stream().map(s -> new AbstractMap.SimpleImmutableEntry<>(s, key.applyAsLong(s)))
+                .sorted(Map.Entry.<DigestStatistics, Long>comparingByValue().reversed()).limit(Math.max(0, limit)).map(e -> e.getKey().toString())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public void resetDigests() {
+        StatementDigestRegistry.reset();
+    }
+
+}
@@ -181,6 +181,9 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
 
     private boolean useColumnNamesInFindColumn;
 
+    /** Same as in the numeric value factories, only the initial value of jdbcCompliantTruncation is honored for reads. */
+    private boolean jdbcCompliantTruncationForReads = true;
+
     private ExceptionInterceptor exceptionInterceptor;
 
     private ValueFactory<Boolean> booleanValueFactory;
@@ -264,6 +267,7 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
         this.useUsageAdvisor = pset.getBooleanProperty(PropertyKey.useUsageAdvisor).getValue();
         this.gatherPerfMetrics = pset.getBooleanProperty(PropertyKey.gatherPerfMetrics).getValue();
         this.scrollTolerant = pset.getBooleanProperty(PropertyKey.scrollTolerantForwardOnly).getValue();
+        this.jdbcCompliantTruncationForReads = pset.getBooleanProperty(PropertyKey.jdbcCompliantTruncation).getInitialValue();
 
         this.booleanValueFactory = new BooleanValueFactory(pset);
         this.byteValueFactory = new ByteValueFactory(pset);
@@ -827,6 +831,22 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
 
     @Override
     public double getDouble(int columnIndex) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            checkRowPos();
+            checkColumnBounds(columnIndex);
+            if (this.thisRow.canDecodeAsDouble(columnIndex - 1)) {
+                // decode straight from the row buffer, avoiding the boxed value factory round trip
+                double d = this.thisRow.getDouble(columnIndex - 1);
+                if (!this.jdbcCompliantTruncationForReads || !Double.isInfinite(d)) {
+                    return d;
+                }
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+
         Double res = getObject(columnIndex, Double.TYPE);
         return res == null ? (double) 0 : res;
     }
@@ -849,6 +869,22 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
 
     @Override
     public int getInt(int columnIndex) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            checkRowPos();
+            checkColumnBounds(columnIndex);
+            if (this.thisRow.canDecodeAsLong(columnIndex - 1)) {
+                long l = this.thisRow.getLong(columnIndex - 1);
+                if (!this.jdbcCompliantTruncationForReads || l >= Integer.MIN_VALUE && l <= Integer.MAX_VALUE) {
+                    return (int) l;
+                }
+                // out of range, let the value factory report it
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+
         Integer res = getObject(columnIndex, Integer.TYPE);
         return res == null ? 0 : res;
     }
@@ -875,6 +911,18 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
 
     @Override
     public long getLong(int columnIndex) throws SQLException {
+        Lock connectionLock = checkClosed().getConnectionLock();
+        connectionLock.lock();
+        try {
+            checkRowPos();
+            checkColumnBounds(columnIndex);
+            if (this.thisRow.canDecodeAsLong(columnIndex - 1)) {
+                return this.thisRow.getLong(columnIndex - 1);
+            }
+        } finally {
+            connectionLock.unlock();
+        }
+
         Long res = getObject(columnIndex, Long.TYPE);
         return res == null ? 0L : res;
     }
@@ -1966,6 +2014,9 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
                     } catch (CJException sqlEx) {
                         exceptionDuringClose = SQLExceptionsMapping.translateException(sqlEx);
                     }
+                    if (this.rowData.getOwner() == this) { // rows may have been handed over to another result set
+                        this.rowData.releaseBuffers();
+                    }
                 }
 
                 if (this.statementUsedForFetchingRows != null) {
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.protocol.a.StandInServer;
+
+/**
+ * Tests for {@link MysqlPoolingDataSource}, against the in-process stand-in server.
+ */
+public class MysqlPoolingDataSourceTest {
+
+    private StandInServer server;
+    private MysqlPoolingDataSource ds;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        this.server = new StandInServer().start();
+        this.server.on("^SELECT 1", StandInServer.resultSet("1").row(1L));
+        this.ds = new MysqlPoolingDataSource();
+        this.ds.setURL(this.server.getUrl());
+        this.ds.setUser("root");
+        this.ds.setPassword("");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.ds.close();
+        this.server.close();
+    }
+
+    private static void selectOne(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT 1")) {
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        this.ds.setPoolMaxSize(2);
+
+        JdbcConnection physical = null;
+        for (int i = 0; i < 10; i++) {
+            try (Connection conn = this.ds.getConnection()) {
+                selectOne(conn);
+                JdbcConnection current = ((ConnectionWrapper) conn).getActiveMySQLConnection();
+                if (physical != null) {
+                    assertSame(physical, current);
+                }
+                physical = current;
+                assertEquals(1, this.ds.getActiveConnectionCount());
+            }
+        }
+        assertEquals(1, this.server.getConnectionCount());
+        assertEquals(1, this.ds.getCreatedConnectionCount());
+        assertEquals(10, this.ds.getBorrowCount());
+        assertEquals(0, this.ds.getActiveConnectionCount());
+        assertEquals(1, this.ds.getIdleConnectionCount());
+
+        // closing a logical connection twice returns it only once
+        Connection conn = this.ds.getConnection();
+        conn.close();
+        conn.close();
+        assertEquals(1, this.ds.getIdleConnectionCount());
+        assertEquals(0, this.ds.getActiveConnectionCount());
+    }
+
+    @Test
+    public void testBorrowTimeout() throws Exception {
+        this.ds.setPoolMaxSize(1);
+        this.ds.setPoolBorrowTimeout(100);
+
+        Connection conn = this.ds.getConnection();
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, () -> this.ds.getConnection());
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(1, this.ds.getBorrowTimeoutCount());
+
+        conn.close();
+        try (Connection conn2 = this.ds.getConnection()) {
+            selectOne(conn2);
+        }
+        assertEquals(1, this.server.getConnectionCount());
+    }
+
+    @Test
+    public void testConcurrentBorrow() throws Exception {
+        this.ds.setPoolMaxSize(4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        try (Connection conn = this.ds.getConnection()) {
+                            assertTrue(this.ds.getActiveConnectionCount() <= 4);
+                            selectOne(conn);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(3200, this.ds.getBorrowCount());
+        assertTrue(this.ds.getTotalConnectionCount() <= 4);
+        assertEquals(this.ds.getTotalConnectionCount(), this.ds.getIdleConnectionCount());
+        assertEquals(this.ds.getCreatedConnectionCount() - this.ds.getClosedConnectionCount(), this.ds.getTotalConnectionCount());
+    }
+
+    @Test
+    public void testResetOnReturn() throws Exception {
+        Connection conn = this.ds.getConnection();
+        conn.setAutoCommit(false);
+        long commands = this.server.getCommandCount();
+        conn.close();
+        assertTrue(this.server.getCommandCount() > commands, "The connection should be reset when returned.");
+
+        try (Connection conn2 = this.ds.getConnection()) {
+            assertTrue(conn2.getAutoCommit());
+        }
+        assertEquals(1, this.server.getConnectionCount());
+    }
+
+    @Test
+    public void testRollbackOnReturnWhenParanoid() throws Exception {
+        AtomicInteger rollbacks = new AtomicInteger();
+        this.server.on(sql -> sql.equalsIgnoreCase("rollback") && rollbacks.incrementAndGet() > 0, StandInServer.ok(0, 0));
+        this.ds.setParanoid(true);
+        this.ds.setRollbackOnPooledClose(false);
+
+        // COM_RESET_CONNECTION isn't used on paranoid connections, so the transaction must be rolled back instead
+        Connection conn = this.ds.getConnection();
+        conn.setAutoCommit(false);
+        conn.close();
+        assertEquals(1, rollbacks.get());
+
+        try (Connection conn2 = this.ds.getConnection()) {
+            assertTrue(conn2.getAutoCommit());
+        }
+        assertEquals(1, this.server.getConnectionCount());
+    }
+
+    @Test
+    public void testOpenServerPreparedStatementsClosedOnReturn() throws Exception {
+        this.ds.setUseServerPrepStmts(true);
+
+        Connection conn = this.ds.getConnection();
+        PreparedStatement ps = conn.prepareStatement("SELECT 1");
+        conn.close();
+
+        // COM_RESET_CONNECTION deallocated it on the server, so it must not be executed with a stale statement id
+        assertTrue(ps.isClosed());
+        try (Connection conn2 = this.ds.getConnection()) {
+            selectOne(conn2);
+        }
+        assertEquals(1, this.server.getConnectionCount());
+    }
+
+    @Test
+    public void testServerPreparedStatementCache() throws Exception {
+        this.ds.setUseServerPrepStmts(true);
+        this.ds.setCachePrepStmts(true);
+
+        // COM_RESET_CONNECTION deallocates the server-side statements, so the cached ones must be prepared again
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = this.ds.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT 1")) {
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                }
+            }
+        }
+        this.ds.close();
+
+        // without it, they stay cached across borrows
+        this.ds = new MysqlPoolingDataSource();
+        this.ds.setURL(this.server.getUrl());
+        this.ds.setUser("root");
+        this.ds.setPassword("");
+        this.ds.setUseServerPrepStmts(true);
+        this.ds.setCachePrepStmts(true);
+        this.ds.setPoolResetConnection(false);
+        long commands = 0;
+        for (int i = 0; i < 3; i++) {
+            if (i == 1) {
+                commands = this.server.getCommandCount();
+            }
+            try (Connection conn = this.ds.getConnection(); PreparedStatement ps = conn.prepareStatement("SELECT 1")) {
+                try (ResultSet rs = ps.executeQuery()) {
+                    assertTrue(rs.next());
+                }
+            }
+        }
+        assertEquals(2, this.server.getCommandCount() - commands, "The statement should only be executed, not prepared again.");
+        assertEquals(1, this.ds.getCreatedConnectionCount());
+    }
+
+    @Test
+    public void testValidation() throws Exception {
+        this.ds.setPoolValidationInterval(0);
+
+        try (Connection conn = this.ds.getConnection()) {
+            selectOne(conn);
+        }
+        this.server.dropConnections();
+        Thread.sleep(10);
+
+        try (Connection conn = this.ds.getConnection()) {
+            selectOne(conn);
+        }
+        assertEquals(1, this.ds.getValidationFailureCount());
+        assertEquals(2, this.ds.getCreatedConnectionCount());
+        assertEquals(1, this.ds.getClosedConnectionCount());
+    }
+
+    @Test
+    public void testIdleEvictionAndMinIdle() throws Exception {
+        this.ds.setPoolMaxSize(4);
+        this.ds.setPoolMinIdle(1);
+        this.ds.setPoolIdleTimeout(200);
+
+        Connection[] conns = new Connection[3];
+        for (int i = 0; i < conns.length; i++) {
+            conns[i] = this.ds.getConnection();
+        }
+        for (Connection conn : conns) {
+            conn.close();
+        }
+        assertTrue(this.ds.getIdleConnectionCount() >= 3);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (this.ds.getIdleConnectionCount() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, this.ds.getIdleConnectionCount());
+        assertEquals(1, this.ds.getTotalConnectionCount());
+    }
+
+    @Test
+    public void testMaxLifetime() throws Exception {
+        this.ds.setPoolMaxLifetime(100);
+
+        Connection conn = this.ds.getConnection();
+        JdbcConnection first = ((ConnectionWrapper) conn).getActiveMySQLConnection();
+        Thread.sleep(150);
+        conn.close();
+        assertEquals(0, this.ds.getTotalConnectionCount());
+
+        try (Connection conn2 = this.ds.getConnection()) {
+            assertNotSame(first, ((ConnectionWrapper) conn2).getActiveMySQLConnection());
+        }
+        assertTrue(first.isClosed());
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        Connection held = this.ds.getConnection();
+        this.ds.getConnection().close();
+        assertEquals(2, this.ds.getTotalConnectionCount());
+
+        this.ds.close();
+        assertEquals(1, this.ds.getTotalConnectionCount());
+        assertThrows(SQLException.class, () -> this.ds.getConnection());
+
+        JdbcConnection physical = ((ConnectionWrapper) held).getActiveMySQLConnection();
+        held.close();
+        assertTrue(physical.isClosed());
+        assertEquals(0, this.ds.getTotalConnectionCount());
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        this.ds.setPoolName("testJmx");
+        this.ds.setPoolEnableJMX(true);
+
+        MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.mysql.cj.jdbc.jmx:type=ConnectionPool,name=\"testJmx\"");
+        try (Connection conn = this.ds.getConnection()) {
+            assertEquals(1, mbs.getAttribute(name, "ActiveConnectionCount"));
+            assertEquals(1, mbs.getAttribute(name, "TotalConnectionCount"));
+            assertEquals(10, mbs.getAttribute(name, "MaxPoolSize"));
+        }
+        assertEquals(1, mbs.getAttribute(name, "IdleConnectionCount"));
+        mbs.invoke(name, "evictIdleConnections", null, null);
+        assertEquals(0, mbs.getAttribute(name, "TotalConnectionCount"));
+
+        this.ds.close();
+        assertTrue(!mbs.isRegistered(name));
+    }
+
+}
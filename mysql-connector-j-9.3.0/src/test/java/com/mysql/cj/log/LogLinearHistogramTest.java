@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for LogLinearHistogram.
+ */
+public class LogLinearHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        long previousHighest = -1;
+        for (int i = 0; i < LogLinearHistogram.BUCKET_COUNT; i++) {
+            long lowest = LogLinearHistogram.lowestValue(i);
+            long highest = LogLinearHistogram.highestValue(i);
+            assertEquals(previousHighest + 1, lowest, "bucket " + i);
+            assertEquals(i, LogLinearHistogram.bucketIndex(lowest));
+            assertEquals(i, LogLinearHistogram.bucketIndex(highest));
+            assertTrue(highest - lowest <= lowest / 16, "bucket " + i);
+            previousHighest = highest;
+        }
+        assertEquals(LogLinearHistogram.MAX_TRACKABLE_VALUE, previousHighest);
+        assertEquals(LogLinearHistogram.BUCKET_COUNT - 1, LogLinearHistogram.bucketIndex(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        LogLinearHistogram.Snapshot empty = histogram.getSnapshot();
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMin());
+        assertEquals(0, empty.getMax());
+        assertEquals(0, empty.getP99());
+
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1000);
+        }
+        LogLinearHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(1000, snapshot.getMin());
+        assertEquals(100_000_000, snapshot.getMax());
+        assertEquals(50_000_500, snapshot.getMean(), 0.001);
+        assertWithin(50_000_000, snapshot.getP50());
+        assertWithin(99_000_000, snapshot.getP99());
+        assertWithin(99_900_000, snapshot.getP999());
+        assertWithin(1000, snapshot.getValueAtPercentile(0));
+        assertEquals(100_000_000, snapshot.getValueAtPercentile(100));
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        snapshot = histogram.getSnapshot();
+        assertEquals(0, snapshot.getMin());
+        assertEquals(Long.MAX_VALUE, snapshot.getMax());
+        assertEquals(Long.MAX_VALUE, snapshot.getValueAtPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getSnapshot().getCount());
+        histogram.record(7);
+        snapshot = histogram.getSnapshot();
+        assertEquals(7, snapshot.getMin());
+        assertEquals(7, snapshot.getP50());
+        assertEquals(7, snapshot.getMax());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual <= expected + expected / 16, "expected about " + expected + " but was " + actual);
+    }
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        LogLinearHistogram histogram = new LogLinearHistogram(8);
+        int threads = 8;
+        int perThread = 200_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> recorders = new ArrayList<>();
+        long[] sums = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int n = t;
+            Thread recorder = new Thread(() -> {
+                Random random = new Random(n);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    long v = random.nextInt(1_000_000);
+                    histogram.record(v);
+                    sums[n] += v;
+                }
+            });
+            recorder.start();
+            recorders.add(recorder);
+        }
+        start.countDown();
+        for (Thread recorder : recorders) {
+            recorder.join();
+        }
+
+        long sum = 0;
+        for (long s : sums) {
+            sum += s;
+        }
+        LogLinearHistogram.Snapshot snapshot = histogram.getSnapshot();
+        assertEquals((long) threads * perThread, snapshot.getCount());
+        assertEquals(sum, snapshot.getSum());
+        assertWithin(500_000, snapshot.getP50() + 2_500);
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.QueryInfo;
+import com.mysql.cj.log.DigestStatistics.ExecutionType;
+import com.mysql.cj.protocol.a.StandInServer;
+
+/**
+ * Tests for statement digests and the StatementDigestRegistry.
+ */
+public class StatementDigestRegistryTest {
+
+    @Test
+    public void testDigestText() {
+        assertEquals("SELECT * FROM t WHERE id = ?", QueryInfo.getDigestText("SELECT * FROM t WHERE id = 42", false));
+        assertEquals("select a,b from t where name=? and z = -?",
+                QueryInfo.getDigestText("select  a,b /* 'x' */ from   t where name='O''Brien' -- trailing\n and z = -3.5e+10", false));
+        assertEquals("SELECT ?, ?, ?, ?, ?, 1abc, t1.c2 FROM `my tab` WHERE `a``b` = ?",
+                QueryInfo.getDigestText("SELECT x'0F', _utf8mb4'abc', N'x', 0x1F, b'01', 1abc, t1.c2 FROM `my tab` WHERE `a``b` = 'q\\'s'", false));
+        assertEquals("SELECT COUNT(*), f(?, a) FROM t LIMIT ?, ?", QueryInfo.getDigestText("SELECT COUNT(*), f(1, a) FROM t LIMIT 10, 20", false));
+        assertEquals("SELECT SQL_NO_CACHE ?", QueryInfo.getDigestText("SELECT /*+ BKA(t) */ /*!80000 SQL_NO_CACHE */ 1", false));
+        assertEquals("SELECT ?", QueryInfo.getDigestText("SELECT 'unterminated", false));
+        assertEquals("", QueryInfo.getDigestText("   ", false));
+
+        // Literal values and placeholders, in lists of any length, give the same digest.
+        String insert = "INSERT INTO t (a, b) VALUES (...)";
+        assertEquals(insert, QueryInfo.getDigestText("INSERT INTO t (a, b) VALUES (1, 'a')", false));
+        assertEquals(insert, QueryInfo.getDigestText("INSERT INTO t (a, b) VALUES (?, ?)", false));
+        assertEquals(insert, QueryInfo.getDigestText("INSERT INTO t (a, b) VALUES (1, 'a'), (2, 'b'),(3,'c')", false));
+        assertEquals("SELECT * FROM t WHERE id IN (...) AND k IN (...)", QueryInfo.getDigestText("SELECT * FROM t WHERE id IN (1, 2, 3) AND k IN (?)", false));
+
+        // Backslashes only escape with NO_BACKSLASH_ESCAPES unset.
+        assertEquals("SELECT ? FROM t", QueryInfo.getDigestText("SELECT 'a\\' FROM t", true));
+
+        StringBuilder longSql = new StringBuilder("SELECT 1");
+        while (longSql.length() < 5000) {
+            longSql.append(", 1");
+        }
+        assertTrue(QueryInfo.getDigestText(longSql.toString(), false).endsWith(" ..."));
+    }
+
+    @Test
+    public void testRegistry() {
+        DigestStatistics digest = StatementDigestRegistry.forSql("SELECT * FROM StatementDigestRegistryTest WHERE id = 1", false);
+        assertEquals("SELECT * FROM StatementDigestRegistryTest WHERE id = ?", digest.getDigestText());
+        assertSame(digest, StatementDigestRegistry.forSql("SELECT  *  FROM StatementDigestRegistryTest WHERE id = ? /* prepared */", false));
+        assertSame(digest, StatementDigestRegistry.forSql("SELECT * FROM StatementDigestRegistryTest WHERE id = 1", false));
+
+        // The same SQL gets its own digest for each NO_BACKSLASH_ESCAPES setting.
+        String escapedSql = "SELECT 'a\\' FROM StatementDigestRegistryTest";
+        assertEquals("SELECT ? FROM StatementDigestRegistryTest", StatementDigestRegistry.forSql(escapedSql, true).getDigestText());
+        assertEquals("SELECT ?", StatementDigestRegistry.forSql(escapedSql, false).getDigestText());
+        assertEquals("SELECT ? FROM StatementDigestRegistryTest", StatementDigestRegistry.forSql(escapedSql, true).getDigestText());
+
+        StatementDigestRegistry.record(digest, ExecutionType.SERVER_PREPARED, 1234, 10, 20, null);
+        digest.record(ExecutionType.CLIENT_PREPARED, 5678, 3, 0, 30, 40, false);
+        digest.record(ExecutionType.STATEMENT, 90, 0, 2, 50, 60, false);
+        assertEquals(3, digest.getExecutionCount());
+        assertEquals(1, digest.getErrorCount());
+        assertEquals(1, digest.getServerPreparedExecutionCount());
+        assertEquals(1, digest.getClientPreparedExecutionCount());
+        assertEquals(3, digest.getRowsReceived());
+        assertEquals(2, digest.getRowsAffected());
+        assertEquals(90, digest.getBytesSent());
+        assertEquals(120, digest.getBytesReceived());
+        assertEquals(5678, digest.getLatency().getMax());
+        assertTrue(StatementDigestRegistry.getDigests().contains(digest));
+
+        for (int i = StatementDigestRegistry.getDigestCount(); i < StatementDigestRegistry.MAX_DIGESTS; i++) {
+            StatementDigestRegistry.forSql("SELECT c" + i + " FROM StatementDigestRegistryTest", false);
+        }
+        DigestStatistics other = StatementDigestRegistry.forSql("SELECT 'one too many' FROM t", false);
+        assertEquals(StatementDigestRegistry.OTHER_DIGEST_TEXT, other.getDigestText());
+        assertNotSame(digest, other);
+        assertSame(digest, StatementDigestRegistry.forSql("SELECT * FROM StatementDigestRegistryTest WHERE id = 2", false));
+
+        StatementDigestRegistry.reset();
+        assertEquals(0, digest.getExecutionCount());
+        assertTrue(StatementDigestRegistry.getDigests().isEmpty());
+    }
+
+    @Test
+    public void testRecordedExecutions() throws Exception {
+        String sql = "SELECT id FROM StatementDigestRegistryTest WHERE id = 1";
+        DigestStatistics digest = StatementDigestRegistry.forSql(sql, false);
+        StringBuilder longSql = new StringBuilder("SELECT id FROM StatementDigestRegistryTest WHERE id IN (1");
+        while (longSql.length() < 100_000) {
+            longSql.append(", 1");
+        }
+        longSql.append(") AND name = 'x'");
+        DigestStatistics longDigest = StatementDigestRegistry.forSql(longSql.toString(), false);
+
+        try (StandInServer server = new StandInServer().start()) {
+            server.on("StatementDigestRegistryTest", StandInServer.resultSet("id").row(1L));
+            StatementDigestRegistry.reset();
+
+            try (Connection conn = DriverManager.getConnection(server.getUrl() + "&gatherStatementDigests=true", "root", "");
+                    Statement stmt = conn.createStatement()) {
+                // The queries the driver issues on its own while connecting are not recorded.
+                assertTrue(StatementDigestRegistry.getDigests().isEmpty());
+
+                stmt.executeQuery(sql).close();
+                assertEquals(1, digest.getExecutionCount());
+                assertEquals(1, digest.getRowsReceived());
+
+                // Only the beginning of a large statement is decoded, which is enough to give it the digest of the whole statement. Both digests may
+                // be the one of the other statements if testRegistry() filled the registry.
+                long longExecutions = longDigest.getExecutionCount();
+                stmt.executeQuery(longSql.toString()).close();
+                assertEquals(longExecutions + 1, longDigest.getExecutionCount());
+            }
+
+            try (Connection conn = DriverManager.getConnection(server.getUrl() + "&gatherStatementDigests=false&useServerPrepStmts=true", "root", "");
+                    Statement stmt = conn.createStatement();
+                    PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM StatementDigestRegistryTest WHERE id = ?")) {
+                long executions = digest.getExecutionCount();
+                stmt.executeQuery(sql).close();
+                pstmt.setInt(1, 2);
+                pstmt.executeQuery().close();
+                assertEquals(executions, digest.getExecutionCount());
+            }
+        }
+    }
+
+}
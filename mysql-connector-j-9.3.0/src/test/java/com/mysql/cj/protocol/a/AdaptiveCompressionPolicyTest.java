@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.protocol.CompressionCodec;
+import com.mysql.cj.protocol.a.CompressedPacketSenderTest.CompressedPackets;
+import com.mysql.cj.protocol.compression.ZlibCompressionCodec;
+
+public class AdaptiveCompressionPolicyTest {
+
+    private static final byte[] ROW = "('AVAILABLE', 'Station Lyon 42', '2025-03-14 15:09:26', 12.50),".getBytes();
+
+    private ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    private CompressionStatistics statistics = new CompressionStatistics();
+    private CompressionCodec codec = new ZlibCompressionCodec();
+    private AdaptiveCompressionPolicy policy = new AdaptiveCompressionPolicy(this.codec.createCompressor(1), 10, this.statistics);
+    private CompressedPacketSender sender = new CompressedPacketSender(new BufferedOutputStream(this.outputStream), this.codec.createCompressor(6), this.policy,
+            this.statistics);
+
+    private static byte[] longData(int statementId, int parameter, int len, Random random) {
+        byte[] packet = new byte[len];
+        random.nextBytes(packet);
+        packet[0] = NativeConstants.COM_STMT_SEND_LONG_DATA;
+        NativeUtils.encodeMysqlThreeByteInteger(statementId, packet, 1);
+        packet[4] = 0;
+        packet[5] = (byte) parameter;
+        packet[6] = 0;
+        return packet;
+    }
+
+    private static byte[] query(int len) {
+        byte[] packet = new byte[len];
+        byte[] prefix = "\u0003INSERT INTO t VALUES ".getBytes();
+        System.arraycopy(prefix, 0, packet, 0, prefix.length);
+        for (int i = prefix.length; i < len; i++) {
+            packet[i] = ROW[i % ROW.length];
+        }
+        return packet;
+    }
+
+    /**
+     * Sends a packet and checks it can be read back.
+     */
+    private void sendAndCheck(byte[] packet, byte sequence) throws IOException {
+        this.outputStream.reset();
+        this.sender.send(packet, packet.length, sequence);
+        CompressedPackets packets = new CompressedPackets(this.outputStream.toByteArray());
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        while (packets.nextPayload()) {
+            received.write(packets.payload, 0, packets.payload.length);
+        }
+        byte[] payload = received.toByteArray();
+        ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+        for (int offset = 0; offset < payload.length;) {
+            int len = NativeUtils.decodeMysqlThreeByteInteger(payload, offset);
+            reassembled.write(payload, offset + NativeConstants.HEADER_LENGTH, len);
+            offset += NativeConstants.HEADER_LENGTH + len;
+        }
+        assertArrayEquals(packet, reassembled.toByteArray());
+    }
+
+    @Test
+    public void testStreamKeys() {
+        Random random = new Random(1);
+        long key = AdaptiveCompressionPolicy.streamKey(longData(1, 0, 100, random), 100, (byte) 0);
+        assertEquals(key, AdaptiveCompressionPolicy.streamKey(longData(1, 0, 200, random), 200, (byte) 0));
+        assertNotEquals(key, AdaptiveCompressionPolicy.streamKey(longData(1, 1, 100, random), 100, (byte) 0));
+        assertNotEquals(key, AdaptiveCompressionPolicy.streamKey(longData(2, 0, 100, random), 100, (byte) 0));
+        // continuation data, whatever its content
+        assertEquals(AdaptiveCompressionPolicy.streamKey(query(100), 100, (byte) 1),
+                AdaptiveCompressionPolicy.streamKey(longData(1, 0, 100, random), 100, (byte) 2));
+        // text statements by their beginning
+        assertEquals(AdaptiveCompressionPolicy.streamKey(query(100), 100, (byte) 0), AdaptiveCompressionPolicy.streamKey(query(1000), 1000, (byte) 0));
+    }
+
+    @Test
+    public void testIncompressibleLargePacketsAreSkipped() throws IOException {
+        Random random = new Random(2);
+        for (int i = 0; i < 10; i++) {
+            sendAndCheck(longData(1, 0, 100000, random), (byte) 0);
+        }
+        // sampled, never compressed
+        assertEquals(0, this.statistics.getPacketsCompressed() + this.statistics.getPacketsNotCompressed());
+        assertEquals(10, this.statistics.getPacketsSkipped());
+        assertTrue(this.statistics.getBytesSampled() > 0);
+
+        // another stream isn't affected
+        sendAndCheck(query(100000), (byte) 0);
+        assertEquals(1, this.statistics.getPacketsCompressed());
+        assertTrue(this.statistics.getBytesSentSaved() > 90000);
+    }
+
+    @Test
+    public void testIncompressibleSmallPacketsAreProbed() throws IOException {
+        Random random = new Random(3);
+        for (int i = 0; i < 100; i++) {
+            sendAndCheck(longData(1, 2, 1000, random), (byte) 0);
+        }
+        // learned from the first packet, then probed once every 32 packets
+        assertEquals(0, this.statistics.getPacketsCompressed());
+        assertEquals(4, this.statistics.getPacketsNotCompressed());
+        assertEquals(96, this.statistics.getPacketsSkipped());
+        assertEquals(96 * (NativeConstants.HEADER_LENGTH + 1000), this.statistics.getBytesSkipped());
+    }
+
+    @Test
+    public void testStreamBecomingCompressible() throws IOException {
+        Random random = new Random(4);
+        for (int i = 0; i < 5; i++) {
+            sendAndCheck(longData(7, 0, 50000, random), (byte) 0);
+        }
+        assertEquals(5, this.statistics.getPacketsSkipped());
+
+        byte[] text = query(50000);
+        text[0] = NativeConstants.COM_STMT_SEND_LONG_DATA;
+        NativeUtils.encodeMysqlThreeByteInteger(7, text, 1);
+        text[4] = 0;
+        text[5] = 0;
+        text[6] = 0;
+        for (int i = 0; i < 40; i++) {
+            sendAndCheck(text, (byte) 0);
+        }
+        // compressed again after the first probe
+        assertTrue(this.statistics.getPacketsCompressed() >= 10, this.statistics.toString());
+    }
+
+    @Test
+    public void testPoorlyCompressiblePacketsUseFastLevel() throws IOException {
+        // about 15% savings: above the target, but less than twice the target
+        Random random = new Random(5);
+        byte[] packet = query(100000);
+        for (int i = 30; i < packet.length; i++) {
+            if (i % 64 < 50) {
+                packet[i] = (byte) random.nextInt();
+            }
+        }
+        AdaptiveCompressionPolicy fastPolicy = new AdaptiveCompressionPolicy(this.codec.createCompressor(1), 10, this.statistics);
+        assertEquals(AdaptiveCompressionPolicy.COMPRESS_FAST, fastPolicy.decide(packet, packet.length, (byte) 0));
+        assertEquals(AdaptiveCompressionPolicy.COMPRESS, fastPolicy.decide(query(100000), 100000, (byte) 0));
+
+        sendAndCheck(packet, (byte) 0);
+        assertEquals(1, this.statistics.getPacketsCompressed());
+    }
+
+    @Test
+    public void testSplitPackets() throws IOException {
+        Random random = new Random(6);
+        byte[] packet = longData(1, 0, NativeConstants.MAX_PACKET_SIZE + 1000, random);
+        sendAndCheck(packet, (byte) 0);
+        sendAndCheck(packet, (byte) 0);
+        assertEquals(0, this.statistics.getPacketsCompressed() + this.statistics.getPacketsNotCompressed());
+        // each skipped packet is split in two
+        assertEquals(4, this.statistics.getPacketsSkipped());
+    }
+
+}
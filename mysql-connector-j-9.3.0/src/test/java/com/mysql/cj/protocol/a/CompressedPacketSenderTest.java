@@ -20,6 +20,7 @@
 
 package com.mysql.cj.protocol.a;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -27,6 +28,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.zip.InflaterOutputStream;
 
 import org.junit.jupiter.api.AfterEach;
@@ -237,6 +240,46 @@ public class CompressedPacketSenderTest extends PacketSenderTestBase {
         assertEquals(0, NativeUtils.decodeMysqlThreeByteInteger(packets.payload, 8)); // payload len
     }
 
+    /**
+     * Test the situation where a single packet is split into two and both parts are sent uncompressed because the data doesn't compress. The header of the
+     * first MySQL packet must still hold the full length of the packet, not the part of it sent in the first compressed packet.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void incompressibleSplitPacketTest() throws IOException {
+        final int packetLen = NativeConstants.MAX_PACKET_SIZE + 20000;
+        byte[] packet = new byte[packetLen];
+        new Random(1).nextBytes(packet);
+
+        final byte packetSequence = 45;
+        this.sender.send(packet, packetLen, packetSequence);
+
+        // reassemble the MySQL packets carried by the compressed packets
+        CompressedPackets packets = new CompressedPackets(this.outputStream.toByteArray());
+        ByteArrayOutputStream mysqlPackets = new ByteArrayOutputStream();
+        while (packets.nextPayload()) {
+            assertEquals(0, packets.uncompressedPayloadLen); // uncompressed
+            mysqlPackets.write(packets.payload);
+        }
+        byte[] data = mysqlPackets.toByteArray();
+
+        // first packet
+        assertEquals(NativeConstants.MAX_PACKET_SIZE, NativeUtils.decodeMysqlThreeByteInteger(data, 0));
+        assertEquals(packetSequence, data[3]);
+        int secondPacketOffset = NativeConstants.HEADER_LENGTH + NativeConstants.MAX_PACKET_SIZE;
+
+        // second packet
+        assertEquals(packetLen - NativeConstants.MAX_PACKET_SIZE, NativeUtils.decodeMysqlThreeByteInteger(data, secondPacketOffset));
+        assertEquals(packetSequence + 1, data[secondPacketOffset + 3]);
+        assertEquals(packetLen + 2 * NativeConstants.HEADER_LENGTH, data.length);
+
+        assertArrayEquals(Arrays.copyOfRange(packet, 0, NativeConstants.MAX_PACKET_SIZE),
+                Arrays.copyOfRange(data, NativeConstants.HEADER_LENGTH, secondPacketOffset));
+        assertArrayEquals(Arrays.copyOfRange(packet, NativeConstants.MAX_PACKET_SIZE, packetLen),
+                Arrays.copyOfRange(data, secondPacketOffset + NativeConstants.HEADER_LENGTH, data.length));
+    }
+
     @Test
     public void smallPacketsArentCompressed() throws IOException {
         final int packetLen = CompressedPacketSender.MIN_COMPRESS_LEN - 1; // needs to be big enough to compress
@@ -21,6 +21,9 @@
 package com.mysql.cj.protocol.a;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
@@ -29,9 +32,13 @@ import java.nio.ByteOrder;
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.Constants;
+import com.mysql.cj.MysqlType;
 import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.exceptions.DataReadException;
+import com.mysql.cj.result.Field;
 import com.mysql.cj.result.StringValueFactory;
 import com.mysql.cj.result.ValueFactory;
+import com.mysql.cj.util.LazyString;
 
 /**
  * Tests for {@link MysqlBinaryValueDecoder}.
@@ -97,4 +104,49 @@ public class MysqlBinaryValueDecoderTest {
         assertEquals("18446744073709551615", decoded);
     }
 
+    @Test
+    public void testDecodeAsPrimitives() {
+        ValueFactory<String> vf = new StringValueFactory(new DefaultPropertySet());
+
+        Field tiny = newField(MysqlType.FIELD_TYPE_TINY, MysqlType.TINYINT);
+        Field utiny = newField(MysqlType.FIELD_TYPE_TINY, MysqlType.TINYINT_UNSIGNED);
+        assertTrue(this.valueDecoder.canDecodeAsLong(tiny));
+        assertEquals(-1L, this.valueDecoder.decodeAsLong(new byte[] { (byte) 0xff }, 0, 1, tiny));
+        assertEquals(255L, this.valueDecoder.decodeAsLong(new byte[] { (byte) 0xff }, 0, 1, utiny));
+
+        Field ushort = newField(MysqlType.FIELD_TYPE_SHORT, MysqlType.SMALLINT_UNSIGNED);
+        assertEquals(65535L, this.valueDecoder.decodeAsLong(new byte[] { (byte) 0xff, (byte) 0xff }, 0, 2, ushort));
+
+        byte[] intOffset1 = new byte[] { 0x7F, 0x12, 0x34, 0x56, 0x78 };
+        Field int4 = newField(MysqlType.FIELD_TYPE_LONG, MysqlType.INT);
+        assertEquals(Long.parseLong(this.valueDecoder.decodeInt4(intOffset1, 1, 4, vf)), this.valueDecoder.decodeAsLong(intOffset1, 1, 4, int4));
+        assertEquals(2018915346d, this.valueDecoder.decodeAsDouble(intOffset1, 1, 4, int4));
+
+        byte[] unsignedInt4Max = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(-1).array();
+        assertEquals(4294967295L, this.valueDecoder.decodeAsLong(unsignedInt4Max, 0, 4, newField(MysqlType.FIELD_TYPE_LONG, MysqlType.INT_UNSIGNED)));
+        assertEquals(-1L, this.valueDecoder.decodeAsLong(unsignedInt4Max, 0, 4, int4));
+
+        byte[] signedInt8Min = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putLong(Long.MIN_VALUE).array();
+        Field int8 = newField(MysqlType.FIELD_TYPE_LONGLONG, MysqlType.BIGINT);
+        assertEquals(Long.MIN_VALUE, this.valueDecoder.decodeAsLong(signedInt8Min, 0, 8, int8));
+        assertFalse(this.valueDecoder.canDecodeAsLong(newField(MysqlType.FIELD_TYPE_LONGLONG, MysqlType.BIGINT_UNSIGNED)));
+
+        Field dbl = newField(MysqlType.FIELD_TYPE_DOUBLE, MysqlType.DOUBLE);
+        assertFalse(this.valueDecoder.canDecodeAsLong(dbl));
+        assertTrue(this.valueDecoder.canDecodeAsDouble(dbl));
+        byte[] pi = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putDouble(Math.PI).array();
+        assertEquals(Math.PI, this.valueDecoder.decodeAsDouble(pi, 0, 8, dbl));
+        byte[] flt = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putFloat(1.5f).array();
+        assertEquals(1.5d, this.valueDecoder.decodeAsDouble(flt, 0, 4, newField(MysqlType.FIELD_TYPE_FLOAT, MysqlType.FLOAT)));
+
+        assertThrows(DataReadException.class, () -> this.valueDecoder.decodeAsLong(pi, 0, 3, int4));
+        assertFalse(this.valueDecoder.canDecodeAsDouble(newField(MysqlType.FIELD_TYPE_NEWDECIMAL, MysqlType.DECIMAL)));
+    }
+
+    private static Field newField(int mysqlTypeId, MysqlType mysqlType) {
+        LazyString empty = new LazyString((String) null);
+        return new Field(empty, empty, empty, empty, empty, 20, mysqlTypeId, (short) (MysqlType.isSigned(mysqlType) ? 0 : MysqlType.FIELD_FLAG_UNSIGNED), 0, 63,
+                "ASCII", mysqlType);
+    }
+
 }
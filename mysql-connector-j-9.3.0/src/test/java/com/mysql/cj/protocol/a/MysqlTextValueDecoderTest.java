@@ -28,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 import com.mysql.cj.Constants;
+import com.mysql.cj.MysqlType;
 import com.mysql.cj.conf.DefaultPropertySet;
 import com.mysql.cj.exceptions.NumberOutOfRange;
 import com.mysql.cj.protocol.InternalTime;
@@ -36,6 +37,7 @@ import com.mysql.cj.result.DefaultValueFactory;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.StringValueFactory;
 import com.mysql.cj.result.ValueFactory;
+import com.mysql.cj.util.LazyString;
 
 /**
  * Tests for {@link MysqlTextValueDecoder}.
@@ -187,4 +189,44 @@ public class MysqlTextValueDecoderTest {
         assertFalse(MysqlTextValueDecoder.isTimestamp("2004-01-01 10:00:00+01:00"));
     }
 
+    @Test
+    public void testDecodeAsPrimitives() {
+        Field tiny = newField(MysqlType.FIELD_TYPE_TINY, MysqlType.TINYINT);
+        assertTrue(this.valueDecoder.canDecodeAsLong(tiny));
+        assertTrue(this.valueDecoder.canDecodeAsDouble(tiny));
+        assertEquals(-128L, this.valueDecoder.decodeAsLong("-128".getBytes(), 0, 4, tiny));
+        assertEquals(255L, this.valueDecoder.decodeAsLong("255".getBytes(), 0, 3, newField(MysqlType.FIELD_TYPE_TINY, MysqlType.TINYINT_UNSIGNED)));
+
+        // values are parsed in place, from a slice of a larger buffer
+        byte[] row = "\u000512345\u0003-42".getBytes();
+        Field int24 = newField(MysqlType.FIELD_TYPE_INT24, MysqlType.MEDIUMINT);
+        assertEquals(12345L, this.valueDecoder.decodeAsLong(row, 1, 5, int24));
+        assertEquals(-42L, this.valueDecoder.decodeAsLong(row, 7, 3, int24));
+        assertEquals(-42d, this.valueDecoder.decodeAsDouble(row, 7, 3, int24));
+
+        Field uint4 = newField(MysqlType.FIELD_TYPE_LONG, MysqlType.INT_UNSIGNED);
+        assertEquals(4294967295L, this.valueDecoder.decodeAsLong("4294967295".getBytes(), 0, 10, uint4));
+
+        Field int8 = newField(MysqlType.FIELD_TYPE_LONGLONG, MysqlType.BIGINT);
+        byte[] minLong = String.valueOf(Long.MIN_VALUE).getBytes();
+        assertEquals(Long.MIN_VALUE, this.valueDecoder.decodeAsLong(minLong, 0, minLong.length, int8));
+        byte[] maxLongPlusOne = "9223372036854775808".getBytes();
+        assertThrows(NumberOutOfRange.class, () -> this.valueDecoder.decodeAsLong(maxLongPlusOne, 0, maxLongPlusOne.length, int8));
+        assertThrows(NumberFormatException.class, () -> this.valueDecoder.decodeAsLong("-".getBytes(), 0, 1, int8));
+
+        // unsigned BIGINT, DECIMAL and floating point values are left to the value factories
+        assertFalse(this.valueDecoder.canDecodeAsLong(newField(MysqlType.FIELD_TYPE_LONGLONG, MysqlType.BIGINT_UNSIGNED)));
+        assertFalse(this.valueDecoder.canDecodeAsLong(newField(MysqlType.FIELD_TYPE_NEWDECIMAL, MysqlType.DECIMAL)));
+        Field dbl = newField(MysqlType.FIELD_TYPE_DOUBLE, MysqlType.DOUBLE);
+        assertFalse(this.valueDecoder.canDecodeAsLong(dbl));
+        assertFalse(this.valueDecoder.canDecodeAsDouble(dbl));
+        assertFalse(this.valueDecoder.canDecodeAsDouble(newField(MysqlType.FIELD_TYPE_FLOAT, MysqlType.FLOAT)));
+    }
+
+    private static Field newField(int mysqlTypeId, MysqlType mysqlType) {
+        LazyString empty = new LazyString((String) null);
+        return new Field(empty, empty, empty, empty, empty, 20, mysqlTypeId, (short) (MysqlType.isSigned(mysqlType) ? 0 : MysqlType.FIELD_FLAG_UNSIGNED), 0, 63,
+                "ASCII", mysqlType);
+    }
+
 }
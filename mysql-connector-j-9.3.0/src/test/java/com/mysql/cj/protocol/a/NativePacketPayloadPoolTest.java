@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.RuntimeProperty;
+import com.mysql.cj.jdbc.JdbcConnection;
+
+/**
+ * Tests for {@link NativePacketPayloadPool}.
+ */
+public class NativePacketPayloadPoolTest {
+
+    private static RuntimeProperty<Integer> poolSize(int size) {
+        RuntimeProperty<Integer> prop = new DefaultPropertySet().getMemorySizeProperty(PropertyKey.packetBufferPoolSize);
+        prop.setValue(size);
+        return prop;
+    }
+
+    @Test
+    public void testSizeClasses() {
+        NativePacketPayloadPool pool = new NativePacketPayloadPool(poolSize(1 << 24));
+
+        NativePacketPayload p = pool.acquire(10);
+        assertEquals(256, p.getCapacity());
+        assertEquals(10, p.getPayloadLength());
+        assertEquals(0, p.getPosition());
+
+        assertEquals(256, pool.acquire(256).getCapacity());
+        assertEquals(512, pool.acquire(257).getCapacity());
+        assertEquals(1 << 20, pool.acquire(1 << 20).getCapacity());
+
+        // above the largest class: exact size, never pooled
+        NativePacketPayload big = pool.acquire((1 << 20) + 1);
+        assertEquals((1 << 20) + 1, big.getCapacity());
+        big.release();
+        assertEquals(0, pool.getRetainedSize());
+    }
+
+    @Test
+    public void testReuse() {
+        NativePacketPayloadPool pool = new NativePacketPayloadPool(poolSize(1 << 20));
+
+        NativePacketPayload p1 = pool.acquire(300);
+        p1.setPosition(100);
+        p1.release();
+        assertEquals(512, pool.getRetainedSize());
+
+        NativePacketPayload p2 = pool.acquire(400);
+        assertSame(p1, p2);
+        assertEquals(0, p2.getPosition());
+        assertEquals(400, p2.getPayloadLength());
+        assertEquals(0, pool.getRetainedSize());
+
+        // a different size class doesn't reuse it
+        p2.release();
+        assertNotSame(p2, pool.acquire(100));
+        assertEquals(3, pool.getAcquiredCount());
+        assertEquals(1, pool.getReusedCount());
+
+        // releasing twice, or releasing a payload that isn't pooled, has no effect
+        p2 = pool.acquire(400);
+        p2.release();
+        p2.release();
+        assertEquals(512, pool.getRetainedSize());
+        new NativePacketPayload(1024).release();
+        assertEquals(512, pool.getRetainedSize());
+
+        // a grown payload is filed under the largest class it can serve
+        NativePacketPayload grown = pool.acquire(200);
+        grown.setPosition(200);
+        grown.ensureCapacity(1000);
+        grown.release();
+        assertTrue(pool.acquire(1024).getCapacity() >= 1024);
+    }
+
+    @Test
+    public void testRetainedSizeLimit() {
+        RuntimeProperty<Integer> limit = poolSize(1024);
+        NativePacketPayloadPool pool = new NativePacketPayloadPool(limit);
+
+        NativePacketPayload[] payloads = new NativePacketPayload[6];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = pool.acquire(256);
+        }
+        for (NativePacketPayload p : payloads) {
+            p.release();
+        }
+        assertEquals(1024, pool.getRetainedSize());
+
+        pool.clear();
+        assertEquals(0, pool.getRetainedSize());
+
+        limit.setValue(0);
+        NativePacketPayload p = pool.acquire(100);
+        assertEquals(100, p.getCapacity());
+        p.release();
+        assertEquals(0, pool.getRetainedSize());
+    }
+
+    @Test
+    public void testResultSetRows() throws Exception {
+        try (StandInServer server = new StandInServer().start()) {
+            StandInServer.Response rows = StandInServer.resultSet("id", "name");
+            for (int i = 0; i < 100; i++) {
+                rows.row(i, "name " + i);
+            }
+            server.on("^SELECT id, name FROM t", rows);
+
+            // Small rows are copied out of their packets, large ones keep them until the result set is closed.
+            for (String largeRowSizeThreshold : new String[] { "2048", "0" }) {
+                Properties props = new Properties();
+                props.setProperty("user", "root");
+                props.setProperty("password", "");
+                props.setProperty("largeRowSizeThreshold", largeRowSizeThreshold);
+                try (Connection conn = DriverManager.getConnection(server.getUrl(), props)) {
+                    NativePacketPayloadPool pool = ((NativeSession) conn.unwrap(JdbcConnection.class).getSession()).getProtocol().getPayloadPool();
+
+                    try (Statement stmt1 = conn.createStatement(); Statement stmt2 = conn.createStatement()) {
+                        ResultSet rs1 = stmt1.executeQuery("SELECT id, name FROM t");
+                        ResultSet rs2 = stmt2.executeQuery("SELECT id, name FROM t");
+                        for (int i = 0; i < 100; i++) {
+                            assertTrue(rs1.next());
+                            assertTrue(rs2.next());
+                            assertEquals(i, rs1.getInt(1));
+                            assertEquals("name " + i, rs1.getString(2));
+                            assertEquals("name " + i, rs2.getString(2));
+                        }
+                        rs1.close();
+                        rs2.close();
+
+                        long reused = pool.getReusedCount();
+                        try (ResultSet rs = stmt1.executeQuery("SELECT id, name FROM t")) {
+                            int i = 0;
+                            while (rs.next()) {
+                                assertEquals("name " + i++, rs.getString(2));
+                            }
+                            assertEquals(100, i);
+                        }
+                        assertTrue(pool.getReusedCount() - reused >= 100);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testStreamOutlivesResultSet() throws Exception {
+        try (StandInServer server = new StandInServer().start()) {
+            StandInServer.Response rows = StandInServer.resultSet("id", "name");
+            StandInServer.Response otherRows = StandInServer.resultSet("id", "name");
+            for (int i = 0; i < 10; i++) {
+                rows.row(i, "name " + i);
+                otherRows.row(i, "XXXX " + i);
+            }
+            server.on("^SELECT id, name FROM t", rows);
+            server.on("^SELECT id, name FROM u", otherRows);
+
+            Properties props = new Properties();
+            props.setProperty("user", "root");
+            props.setProperty("password", "");
+            // rows keep their pooled packets until the result set is closed
+            props.setProperty("largeRowSizeThreshold", "0");
+            try (Connection conn = DriverManager.getConnection(server.getUrl(), props); Statement stmt = conn.createStatement()) {
+                NativePacketPayloadPool pool = ((NativeSession) conn.unwrap(JdbcConnection.class).getSession()).getProtocol().getPayloadPool();
+
+                InputStream[] streams = new InputStream[10];
+                try (ResultSet rs = stmt.executeQuery("SELECT id, name FROM t")) {
+                    for (int i = 0; i < 10; i++) {
+                        assertTrue(rs.next());
+                        streams[i] = rs.getBinaryStream(2);
+                    }
+                }
+
+                long reused = pool.getReusedCount();
+                try (ResultSet rs = stmt.executeQuery("SELECT id, name FROM u")) {
+                    while (rs.next()) {
+                        assertTrue(rs.getString(2).startsWith("XXXX "));
+                    }
+                }
+                assertTrue(pool.getReusedCount() - reused >= 10);
+
+                // the packets backing the first result set were reused, but not the streams' contents
+                for (int i = 0; i < 10; i++) {
+                    byte[] buf = new byte[64];
+                    int len = streams[i].read(buf);
+                    assertEquals("name " + i, new String(buf, 0, len, StandardCharsets.US_ASCII));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.SocketTimeoutException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.NativeSession;
+import com.mysql.cj.exceptions.WrongArgumentException;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.protocol.SocketConnection;
+import com.mysql.cj.protocol.StandardSocketFactory;
+
+/**
+ * Tests for the socket channel based {@link NioSocketConnection} and {@link NioSocketSelector}, using the stand-in server.
+ */
+public class NioSocketConnectionTest {
+
+    private static Connection connect(StandInServer server, String... keyValuePairs) throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", "root");
+        props.setProperty("password", "");
+        props.setProperty("useNioSocketChannel", "true");
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            props.setProperty(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+        return DriverManager.getConnection(server.getUrl(), props);
+    }
+
+    private static SocketConnection getSocketConnection(Connection conn) throws SQLException {
+        return ((NativeSession) conn.unwrap(JdbcConnection.class).getSession()).getProtocol().getSocketConnection();
+    }
+
+    @Test
+    public void testQueries() throws Exception {
+        try (StandInServer server = new StandInServer().start()) {
+            // Large enough to span many reads from the channel.
+            StandInServer.Response rows = StandInServer.resultSet("id", "name");
+            StringBuilder padding = new StringBuilder();
+            for (int i = 0; i < 100; i++) {
+                padding.append('x');
+            }
+            for (int i = 0; i < 5000; i++) {
+                rows.row(i, "row" + i + padding);
+            }
+            server.on("^SELECT id, name FROM t", rows);
+            server.on("^UPDATE t", StandInServer.ok(3, 0));
+
+            // With a socket timeout, reads go through the socket streams instead of the channel.
+            for (String[] props : new String[][] { { "useServerPrepStmts", "false" }, { "useServerPrepStmts", "true" }, { "socketTimeout", "10000" } }) {
+                try (Connection conn = connect(server, props)) {
+                    assertTrue(getSocketConnection(conn) instanceof NioSocketConnection);
+
+                    try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("SELECT id, name FROM t")) {
+                        int count = 0;
+                        while (rs.next()) {
+                            assertEquals(count, rs.getInt(1));
+                            assertEquals("row" + count + padding, rs.getString(2));
+                            count++;
+                        }
+                        assertEquals(5000, count);
+                    }
+
+                    try (PreparedStatement ps = conn.prepareStatement("UPDATE t SET name = ? WHERE id > ?")) {
+                        ps.setString(1, padding.toString());
+                        ps.setInt(2, 10);
+                        assertEquals(3, ps.executeUpdate());
+                    }
+                    assertTrue(conn.isValid(5));
+                }
+            }
+        }
+    }
+
+    public static class CustomSocketFactory extends StandardSocketFactory {
+    }
+
+    @Test
+    public void testCustomSocketFactory() throws Exception {
+        try (StandInServer server = new StandInServer().start()) {
+            try (Connection conn = connect(server, "socketFactory", CustomSocketFactory.class.getName())) {
+                assertTrue(getSocketConnection(conn) instanceof NativeSocketConnection);
+            }
+        }
+    }
+
+    @Test
+    public void testSocketTimeout() throws Exception {
+        try (StandInServer server = new StandInServer().start()) {
+            server.on("^SELECT SLEEP", StandInServer.resultSet("s").row(0).withLatency(5, TimeUnit.SECONDS));
+
+            try (Connection conn = connect(server, "socketTimeout", "500")) {
+                long start = System.nanoTime();
+                SQLException e = assertThrows(SQLException.class, () -> conn.createStatement().executeQuery("SELECT SLEEP(5)"));
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                assertTrue(elapsedMillis >= 500 && elapsedMillis < 4000, "elapsed " + elapsedMillis);
+
+                Throwable cause = e;
+                while (cause != null && !(cause instanceof SocketTimeoutException)) {
+                    cause = cause.getCause();
+                }
+                assertTrue(cause instanceof SocketTimeoutException);
+                assertTrue(conn.isClosed());
+            }
+        }
+    }
+
+    @Test
+    public void testSelector() throws Exception {
+        try (StandInServer server = new StandInServer().start();
+                NioSocketSelector selector = new NioSocketSelector();
+                Connection conn1 = connect(server);
+                Connection conn2 = connect(server);
+                Connection blockingConn = connect(server, "useNioSocketChannel", "false")) {
+            SocketConnection sc1 = getSocketConnection(conn1);
+            SocketConnection sc2 = getSocketConnection(conn2);
+
+            assertThrows(WrongArgumentException.class, () -> selector.register(getSocketConnection(blockingConn)));
+
+            selector.register(sc1);
+            selector.register(sc2);
+            assertTrue(selector.select(100).isEmpty());
+            assertEquals(2, selector.getRegisteredCount());
+
+            // Connections in use must be unregistered first. Until the next selection the channel is still registered, and non-blocking.
+            selector.unregister(sc2);
+            try (Statement stmt = conn2.createStatement(); ResultSet rs = stmt.executeQuery("SELECT @@version")) {
+                assertTrue(rs.next());
+            }
+            assertTrue(selector.select(100).isEmpty());
+            assertEquals(1, selector.getRegisteredCount());
+            try (Statement stmt = conn2.createStatement(); ResultSet rs = stmt.executeQuery("SELECT @@version")) {
+                assertTrue(rs.next());
+            }
+            assertTrue(((NioSocketConnection) sc2).getChannel().isBlocking());
+            selector.register(sc2);
+            assertTrue(selector.select(100).isEmpty());
+
+            server.dropConnections();
+
+            Set<SocketConnection> ready = new HashSet<>();
+            long deadline = System.currentTimeMillis() + 5000;
+            while (ready.size() < 2 && System.currentTimeMillis() < deadline) {
+                ready.addAll(selector.select(500));
+            }
+            assertTrue(ready.contains(sc1));
+            assertTrue(ready.contains(sc2));
+            assertFalse(conn1.isClosed()); // the driver only notices when it uses the connection
+        }
+    }
+
+}
@@ -0,0 +1,1054 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+
+/**
+ * An in-process stand-in for a MySQL server, speaking just enough of the classic protocol for the driver to connect, authenticate with
+ * mysql_native_password and run statements whose results are scripted beforehand.
+ * <p>
+ * Statements, either sent as COM_QUERY or prepared and then executed with COM_STMT_EXECUTE, are matched against the scripted responses in registration
+ * order. A response can be an OK packet, an error or a result set, and is sent back after the configured latency and, optionally, at a limited bandwidth.
+ * The queries the driver issues on its own while connecting are answered by built-in scripts, so a plain connection string is enough to get a working
+ * connection:
+ *
+ * <pre>
+ * try (StandInServer server = new StandInServer().start()) {
+ *     server.on("SELECT id FROM t", StandInServer.resultSet("id").row(1L).row(2L));
+ *     try (Connection conn = DriverManager.getConnection(server.getUrl(), "root", "")) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ *
+ * This allows measuring driver-side overhead, or exercising the high-availability and batching code, deterministically and without a database.
+ */
+public class StandInServer implements AutoCloseable {
+
+    public static final String SERVER_VERSION = "8.4.0-standin";
+
+    private static final String AUTH_PLUGIN = "mysql_native_password";
+    private static final int COLLATION_UTF8MB4 = 255; // utf8mb4_0900_ai_ci
+    private static final int COLLATION_BINARY = 63;
+    private static final int SERVER_CAPABILITIES = NativeServerSession.CLIENT_LONG_PASSWORD | NativeServerSession.CLIENT_FOUND_ROWS
+            | NativeServerSession.CLIENT_LONG_FLAG | NativeServerSession.CLIENT_CONNECT_WITH_DB | NativeServerSession.CLIENT_PROTOCOL_41
+            | NativeServerSession.CLIENT_TRANSACTIONS | NativeServerSession.CLIENT_SECURE_CONNECTION | NativeServerSession.CLIENT_MULTI_STATEMENTS
+            | NativeServerSession.CLIENT_MULTI_RESULTS | NativeServerSession.CLIENT_PS_MULTI_RESULTS | NativeServerSession.CLIENT_PLUGIN_AUTH
+            | NativeServerSession.CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA | NativeServerSession.CLIENT_DEPRECATE_EOF;
+
+    private static final Pattern SELECT_VARIABLE = Pattern.compile("@@(?:(?:session|global|local)\\.)?(\\w+)(?:\\s+AS\\s+(\\w+))?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SET_AUTOCOMMIT = Pattern.compile("^\\s*SET\\s+(?:SESSION\\s+)?autocommit\\s*=\\s*(\\d)", Pattern.CASE_INSENSITIVE);
+
+    private final Map<String, byte[]> users = new ConcurrentHashMap<>();
+    private final Map<String, String> variables = new ConcurrentHashMap<>();
+    private final List<Script> scripts = new CopyOnWriteArrayList<>();
+    private final List<Script> builtInScripts = new ArrayList<>();
+    private final Set<Socket> clients = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private volatile long latencyNanos = 0;
+    private volatile long bytesPerSecond = 0;
+
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final AtomicLong commandCount = new AtomicLong();
+    private final AtomicLong connectionCount = new AtomicLong();
+    private final AtomicInteger concurrentCommands = new AtomicInteger();
+    private final AtomicInteger maxConcurrentCommands = new AtomicInteger();
+
+    private ThreadFactory threadFactory = r -> {
+        Thread t = new Thread(r);
+        t.setDaemon(true);
+        return t;
+    };
+
+    private ServerSocket serverSocket;
+    private Thread acceptor;
+
+    /**
+     * Creates a stand-in server accepting the user "root" with an empty password.
+     */
+    public StandInServer() {
+        addUser("root", "");
+
+        this.variables.put("auto_increment_increment", "1");
+        this.variables.put("character_set_client", "utf8mb4");
+        this.variables.put("character_set_connection", "utf8mb4");
+        this.variables.put("character_set_results", "utf8mb4");
+        this.variables.put("character_set_server", "utf8mb4");
+        this.variables.put("collation_server", "utf8mb4_0900_ai_ci");
+        this.variables.put("collation_connection", "utf8mb4_0900_ai_ci");
+        this.variables.put("init_connect", "");
+        this.variables.put("interactive_timeout", "28800");
+        this.variables.put("license", "GPL");
+        this.variables.put("lower_case_table_names", "0");
+        this.variables.put("max_allowed_packet", "67108864");
+        this.variables.put("net_write_timeout", "60");
+        this.variables.put("performance_schema", "0");
+        this.variables.put("sql_mode", "ONLY_FULL_GROUP_BY,STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION");
+        this.variables.put("system_time_zone", "UTC");
+        this.variables.put("time_zone", "SYSTEM");
+        this.variables.put("transaction_isolation", "REPEATABLE-READ");
+        this.variables.put("transaction_read_only", "0");
+        this.variables.put("wait_timeout", "28800");
+        this.variables.put("version", SERVER_VERSION);
+        this.variables.put("version_comment", "MySQL Connector/J stand-in server");
+
+        this.builtInScripts.add(new Script(sql -> startsWithKeyword(sql, "SELECT") && SELECT_VARIABLE.matcher(sql).find(), null));
+        this.builtInScripts.add(new Script(sql -> startsWithKeyword(sql, "SET"), ok(0, 0)));
+        this.builtInScripts.add(new Script(sql -> startsWithKeyword(sql, "COMMIT") || startsWithKeyword(sql, "ROLLBACK"), ok(0, 0)));
+        this.builtInScripts.add(new Script(sql -> startsWithKeyword(sql, "SHOW WARNINGS"), resultSet("Level", "Code", "Message")));
+    }
+
+    /**
+     * Adds, or replaces, an account allowed to log in.
+     *
+     * @param user
+     *            user name
+     * @param password
+     *            password in clear text
+     * @return this server
+     */
+    public StandInServer addUser(String user, String password) {
+        this.users.put(user, password.isEmpty() ? new byte[0] : sha1(sha1(password.getBytes(StandardCharsets.UTF_8))));
+        return this;
+    }
+
+    /**
+     * Sets the value returned for a server variable when the client selects it with "SELECT @@variable".
+     *
+     * @param name
+     *            variable name, without the "@@" prefix
+     * @param value
+     *            variable value
+     * @return this server
+     */
+    public StandInServer setVariable(String name, String value) {
+        this.variables.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets the time the server waits before answering each command, unless the matching response sets its own latency.
+     *
+     * @param latency
+     *            latency
+     * @param unit
+     *            time unit of the latency
+     * @return this server
+     */
+    public StandInServer setLatency(long latency, TimeUnit unit) {
+        this.latencyNanos = unit.toNanos(latency);
+        return this;
+    }
+
+    /**
+     * Limits the rate at which data is sent to each client.
+     *
+     * @param bytesPerSecond
+     *            maximum number of bytes per second sent on each connection, 0 for no limit
+     * @return this server
+     */
+    public StandInServer setBandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    /**
+     * Sets the factory of the threads serving client connections, one per connection. Daemon platform threads are used by default.
+     *
+     * @param threadFactory
+     *            {@link ThreadFactory}
+     * @return this server
+     */
+    public StandInServer setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+        return this;
+    }
+
+    /**
+     * Scripts the response to the statements matching the given regular expression. Matching is case insensitive and looks for the pattern anywhere in the
+     * statement text.
+     *
+     * @param sqlRegex
+     *            regular expression the statement text must contain
+     * @param response
+     *            response to send back, not to be modified afterwards
+     * @return this server
+     */
+    public StandInServer on(String sqlRegex, Response response) {
+        Pattern p = Pattern.compile(sqlRegex, Pattern.CASE_INSENSITIVE);
+        return on(sql -> p.matcher(sql).find(), response);
+    }
+
+    /**
+     * Scripts the response to the statements accepted by the given predicate. Scripts are tried in registration order.
+     *
+     * @param sqlMatcher
+     *            predicate receiving the statement text
+     * @param response
+     *            response to send back, not to be modified afterwards
+     * @return this server
+     */
+    public StandInServer on(Predicate<String> sqlMatcher, Response response) {
+        this.scripts.add(new Script(sqlMatcher, response));
+        return this;
+    }
+
+    /**
+     * Removes all the scripted responses.
+     *
+     * @return this server
+     */
+    public StandInServer clearScripts() {
+        this.scripts.clear();
+        return this;
+    }
+
+    /**
+     * Starts listening on an ephemeral port of the loopback interface.
+     *
+     * @return this server
+     * @throws IOException
+     *             if the server socket can't be opened
+     */
+    public StandInServer start() throws IOException {
+        this.serverSocket = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+        this.acceptor = new Thread(this::acceptConnections, "StandInServer-" + this.serverSocket.getLocalPort());
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+        return this;
+    }
+
+    public String getHost() {
+        return this.serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public int getPort() {
+        return this.serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns a connection string pointing to this server, disabling SSL, which the stand-in doesn't support.
+     *
+     * @return connection string
+     */
+    public String getUrl() {
+        return "jdbc:mysql://" + getHost() + ":" + getPort() + "/test?sslMode=DISABLED";
+    }
+
+    /**
+     * Number of connections accepted since the server started.
+     *
+     * @return number of connections
+     */
+    public long getConnectionCount() {
+        return this.connectionCount.get();
+    }
+
+    /**
+     * Number of commands received since the server started, excluding the connection handshake.
+     *
+     * @return number of commands
+     */
+    public long getCommandCount() {
+        return this.commandCount.get();
+    }
+
+    /**
+     * Highest number of commands being processed at the same time, including the time spent waiting for the configured latency, since the server started or
+     * since the last call to {@link #resetMaxConcurrentCommands()}.
+     *
+     * @return maximum number of concurrent commands
+     */
+    public int getMaxConcurrentCommands() {
+        return this.maxConcurrentCommands.get();
+    }
+
+    public void resetMaxConcurrentCommands() {
+        this.maxConcurrentCommands.set(0);
+    }
+
+    /**
+     * Abruptly closes all client connections, as a crashed or restarted server would, while still accepting new ones.
+     */
+    public void dropConnections() {
+        for (Socket s : this.clients) {
+            closeQuietly(s);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (this.serverSocket != null) {
+            closeQuietly(this.serverSocket);
+            dropConnections();
+            try {
+                this.acceptor.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void acceptConnections() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                Socket socket = this.serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                this.clients.add(socket);
+                this.connectionCount.incrementAndGet();
+                Thread t = this.threadFactory.newThread(() -> {
+                    try {
+                        new ClientSession(socket).run();
+                    } catch (IOException e) {
+                        // client went away or the server is shutting down
+                    } finally {
+                        this.clients.remove(socket);
+                        closeQuietly(socket);
+                    }
+                });
+                t.start();
+            } catch (IOException e) {
+                // server socket closed
+            }
+        }
+    }
+
+    private Response findResponse(String sql) {
+        for (Script s : this.scripts) {
+            if (s.sqlMatcher.test(sql)) {
+                return s.response;
+            }
+        }
+        for (Script s : this.builtInScripts) {
+            if (s.sqlMatcher.test(sql)) {
+                return s.response != null ? s.response : selectVariables(sql);
+            }
+        }
+        return error(1105, "HY000", "No scripted response for: " + sql);
+    }
+
+    private Response selectVariables(String sql) {
+        List<String> labels = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        Matcher m = SELECT_VARIABLE.matcher(sql);
+        while (m.find()) {
+            labels.add(m.group(2) != null ? m.group(2) : m.group());
+            values.add(this.variables.get(m.group(1).toLowerCase()));
+        }
+        return resultSet(labels.toArray(new String[0])).row(values.toArray());
+    }
+
+    private static boolean startsWithKeyword(String sql, String keyword) {
+        int i = 0;
+        // skip the comment the driver prepends to its own queries
+        while (i < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+        return sql.regionMatches(true, i, keyword, 0, keyword.length());
+    }
+
+    private static byte[] sha1(byte[]... data) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            for (byte[] d : data) {
+                md.update(d);
+            }
+            return md.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable c) {
+        try {
+            c.close();
+        } catch (Exception e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Creates an OK response.
+     *
+     * @param affectedRows
+     *            number of affected rows
+     * @param lastInsertId
+     *            last generated auto-increment value
+     * @return {@link Response}
+     */
+    public static Response ok(long affectedRows, long lastInsertId) {
+        Response r = new Response(Response.Kind.OK);
+        r.affectedRows = affectedRows;
+        r.lastInsertId = lastInsertId;
+        return r;
+    }
+
+    /**
+     * Creates an error response.
+     *
+     * @param errorCode
+     *            MySQL error code
+     * @param sqlState
+     *            SQLSTATE, five characters long
+     * @param message
+     *            error message
+     * @return {@link Response}
+     */
+    public static Response error(int errorCode, String sqlState, String message) {
+        Response r = new Response(Response.Kind.ERROR);
+        r.errorCode = errorCode;
+        r.sqlState = sqlState;
+        r.message = message;
+        return r;
+    }
+
+    /**
+     * Creates a result set response with no rows. Rows are added with {@link Response#row(Object...)}; column types are inferred from the values in the
+     * first row: {@link Integer} maps to INT, {@link Long} to BIGINT, {@link Double} and {@link Float} to DOUBLE and anything else to VARCHAR.
+     *
+     * @param columnNames
+     *            column labels
+     * @return {@link Response}
+     */
+    public static Response resultSet(String... columnNames) {
+        Response r = new Response(Response.Kind.RESULT_SET);
+        r.columnNames = columnNames;
+        return r;
+    }
+
+    /**
+     * A scripted answer to a statement.
+     */
+    public static final class Response {
+
+        enum Kind {
+            OK, ERROR, RESULT_SET;
+        }
+
+        final Kind kind;
+        long latencyNanos = -1;
+
+        long affectedRows;
+        long lastInsertId;
+
+        int errorCode;
+        String sqlState;
+        String message;
+
+        String[] columnNames;
+        final List<Object[]> rows = new ArrayList<>();
+
+        // result set packets are encoded once and replayed as is
+        private volatile List<byte[]> textRows;
+        private volatile List<byte[]> binaryRows;
+        private volatile int[] columnTypes;
+
+        Response(Kind kind) {
+            this.kind = kind;
+        }
+
+        /**
+         * Adds a row to a result set response.
+         *
+         * @param values
+         *            column values, null for SQL NULL
+         * @return this response
+         */
+        public Response row(Object... values) {
+            if (this.kind != Kind.RESULT_SET || values.length != this.columnNames.length) {
+                throw new IllegalArgumentException("Row doesn't match the result set columns: " + Arrays.toString(values));
+            }
+            this.rows.add(values);
+            return this;
+        }
+
+        /**
+         * Sets the time to wait before sending this response, overriding the server-wide latency.
+         *
+         * @param latency
+         *            latency
+         * @param unit
+         *            time unit of the latency
+         * @return this response
+         */
+        public Response withLatency(long latency, TimeUnit unit) {
+            this.latencyNanos = unit.toNanos(latency);
+            return this;
+        }
+
+        int[] getColumnTypes() {
+            if (this.columnTypes == null) {
+                int[] types = new int[this.columnNames.length];
+                for (int i = 0; i < types.length; i++) {
+                    Object value = null;
+                    for (int r = 0; r < this.rows.size() && value == null; r++) {
+                        value = this.rows.get(r)[i];
+                    }
+                    types[i] = value instanceof Integer ? MysqlType.FIELD_TYPE_LONG
+                            : value instanceof Long ? MysqlType.FIELD_TYPE_LONGLONG
+                                    : value instanceof Double || value instanceof Float ? MysqlType.FIELD_TYPE_DOUBLE : MysqlType.FIELD_TYPE_VAR_STRING;
+                }
+                this.columnTypes = types;
+            }
+            return this.columnTypes;
+        }
+
+        List<byte[]> getTextRows() {
+            if (this.textRows == null) {
+                List<byte[]> encoded = new ArrayList<>(this.rows.size());
+                for (Object[] row : this.rows) {
+                    NativePacketPayload p = new NativePacketPayload(64);
+                    for (Object v : row) {
+                        if (v == null) {
+                            p.writeInteger(IntegerDataType.INT1, 0xFB);
+                        } else {
+                            p.writeBytes(StringSelfDataType.STRING_LENENC, String.valueOf(v).getBytes(StandardCharsets.UTF_8));
+                        }
+                    }
+                    encoded.add(Arrays.copyOf(p.getByteBuffer(), p.getPosition()));
+                }
+                this.textRows = encoded;
+            }
+            return this.textRows;
+        }
+
+        List<byte[]> getBinaryRows() {
+            if (this.binaryRows == null) {
+                int[] types = getColumnTypes();
+                List<byte[]> encoded = new ArrayList<>(this.rows.size());
+                for (Object[] row : this.rows) {
+                    NativePacketPayload p = new NativePacketPayload(64);
+                    p.writeInteger(IntegerDataType.INT1, 0);
+                    byte[] nullBitmap = new byte[(row.length + 7 + 2) / 8];
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] == null) {
+                            nullBitmap[(i + 2) / 8] |= 1 << (i + 2) % 8;
+                        }
+                    }
+                    p.writeBytes(StringLengthDataType.STRING_FIXED, nullBitmap);
+                    for (int i = 0; i < row.length; i++) {
+                        if (row[i] == null) {
+                            continue;
+                        }
+                        switch (types[i]) {
+                            case MysqlType.FIELD_TYPE_LONG:
+                                p.writeInteger(IntegerDataType.INT4, ((Number) row[i]).intValue());
+                                break;
+                            case MysqlType.FIELD_TYPE_LONGLONG:
+                                p.writeInteger(IntegerDataType.INT8, ((Number) row[i]).longValue());
+                                break;
+                            case MysqlType.FIELD_TYPE_DOUBLE:
+                                p.writeInteger(IntegerDataType.INT8, Double.doubleToLongBits(((Number) row[i]).doubleValue()));
+                                break;
+                            default:
+                                p.writeBytes(StringSelfDataType.STRING_LENENC, String.valueOf(row[i]).getBytes(StandardCharsets.UTF_8));
+                        }
+                    }
+                    encoded.add(Arrays.copyOf(p.getByteBuffer(), p.getPosition()));
+                }
+                this.binaryRows = encoded;
+            }
+            return this.binaryRows;
+        }
+
+    }
+
+    private static final class Script {
+
+        final Predicate<String> sqlMatcher;
+        final Response response;
+
+        Script(Predicate<String> sqlMatcher, Response response) {
+            this.sqlMatcher = sqlMatcher;
+            this.response = response;
+        }
+
+    }
+
+    /**
+     * Output stream sending no more than the configured number of bytes per second.
+     */
+    private final class ThrottledOutputStream extends FilterOutputStream {
+
+        private long nextWriteNanos = System.nanoTime();
+
+        ThrottledOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long rate = StandInServer.this.bytesPerSecond;
+            if (rate <= 0) {
+                this.out.write(b, off, len);
+                return;
+            }
+            int chunk = (int) Math.max(1, Math.min(len, rate / 100)); // no more than 10ms worth of data at once
+            for (int sent = 0; sent < len; sent += chunk) {
+                int n = Math.min(chunk, len - sent);
+                this.nextWriteNanos = Math.max(this.nextWriteNanos, System.nanoTime()); // idle time doesn't give credit for later bursts
+                this.out.write(b, off + sent, n);
+                this.out.flush();
+                this.nextWriteNanos += n * 1_000_000_000L / rate;
+                long aheadNanos = this.nextWriteNanos - System.nanoTime();
+                if (aheadNanos > 0) {
+                    sleepNanos(aheadNanos);
+                }
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+    }
+
+    private static void sleepNanos(long nanos) throws IOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * State of one client connection.
+     */
+    private final class ClientSession {
+
+        private final InputStream in;
+        private final OutputStream out;
+        private final int connectionId = StandInServer.this.connectionIds.incrementAndGet();
+        private final Map<Integer, String> preparedStatements = new HashMap<>();
+        private int statementIds = 0;
+        private byte sequence = 0;
+        private long clientCapabilities = 0;
+        private int serverStatus = NativeServerSession.SERVER_STATUS_AUTOCOMMIT;
+
+        ClientSession(Socket socket) throws IOException {
+            this.in = new BufferedInputStream(socket.getInputStream(), 16384);
+            this.out = new BufferedOutputStream(new ThrottledOutputStream(socket.getOutputStream()), 16384);
+        }
+
+        void run() throws IOException {
+            if (!handshake()) {
+                return;
+            }
+            for (;;) {
+                NativePacketPayload command = readPacket();
+                StandInServer.this.commandCount.incrementAndGet();
+                int concurrent = StandInServer.this.concurrentCommands.incrementAndGet();
+                StandInServer.this.maxConcurrentCommands.accumulateAndGet(concurrent, Math::max);
+                try {
+                    if (!processCommand(command)) {
+                        return;
+                    }
+                } finally {
+                    StandInServer.this.concurrentCommands.decrementAndGet();
+                }
+            }
+        }
+
+        private boolean processCommand(NativePacketPayload command) throws IOException {
+            int type = (int) command.readInteger(IntegerDataType.INT1);
+            switch (type) {
+                case NativeConstants.COM_QUIT:
+                    return false;
+                case NativeConstants.COM_QUERY:
+                    String query = command.readString(StringSelfDataType.STRING_EOF, "UTF-8");
+                    trackAutocommit(query);
+                    sendResponse(findResponse(query), false);
+                    break;
+                case NativeConstants.COM_STMT_PREPARE:
+                    prepare(command.readString(StringSelfDataType.STRING_EOF, "UTF-8"));
+                    break;
+                case NativeConstants.COM_STMT_EXECUTE:
+                    String sql = this.preparedStatements.get((int) command.readInteger(IntegerDataType.INT4));
+                    sendResponse(sql == null ? error(1243, "HY000", "Unknown prepared statement handler given to mysqld_stmt_execute") : findResponse(sql),
+                            true);
+                    break;
+                case NativeConstants.COM_STMT_CLOSE:
+                    this.preparedStatements.remove((int) command.readInteger(IntegerDataType.INT4));
+                    break; // no response
+                case NativeConstants.COM_STMT_SEND_LONG_DATA:
+                    break; // no response
+                case NativeConstants.COM_RESET_CONNECTION:
+                    this.preparedStatements.clear(); // as real servers do
+                    sendResponse(ok(0, 0), false);
+                    break;
+                case NativeConstants.COM_PING:
+                case NativeConstants.COM_INIT_DB:
+                case NativeConstants.COM_STMT_RESET:
+                case NativeConstants.COM_SET_OPTION:
+                    sendResponse(ok(0, 0), false);
+                    break;
+                default:
+                    sendResponse(error(1047, "08S01", "Unknown command"), false);
+            }
+            return true;
+        }
+
+        private boolean handshake() throws IOException {
+            byte[] seed = new byte[NativeConstants.SEED_LENGTH];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < seed.length; i++) {
+                seed[i] = (byte) (random.nextInt(94) + 33); // printable and never 0, as real servers do
+            }
+
+            NativePacketPayload p = new NativePacketPayload(128);
+            p.writeInteger(IntegerDataType.INT1, 10);
+            p.writeBytes(StringSelfDataType.STRING_TERM, SERVER_VERSION.getBytes(StandardCharsets.US_ASCII));
+            p.writeInteger(IntegerDataType.INT4, this.connectionId);
+            p.writeBytes(StringLengthDataType.STRING_FIXED, seed, 0, 8);
+            p.writeInteger(IntegerDataType.INT1, 0);
+            p.writeInteger(IntegerDataType.INT2, SERVER_CAPABILITIES & 0xFFFF);
+            p.writeInteger(IntegerDataType.INT1, COLLATION_UTF8MB4);
+            p.writeInteger(IntegerDataType.INT2, this.serverStatus);
+            p.writeInteger(IntegerDataType.INT2, SERVER_CAPABILITIES >>> 16);
+            p.writeInteger(IntegerDataType.INT1, seed.length + 1);
+            p.writeBytes(StringLengthDataType.STRING_FIXED, new byte[10]);
+            p.writeBytes(StringLengthDataType.STRING_FIXED, seed, 8, seed.length - 8);
+            p.writeInteger(IntegerDataType.INT1, 0);
+            p.writeBytes(StringSelfDataType.STRING_TERM, AUTH_PLUGIN.getBytes(StandardCharsets.US_ASCII));
+            writePacket(p);
+            this.out.flush();
+
+            NativePacketPayload response = readPacket();
+            this.clientCapabilities = response.readInteger(IntegerDataType.INT4);
+            if ((this.clientCapabilities & NativeServerSession.CLIENT_PROTOCOL_41) == 0) {
+                sendError(1251, "08004", "Client does not support the 4.1 protocol");
+                return false;
+            }
+            response.setPosition(response.getPosition() + 4 + 1 + 23); // max packet size, collation, filler
+            String user = response.readString(StringSelfDataType.STRING_TERM, "UTF-8");
+            byte[] authData;
+            if ((this.clientCapabilities & NativeServerSession.CLIENT_PLUGIN_AUTH_LENENC_CLIENT_DATA) != 0) {
+                authData = response.readBytes(StringSelfDataType.STRING_LENENC);
+            } else {
+                authData = response.readBytes(StringLengthDataType.STRING_FIXED, (int) response.readInteger(IntegerDataType.INT1));
+            }
+            if ((this.clientCapabilities & NativeServerSession.CLIENT_CONNECT_WITH_DB) != 0) {
+                response.readBytes(StringSelfDataType.STRING_TERM);
+            }
+            String plugin = AUTH_PLUGIN;
+            if ((this.clientCapabilities & NativeServerSession.CLIENT_PLUGIN_AUTH) != 0 && response.getPosition() < response.getPayloadLength()) {
+                plugin = response.readString(StringSelfDataType.STRING_TERM, "ASCII");
+            }
+
+            if (!AUTH_PLUGIN.equals(plugin)) {
+                NativePacketPayload authSwitch = new NativePacketPayload(64);
+                authSwitch.writeInteger(IntegerDataType.INT1, NativePacketPayload.TYPE_ID_AUTH_SWITCH);
+                authSwitch.writeBytes(StringSelfDataType.STRING_TERM, AUTH_PLUGIN.getBytes(StandardCharsets.US_ASCII));
+                authSwitch.writeBytes(StringLengthDataType.STRING_FIXED, seed);
+                authSwitch.writeInteger(IntegerDataType.INT1, 0);
+                writePacket(authSwitch);
+                this.out.flush();
+                NativePacketPayload switchResponse = readPacket();
+                authData = switchResponse.readBytes(StringLengthDataType.STRING_FIXED, switchResponse.getPayloadLength());
+            }
+
+            if (!checkNativePassword(user, authData, seed)) {
+                sendError(1045, "28000", "Access denied for user '" + user + "'");
+                return false;
+            }
+            sendResponse(ok(0, 0), false);
+            return true;
+        }
+
+        private boolean checkNativePassword(String user, byte[] token, byte[] seed) {
+            byte[] storedHash = StandInServer.this.users.get(user);
+            if (storedHash == null) {
+                return false;
+            }
+            if (storedHash.length == 0 || token.length == 0) {
+                return storedHash.length == token.length;
+            }
+            if (token.length != storedHash.length) {
+                return false;
+            }
+            // token = SHA1(password) XOR SHA1(seed + SHA1(SHA1(password)))
+            byte[] mask = sha1(seed, storedHash);
+            byte[] passwordHash = new byte[token.length];
+            for (int i = 0; i < token.length; i++) {
+                passwordHash[i] = (byte) (token[i] ^ mask[i]);
+            }
+            return MessageDigest.isEqual(sha1(passwordHash), storedHash);
+        }
+
+        private void prepare(String sql) throws IOException {
+            Response response = findResponse(sql);
+            waitFor(response);
+            if (response.kind == Response.Kind.ERROR) {
+                sendError(response.errorCode, response.sqlState, response.message);
+                this.out.flush();
+                return;
+            }
+            int parameterCount = countParameters(sql);
+            int columnCount = response.kind == Response.Kind.RESULT_SET ? response.columnNames.length : 0;
+            int statementId = ++this.statementIds;
+            this.preparedStatements.put(statementId, sql);
+
+            NativePacketPayload p = new NativePacketPayload(16);
+            p.writeInteger(IntegerDataType.INT1, 0);
+            p.writeInteger(IntegerDataType.INT4, statementId);
+            p.writeInteger(IntegerDataType.INT2, columnCount);
+            p.writeInteger(IntegerDataType.INT2, parameterCount);
+            p.writeInteger(IntegerDataType.INT1, 0);
+            p.writeInteger(IntegerDataType.INT2, 0);
+            writePacket(p);
+            if (parameterCount > 0) {
+                for (int i = 0; i < parameterCount; i++) {
+                    writePacket(columnDefinition("?", MysqlType.FIELD_TYPE_VAR_STRING));
+                }
+                writeIntermediateEof();
+            }
+            if (columnCount > 0) {
+                int[] types = response.getColumnTypes();
+                for (int i = 0; i < columnCount; i++) {
+                    writePacket(columnDefinition(response.columnNames[i], types[i]));
+                }
+                writeIntermediateEof();
+            }
+            this.out.flush();
+        }
+
+        private void sendResponse(Response response, boolean binary) throws IOException {
+            waitFor(response);
+            switch (response.kind) {
+                case OK:
+                    writePacket(okPacket(NativePacketPayload.TYPE_ID_OK, response.affectedRows, response.lastInsertId));
+                    break;
+                case ERROR:
+                    sendError(response.errorCode, response.sqlState, response.message);
+                    break;
+                case RESULT_SET:
+                    int[] types = response.getColumnTypes();
+                    NativePacketPayload p = new NativePacketPayload(9);
+                    p.writeInteger(IntegerDataType.INT_LENENC, types.length);
+                    writePacket(p);
+                    for (int i = 0; i < types.length; i++) {
+                        writePacket(columnDefinition(response.columnNames[i], types[i]));
+                    }
+                    writeIntermediateEof();
+                    for (byte[] row : binary ? response.getBinaryRows() : response.getTextRows()) {
+                        writePacket(row, row.length);
+                    }
+                    if ((this.clientCapabilities & NativeServerSession.CLIENT_DEPRECATE_EOF) != 0) {
+                        writePacket(okPacket(NativePacketPayload.TYPE_ID_EOF, 0, 0));
+                    } else {
+                        writePacket(eofPacket());
+                    }
+                    break;
+            }
+            this.out.flush();
+        }
+
+        private void waitFor(Response response) throws IOException {
+            long nanos = response.latencyNanos >= 0 ? response.latencyNanos : StandInServer.this.latencyNanos;
+            if (nanos > 0) {
+                sleepNanos(nanos);
+            }
+        }
+
+        private int countParameters(String sql) {
+            int count = 0;
+            char quote = 0;
+            for (int i = 0; i < sql.length(); i++) {
+                char c = sql.charAt(i);
+                if (quote != 0) {
+                    if (c == '\\') {
+                        i++;
+                    } else if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '\'' || c == '"' || c == '`') {
+                    quote = c;
+                } else if (c == '?') {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private NativePacketPayload columnDefinition(String name, int type) {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            boolean numeric = type != MysqlType.FIELD_TYPE_VAR_STRING;
+            NativePacketPayload p = new NativePacketPayload(48 + 2 * nameBytes.length);
+            p.writeBytes(StringSelfDataType.STRING_LENENC, "def".getBytes(StandardCharsets.US_ASCII));
+            p.writeBytes(StringSelfDataType.STRING_LENENC, new byte[0]); // schema
+            p.writeBytes(StringSelfDataType.STRING_LENENC, new byte[0]); // table
+            p.writeBytes(StringSelfDataType.STRING_LENENC, new byte[0]); // original table
+            p.writeBytes(StringSelfDataType.STRING_LENENC, nameBytes);
+            p.writeBytes(StringSelfDataType.STRING_LENENC, nameBytes);
+            p.writeInteger(IntegerDataType.INT_LENENC, 0x0C);
+            p.writeInteger(IntegerDataType.INT2, numeric ? COLLATION_BINARY : COLLATION_UTF8MB4);
+            p.writeInteger(IntegerDataType.INT4, type == MysqlType.FIELD_TYPE_LONG ? 11 : numeric ? 20 : 1024);
+            p.writeInteger(IntegerDataType.INT1, type);
+            p.writeInteger(IntegerDataType.INT2, numeric ? 128 : 0); // BINARY_FLAG
+            p.writeInteger(IntegerDataType.INT1, type == MysqlType.FIELD_TYPE_DOUBLE ? 31 : 0);
+            p.writeInteger(IntegerDataType.INT2, 0);
+            return p;
+        }
+
+        private NativePacketPayload okPacket(int header, long affectedRows, long lastInsertId) {
+            NativePacketPayload p = new NativePacketPayload(16);
+            p.writeInteger(IntegerDataType.INT1, header);
+            p.writeInteger(IntegerDataType.INT_LENENC, affectedRows);
+            p.writeInteger(IntegerDataType.INT_LENENC, lastInsertId);
+            p.writeInteger(IntegerDataType.INT2, this.serverStatus);
+            p.writeInteger(IntegerDataType.INT2, 0);
+            return p;
+        }
+
+        private NativePacketPayload eofPacket() {
+            NativePacketPayload p = new NativePacketPayload(5);
+            p.writeInteger(IntegerDataType.INT1, NativePacketPayload.TYPE_ID_EOF);
+            p.writeInteger(IntegerDataType.INT2, 0);
+            p.writeInteger(IntegerDataType.INT2, this.serverStatus);
+            return p;
+        }
+
+        private void writeIntermediateEof() throws IOException {
+            if ((this.clientCapabilities & NativeServerSession.CLIENT_DEPRECATE_EOF) == 0) {
+                writePacket(eofPacket());
+            }
+        }
+
+        private void sendError(int errorCode, String sqlState, String message) throws IOException {
+            NativePacketPayload p = new NativePacketPayload(16 + message.length());
+            p.writeInteger(IntegerDataType.INT1, NativePacketPayload.TYPE_ID_ERROR);
+            p.writeInteger(IntegerDataType.INT2, errorCode);
+            p.writeBytes(StringLengthDataType.STRING_FIXED, ("#" + sqlState).getBytes(StandardCharsets.US_ASCII));
+            p.writeBytes(StringLengthDataType.STRING_FIXED, message.getBytes(StandardCharsets.UTF_8));
+            writePacket(p);
+            this.out.flush();
+        }
+
+        private void writePacket(NativePacketPayload p) throws IOException {
+            writePacket(p.getByteBuffer(), p.getPosition());
+        }
+
+        private void writePacket(byte[] payload, int length) throws IOException {
+            int offset = 0;
+            // payloads of MAX_PACKET_SIZE bytes or more are split, ending with a shorter, possibly empty, packet
+            for (;;) {
+                int len = Math.min(length - offset, NativeConstants.MAX_PACKET_SIZE);
+                this.out.write(len & 0xFF);
+                this.out.write(len >>> 8 & 0xFF);
+                this.out.write(len >>> 16 & 0xFF);
+                this.out.write(this.sequence++);
+                this.out.write(payload, offset, len);
+                offset += len;
+                if (len < NativeConstants.MAX_PACKET_SIZE) {
+                    return;
+                }
+            }
+        }
+
+        private NativePacketPayload readPacket() throws IOException {
+            byte[] payload = new byte[0];
+            int packetLength;
+            do {
+                byte[] header = new byte[NativeConstants.HEADER_LENGTH];
+                readFully(header);
+                NativePacketHeader hdr = new NativePacketHeader(header);
+                packetLength = hdr.getMessageSize();
+                this.sequence = (byte) (hdr.getMessageSequence() + 1);
+                int offset = payload.length;
+                payload = Arrays.copyOf(payload, offset + packetLength);
+                readFully(payload, offset);
+            } while (packetLength == NativeConstants.MAX_PACKET_SIZE);
+
+            return new NativePacketPayload(payload);
+        }
+
+        private void trackAutocommit(String sql) {
+            Matcher m = SET_AUTOCOMMIT.matcher(sql);
+            if (m.find()) {
+                if ("1".equals(m.group(1))) {
+                    this.serverStatus |= NativeServerSession.SERVER_STATUS_AUTOCOMMIT;
+                } else {
+                    this.serverStatus &= ~NativeServerSession.SERVER_STATUS_AUTOCOMMIT;
+                }
+            }
+        }
+
+        private void readFully(byte[] b) throws IOException {
+            readFully(b, 0);
+        }
+
+        private void readFully(byte[] b, int offset) throws IOException {
+            while (offset < b.length) {
+                int n = this.in.read(b, offset, b.length - offset);
+                if (n < 0) {
+                    throw new EOFException();
+                }
+                offset += n;
+            }
+        }
+
+    }
+
+}
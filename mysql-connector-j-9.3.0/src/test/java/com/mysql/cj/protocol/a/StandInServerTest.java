@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the stand-in server, connecting the driver to it as it would to a real server.
+ */
+public class StandInServerTest {
+
+    private static Connection connect(StandInServer server, String user, String password, String... keyValuePairs) throws SQLException {
+        Properties props = new Properties();
+        props.setProperty("user", user);
+        props.setProperty("password", password);
+        for (int i = 0; i < keyValuePairs.length; i += 2) {
+            props.setProperty(keyValuePairs[i], keyValuePairs[i + 1]);
+        }
+        return DriverManager.getConnection(server.getUrl(), props);
+    }
+
+    @Test
+    public void testAuthentication() throws Exception {
+        try (StandInServer server = new StandInServer().addUser("scott", "tiger").start()) {
+            try (Connection conn = connect(server, "scott", "tiger")) {
+                assertTrue(conn.isValid(5));
+                assertTrue(conn.getMetaData().getDatabaseProductVersion().startsWith("8.4.0"));
+            }
+            try (Connection conn = connect(server, "root", "")) {
+                assertTrue(conn.isValid(5));
+            }
+            SQLException e = assertThrows(SQLException.class, () -> connect(server, "scott", "lion"));
+            assertEquals(1045, e.getErrorCode());
+            e = assertThrows(SQLException.class, () -> connect(server, "nobody", ""));
+            assertEquals(1045, e.getErrorCode());
+        }
+    }
+
+    @Test
+    public void testScriptedResponses() throws Exception {
+        try (StandInServer server = new StandInServer().start()) {
+            server.on("^SELECT id, name, score FROM t", StandInServer.resultSet("id", "name", "score").row(1L, "one", 1.5).row(2L, null, 2.5));
+            server.on("^UPDATE t", StandInServer.ok(2, 0));
+            server.on("^INSERT INTO t", StandInServer.ok(1, 42));
+            server.on("^DELETE FROM t", StandInServer.error(1142, "42000", "DELETE command denied"));
+
+            for (String useServerPrepStmts : new String[] { "false", "true" }) {
+                try (Connection conn = connect(server, "root", "", "useServerPrepStmts", useServerPrepStmts)) {
+                    try (PreparedStatement ps = conn.prepareStatement("SELECT id, name, score FROM t WHERE id > ?")) {
+                        ps.setInt(1, 0);
+                        ResultSet rs = ps.executeQuery();
+                        assertTrue(rs.next());
+                        assertEquals(1, rs.getLong(1));
+                        assertEquals("one", rs.getString(2));
+                        assertEquals(1.5, rs.getDouble(3));
+                        assertTrue(rs.next());
+                        assertEquals(2, rs.getInt("id"));
+                        assertNull(rs.getString("name"));
+                        assertTrue(rs.wasNull());
+                        assertFalse(rs.next());
+                    }
+
+                    Statement stmt = conn.createStatement();
+                    assertEquals(2, stmt.executeUpdate("UPDATE t SET name = 'x'"));
+                    assertEquals(1, stmt.executeUpdate("INSERT INTO t VALUES (3, 'three', 0)", Statement.RETURN_GENERATED_KEYS));
+                    ResultSet keys = stmt.getGeneratedKeys();
+                    assertTrue(keys.next());
+                    assertEquals(42, keys.getLong(1));
+
+                    SQLException e = assertThrows(SQLException.class, () -> stmt.executeUpdate("DELETE FROM t"));
+                    assertEquals(1142, e.getErrorCode());
+                    assertEquals("42000", e.getSQLState());
+
+                    e = assertThrows(SQLException.class, () -> stmt.executeQuery("SELECT * FROM unknown"));
+                    assertEquals(1105, e.getErrorCode());
+
+                    conn.setAutoCommit(false);
+                    stmt.executeUpdate("UPDATE t SET name = 'y'");
+                    conn.commit();
+                    conn.setAutoCommit(true);
+                    assertTrue(conn.getAutoCommit());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLatencyAndBandwidth() throws Exception {
+        try (StandInServer server = new StandInServer().start(); Connection conn = connect(server, "root", "")) {
+            server.on("^SELECT 'slow'", StandInServer.resultSet("slow").row("slow").withLatency(200, TimeUnit.MILLISECONDS));
+            StringBuilder large = new StringBuilder();
+            for (int i = 0; i < 1000; i++) {
+                large.append("0123456789");
+            }
+            StandInServer.Response largeResult = StandInServer.resultSet("c");
+            for (int i = 0; i < 10; i++) {
+                largeResult.row(large.toString());
+            }
+            server.on("^SELECT 'large'", largeResult);
+
+            Statement stmt = conn.createStatement();
+            long start = System.nanoTime();
+            stmt.executeQuery("SELECT 'slow'").close();
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+
+            server.setLatency(50, TimeUnit.MILLISECONDS);
+            start = System.nanoTime();
+            stmt.executeQuery("SELECT 'large'").close();
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            server.setLatency(0, TimeUnit.MILLISECONDS);
+
+            server.setBandwidth(200_000); // the ~100KB result needs about half a second
+            start = System.nanoTime();
+            ResultSet rs = stmt.executeQuery("SELECT 'large'");
+            int rows = 0;
+            while (rs.next()) {
+                assertEquals(large.length(), rs.getString(1).length());
+                rows++;
+            }
+            assertEquals(10, rows);
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(400));
+        }
+    }
+
+    @Test
+    public void testDropConnections() throws Exception {
+        try (StandInServer server = new StandInServer().start(); Connection conn = connect(server, "root", "")) {
+            assertTrue(conn.isValid(5));
+            server.dropConnections();
+            assertFalse(conn.isValid(5));
+            try (Connection conn2 = connect(server, "root", "")) {
+                assertTrue(conn2.isValid(5));
+            }
+            assertEquals(2, server.getConnectionCount());
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CompressionStreamsTest {
+
+    private static final byte[] TEXT = "The quick brown fox jumps over the lazy dog. ".getBytes();
+
+    /** {@link #TEXT} repeated 20 times, compressed by the reference implementation with content size, block checksums and content checksum. */
+    private static final String REFERENCE_LZ4_FRAME =
+            "04224d187c408403000000000000ba3b000000ff1e54686520717569636b2062726f776e20666f78206a756d7073206f76657220746865206c617a7920646f67"
+            + "2e202d00ffffff4250646f672e20b8efc993000000009f827c81";
+
+    /** {@link #TEXT} repeated 10 times and then 20 times, compressed by the reference implementation as a stream flushed after each message. */
+    private static final String REFERENCE_ZSTD_STREAM =
+            "28b52ffd0058b40100d40254686520717569636b2062726f776e20666f78206a756d7073206f76657220746865206c617a7920646f672e2001009584aa2a0344"
+            + "000008540100802b2004";
+
+    private static byte[] textData(int len, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[len];
+        for (int i = 0; i < len;) {
+            int start = random.nextInt(TEXT.length - 8);
+            int n = Math.min(len - i, 4 + random.nextInt(TEXT.length - start - 4));
+            System.arraycopy(TEXT, start, data, i, n);
+            i += n;
+        }
+        return data;
+    }
+
+    private static byte[] randomData(int len, long seed) {
+        byte[] data = new byte[len];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) Integer.parseInt(hex.substring(2 * i, 2 * i + 2), 16);
+        }
+        return bytes;
+    }
+
+    private static byte[] repeat(byte[] data, int times) {
+        byte[] repeated = new byte[data.length * times];
+        for (int i = 0; i < times; i++) {
+            System.arraycopy(data, 0, repeated, i * data.length, data.length);
+        }
+        return repeated;
+    }
+
+    private static byte[] lz4RoundTrip(byte[] data) throws IOException {
+        byte[] compressed = new byte[Lz4Compressor.maxCompressedLength(data.length)];
+        int compressedLen = new Lz4Compressor().compress(data, 0, data.length, compressed, 0, compressed.length);
+        assertTrue(compressedLen > 0);
+        byte[] decompressed = new byte[data.length];
+        assertEquals(data.length, new Lz4Decompressor().decompress(compressed, 0, compressedLen, decompressed, 0, decompressed.length));
+        assertArrayEquals(data, decompressed);
+        return Arrays.copyOf(compressed, compressedLen);
+    }
+
+    /**
+     * Writes each message to the compressing stream, flushing after each one as X Protocol does, and reads them back one by one.
+     */
+    private static byte[] streamsRoundTrip(byte[][] messages, boolean zstd) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        OutputStream out = zstd ? new ZstdOutputStream(compressed) : new Lz4FrameOutputStream(compressed);
+        int[] flushedSizes = new int[messages.length];
+        for (int i = 0; i < messages.length; i++) {
+            out.write(messages[i]);
+            out.flush();
+            flushedSizes[i] = compressed.size();
+        }
+        out.close(); // Terminates the last frame.
+
+        InputStream in = zstd ? new ZstdInputStream(new ByteArrayInputStream(compressed.toByteArray()))
+                : new Lz4FrameInputStream(new ByteArrayInputStream(compressed.toByteArray()));
+        DataInputStream dataIn = new DataInputStream(in);
+        for (byte[] message : messages) {
+            byte[] decompressed = new byte[message.length];
+            dataIn.readFully(decompressed);
+            assertArrayEquals(message, decompressed);
+        }
+        assertEquals(-1, in.read());
+        in.close();
+
+        // Every message must be readable as soon as it was flushed, without the data of the following ones.
+        in = zstd ? new ZstdInputStream(new ByteArrayInputStream(compressed.toByteArray(), 0, flushedSizes[0]))
+                : new Lz4FrameInputStream(new ByteArrayInputStream(compressed.toByteArray(), 0, flushedSizes[0]));
+        byte[] decompressed = new byte[messages[0].length];
+        new DataInputStream(in).readFully(decompressed);
+        assertArrayEquals(messages[0], decompressed);
+
+        return compressed.toByteArray();
+    }
+
+    @Test
+    public void testLz4RoundTrip() throws IOException {
+        for (int size : new int[] { 0, 1, 7, 13, 100, 1000, 65535, 65536, 65537, 300000 }) {
+            lz4RoundTrip(new byte[size]);
+            lz4RoundTrip(textData(size, size));
+            lz4RoundTrip(randomData(size, size));
+        }
+        assertTrue(lz4RoundTrip(textData(100000, 1)).length < 100000 / 2);
+    }
+
+    @Test
+    public void testLz4DecompressReferenceFrame() throws IOException {
+        byte[] frame = fromHex(REFERENCE_LZ4_FRAME);
+        byte[] expected = repeat(TEXT, 20);
+        byte[] decompressed = new byte[expected.length];
+        assertEquals(expected.length, new Lz4Decompressor().decompress(frame, 0, frame.length, decompressed, 0, decompressed.length));
+        assertArrayEquals(expected, decompressed);
+
+        // Skippable frames are ignored.
+        byte[] withSkippable = new byte[12 + frame.length];
+        System.arraycopy(new byte[] { 0x53, 0x2a, 0x4d, 0x18, 4, 0, 0, 0, 1, 2, 3, 4 }, 0, withSkippable, 0, 12);
+        System.arraycopy(frame, 0, withSkippable, 12, frame.length);
+        Arrays.fill(decompressed, (byte) 0);
+        assertEquals(expected.length, new Lz4Decompressor().decompress(withSkippable, 0, withSkippable.length, decompressed, 0, decompressed.length));
+        assertArrayEquals(expected, decompressed);
+
+        InputStream in = new Lz4FrameInputStream(new ByteArrayInputStream(withSkippable));
+        Arrays.fill(decompressed, (byte) 0);
+        new DataInputStream(in).readFully(decompressed);
+        assertArrayEquals(expected, decompressed);
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testLz4CorruptedData() throws IOException {
+        byte[] frame = fromHex(REFERENCE_LZ4_FRAME);
+        byte[] decompressed = new byte[TEXT.length * 20];
+        for (int i = 0; i < frame.length; i++) {
+            byte[] corrupted = frame.clone();
+            corrupted[i] ^= 0x10;
+            assertThrows(IOException.class, () -> new Lz4Decompressor().decompress(corrupted, 0, corrupted.length, decompressed, 0, decompressed.length));
+        }
+        assertThrows(IOException.class, () -> new Lz4Decompressor().decompress(frame, 0, frame.length - 1, decompressed, 0, decompressed.length));
+        assertThrows(IOException.class, () -> new Lz4Decompressor().decompress(frame, 0, frame.length, decompressed, 0, decompressed.length - 1));
+    }
+
+    @Test
+    public void testLz4FrameStreams() throws IOException {
+        byte[] text = textData(200000, 7);
+        byte[][] messages = { textData(300, 1), text, new byte[0], randomData(70000, 2), textData(5, 3), text };
+        streamsRoundTrip(messages, false);
+    }
+
+    @Test
+    public void testZstdStreams() throws IOException {
+        byte[] text = textData(200000, 7);
+        byte[][] messages = { textData(300, 1), text, new byte[0], randomData(70000, 2), textData(5, 3), text };
+        streamsRoundTrip(messages, true);
+
+        // A message repeating a previous one is encoded as a match in the stream history.
+        byte[] message = randomData(20000, 4);
+        assertTrue(streamsRoundTrip(new byte[][] { message, message }, true).length < message.length + 1000);
+    }
+
+    @Test
+    public void testZstdInputStreamReferenceStream() throws IOException {
+        byte[] stream = fromHex(REFERENCE_ZSTD_STREAM);
+        DataInputStream in = new DataInputStream(new ZstdInputStream(new ByteArrayInputStream(stream)));
+        byte[] decompressed = new byte[TEXT.length * 10];
+        in.readFully(decompressed);
+        assertArrayEquals(repeat(TEXT, 10), decompressed);
+        decompressed = new byte[TEXT.length * 20];
+        in.readFully(decompressed);
+        assertArrayEquals(repeat(TEXT, 20), decompressed);
+    }
+
+    @Test
+    public void testZstdCompressorReusedAfterFailure() throws IOException {
+        ZstdCompressor compressor = new ZstdCompressor(3);
+        byte[] data = textData(50000, 5);
+        byte[] compressed = new byte[ZstdCompressor.maxCompressedLength(data.length)];
+        assertEquals(-1, compressor.compress(data, 0, data.length, compressed, 0, 100));
+
+        byte[] other = textData(50000, 6);
+        int compressedLen = compressor.compress(other, 0, other.length, compressed, 0, compressed.length);
+        assertTrue(compressedLen > 0);
+        byte[] decompressed = new byte[other.length];
+        assertEquals(other.length, new ZstdDecompressor().decompress(compressed, 0, compressedLen, decompressed, 0, decompressed.length));
+        assertArrayEquals(other, decompressed);
+    }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.compression;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.protocol.CompressionCodec;
+import com.mysql.cj.protocol.a.CompressedInputStream;
+import com.mysql.cj.protocol.a.CompressedPacketSender;
+import com.mysql.cj.protocol.a.CompressionStatistics;
+import com.mysql.cj.protocol.a.NativeConstants;
+
+public class ZstdCompressionCodecTest {
+
+    private static final byte[] TEXT = "The quick brown fox jumps over the lazy dog. ".getBytes();
+
+    /** {@link #TEXT} repeated 20 times, compressed by the reference implementation at level 3. */
+    private static final String REFERENCE_FRAME = "28b52ffd608402b50100d40254686520717569636b2062726f776e20666f78206a756d7073206f76657220746865206c"
+            + "617a7920646f672e200100a50a2b5506";
+
+    private static byte[] textData(int len, long seed) {
+        Random random = new Random(seed);
+        byte[] data = new byte[len];
+        for (int i = 0; i < len;) {
+            // short runs of a small vocabulary, like the rows of a text protocol result set
+            int start = random.nextInt(TEXT.length - 8);
+            int n = Math.min(len - i, 4 + random.nextInt(TEXT.length - start - 4));
+            System.arraycopy(TEXT, start, data, i, n);
+            i += n;
+        }
+        return data;
+    }
+
+    private static byte[] randomData(int len, long seed) {
+        byte[] data = new byte[len];
+        new Random(seed).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] roundTrip(byte[] data, int level) throws IOException {
+        ZstdCompressor compressor = new ZstdCompressor(level);
+        byte[] compressed = new byte[ZstdCompressor.maxCompressedLength(data.length)];
+        int compressedLen = compressor.compress(data, 0, data.length, compressed, 0, compressed.length);
+        assertTrue(compressedLen > 0);
+        byte[] decompressed = new byte[data.length];
+        assertEquals(data.length, new ZstdDecompressor().decompress(compressed, 0, compressedLen, decompressed, 0, decompressed.length));
+        return Arrays.copyOf(compressed, compressedLen);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        int[] sizes = { 0, 1, 7, 100, 1000, 50000, 131072, 131073, 300000 };
+        for (int level : new int[] { 1, 3, 9, 19, 22 }) {
+            for (int size : sizes) {
+                roundTrip(new byte[size], level);
+                roundTrip(textData(size, size), level);
+                roundTrip(randomData(size, size), level);
+            }
+        }
+    }
+
+    @Test
+    public void testCompressionRatio() throws IOException {
+        byte[] data = textData(200000, 1);
+        int fast = roundTrip(data, 1).length;
+        int strong = roundTrip(data, 19).length;
+        assertTrue(fast < data.length / 3, "level 1: " + fast);
+        assertTrue(strong <= fast, "level 19: " + strong + ", level 1: " + fast);
+        // incompressible data grows by a few bytes of framing only
+        assertTrue(roundTrip(randomData(200000, 2), 3).length <= ZstdCompressor.maxCompressedLength(200000));
+    }
+
+    @Test
+    public void testDecompressReferenceFrame() throws IOException {
+        byte[] frame = new byte[REFERENCE_FRAME.length() / 2];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = (byte) Integer.parseInt(REFERENCE_FRAME.substring(2 * i, 2 * i + 2), 16);
+        }
+        byte[] expected = new byte[TEXT.length * 20];
+        for (int i = 0; i < 20; i++) {
+            System.arraycopy(TEXT, 0, expected, i * TEXT.length, TEXT.length);
+        }
+        byte[] decompressed = new byte[expected.length];
+        new ZstdCompressionCodec().createDecompressor().decompress(frame, 0, frame.length, decompressed, 0, decompressed.length);
+        assertArrayEquals(expected, decompressed);
+    }
+
+    @Test
+    public void testCompressedDataDoesNotFit() {
+        byte[] data = randomData(1000, 3);
+        ZstdCompressor compressor = new ZstdCompressor(ZstdCompressor.DEFAULT_LEVEL);
+        assertEquals(-1, compressor.compress(data, 0, data.length, new byte[1000], 0, 1000));
+
+        CompressionCodec.Compressor codecCompressor = new ZstdCompressionCodec().createCompressor(ZstdCompressor.DEFAULT_LEVEL);
+        codecCompressor.begin(new byte[500], 0, 500);
+        codecCompressor.update(data, 0, 600);
+        codecCompressor.update(data, 600, 400);
+        assertEquals(-1, codecCompressor.finish());
+    }
+
+    @Test
+    public void testCorruptedData() throws IOException {
+        byte[] data = textData(20000, 4);
+        byte[] compressed = roundTrip(data, 3);
+        CompressionCodec.Decompressor decompressor = new ZstdCompressionCodec().createDecompressor();
+        byte[] out = new byte[data.length];
+
+        // truncated frame
+        assertThrows(IOException.class, () -> decompressor.decompress(compressed, 0, compressed.length - 1, out, 0, out.length));
+        // bad magic number
+        byte[] badMagic = compressed.clone();
+        badMagic[0] ^= 1;
+        assertThrows(IOException.class, () -> decompressor.decompress(badMagic, 0, badMagic.length, out, 0, out.length));
+        // wrong uncompressed length
+        assertThrows(IOException.class, () -> decompressor.decompress(compressed, 0, compressed.length, new byte[out.length + 1], 0, out.length + 1));
+        assertThrows(IOException.class, () -> decompressor.decompress(compressed, 0, compressed.length, out, 0, out.length - 1));
+
+        // random damage must never escape as anything but an IOException
+        Random random = new Random(5);
+        for (int i = 0; i < 500; i++) {
+            byte[] damaged = compressed.clone();
+            damaged[4 + random.nextInt(damaged.length - 4)] ^= 1 << random.nextInt(8);
+            try {
+                decompressor.decompress(damaged, 0, damaged.length, out, 0, out.length);
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Generates data made of segments of different kinds: random bytes, text, runs of a single byte, and copies of earlier data at short, long and beyond
+     * window distances, so that literals, repeat offsets and all the sequence codes get exercised.
+     */
+    private static byte[] mixedData(int len, Random random) {
+        byte[] data = new byte[len];
+        for (int i = 0; i < len;) {
+            int n = Math.min(len - i, 1 + random.nextInt(random.nextBoolean() ? 64 : 4096));
+            switch (random.nextInt(5)) {
+                case 0:
+                    for (int j = 0; j < n; j++) {
+                        data[i + j] = (byte) random.nextInt();
+                    }
+                    break;
+                case 1:
+                    for (int j = 0; j < n; j++) {
+                        data[i + j] = TEXT[(i + j) % TEXT.length];
+                    }
+                    break;
+                case 2:
+                    Arrays.fill(data, i, i + n, (byte) random.nextInt());
+                    break;
+                default:
+                    if (i == 0) {
+                        continue;
+                    }
+                    int from = random.nextBoolean() ? Math.max(0, i - 1 - random.nextInt(Math.min(i, 32))) : random.nextInt(i);
+                    for (int j = 0; j < n; j++) {
+                        data[i + j] = data[from + j]; // may overlap, like a match
+                    }
+            }
+            i += n;
+        }
+        return data;
+    }
+
+    @Test
+    public void testRoundTripFuzz() throws IOException {
+        Random random = new Random(6);
+        for (int i = 0; i < 400; i++) {
+            // mostly packet sized inputs, some over the 128 KB block size
+            int len = random.nextInt(10) == 0 ? random.nextInt(400000) : random.nextInt(random.nextBoolean() ? 200 : 20000);
+            byte[] data = mixedData(len, random);
+            byte[] compressed = roundTrip(data, ZstdCompressor.MIN_LEVEL + random.nextInt(ZstdCompressor.MAX_LEVEL));
+
+            byte[] decompressed = new byte[data.length];
+            new ZstdDecompressor().decompress(compressed, 0, compressed.length, decompressed, 0, decompressed.length);
+            assertArrayEquals(data, decompressed, "input " + i + ", " + len + " bytes");
+        }
+    }
+
+    @Test
+    public void testCorruptedDataFuzz() throws IOException {
+        Random random = new Random(7);
+        ZstdDecompressor decompressor = new ZstdDecompressor();
+        for (int i = 0; i < 200; i++) {
+            byte[] data = mixedData(1 + random.nextInt(random.nextBoolean() ? 1000 : 150000), random);
+            byte[] compressed = roundTrip(data, ZstdCompressor.MIN_LEVEL + random.nextInt(ZstdCompressor.MAX_LEVEL));
+            byte[] out = new byte[data.length];
+
+            for (int j = 0; j < 50; j++) {
+                byte[] damaged = compressed.clone();
+                int damagedLen = damaged.length;
+                switch (random.nextInt(5)) {
+                    case 0: // a few flipped bits, anywhere but in the magic number
+                        for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                            damaged[4 + random.nextInt(damaged.length - 4)] ^= 1 << random.nextInt(8);
+                        }
+                        break;
+                    case 1: // random bytes
+                        for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                            damaged[4 + random.nextInt(damaged.length - 4)] = (byte) random.nextInt();
+                        }
+                        break;
+                    case 2: // truncated
+                        damagedLen = random.nextInt(damaged.length);
+                        break;
+                    case 3: // garbage after the header
+                        int start = Math.min(damaged.length, 4 + random.nextInt(8));
+                        for (int k = start; k < damaged.length; k++) {
+                            damaged[k] = (byte) random.nextInt();
+                        }
+                        break;
+                    default: // a block moved around
+                        int from = 4 + random.nextInt(damaged.length - 4);
+                        int to = 4 + random.nextInt(damaged.length - 4);
+                        int n = random.nextInt(Math.min(damaged.length - from, damaged.length - to) + 1);
+                        System.arraycopy(compressed, from, damaged, to, n);
+                }
+
+                // damage must never escape as anything but an IOException, nor make the decompressor write outside of the given range
+                byte[] guarded = new byte[out.length + 16];
+                try {
+                    decompressor.decompress(damaged, 0, damagedLen, guarded, 8, out.length);
+                } catch (IOException e) {
+                    // expected
+                }
+                for (int k = 0; k < 8; k++) {
+                    assertEquals(0, guarded[k]);
+                    assertEquals(0, guarded[guarded.length - 1 - k]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCompressedProtocolRoundTrip() throws IOException {
+        CompressionCodec codec = new ZstdCompressionCodec();
+        int[] packetLens = { 10, 3000, 100000, NativeConstants.MAX_PACKET_SIZE + 20000 };
+        for (int packetLen : packetLens) {
+            byte[] packet = packetLen > 1000000 ? new byte[packetLen] : textData(packetLen, packetLen);
+            packet[packetLen - 1] = 42;
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            CompressedPacketSender sender = new CompressedPacketSender(new BufferedOutputStream(out), codec.createCompressor(1));
+            sender.send(packet, packetLen, (byte) 3);
+            sender.stop();
+            assertTrue(packetLen < 50 || out.size() < packetLen / 2, "packet length " + packetLen + ", sent " + out.size());
+
+            CompressedInputStream in = new CompressedInputStream(new ByteArrayInputStream(out.toByteArray()), codec.createDecompressor(),
+                    new CompressionStatistics(), new DefaultPropertySet().getBooleanProperty(PropertyKey.traceProtocol), null);
+            byte[] received = new byte[packetLen];
+            int receivedLen = 0;
+            byte[] header = new byte[NativeConstants.HEADER_LENGTH];
+            byte sequence = 3;
+            while (receivedLen < packetLen) {
+                readFully(in, header, header.length);
+                int len = header[0] & 0xff | (header[1] & 0xff) << 8 | (header[2] & 0xff) << 16;
+                assertEquals(sequence++, header[3]);
+                receivedLen += readFully(in, received, receivedLen, len);
+            }
+            assertEquals(-1, in.read());
+            in.close();
+            assertArrayEquals(packet, received);
+        }
+    }
+
+    private static int readFully(CompressedInputStream in, byte[] b, int len) throws IOException {
+        return readFully(in, b, 0, len);
+    }
+
+    private static int readFully(CompressedInputStream in, byte[] b, int off, int len) throws IOException {
+        int n = 0;
+        while (n < len) {
+            int count = in.read(b, off + n, len - n);
+            assertTrue(count > 0);
+            n += count;
+        }
+        return n;
+    }
+
+}
@@ -24,10 +24,12 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
@@ -38,6 +40,7 @@ import java.util.zip.DeflaterOutputStream;
 import org.junit.jupiter.api.Test;
 
 import com.google.protobuf.ByteString;
+import com.mysql.cj.protocol.a.CompressionStatistics;
 import com.mysql.cj.x.protobuf.Mysqlx;
 import com.mysql.cj.x.protobuf.Mysqlx.ClientMessages;
 import com.mysql.cj.x.protobuf.MysqlxConnection.Compression;
@@ -374,4 +377,54 @@ public class CompressionTest {
         }
     }
 
+    /**
+     * Tests that frames compressed by {@link CompressionSplittedOutputStream} with each natively supported algorithm are restored by
+     * {@link CompressionSplittedInputStream}, with the same compressor streams used for all frames, and that compressed frames are counted in the
+     * {@link CompressionStatistics}.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void compressionRoundTripNativeAlgorithms() throws Exception {
+        for (String algorithm : new String[] { "lz4_message", "zstd_stream", "deflate_stream" }) {
+            CompressionAlgorithm compressionAlgorithm = CompressionAlgorithm.getDefaultInstances().get(algorithm);
+            assertTrue(compressionAlgorithm.areStreamsReusable(), algorithm);
+
+            CompressionStatistics uplinkStatistics = new CompressionStatistics();
+            ByteArrayOutputStream dataOut = new ByteArrayOutputStream();
+            ByteArrayOutputStream allFramesOut = new ByteArrayOutputStream();
+            try (OutputStream compressorOut = new CompressionSplittedOutputStream(dataOut, new CompressorStreamsFactory(compressionAlgorithm),
+                    uplinkStatistics)) {
+                for (int i = 0; i < 3; i++) {
+                    for (byte[] frame : new byte[][] { uncompressedFrame1, uncompressedFrame2 }) {
+                        dataOut.reset();
+                        compressorOut.write(frame);
+                        byte[] dataWritten = dataOut.toByteArray();
+                        if (dataWritten[4] == ClientMessages.Type.COMPRESSION_VALUE) {
+                            dataWritten[4] = (byte) Mysqlx.ServerMessages.Type.COMPRESSION_VALUE; // Read it back as a server compressed frame.
+                        }
+                        allFramesOut.write(dataWritten);
+                    }
+                }
+            }
+            assertEquals(3, uplinkStatistics.getPacketsCompressed(), algorithm);
+            assertTrue(uplinkStatistics.getBytesSentSaved() > 0, algorithm);
+
+            CompressionStatistics downlinkStatistics = new CompressionStatistics();
+            try (DataInputStream decompressorIn = new DataInputStream(new CompressionSplittedInputStream(new ByteArrayInputStream(allFramesOut.toByteArray()),
+                    new CompressorStreamsFactory(compressionAlgorithm), downlinkStatistics))) {
+                for (int i = 0; i < 3; i++) {
+                    for (byte[] frame : new byte[][] { uncompressedFrame1, uncompressedFrame2 }) {
+                        byte[] dataRead = new byte[frame.length];
+                        decompressorIn.readFully(dataRead);
+                        assertArrayEquals(frame, dataRead, algorithm);
+                    }
+                }
+                assertEquals(0, decompressorIn.available(), algorithm);
+            }
+            assertEquals(3, downlinkStatistics.getPacketsDecompressed(), algorithm);
+            assertEquals(3 * uncompressedFrame1.length, downlinkStatistics.getBytesDecompressed(), algorithm);
+        }
+    }
+
 }
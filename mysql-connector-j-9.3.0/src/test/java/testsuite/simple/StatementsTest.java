@@ -63,6 +63,7 @@ import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.function.Function;
@@ -74,7 +75,10 @@ import org.junit.jupiter.api.Test;
 import com.mysql.cj.CharsetMappingWrapper;
 import com.mysql.cj.MysqlConnection;
 import com.mysql.cj.MysqlType;
+import com.mysql.cj.PerVmQueryInfoCacheFactory;
+import com.mysql.cj.PerVmQueryInfoCacheFactory.SharedQueryInfoCache;
 import com.mysql.cj.Query;
+import com.mysql.cj.QueryInfo;
 import com.mysql.cj.conf.PropertyDefinitions.SslMode;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
@@ -85,6 +89,7 @@ import com.mysql.cj.jdbc.ParameterBindings;
 import com.mysql.cj.jdbc.ServerPreparedStatement;
 import com.mysql.cj.jdbc.exceptions.MySQLStatementCancelledException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
+import com.mysql.cj.jdbc.exceptions.PacketTooBigException;
 import com.mysql.cj.jdbc.interceptors.ServerStatusDiffInterceptor;
 import com.mysql.cj.protocol.Resultset;
 import com.mysql.cj.util.LRUCache;
@@ -1464,6 +1469,192 @@ public class StatementsTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Tests pipelined execution of prepared statement batches.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPipelinedBatch() throws Exception {
+        createTable("testPipelinedBatch", "(id INT NOT NULL PRIMARY KEY, val INT)");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+        props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+        props.setProperty(PropertyKey.pipelineBatchedStatements.getKeyName(), "true");
+        props.setProperty(PropertyKey.pipelineBatchWindowSize.getKeyName(), "16");
+        props.setProperty(PropertyKey.jdbcCompliantTruncation.getKeyName(), "false");
+
+        for (boolean useSPS : new boolean[] { false, true }) {
+            for (boolean continueBatchOnError : new boolean[] { false, true }) {
+                props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useSPS));
+                props.setProperty(PropertyKey.continueBatchOnError.getKeyName(), Boolean.toString(continueBatchOnError));
+                Connection testConn = getConnectionWithProps(props);
+
+                this.stmt.execute("TRUNCATE TABLE testPipelinedBatch");
+                this.pstmt = testConn.prepareStatement("INSERT INTO testPipelinedBatch VALUES (?, ?)");
+                for (int i = 0; i < 100; i++) {
+                    this.pstmt.setInt(1, i);
+                    this.pstmt.setInt(2, i);
+                    this.pstmt.addBatch();
+                }
+                int[] counts = this.pstmt.executeBatch();
+                assertEquals(100, counts.length);
+                for (int i = 0; i < counts.length; i++) {
+                    assertEquals(1, counts[i]);
+                }
+                assertEquals(100, getRowCount("testPipelinedBatch"));
+
+                this.pstmt = testConn.prepareStatement("UPDATE testPipelinedBatch SET val = val + 1 WHERE id >= ?");
+                for (int i = 0; i < 100; i++) {
+                    this.pstmt.setInt(1, 99 - i);
+                    this.pstmt.addBatch();
+                }
+                counts = this.pstmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    assertEquals(i + 1, counts[i]);
+                }
+
+                // Force a duplicate key error in the middle of the batch.
+                this.pstmt = testConn.prepareStatement("INSERT INTO testPipelinedBatch VALUES (?, 0)");
+                for (int i = 100; i < 200; i++) {
+                    this.pstmt.setInt(1, i == 150 ? 1 : i);
+                    this.pstmt.addBatch();
+                }
+                try {
+                    this.pstmt.executeBatch();
+                    fail("BatchUpdateException expected.");
+                } catch (BatchUpdateException e) {
+                    counts = e.getUpdateCounts();
+                    assertEquals(Statement.EXECUTE_FAILED, counts[50]);
+                    for (int i = 0; i < counts.length; i++) {
+                        if (i != 50) {
+                            assertEquals(1, counts[i]);
+                        }
+                    }
+                    if (continueBatchOnError) {
+                        assertEquals(100, counts.length);
+                    } else {
+                        // Statements already in flight when the error is detected are executed anyway.
+                        assertTrue(counts.length > 50 && counts.length <= 50 + 16);
+                    }
+                    assertEquals(100 + counts.length - 1, getRowCount("testPipelinedBatch"));
+                }
+
+                testConn.close();
+            }
+        }
+    }
+
+    /**
+     * Tests a pipelined batch with a statement that fails before being sent, while the results of the previous ones are still pending.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testPipelinedBatchSendFailure() throws Exception {
+        createTable("testPipelinedBatchSendFailure", "(id INT NOT NULL PRIMARY KEY, val LONGTEXT)");
+
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+        props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+        props.setProperty(PropertyKey.pipelineBatchedStatements.getKeyName(), "true");
+        props.setProperty(PropertyKey.pipelineBatchWindowSize.getKeyName(), "16");
+        props.setProperty(PropertyKey.jdbcCompliantTruncation.getKeyName(), "false");
+        props.setProperty(PropertyKey.maxAllowedPacket.getKeyName(), "65536");
+
+        char[] tooBig = new char[100000];
+        Arrays.fill(tooBig, 'x');
+
+        for (boolean useSPS : new boolean[] { false, true }) {
+            for (boolean continueBatchOnError : new boolean[] { false, true }) {
+                props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useSPS));
+                props.setProperty(PropertyKey.continueBatchOnError.getKeyName(), Boolean.toString(continueBatchOnError));
+                Connection testConn = getConnectionWithProps(props);
+
+                this.stmt.execute("TRUNCATE TABLE testPipelinedBatchSendFailure");
+                this.pstmt = testConn.prepareStatement("INSERT INTO testPipelinedBatchSendFailure VALUES (?, ?)");
+                for (int i = 0; i < 100; i++) {
+                    this.pstmt.setInt(1, i);
+                    // The packet of this statement exceeds 'maxAllowedPacket' and is rejected before being written.
+                    this.pstmt.setString(2, i == 50 ? new String(tooBig) : "x");
+                    this.pstmt.addBatch();
+                }
+                try {
+                    this.pstmt.executeBatch();
+                    fail("BatchUpdateException expected.");
+                } catch (BatchUpdateException e) {
+                    assertTrue(e.getCause() instanceof PacketTooBigException, "Unexpected cause: " + e.getCause());
+                    int[] counts = e.getUpdateCounts();
+                    // Statements in flight before the failing one are all read, none is sent after it.
+                    assertEquals(continueBatchOnError ? 100 : 51, counts.length);
+                    for (int i = 0; i < counts.length; i++) {
+                        assertEquals(i == 50 ? Statement.EXECUTE_FAILED : 1, counts[i]);
+                    }
+                    assertEquals(counts.length - 1, getRowCount("testPipelinedBatchSendFailure"));
+                }
+
+                // The connection is still in sync with the server.
+                this.rs = testConn.createStatement().executeQuery("SELECT 'still usable'");
+                assertTrue(this.rs.next());
+                assertEquals("still usable", this.rs.getString(1));
+
+                testConn.close();
+            }
+        }
+    }
+
+    /**
+     * Tests that the JVM-wide QueryInfo cache is shared across connections and honors the parse-relevant settings.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedQueryInfoCache() throws Exception {
+        Properties props = new Properties();
+        props.setProperty(PropertyKey.sslMode.getKeyName(), SslMode.DISABLED.name());
+        props.setProperty(PropertyKey.allowPublicKeyRetrieval.getKeyName(), "true");
+        props.setProperty(PropertyKey.cachePrepStmts.getKeyName(), "true");
+        props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), "false");
+        props.setProperty(PropertyKey.queryInfoCacheFactory.getKeyName(), PerVmQueryInfoCacheFactory.class.getName());
+
+        SharedQueryInfoCache sharedCache = PerVmQueryInfoCacheFactory.getSharedCache();
+        sharedCache.invalidateAll();
+
+        String sql = "SELECT ? /* testSharedQueryInfoCache */";
+
+        Connection testConn1 = getConnectionWithProps(props);
+        Connection testConn2 = getConnectionWithProps(props);
+        try {
+            long misses = sharedCache.getMissCount();
+            long hits = sharedCache.getHitCount();
+
+            QueryInfo qi1 = ((ClientPreparedStatement) testConn1.prepareStatement(sql)).getQueryInfo();
+            assertEquals(misses + 1, sharedCache.getMissCount());
+
+            QueryInfo qi2 = ((ClientPreparedStatement) testConn2.prepareStatement(sql)).getQueryInfo();
+            assertEquals(hits + 1, sharedCache.getHitCount());
+            assertSame(qi1, qi2);
+            assertTrue(sharedCache.getWeight() > 0);
+
+            // A connection with different parse settings must not reuse the cached object, nor replace it.
+            props.setProperty(PropertyKey.rewriteBatchedStatements.getKeyName(), "true");
+            Connection testConn3 = getConnectionWithProps(props);
+            try {
+                QueryInfo qi3 = ((ClientPreparedStatement) testConn3.prepareStatement(sql)).getQueryInfo();
+                assertNotSame(qi1, qi3);
+                assertSame(qi1, ((ClientPreparedStatement) testConn1.prepareStatement(sql)).getQueryInfo());
+                assertSame(qi3, ((ClientPreparedStatement) testConn3.prepareStatement(sql)).getQueryInfo());
+            } finally {
+                testConn3.close();
+            }
+        } finally {
+            testConn1.close();
+            testConn2.close();
+            sharedCache.invalidateAll();
+        }
+    }
+
     @Test
     public void testBatchRewriteErrors() throws Exception {
         createTable("rewriteErrors", "(id INT NOT NULL PRIMARY KEY)");
@@ -271,7 +271,7 @@ public class CompressionTest extends DevApiBaseTestCase {
         assumeTrue(this.compressionSettings.serverSupportsCompression(), "Server variable mysqlx_compression_algorithms must be configured to run this test.");
 
         String[] algorithms = new String[] { "", "zstd_stream", "lz4_message", "deflate_stream" };
-        boolean[] expected = new boolean[] { false, false, false, true }; // Only "deflate_stream" is supported by default.
+        boolean[] expected = new boolean[] { false, true, true, true }; // All algorithms are supported natively.
 
         for (int i = 0; i < algorithms.length; i++) {
             String testCase = "[Algorithm: " + algorithms[i] + "]";
@@ -319,29 +319,26 @@ public class CompressionTest extends DevApiBaseTestCase {
 
     /**
      * Tests compression negotiation with customized compression algorithms selections.
-     * "deflate_stream" is always selected as only "deflate_stream" is natively supported.
+     * The first algorithm in the list is always selected as "zstd_stream", "lz4_message" and "deflate_stream" are all natively supported.
      */
     @Test
     public void compressionNegotiationClientSideSelectionNativelySupported() {
         assumeTrue(this.compressionSettings.serverSupportsCompression(), "Server variable mysqlx_compression_algorithms must be configured to run this test.");
 
-        /*
-         * Default negotiation is always "deflate_stream" as only "deflate_stream" is supported by default.
-         */
-        String[] algorithmsOpts = new String[] { "zstd_stream,lz4_message,deflate_stream", "zstd_stream,deflate_stream,lz4_message",
+        String[] algorithmsOpts = new String[] { "zstd_stream,lz4_message,deflate_stream", "lz4_message,deflate_stream,zstd_stream",
                 "deflate_stream,zstd_stream,lz4_message" };
         for (String algorithms : algorithmsOpts) {
             Session testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, algorithms));
 
-            assertEquals("deflate_stream", compressionAlgorithmAgreed(testSession));
+            assertEquals(algorithms.substring(0, algorithms.indexOf(',')), compressionAlgorithmAgreed(testSession));
             testSession.close();
         }
     }
 
     /**
-     * Tests compression negotiation with customized compression algorithms selections, forcing the selection of a non-default algorithm (non-"deflate_stream").
-     * Additional algorithms are enabled by using a fake InputStream. Creating the session fails because the InputStream is useless, but compression negotiation
-     * must succeed and an instance of the fake stream is created.
+     * Tests compression negotiation with customized compression algorithms selections, replacing the native implementation of the selected algorithm by a
+     * fake InputStream. Creating the session fails because the InputStream is useless, but compression negotiation must succeed and an instance of the fake
+     * stream is created.
      */
     @Test
     public void compressionNegotiationClientSideSelectionOtherThanNative() {
@@ -349,16 +346,12 @@ public class CompressionTest extends DevApiBaseTestCase {
 
         String[] algorithmsOpts = new String[] { "zstd_stream,lz4_message,deflate_stream", "lz4_message,zstd_stream,deflate_stream" };
         for (String algorithms : algorithmsOpts) {
+            String selectedAlgorithm = algorithms.substring(0, algorithms.indexOf(','));
             TestInputStream.instantiatedAtLeastOnce = false;
             assertThrows(CJException.class,
-                    () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, algorithms) + makeParam(
-                            PropertyKey.xdevapiCompressionExtensions, "zstd_stream:" + TestInputStream.class.getName() + ":" + OutputStream.class.getName())));
-            assertTrue(TestInputStream.instantiatedAtLeastOnce);
-
-            TestInputStream.instantiatedAtLeastOnce = false;
-            assertThrows(CJException.class,
-                    () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, algorithms) + makeParam(
-                            PropertyKey.xdevapiCompressionExtensions, "lz4_message:" + TestInputStream.class.getName() + ":" + OutputStream.class.getName())));
+                    () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, algorithms)
+                            + makeParam(PropertyKey.xdevapiCompressionExtensions,
+                                    selectedAlgorithm + ":" + TestInputStream.class.getName() + ":" + OutputStream.class.getName())));
             assertTrue(TestInputStream.instantiatedAtLeastOnce);
         }
     }
@@ -692,8 +685,9 @@ public class CompressionTest extends DevApiBaseTestCase {
         TestInflaterInputStream.instantiatedAtLeastOnce = false;
         TestSyncFlushDeflaterOutputStream.instantiatedAtLeastOnce = false;
         Session testSession = this.fact.getSession(
-                this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompression, Compression.REQUIRED) + makeParam(PropertyKey.xdevapiCompressionExtensions,
-                        "deflate_stream:" + TestInflaterInputStream.class.getName() + ":" + TestSyncFlushDeflaterOutputStream.class.getName()));
+                this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompression, Compression.REQUIRED)
+                        + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "deflate_stream") + makeParam(PropertyKey.xdevapiCompressionExtensions,
+                                "deflate_stream:" + TestInflaterInputStream.class.getName() + ":" + TestSyncFlushDeflaterOutputStream.class.getName()));
 
         Collection col = testSession.getDefaultSchema().getCollection("validCompressionAlgorithmOption");
 
@@ -729,19 +723,19 @@ public class CompressionTest extends DevApiBaseTestCase {
     public void compressionNegotiationClientSideSelectionWithAliases() {
         assumeTrue(this.compressionSettings.serverSupportsCompression(), "Server variable mysqlx_compression_algorithms must be configured to run this test.");
 
-        Session testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "zstd,lz4,deflate")
+        Session testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "deflate,zstd,lz4")
                 + makeParam(PropertyKey.xdevapiCompressionExtensions,
                         "deflate:" + TestInflaterInputStream.class.getName() + ":" + TestSyncFlushDeflaterOutputStream.class.getName()));
         assertEquals("deflate_stream", compressionAlgorithmAgreed(testSession));
         testSession.close();
 
-        testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "ZSTD,LZ4,DEFLATE")
+        testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "DEFLATE,ZSTD,LZ4")
                 + makeParam(PropertyKey.xdevapiCompressionExtensions,
                         "deflate:" + TestInflaterInputStream.class.getName() + ":" + TestSyncFlushDeflaterOutputStream.class.getName()));
         assertEquals("deflate_stream", compressionAlgorithmAgreed(testSession));
         testSession.close();
 
-        testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "zstd,lz4,deflate")
+        testSession = this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "deflate,zstd,lz4")
                 + makeParam(PropertyKey.xdevapiCompressionExtensions,
                         "DEFLATE:" + TestInflaterInputStream.class.getName() + ":" + TestSyncFlushDeflaterOutputStream.class.getName()));
         assertEquals("deflate_stream", compressionAlgorithmAgreed(testSession));
@@ -749,19 +743,19 @@ public class CompressionTest extends DevApiBaseTestCase {
 
         TestInputStream.instantiatedAtLeastOnce = false;
         assertThrows(CJException.class,
-                () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "zstd,lz4,deflate")
+                () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "lz4,zstd,deflate")
                         + makeParam(PropertyKey.xdevapiCompressionExtensions, "lz4:" + TestInputStream.class.getName() + ":" + OutputStream.class.getName())));
         assertTrue(TestInputStream.instantiatedAtLeastOnce);
 
         TestInputStream.instantiatedAtLeastOnce = false;
         assertThrows(CJException.class,
-                () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "ZSTD,LZ4,DEFLATE")
+                () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "LZ4,ZSTD,DEFLATE")
                         + makeParam(PropertyKey.xdevapiCompressionExtensions, "lz4:" + TestInputStream.class.getName() + ":" + OutputStream.class.getName())));
         assertTrue(TestInputStream.instantiatedAtLeastOnce);
 
         TestInputStream.instantiatedAtLeastOnce = false;
         assertThrows(CJException.class,
-                () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "zstd,lz4,deflate")
+                () -> this.fact.getSession(this.compressFreeBaseUrl + makeParam(PropertyKey.xdevapiCompressionAlgorithms, "lz4,zstd,deflate")
                         + makeParam(PropertyKey.xdevapiCompressionExtensions, "LZ4:" + TestInputStream.class.getName() + ":" + OutputStream.class.getName())));
         assertTrue(TestInputStream.instantiatedAtLeastOnce);
 